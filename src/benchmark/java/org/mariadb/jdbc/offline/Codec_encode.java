@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.impl.PacketWriter;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.codec.Parameter;
+import org.mariadb.jdbc.plugin.codec.*;
+import org.openjdk.jmh.annotations.*;
+
+/** Parameter encoding cost, text (client-side prepare) and binary (server-side prepare). */
+public class Codec_encode extends OfflineCommon {
+
+  @State(Scope.Thread)
+  public static class CodecState {
+    Context context;
+    PacketWriter writer;
+    Parameter<?>[] parameters;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      context = stubContext("");
+      writer =
+          new PacketWriter(new NullOutputStream(), 1024, null, new MutableByte(), new MutableByte());
+      parameters =
+          new Parameter<?>[] {
+            new Parameter<>(IntCodec.INSTANCE, 123456),
+            new Parameter<>(LongCodec.INSTANCE, 1234567890123L),
+            new Parameter<>(DoubleCodec.INSTANCE, 1234.5678d),
+            new Parameter<>(BigDecimalCodec.INSTANCE, new BigDecimal("12345.6789")),
+            new Parameter<>(StringCodec.INSTANCE, "abcdefghijabcdefghijabcdefghijaa"),
+            new Parameter<>(StringCodec.INSTANCE, "with 'quote' and \\ backslash"),
+            new Parameter<>(
+                LocalDateTimeCodec.INSTANCE, LocalDateTime.of(2024, 1, 31, 12, 30, 15, 123000000))
+          };
+    }
+  }
+
+  @Benchmark
+  public int text(CodecState state) throws Throwable {
+    state.writer.initPacket();
+    for (Parameter<?> parameter : state.parameters) {
+      parameter.encodeText(state.writer, state.context);
+    }
+    int pos = state.writer.pos();
+    state.writer.flush();
+    return pos;
+  }
+
+  @Benchmark
+  public int binary(CodecState state) throws Throwable {
+    state.writer.initPacket();
+    for (Parameter<?> parameter : state.parameters) {
+      parameter.encodeBinary(state.writer, state.context);
+    }
+    int pos = state.writer.pos();
+    state.writer.flush();
+    return pos;
+  }
+}
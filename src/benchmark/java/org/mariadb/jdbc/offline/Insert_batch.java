@@ -0,0 +1,48 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class Insert_batch extends OfflineCommon {
+
+  private static final String s = randomString(100);
+
+  private static String randomString(int length) {
+    String chars = "123456789abcdefghijklmnop\\Z";
+    StringBuilder result = new StringBuilder();
+    for (int i = length; i > 0; --i) {
+      result.append(chars.charAt((int) (Math.random() * chars.length())));
+    }
+    return result.toString();
+  }
+
+  @Benchmark
+  public int[] text(MyState state) throws Throwable {
+    return run(state.connectionText);
+  }
+
+  @Benchmark
+  public int[] binary(MyState state) throws Throwable {
+    return run(state.connectionBinary);
+  }
+
+  @Benchmark
+  public int[] rewrite(MyState state) throws Throwable {
+    return run(state.connectionTextRewrite);
+  }
+
+  private int[] run(Connection con) throws Throwable {
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO perfTestTextBatch(t0) VALUES (?)")) {
+      for (int i = 0; i < 100; i++) {
+        prep.setString(1, s);
+        prep.addBatch();
+      }
+      return prep.executeBatch();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.stub.StubResultSet;
+import org.mariadb.jdbc.stub.StubServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Common state for benchmarks that do not need any database: connections target an in-process
+ * {@link StubServer} answering canned responses, so results only measure driver cost (and loopback
+ * socket cost).
+ *
+ * <p>run with {@code java -jar target/benchmarks.jar "org.mariadb.jdbc.offline.*" -prof gc}
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 2)
+@Threads(value = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OfflineCommon {
+
+  public static final StubServer server;
+
+  static {
+    try {
+      server = new StubServer();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    server.register("select 1", new StubResultSet().column("1", DataType.INTEGER).row(1));
+
+    StubResultSet test100 = new StubResultSet();
+    Object[] values = new Object[100];
+    for (int i = 1; i <= 100; i++) {
+      test100.column("i" + i, DataType.INTEGER);
+      values[i - 1] = i;
+    }
+    server.register("select * FROM test100", test100.row(values));
+
+    server.register(
+        "select seq, 'abcdefghijabcdefghijabcdefghijaa' from seq_1_to_1000",
+        seq1000());
+    server.registerUpdate("INSERT INTO perfTestTextBatch(t0) VALUES (?)", 1);
+  }
+
+  /**
+   * 1000 rows of (int, 32 chars string).
+   *
+   * @return canned result-set
+   */
+  public static StubResultSet seq1000() {
+    StubResultSet rs =
+        new StubResultSet()
+            .column("seq", DataType.BIGINT)
+            .column("abcdefghijabcdefghijabcdefghijaa", DataType.VARSTRING);
+    for (int i = 1; i <= 1000; i++) {
+      rs.row((long) i, "abcdefghijabcdefghijabcdefghijaa");
+    }
+    return rs;
+  }
+
+  /**
+   * Connection context of a stub connection, for benchmarks decoding / encoding from memory.
+   *
+   * @param options connection options
+   * @return connection context
+   * @throws SQLException if connection fails
+   */
+  public static Context stubContext(String options) throws SQLException {
+    Connection conn = DriverManager.getConnection(server.url(options));
+    return ((org.mariadb.jdbc.Connection) conn).getContext();
+  }
+
+  /** Output stream discarding all data */
+  public static final class NullOutputStream extends OutputStream {
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+
+  @State(Scope.Thread)
+  public static class MyState {
+
+    // connections
+    protected Connection connectionText;
+    protected Connection connectionTextRewrite;
+    protected Connection connectionBinary;
+    protected Connection connectionBinaryNoPipeline;
+
+    @Setup(Level.Trial)
+    public void createConnections() throws SQLException {
+      connectionText = DriverManager.getConnection(server.url("useServerPrepStmts=false"));
+      connectionTextRewrite =
+          DriverManager.getConnection(
+              server.url("useServerPrepStmts=false&rewriteBatchedStatements=true"));
+      connectionBinary =
+          DriverManager.getConnection(server.url("useServerPrepStmts=true&cachePrepStmts=true"));
+      connectionBinaryNoPipeline =
+          DriverManager.getConnection(
+              server.url("useServerPrepStmts=true&cachePrepStmts=false&disablePipeline=true"));
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws SQLException {
+      connectionText.close();
+      connectionTextRewrite.close();
+      connectionBinary.close();
+      connectionBinaryNoPipeline.close();
+    }
+  }
+}
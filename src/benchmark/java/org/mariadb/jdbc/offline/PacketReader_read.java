@@ -0,0 +1,51 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.io.ByteArrayInputStream;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.socket.impl.PacketReader;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.openjdk.jmh.annotations.*;
+
+/** Packet framing cost only: reading 1000 row packets from memory, without any decoding. */
+public class PacketReader_read extends OfflineCommon {
+
+  @State(Scope.Thread)
+  public static class ReaderState {
+    ByteArrayInputStream in;
+    PacketReader reader;
+    int packets;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      byte[] stream = seq1000().rowStream(false);
+      packets = 1001;
+      in = new ByteArrayInputStream(stream);
+      reader =
+          new PacketReader(
+              in, Configuration.parse("jdbc:mariadb://localhost/"), new MutableByte());
+    }
+  }
+
+  @Benchmark
+  public int readPacket(ReaderState state) throws Throwable {
+    state.in.reset();
+    int len = 0;
+    for (int i = 0; i < state.packets; i++) {
+      len += state.reader.readPacket(false).length;
+    }
+    return len;
+  }
+
+  @Benchmark
+  public int readReusablePacket(ReaderState state) throws Throwable {
+    state.in.reset();
+    int len = 0;
+    for (int i = 0; i < state.packets; i++) {
+      len += state.reader.readReusablePacket(false).readableBytes();
+    }
+    return len;
+  }
+}
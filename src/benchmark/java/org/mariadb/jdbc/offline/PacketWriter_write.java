@@ -0,0 +1,59 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.impl.PacketWriter;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.message.client.QueryPacket;
+import org.openjdk.jmh.annotations.*;
+
+/** Command encoding cost only: packets are written to a stream discarding data. */
+public class PacketWriter_write extends OfflineCommon {
+
+  private static final String SMALL_SQL = "select * FROM test100 WHERE i1 = 'abcdefghij'";
+  private static final String LARGE_SQL;
+
+  static {
+    StringBuilder sb = new StringBuilder("INSERT INTO perfTestTextBatch(t0) VALUES ");
+    for (int i = 0; i < 1000; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("('abcdefghijabcdefghijabcdefghijaa\\\\\"')");
+    }
+    LARGE_SQL = sb.toString();
+  }
+
+  @State(Scope.Thread)
+  public static class WriterState {
+    Context context;
+    PacketWriter writer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      context = stubContext("");
+      writer =
+          new PacketWriter(new NullOutputStream(), 1024, null, new MutableByte(), new MutableByte());
+    }
+  }
+
+  @Benchmark
+  public int smallQuery(WriterState state) throws Throwable {
+    return new QueryPacket(SMALL_SQL).encode(state.writer, state.context);
+  }
+
+  @Benchmark
+  public int largeQuery(WriterState state) throws Throwable {
+    return new QueryPacket(LARGE_SQL).encode(state.writer, state.context);
+  }
+
+  @Benchmark
+  public long escapedString(WriterState state) throws Throwable {
+    state.writer.initPacket();
+    state.writer.writeByte(0x03);
+    state.writer.writeStringEscaped(LARGE_SQL, false);
+    long len = state.writer.getCmdLength() + state.writer.pos();
+    state.writer.flush();
+    return len;
+  }
+}
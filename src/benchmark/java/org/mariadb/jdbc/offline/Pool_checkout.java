@@ -0,0 +1,89 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.MariaDbPoolDataSource;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Pool checkout / return cost, connections being already created.
+ *
+ * <p>Average time is measured, so contended variants (up to 64 times more threads than pool
+ * connections) show checkout latency, and waiter handoff cost, as thread count grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Pool_checkout extends OfflineCommon {
+
+  @State(Scope.Benchmark)
+  public static class PoolState {
+
+    @Param({"8"})
+    int maxPoolSize;
+
+    MariaDbPoolDataSource pool;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      pool =
+          new MariaDbPoolDataSource(
+              server.url(
+                  "maxPoolSize=" + maxPoolSize + "&minPoolSize=" + maxPoolSize + "&poolName=bench"));
+      // ensure pool is filled
+      Connection[] connections = new Connection[maxPoolSize];
+      for (int i = 0; i < maxPoolSize; i++) connections[i] = pool.getConnection();
+      for (Connection connection : connections) connection.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      pool.close();
+    }
+  }
+
+  @Benchmark
+  public boolean checkout(PoolState state) throws Throwable {
+    try (Connection conn = state.pool.getConnection()) {
+      return conn.getAutoCommit();
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean checkout4Threads(PoolState state) throws Throwable {
+    return checkout(state);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public boolean checkout8Threads(PoolState state) throws Throwable {
+    return checkout(state);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public boolean checkout16Threads(PoolState state) throws Throwable {
+    return checkout(state);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public boolean checkout64Threads(PoolState state) throws Throwable {
+    return checkout(state);
+  }
+
+  @Benchmark
+  @Threads(256)
+  public boolean checkout256Threads(PoolState state) throws Throwable {
+    return checkout(state);
+  }
+
+  @Benchmark
+  @Threads(512)
+  public boolean checkout512Threads(PoolState state) throws Throwable {
+    return checkout(state);
+  }
+}
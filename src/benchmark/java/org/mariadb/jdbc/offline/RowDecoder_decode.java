@@ -0,0 +1,148 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.result.CompleteResult;
+import org.mariadb.jdbc.client.socket.impl.PacketReader;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.stub.StubResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Result-set loading and row decoding cost (text and binary row decoders, column codecs), rows
+ * being read from memory instead of a socket.
+ */
+public class RowDecoder_decode extends OfflineCommon {
+
+  @State(Scope.Thread)
+  public static class DecoderState {
+
+    @Param({"text", "binary"})
+    String protocol;
+
+    @Param({"false", "true"})
+    boolean useSlabRowStorage;
+
+    Context context;
+    boolean binary;
+
+    ColumnDecoder[] seqMeta;
+    ByteArrayInputStream seqStream;
+    PacketReader seqReader;
+
+    ColumnDecoder[] mixedMeta;
+    ByteArrayInputStream mixedStream;
+    PacketReader mixedReader;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      context = stubContext("useSlabRowStorage=" + useSlabRowStorage);
+      binary = "binary".equals(protocol);
+
+      StubResultSet seq = seq1000();
+      seqMeta = meta(seq);
+      seqStream = new ByteArrayInputStream(seq.rowStream(binary));
+      seqReader = new PacketReader(seqStream, context.getConf(), new MutableByte());
+
+      StubResultSet mixed =
+          new StubResultSet()
+              .column("i", DataType.INTEGER)
+              .column("l", DataType.BIGINT)
+              .column("d", DataType.DOUBLE)
+              .column("bd", DataType.DECIMAL)
+              .column("s", DataType.VARSTRING)
+              .column("dt", DataType.DATETIME)
+              .column("n", DataType.INTEGER);
+      for (int i = 0; i < 1000; i++) {
+        mixed.row(
+            i,
+            i * 1_000_000_000L,
+            i + 0.25d,
+            new BigDecimal("1234.56"),
+            "abcdefghij",
+            LocalDateTime.of(2024, 1, 31, 12, 30, 15, 123000),
+            null);
+      }
+      mixedMeta = meta(mixed);
+      mixedStream = new ByteArrayInputStream(mixed.rowStream(binary));
+      mixedReader = new PacketReader(mixedStream, context.getConf(), new MutableByte());
+    }
+
+    private ColumnDecoder[] meta(StubResultSet rs) {
+      byte[][] defs = rs.columnDefinitions();
+      ColumnDecoder[] meta = new ColumnDecoder[defs.length];
+      for (int i = 0; i < defs.length; i++) {
+        meta[i] = context.getColumnDecoderFunction().apply(new StandardReadableByteBuf(defs[i]));
+      }
+      return meta;
+    }
+  }
+
+  private static CompleteResult load(
+      DecoderState state, ColumnDecoder[] meta, ByteArrayInputStream in, PacketReader reader)
+      throws Exception {
+    in.reset();
+    return new CompleteResult(
+        null,
+        state.binary,
+        0,
+        meta,
+        reader,
+        state.context,
+        ResultSet.TYPE_FORWARD_ONLY,
+        false,
+        false,
+        false);
+  }
+
+  @Benchmark
+  public void intAndString(DecoderState state, Blackhole blackhole) throws Throwable {
+    try (CompleteResult rs = load(state, state.seqMeta, state.seqStream, state.seqReader)) {
+      while (rs.next()) {
+        blackhole.consume(rs.getInt(1));
+        blackhole.consume(rs.getString(2));
+      }
+    }
+  }
+
+  @Benchmark
+  public void mixed(DecoderState state, Blackhole blackhole) throws Throwable {
+    try (CompleteResult rs = load(state, state.mixedMeta, state.mixedStream, state.mixedReader)) {
+      while (rs.next()) {
+        blackhole.consume(rs.getInt(1));
+        blackhole.consume(rs.getLong(2));
+        blackhole.consume(rs.getDouble(3));
+        blackhole.consume(rs.getBigDecimal(4));
+        blackhole.consume(rs.getString(5));
+        blackhole.consume(rs.getTimestamp(6));
+        blackhole.consume(rs.getInt(7));
+        blackhole.consume(rs.wasNull());
+      }
+    }
+  }
+
+  @Benchmark
+  public void mixedByLabel(DecoderState state, Blackhole blackhole) throws Throwable {
+    try (CompleteResult rs = load(state, state.mixedMeta, state.mixedStream, state.mixedReader)) {
+      while (rs.next()) {
+        blackhole.consume(rs.getInt("i"));
+        blackhole.consume(rs.getLong("l"));
+        blackhole.consume(rs.getDouble("d"));
+        blackhole.consume(rs.getBigDecimal("bd"));
+        blackhole.consume(rs.getString("s"));
+        blackhole.consume(rs.getTimestamp("dt"));
+        blackhole.consume(rs.getInt("n"));
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.io.ByteArrayInputStream;
+import java.sql.ResultSet;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.result.CompleteResult;
+import org.mariadb.jdbc.client.socket.impl.PacketReader;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.stub.StubResultSet;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Primitive getters cost on already loaded rows, for text and binary row decoders.
+ *
+ * <p>Primitive getters must not allocate: run with {@code -prof gc}, gc.alloc.rate.norm must be
+ * (close to) 0 B/op for both protocols.
+ */
+public class RowDecoder_primitives extends OfflineCommon {
+
+  @State(Scope.Thread)
+  public static class PrimitiveState {
+
+    @Param({"text", "binary"})
+    String protocol;
+
+    CompleteResult rs;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      Context context = stubContext("");
+      boolean binary = "binary".equals(protocol);
+      StubResultSet data =
+          new StubResultSet()
+              .column("b", DataType.TINYINT)
+              .column("i", DataType.INTEGER)
+              .column("l", DataType.BIGINT)
+              .column("f", DataType.FLOAT)
+              .column("d", DataType.DOUBLE);
+      for (int i = 0; i < 1000; i++) {
+        data.row(i % 2, i - 500, i * 1_000_000_000L, i + 0.5f, i / 8d - 12.375d);
+      }
+      byte[][] defs = data.columnDefinitions();
+      ColumnDecoder[] meta = new ColumnDecoder[defs.length];
+      for (int i = 0; i < defs.length; i++) {
+        meta[i] = context.getColumnDecoderFunction().apply(new StandardReadableByteBuf(defs[i]));
+      }
+      ByteArrayInputStream in = new ByteArrayInputStream(data.rowStream(binary));
+      rs =
+          new CompleteResult(
+              null,
+              binary,
+              0,
+              meta,
+              new PacketReader(in, context.getConf(), new MutableByte()),
+              context,
+              ResultSet.TYPE_SCROLL_INSENSITIVE,
+              false,
+              false,
+              false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+      rs.close();
+    }
+  }
+
+  @Benchmark
+  public void primitives(PrimitiveState state, Blackhole blackhole) throws Throwable {
+    CompleteResult rs = state.rs;
+    rs.beforeFirst();
+    while (rs.next()) {
+      blackhole.consume(rs.getBoolean(1));
+      blackhole.consume(rs.getInt(2));
+      blackhole.consume(rs.getLong(3));
+      blackhole.consume(rs.getFloat(4));
+      blackhole.consume(rs.getDouble(5));
+    }
+  }
+
+  @Benchmark
+  public void widening(PrimitiveState state, Blackhole blackhole) throws Throwable {
+    CompleteResult rs = state.rs;
+    rs.beforeFirst();
+    while (rs.next()) {
+      blackhole.consume(rs.getLong(2));
+      blackhole.consume(rs.getDouble(2));
+      blackhole.consume(rs.getDouble(3));
+      blackhole.consume(rs.getDouble(4));
+    }
+  }
+}
@@ -0,0 +1,21 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class Select_1 extends OfflineCommon {
+
+  @Benchmark
+  public int run(MyState state) throws Throwable {
+    try (Statement st = state.connectionText.createStatement()) {
+      try (ResultSet rs = st.executeQuery("select 1")) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+}
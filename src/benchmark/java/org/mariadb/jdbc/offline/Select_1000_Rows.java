@@ -0,0 +1,70 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class Select_1000_Rows extends OfflineCommon {
+  private static final String sql =
+      "select seq, 'abcdefghijabcdefghijabcdefghijaa' from seq_1_to_1000";
+
+  @Benchmark
+  public void text(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole);
+  }
+
+  @Benchmark
+  public void binary(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole);
+  }
+
+  /** Same query, sharing repeated string values, see gc.alloc.rate.norm with {@code -prof gc} */
+  @Benchmark
+  public void textStringCache(StringCacheState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole);
+  }
+
+  @Benchmark
+  public void binaryStringCache(StringCacheState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole);
+  }
+
+  @State(Scope.Thread)
+  public static class StringCacheState {
+    Connection connectionText;
+    Connection connectionBinary;
+
+    @Setup(Level.Trial)
+    public void createConnections() throws SQLException {
+      connectionText =
+          DriverManager.getConnection(server.url("useServerPrepStmts=false&stringCacheSize=256"));
+      connectionBinary =
+          DriverManager.getConnection(
+              server.url("useServerPrepStmts=true&cachePrepStmts=true&stringCacheSize=256"));
+    }
+
+    @TearDown(Level.Trial)
+    public void doTearDown() throws SQLException {
+      connectionText.close();
+      connectionBinary.close();
+    }
+  }
+
+  private void run(Connection con, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement st = con.prepareStatement(sql)) {
+      try (ResultSet rs = st.executeQuery()) {
+        while (rs.next()) {
+          blackhole.consume(rs.getInt(1));
+          blackhole.consume(rs.getString(2));
+        }
+      }
+    }
+  }
+}
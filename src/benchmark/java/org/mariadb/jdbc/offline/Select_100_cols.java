@@ -0,0 +1,61 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.offline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+public class Select_100_cols extends OfflineCommon {
+
+  @Benchmark
+  public void text(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionText, blackhole);
+  }
+
+  @Benchmark
+  public void binary(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinary, blackhole);
+  }
+
+  @Benchmark
+  public void binaryNoPipeline(MyState state, Blackhole blackhole) throws Throwable {
+    run(state.connectionBinaryNoPipeline, blackhole);
+  }
+
+  @Benchmark
+  public void textReverseOrder(MyState state, Blackhole blackhole) throws Throwable {
+    runReverse(state.connectionText, blackhole);
+  }
+
+  @Benchmark
+  public void binaryReverseOrder(MyState state, Blackhole blackhole) throws Throwable {
+    runReverse(state.connectionBinary, blackhole);
+  }
+
+  private void run(Connection con, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement prep = con.prepareStatement("select * FROM test100")) {
+      try (ResultSet rs = prep.executeQuery()) {
+        rs.next();
+        for (int i = 0; i < 100; i++) {
+          blackhole.consume(rs.getInt(i + 1));
+        }
+      }
+    }
+  }
+
+  // columns read in another order than select order, like ORM mapping
+  private void runReverse(Connection con, Blackhole blackhole) throws Throwable {
+    try (PreparedStatement prep = con.prepareStatement("select * FROM test100")) {
+      try (ResultSet rs = prep.executeQuery()) {
+        rs.next();
+        for (int i = 100; i > 0; i--) {
+          blackhole.consume(rs.getInt(i));
+        }
+      }
+    }
+  }
+}
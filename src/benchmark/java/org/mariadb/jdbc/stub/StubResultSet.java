@@ -0,0 +1,372 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.stub;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.mariadb.jdbc.client.DataType;
+
+/**
+ * Canned result-set answered by {@link StubServer}. Rows are encoded once per protocol (text or
+ * binary) and cached, so that server cost stays negligible compared to driver cost when
+ * benchmarking.
+ */
+public final class StubResultSet {
+
+  private final List<String> names = new ArrayList<>();
+  private final List<DataType> types = new ArrayList<>();
+  private final List<Object[]> rows = new ArrayList<>();
+
+  private volatile byte[][] columnDefs;
+  private volatile byte[][] textRows;
+  private volatile byte[][] binaryRows;
+
+  /**
+   * Add a column definition
+   *
+   * @param name column name
+   * @param type column type
+   * @return current object
+   */
+  public StubResultSet column(String name, DataType type) {
+    names.add(name);
+    types.add(type);
+    return this;
+  }
+
+  /**
+   * Add a row. Values can be null, Number, String, byte[], LocalDate or LocalDateTime
+   *
+   * @param values row values, one per column
+   * @return current object
+   */
+  public StubResultSet row(Object... values) {
+    if (values.length != names.size()) {
+      throw new IllegalArgumentException(
+          String.format("expected %s values, got %s", names.size(), values.length));
+    }
+    rows.add(values);
+    return this;
+  }
+
+  /**
+   * Add the same row multiple time.
+   *
+   * @param count number of row
+   * @param values row values, one per column
+   * @return current object
+   */
+  public StubResultSet rows(int count, Object... values) {
+    for (int i = 0; i < count; i++) row(values);
+    return this;
+  }
+
+  /**
+   * Number of columns
+   *
+   * @return column number
+   */
+  public int columnCount() {
+    return names.size();
+  }
+
+  /**
+   * Column definition packets payload
+   *
+   * @return column definitions
+   */
+  public byte[][] columnDefinitions() {
+    byte[][] defs = columnDefs;
+    if (defs == null) {
+      defs = new byte[names.size()][];
+      for (int i = 0; i < defs.length; i++) {
+        defs[i] = columnDefinition(names.get(i), types.get(i));
+      }
+      columnDefs = defs;
+    }
+    return defs;
+  }
+
+  /**
+   * Row packets payload
+   *
+   * @param binary binary or text protocol encoding
+   * @return encoded rows
+   */
+  public byte[][] encodedRows(boolean binary) {
+    byte[][] encoded = binary ? binaryRows : textRows;
+    if (encoded == null) {
+      encoded = new byte[rows.size()][];
+      for (int i = 0; i < encoded.length; i++) {
+        encoded[i] = binary ? binaryRow(rows.get(i)) : textRow(rows.get(i));
+      }
+      if (binary) {
+        binaryRows = encoded;
+      } else {
+        textRows = encoded;
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * Rows as sent on socket, packet header included, followed by the ending OK_Packet (EOF
+   * deprecated), permitting to decode a result-set from memory.
+   *
+   * @param binary binary or text protocol encoding
+   * @return socket content
+   */
+  public byte[] rowStream(boolean binary) {
+    PacketBuffer buf = new PacketBuffer(1024);
+    int seq = 0;
+    for (byte[] row : encodedRows(binary)) {
+      writeFramed(buf, row, seq++);
+    }
+    writeFramed(buf, new byte[] {(byte) 0xfe, 0, 0, 2, 0, 0, 0}, seq);
+    return buf.toByteArray();
+  }
+
+  private static void writeFramed(PacketBuffer buf, byte[] payload, int seq) {
+    buf.writeShort(payload.length);
+    buf.writeByte(payload.length >> 16);
+    buf.writeByte(seq);
+    buf.writeBytes(payload);
+  }
+
+  private static byte[] columnDefinition(String name, DataType type) {
+    PacketBuffer buf = new PacketBuffer(64);
+    buf.writeLenencString("def");
+    buf.writeLenencString("stub");
+    buf.writeLenencString("t");
+    buf.writeLenencString("t");
+    buf.writeLenencString(name);
+    buf.writeLenencString(name);
+    buf.writeByte(0); // extended metadata (empty)
+    buf.writeByte(0x0c);
+    boolean numeric = isNumeric(type);
+    buf.writeShort(numeric || type == DataType.BLOB ? 63 : 224);
+    buf.writeInt(columnLength(type));
+    buf.writeByte(type.get());
+    buf.writeShort(numeric ? 0x0001 : 0); // NOT_NULL
+    buf.writeByte(type == DataType.FLOAT || type == DataType.DOUBLE ? 31 : 0);
+    buf.writeShort(0);
+    return buf.toByteArray();
+  }
+
+  private static boolean isNumeric(DataType type) {
+    switch (type) {
+      case TINYINT:
+      case SMALLINT:
+      case MEDIUMINT:
+      case INTEGER:
+      case BIGINT:
+      case FLOAT:
+      case DOUBLE:
+      case DECIMAL:
+      case OLDDECIMAL:
+      case YEAR:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static int columnLength(DataType type) {
+    switch (type) {
+      case TINYINT:
+        return 4;
+      case SMALLINT:
+        return 6;
+      case INTEGER:
+      case MEDIUMINT:
+        return 11;
+      case BIGINT:
+        return 20;
+      case FLOAT:
+        return 12;
+      case DOUBLE:
+        return 22;
+      case DATE:
+        return 10;
+      case DATETIME:
+      case TIMESTAMP:
+        return 26;
+      default:
+        return 1024;
+    }
+  }
+
+  private byte[] textRow(Object[] values) {
+    PacketBuffer buf = new PacketBuffer(16 * values.length);
+    for (Object value : values) {
+      if (value == null) {
+        buf.writeByte(0xfb);
+      } else if (value instanceof byte[]) {
+        buf.writeLenencBytes((byte[]) value);
+      } else if (value instanceof LocalDateTime) {
+        buf.writeLenencString(value.toString().replace('T', ' '));
+      } else if (value instanceof BigDecimal) {
+        buf.writeLenencString(((BigDecimal) value).toPlainString());
+      } else {
+        buf.writeLenencString(value.toString());
+      }
+    }
+    return buf.toByteArray();
+  }
+
+  private byte[] binaryRow(Object[] values) {
+    PacketBuffer buf = new PacketBuffer(16 * values.length);
+    buf.writeByte(0x00);
+    byte[] nullBitmap = new byte[(values.length + 9) / 8];
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        nullBitmap[(i + 2) / 8] |= (byte) (1 << ((i + 2) % 8));
+      }
+    }
+    buf.writeBytes(nullBitmap);
+    for (int i = 0; i < values.length; i++) {
+      Object value = values[i];
+      if (value == null) continue;
+      switch (types.get(i)) {
+        case TINYINT:
+          buf.writeByte(((Number) value).intValue());
+          break;
+        case SMALLINT:
+        case YEAR:
+          buf.writeShort(((Number) value).intValue());
+          break;
+        case INTEGER:
+        case MEDIUMINT:
+          buf.writeInt(((Number) value).intValue());
+          break;
+        case BIGINT:
+          buf.writeLong(((Number) value).longValue());
+          break;
+        case FLOAT:
+          buf.writeInt(Float.floatToIntBits(((Number) value).floatValue()));
+          break;
+        case DOUBLE:
+          buf.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+          break;
+        case DATE:
+          LocalDate date = (LocalDate) value;
+          buf.writeByte(4);
+          buf.writeShort(date.getYear());
+          buf.writeByte(date.getMonthValue());
+          buf.writeByte(date.getDayOfMonth());
+          break;
+        case DATETIME:
+        case TIMESTAMP:
+          LocalDateTime dt = (LocalDateTime) value;
+          buf.writeByte(11);
+          buf.writeShort(dt.getYear());
+          buf.writeByte(dt.getMonthValue());
+          buf.writeByte(dt.getDayOfMonth());
+          buf.writeByte(dt.getHour());
+          buf.writeByte(dt.getMinute());
+          buf.writeByte(dt.getSecond());
+          buf.writeInt(dt.getNano() / 1000);
+          break;
+        default:
+          if (value instanceof byte[]) {
+            buf.writeLenencBytes((byte[]) value);
+          } else if (value instanceof BigDecimal) {
+            buf.writeLenencString(((BigDecimal) value).toPlainString());
+          } else {
+            buf.writeLenencString(value.toString());
+          }
+          break;
+      }
+    }
+    return buf.toByteArray();
+  }
+
+  /** Minimal little-endian growable buffer used to build packet payloads. */
+  static final class PacketBuffer {
+    private byte[] buf;
+    private int pos;
+
+    PacketBuffer(int initialSize) {
+      buf = new byte[Math.max(16, initialSize)];
+    }
+
+    private void ensure(int len) {
+      if (pos + len > buf.length) {
+        byte[] newBuf = new byte[Math.max(buf.length * 2, pos + len)];
+        System.arraycopy(buf, 0, newBuf, 0, pos);
+        buf = newBuf;
+      }
+    }
+
+    void writeByte(int value) {
+      ensure(1);
+      buf[pos++] = (byte) value;
+    }
+
+    void writeShort(int value) {
+      ensure(2);
+      buf[pos++] = (byte) value;
+      buf[pos++] = (byte) (value >> 8);
+    }
+
+    void writeInt(int value) {
+      ensure(4);
+      buf[pos++] = (byte) value;
+      buf[pos++] = (byte) (value >> 8);
+      buf[pos++] = (byte) (value >> 16);
+      buf[pos++] = (byte) (value >> 24);
+    }
+
+    void writeLong(long value) {
+      writeInt((int) value);
+      writeInt((int) (value >> 32));
+    }
+
+    void writeBytes(byte[] bytes) {
+      ensure(bytes.length);
+      System.arraycopy(bytes, 0, buf, pos, bytes.length);
+      pos += bytes.length;
+    }
+
+    void writeLength(long length) {
+      if (length < 251) {
+        writeByte((int) length);
+      } else if (length < 65536) {
+        writeByte(0xfc);
+        writeShort((int) length);
+      } else if (length < 16777216) {
+        writeByte(0xfd);
+        writeShort((int) length);
+        writeByte((int) (length >> 16));
+      } else {
+        writeByte(0xfe);
+        writeLong(length);
+      }
+    }
+
+    void writeLenencBytes(byte[] bytes) {
+      writeLength(bytes.length);
+      writeBytes(bytes);
+    }
+
+    void writeLenencString(String str) {
+      writeLenencBytes(str.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeNullTerminated(String str) {
+      writeBytes(str.getBytes(StandardCharsets.UTF_8));
+      writeByte(0);
+    }
+
+    byte[] toByteArray() {
+      byte[] res = new byte[pos];
+      System.arraycopy(buf, 0, res, 0, pos);
+      return res;
+    }
+  }
+}
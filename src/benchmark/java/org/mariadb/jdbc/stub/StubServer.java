@@ -0,0 +1,637 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.stub;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.socket.impl.CompressInputStream;
+import org.mariadb.jdbc.client.socket.impl.CompressOutputStream;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.CompressionPluginLoader;
+import org.mariadb.jdbc.util.ClientParser;
+import org.mariadb.jdbc.util.constants.Capabilities;
+import org.mariadb.jdbc.util.constants.ServerStatus;
+
+/**
+ * In-process stand-in for a MariaDB server, answering canned responses over the real wire
+ * protocol. It permits benchmarking driver code paths (handshake, COM_QUERY, COM_STMT_PREPARE /
+ * EXECUTE / BULK_EXECUTE, result-set decoding, pool checkout) without any database, so that
+ * results only measure driver cost.
+ *
+ * <p>Statements are answered by exact SQL match (see {@link #register(String, StubResultSet)},
+ * {@link #registerUpdate(String, long)} and {@link #registerError(String, int, String,
+ * String)}), any other command returning an OK packet with no affected rows. Authentication always
+ * succeeds, TLS is not supported. Compressed protocol is supported with algorithms available to
+ * the driver (zlib, and zstd if zstd-jni is in classpath).
+ */
+public final class StubServer implements Closeable {
+
+  private static final String SERVER_VERSION = "5.5.5-11.4.0-MariaDB-stub";
+  private static final int MAX_PACKET_LENGTH = 0x00ffffff;
+  private static final short STATUS = ServerStatus.AUTOCOMMIT;
+
+  private static final long SERVER_CAPABILITIES =
+      Capabilities.FOUND_ROWS
+          | Capabilities.CONNECT_WITH_DB
+          | Capabilities.IGNORE_SPACE
+          | Capabilities.CLIENT_PROTOCOL_41
+          | Capabilities.TRANSACTIONS
+          | Capabilities.SECURE_CONNECTION
+          | Capabilities.MULTI_STATEMENTS
+          | Capabilities.MULTI_RESULTS
+          | Capabilities.PS_MULTI_RESULTS
+          | Capabilities.PLUGIN_AUTH
+          | Capabilities.CONNECT_ATTRS
+          | Capabilities.PLUGIN_AUTH_LENENC_CLIENT_DATA
+          | Capabilities.CLIENT_DEPRECATE_EOF
+          | Capabilities.STMT_BULK_OPERATIONS
+          | Capabilities.EXTENDED_METADATA
+          | Capabilities.CACHE_METADATA
+          | Capabilities.COMPRESS
+          | Capabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+
+  private static final Configuration COMPRESSION_CONF;
+
+  static {
+    try {
+      COMPRESSION_CONF = Configuration.parse("jdbc:mariadb://localhost/stub");
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private final ServerSocket serverSocket;
+  private final Map<String, Response> responses = new ConcurrentHashMap<>();
+  private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger threadIdGenerator = new AtomicInteger();
+  private final AtomicInteger connectionCounter = new AtomicInteger();
+  private volatile boolean closed;
+  private volatile String compressionAlgorithm;
+
+  /**
+   * Start a stub server listening on an ephemeral loopback port.
+   *
+   * @throws IOException if socket cannot be bound
+   */
+  public StubServer() throws IOException {
+    serverSocket = new ServerSocket();
+    serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+    // answers to queries issued by driver internally
+    register(
+        "SELECT @@wait_timeout",
+        new StubResultSet().column("@@wait_timeout", DataType.BIGINT).row(28800L));
+    register(
+        "SELECT @@time_zone, @@system_time_zone",
+        new StubResultSet()
+            .column("@@time_zone", DataType.VARSTRING)
+            .column("@@system_time_zone", DataType.VARSTRING)
+            .row("+00:00", "UTC"));
+    register(
+        "SELECT @@auto_increment_increment",
+        new StubResultSet().column("@@auto_increment_increment", DataType.BIGINT).row(1L));
+
+    Thread acceptor = new Thread(this::acceptLoop, "stub-server-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  /**
+   * Server listening port
+   *
+   * @return port
+   */
+  public int port() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Connection string to this server.
+   *
+   * @param options additional options (without leading '&amp;'), can be empty
+   * @return connection string
+   */
+  public String url(String options) {
+    return String.format(
+        "jdbc:mariadb://%s:%s/stub?user=stub&sslMode=disable%s",
+        InetAddress.getLoopbackAddress().getHostAddress(),
+        port(),
+        options == null || options.isEmpty() ? "" : "&" + options);
+  }
+
+  /**
+   * Compression algorithm negotiated by last connection.
+   *
+   * @return algorithm type, null if last connection doesn't use compression
+   */
+  public String compressionAlgorithm() {
+    return compressionAlgorithm;
+  }
+
+  /**
+   * Number of client connection accepted since server start.
+   *
+   * @return number of accepted connections
+   */
+  public int acceptedConnections() {
+    return connectionCounter.get();
+  }
+
+  /**
+   * Answer command with a result-set
+   *
+   * @param sql exact sql command
+   * @param resultSet canned result-set
+   * @return current object
+   */
+  public StubServer register(String sql, StubResultSet resultSet) {
+    responses.put(sql, new Response(resultSet, 0, 0, null, null));
+    return this;
+  }
+
+  /**
+   * Answer command with an OK packet
+   *
+   * @param sql exact sql command
+   * @param affectedRows affected rows to return (for bulk commands, by parameter set)
+   * @return current object
+   */
+  public StubServer registerUpdate(String sql, long affectedRows) {
+    responses.put(sql, new Response(null, affectedRows, 0, null, null));
+    return this;
+  }
+
+  /**
+   * Answer command with an error
+   *
+   * @param sql exact sql command
+   * @param errorCode error code
+   * @param sqlState sql state
+   * @param message error message
+   * @return current object
+   */
+  public StubServer registerError(String sql, int errorCode, String sqlState, String message) {
+    responses.put(sql, new Response(null, 0, errorCode, sqlState, message));
+    return this;
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    serverSocket.close();
+    for (Socket socket : sockets) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // eat
+      }
+    }
+    sockets.clear();
+  }
+
+  private void acceptLoop() {
+    while (!closed) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        sockets.add(socket);
+        connectionCounter.incrementAndGet();
+        Thread thread =
+            new Thread(
+                new Session(socket, threadIdGenerator.incrementAndGet()),
+                "stub-server-session-" + socket.getPort());
+        thread.setDaemon(true);
+        thread.start();
+      } catch (IOException e) {
+        if (!closed) {
+          e.printStackTrace();
+        }
+      }
+    }
+  }
+
+  private Response response(String sql) {
+    Response response = responses.get(sql);
+    return response == null ? Response.DEFAULT : response;
+  }
+
+  private static final class Response {
+    static final Response DEFAULT = new Response(null, 0, 0, null, null);
+
+    final StubResultSet resultSet;
+    final long affectedRows;
+    final int errorCode;
+    final String sqlState;
+    final String message;
+
+    Response(
+        StubResultSet resultSet,
+        long affectedRows,
+        int errorCode,
+        String sqlState,
+        String message) {
+      this.resultSet = resultSet;
+      this.affectedRows = affectedRows;
+      this.errorCode = errorCode;
+      this.sqlState = sqlState;
+      this.message = message;
+    }
+  }
+
+  private static final class PreparedStub {
+    final int id;
+    final String sql;
+    final int paramCount;
+
+    PreparedStub(int id, String sql, int paramCount) {
+      this.id = id;
+      this.sql = sql;
+      this.paramCount = paramCount;
+    }
+  }
+
+  /** One client connection. */
+  private final class Session implements Runnable {
+    private final Socket socket;
+    private final int threadId;
+    private final Map<Integer, PreparedStub> statements = new HashMap<>();
+    private InputStream in;
+    private OutputStream out;
+    private byte sequence;
+    private long clientCapabilities;
+    private int statementIdGenerator;
+    private PreparedStub lastPrepared;
+
+    Session(Socket socket, int threadId) {
+      this.socket = socket;
+      this.threadId = threadId;
+    }
+
+    @Override
+    public void run() {
+      try {
+        in = new BufferedInputStream(socket.getInputStream(), 16384);
+        out = new BufferedOutputStream(socket.getOutputStream(), 16384);
+        sequence = 0;
+        writePacket(handshake());
+        out.flush();
+
+        byte[] handshakeResponse = readPacket();
+        clientCapabilities =
+            (readInt(handshakeResponse, 0) & 0xffffffffL)
+                | ((readInt(handshakeResponse, 28) & 0xffffffffL) << 32);
+        writeOk(0);
+        out.flush();
+
+        CompressionPlugin compression =
+            CompressionPluginLoader.negotiate(COMPRESSION_CONF, clientCapabilities);
+        compressionAlgorithm = compression == null ? null : compression.type();
+        if (compression != null) {
+          MutableByte compressionSequence = new MutableByte();
+          in =
+              new BufferedInputStream(
+                  new CompressInputStream(
+                      socket.getInputStream(),
+                      compressionSequence,
+                      compression.decompressor(COMPRESSION_CONF)),
+                  16384);
+          out =
+              new BufferedOutputStream(
+                  new CompressOutputStream(
+                      socket.getOutputStream(),
+                      compressionSequence,
+                      compression.compressor(COMPRESSION_CONF),
+                      COMPRESSION_CONF.compressionMinSize()),
+                  16384);
+        }
+
+        while (true) {
+          byte[] packet = readPacket();
+          sequence = 1;
+          if (!handleCommand(packet)) return;
+          out.flush();
+        }
+      } catch (EOFException | SocketException e) {
+        // client disconnect
+      } catch (IOException e) {
+        if (!closed) e.printStackTrace();
+      } finally {
+        sockets.remove(socket);
+        try {
+          socket.close();
+        } catch (IOException e) {
+          // eat
+        }
+      }
+    }
+
+    private boolean handleCommand(byte[] packet) throws IOException {
+      switch (packet[0] & 0xff) {
+        case 0x01: // COM_QUIT
+          return false;
+
+        case 0x03: // COM_QUERY
+          answer(response(new String(packet, 1, packet.length - 1, StandardCharsets.UTF_8)), false);
+          return true;
+
+        case 0x16: // COM_STMT_PREPARE
+          prepare(new String(packet, 1, packet.length - 1, StandardCharsets.UTF_8));
+          return true;
+
+        case 0x17: // COM_STMT_EXECUTE
+          PreparedStub stmt = statement(readInt(packet, 1));
+          if (stmt == null) {
+            writeError(1243, "HY000", "Unknown prepared statement handler given to EXECUTE");
+          } else {
+            answer(response(stmt.sql), true);
+          }
+          return true;
+
+        case 0xfa: // COM_STMT_BULK_EXECUTE
+          bulk(packet);
+          return true;
+
+        case 0x18: // COM_STMT_SEND_LONG_DATA
+          return true;
+
+        case 0x19: // COM_STMT_CLOSE
+          statements.remove(readInt(packet, 1));
+          return true;
+
+        case 0x1f: // COM_RESET_CONNECTION
+          statements.clear();
+          lastPrepared = null;
+          writeOk(0);
+          return true;
+
+        case 0x02: // COM_INIT_DB
+        case 0x0e: // COM_PING
+        case 0x1a: // COM_STMT_RESET
+          writeOk(0);
+          return true;
+
+        default:
+          writeError(1047, "08S01", "Unknown command");
+          return true;
+      }
+    }
+
+    private PreparedStub statement(int statementId) {
+      return statementId == -1 ? lastPrepared : statements.get(statementId);
+    }
+
+    private void prepare(String sql) throws IOException {
+      Response response = response(sql);
+      if (response.errorCode != 0) {
+        writeError(response.errorCode, response.sqlState, response.message);
+        return;
+      }
+      int paramCount = ClientParser.parameterParts(sql, false).getParamCount();
+      PreparedStub stmt = new PreparedStub(++statementIdGenerator, sql, paramCount);
+      statements.put(stmt.id, stmt);
+      lastPrepared = stmt;
+
+      StubResultSet rs = response.resultSet;
+      int columnCount = rs == null ? 0 : rs.columnCount();
+      StubResultSet.PacketBuffer buf = new StubResultSet.PacketBuffer(12);
+      buf.writeByte(0x00);
+      buf.writeInt(stmt.id);
+      buf.writeShort(columnCount);
+      buf.writeShort(paramCount);
+      buf.writeByte(0x00);
+      buf.writeShort(0);
+      writePacket(buf.toByteArray());
+
+      if (paramCount > 0) {
+        byte[] paramDef =
+            new StubResultSet().column("?", DataType.VARSTRING).columnDefinitions()[0];
+        for (int i = 0; i < paramCount; i++) writePacket(paramDef);
+        writeIntermediateEof();
+      }
+      if (columnCount > 0) {
+        for (byte[] columnDef : rs.columnDefinitions()) writePacket(columnDef);
+        writeIntermediateEof();
+      }
+    }
+
+    private void bulk(byte[] packet) throws IOException {
+      PreparedStub stmt = statement(readInt(packet, 1));
+      if (stmt == null) {
+        writeError(1243, "HY000", "Unknown prepared statement handler given to BULK");
+        return;
+      }
+      Response response = response(stmt.sql);
+      if (response.errorCode != 0) {
+        writeError(response.errorCode, response.sqlState, response.message);
+        return;
+      }
+
+      int flags = (packet[5] & 0xff) | ((packet[6] & 0xff) << 8);
+      int pos = 7;
+      int[] types = new int[stmt.paramCount];
+      if ((flags & 128) != 0) {
+        for (int i = 0; i < stmt.paramCount; i++) {
+          types[i] = packet[pos] & 0xff;
+          pos += 2;
+        }
+      }
+
+      // count parameter sets
+      long rows = 0;
+      while (pos < packet.length) {
+        for (int i = 0; i < stmt.paramCount; i++) {
+          int indicator = packet[pos++] & 0xff;
+          if (indicator == 0) pos = skipBinaryValue(packet, pos, types[i]);
+        }
+        rows++;
+      }
+      writeOk(response.affectedRows * rows);
+    }
+
+    private void answer(Response response, boolean binary) throws IOException {
+      if (response.errorCode != 0) {
+        writeError(response.errorCode, response.sqlState, response.message);
+        return;
+      }
+      StubResultSet rs = response.resultSet;
+      if (rs == null) {
+        writeOk(response.affectedRows);
+        return;
+      }
+
+      StubResultSet.PacketBuffer buf = new StubResultSet.PacketBuffer(16);
+      buf.writeLength(rs.columnCount());
+      if (binary && (clientCapabilities & Capabilities.CACHE_METADATA) != 0) {
+        // metadata has already been sent with the prepare response
+        buf.writeByte(0);
+        writePacket(buf.toByteArray());
+      } else {
+        writePacket(buf.toByteArray());
+        for (byte[] columnDef : rs.columnDefinitions()) writePacket(columnDef);
+        writeIntermediateEof();
+      }
+
+      for (byte[] row : rs.encodedRows(binary)) writePacket(row);
+
+      if ((clientCapabilities & Capabilities.CLIENT_DEPRECATE_EOF) != 0) {
+        writePacket(new byte[] {(byte) 0xfe, 0, 0, (byte) STATUS, (byte) (STATUS >> 8), 0, 0});
+      } else {
+        writePacket(new byte[] {(byte) 0xfe, 0, 0, (byte) STATUS, (byte) (STATUS >> 8)});
+      }
+    }
+
+    private void writeIntermediateEof() throws IOException {
+      if ((clientCapabilities & Capabilities.CLIENT_DEPRECATE_EOF) == 0) {
+        writePacket(new byte[] {(byte) 0xfe, 0, 0, (byte) STATUS, (byte) (STATUS >> 8)});
+      }
+    }
+
+    private byte[] handshake() {
+      StubResultSet.PacketBuffer buf = new StubResultSet.PacketBuffer(128);
+      buf.writeByte(0x0a);
+      buf.writeNullTerminated(SERVER_VERSION);
+      buf.writeInt(threadId);
+      buf.writeBytes("01234567".getBytes(StandardCharsets.US_ASCII));
+      buf.writeByte(0);
+      buf.writeShort((int) SERVER_CAPABILITIES);
+      buf.writeByte(45); // utf8mb4_general_ci
+      buf.writeShort(STATUS);
+      buf.writeShort((int) (SERVER_CAPABILITIES >> 16));
+      buf.writeByte(21);
+      buf.writeBytes(new byte[6]);
+      buf.writeInt((int) (SERVER_CAPABILITIES >> 32));
+      buf.writeBytes("89abcdefghij".getBytes(StandardCharsets.US_ASCII));
+      buf.writeByte(0);
+      buf.writeNullTerminated("mysql_native_password");
+      return buf.toByteArray();
+    }
+
+    private void writeOk(long affectedRows) throws IOException {
+      StubResultSet.PacketBuffer buf = new StubResultSet.PacketBuffer(16);
+      buf.writeByte(0x00);
+      buf.writeLength(affectedRows);
+      buf.writeLength(0);
+      buf.writeShort(STATUS);
+      buf.writeShort(0);
+      writePacket(buf.toByteArray());
+    }
+
+    private void writeError(int errorCode, String sqlState, String message) throws IOException {
+      StubResultSet.PacketBuffer buf = new StubResultSet.PacketBuffer(64);
+      buf.writeByte(0xff);
+      buf.writeShort(errorCode);
+      buf.writeByte('#');
+      buf.writeBytes(sqlState.getBytes(StandardCharsets.US_ASCII));
+      buf.writeBytes(message.getBytes(StandardCharsets.UTF_8));
+      writePacket(buf.toByteArray());
+    }
+
+    private void writePacket(byte[] payload) throws IOException {
+      int off = 0;
+      int remaining = payload.length;
+      do {
+        int len = Math.min(remaining, MAX_PACKET_LENGTH);
+        out.write(len);
+        out.write(len >> 8);
+        out.write(len >> 16);
+        out.write(sequence++);
+        out.write(payload, off, len);
+        off += len;
+        remaining -= len;
+        if (remaining == 0 && len == MAX_PACKET_LENGTH) {
+          // terminate with an empty packet
+          out.write(new byte[] {0, 0, 0, sequence++});
+        }
+      } while (remaining > 0);
+    }
+
+    private byte[] readPacket() throws IOException {
+      byte[] header = new byte[4];
+      ByteArrayOutputStream multi = null;
+      while (true) {
+        readFully(header, 4);
+        int len = (header[0] & 0xff) | ((header[1] & 0xff) << 8) | ((header[2] & 0xff) << 16);
+        sequence = (byte) (header[3] + 1);
+        byte[] payload = new byte[len];
+        readFully(payload, len);
+        if (len < MAX_PACKET_LENGTH && multi == null) return payload;
+        if (multi == null) multi = new ByteArrayOutputStream();
+        multi.write(payload);
+        if (len < MAX_PACKET_LENGTH) return multi.toByteArray();
+      }
+    }
+
+    private void readFully(byte[] arr, int len) throws IOException {
+      int off = 0;
+      while (off < len) {
+        int read = in.read(arr, off, len - off);
+        if (read < 0) throw new EOFException();
+        off += read;
+      }
+    }
+  }
+
+  private static int readInt(byte[] buf, int pos) {
+    return (buf[pos] & 0xff)
+        | ((buf[pos + 1] & 0xff) << 8)
+        | ((buf[pos + 2] & 0xff) << 16)
+        | ((buf[pos + 3] & 0xff) << 24);
+  }
+
+  private static int skipBinaryValue(byte[] buf, int pos, int type) {
+    switch (type) {
+      case 1: // TINYINT
+        return pos + 1;
+      case 2: // SMALLINT
+      case 13: // YEAR
+        return pos + 2;
+      case 3: // INTEGER
+      case 4: // FLOAT
+      case 9: // MEDIUMINT
+        return pos + 4;
+      case 5: // DOUBLE
+      case 8: // BIGINT
+        return pos + 8;
+      case 6: // NULL
+        return pos;
+      case 7: // TIMESTAMP
+      case 10: // DATE
+      case 11: // TIME
+      case 12: // DATETIME
+        return pos + 1 + (buf[pos] & 0xff);
+      default:
+        int first = buf[pos] & 0xff;
+        switch (first) {
+          case 0xfc:
+            return pos + 3 + ((buf[pos + 1] & 0xff) | ((buf[pos + 2] & 0xff) << 8));
+          case 0xfd:
+            return pos
+                + 4
+                + ((buf[pos + 1] & 0xff)
+                    | ((buf[pos + 2] & 0xff) << 8)
+                    | ((buf[pos + 3] & 0xff) << 16));
+          case 0xfe:
+            long len = 0;
+            for (int i = 8; i > 0; i--) len = (len << 8) | (buf[pos + i] & 0xff);
+            return pos + 9 + (int) len;
+          default:
+            return pos + 1 + first;
+        }
+    }
+  }
+}
@@ -13,6 +13,7 @@ import java.sql.*;
 import java.sql.Date;
 import java.sql.ParameterMetaData;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.DataType;
@@ -124,6 +125,15 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
     this.prepareResult = prepareResult;
   }
 
+  /**
+   * Get PREPARE result
+   *
+   * @return prepare result, null if not prepared
+   */
+  public Prepare getPrepareResult() {
+    return prepareResult;
+  }
+
   /**
    * Get cached metadata list
    *
@@ -204,6 +214,12 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
         .create("executeQuery(String sql) cannot be called on preparedStatement");
   }
 
+  @Override
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    throw exceptionFactory()
+        .create("executeQueryAsync(String sql) cannot be called on preparedStatement");
+  }
+
   @Override
   public int executeUpdate(String sql) throws SQLException {
     throw exceptionFactory()
@@ -1632,6 +1648,105 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
         null);
   }
 
+  /**
+   * Ensure all parameters are set
+   *
+   * @throws SQLException if a parameter is missing
+   */
+  protected abstract void validParameters() throws SQLException;
+
+  /**
+   * Create messages executing command with each parameters, to be sent pipelined.
+   *
+   * @param parametersList parameters for each execution
+   * @return client messages
+   * @throws SQLException if any error occurs
+   */
+  protected abstract ClientMessage[] asyncMessages(List<Parameters> parametersList)
+      throws SQLException;
+
+  /**
+   * Executes the SQL query in this <code>PreparedStatement</code> object asynchronously. Command is
+   * sent, and method returns without waiting for result: result is read in background (or before
+   * any subsequent command results), permitting several commands to be in flight on the
+   * connection. Parameters can be changed as soon as method returns. Result-set is always
+   * completely loaded (fetch size is not used), and statement results are not changed.
+   *
+   * @return future <code>ResultSet</code> object that contains the data produced by the query.
+   *     Future completes exceptionally with a <code>SQLException</code> if command fails, or
+   *     doesn't produce a <code>ResultSet</code>
+   * @throws SQLException if this method is called on a closed <code>PreparedStatement</code>, if
+   *     parameters are missing, or if command cannot be sent
+   */
+  @SuppressWarnings("try")
+  public CompletableFuture<ResultSet> executeQueryAsync() throws SQLException {
+    checkNotClosed();
+    validParameters();
+    try (ClosableLock ignore = lock.closeableLock()) {
+      if (possibleLoadLocal(sql)) {
+        CompletableFuture<ResultSet> future = new CompletableFuture<>();
+        try {
+          future.complete(executeQuery());
+        } catch (SQLException e) {
+          future.completeExceptionally(e);
+        }
+        return future;
+      }
+      return con.getClient()
+          .executePipelineAsync(
+              asyncMessages(Collections.singletonList(parameters)),
+              this,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion)
+          .thenApply(this::asyncResultSet);
+    }
+  }
+
+  /**
+   * Submits the batch of parameters asynchronously. Commands are sent pipelined and the method
+   * returns without waiting for results: results are read in background (or before any subsequent
+   * command results). Batch is cleared, and statement results are not changed. Bulk execution is
+   * not used.
+   *
+   * @return future update counts, one element for each parameters in the batch. Future completes
+   *     exceptionally with a {@link BatchUpdateException} if one of the commands fails.
+   * @throws SQLException if this method is called on a closed <code>PreparedStatement</code>, or if
+   *     commands cannot be sent
+   */
+  @Override
+  @SuppressWarnings("try")
+  public CompletableFuture<int[]> executeBatchAsync() throws SQLException {
+    checkNotClosed();
+    if (batchParameters == null || batchParameters.isEmpty()) {
+      return CompletableFuture.completedFuture(new int[0]);
+    }
+    try (ClosableLock ignore = lock.closeableLock()) {
+      if (possibleLoadLocal(sql)) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        try {
+          future.complete(executeBatch());
+        } catch (SQLException e) {
+          future.completeExceptionally(e);
+        }
+        return future;
+      }
+      int size = batchParameters.size();
+      return con.getClient()
+          .executePipelineAsync(
+              asyncMessages(batchParameters),
+              this,
+              maxRows,
+              ResultSet.CONCUR_READ_ONLY,
+              ResultSet.TYPE_FORWARD_ONLY,
+              closeOnCompletion)
+          .thenApply(res -> updateCounts(res, size));
+    } finally {
+      batchParameters.clear();
+    }
+  }
+
   protected abstract boolean executeInternalPreparedBatch() throws SQLException;
 
   @Override
@@ -1665,9 +1780,11 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
         return updates;
       }
 
-      // specific case for BULK INSERT
+      // specific case for BULK INSERT, or rewritten multi-values INSERT
       // return not Statement.SUCCESS_NO_INFO, but 1
-      if (wasBulk && clientParser.isInsert() && !clientParser.isInsertDuplicate()) {
+      if ((wasBulk || results.size() < updates.length)
+          && clientParser.isInsert()
+          && !clientParser.isInsertDuplicate()) {
         int numberOfResult = 0;
         for (int i = 0; i < results.size(); i++) {
           numberOfResult += (int) ((OkPacket) results.get(i)).getAffectedRows();
@@ -1734,9 +1851,11 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
         return updates;
       }
 
-      // specific case for BULK INSERT
+      // specific case for BULK INSERT, or rewritten multi-values INSERT
       // return not Statement.SUCCESS_NO_INFO, but 1
-      if (wasBulk && clientParser.isInsert() && !clientParser.isInsertDuplicate()) {
+      if ((wasBulk || results.size() < updates.length)
+          && clientParser.isInsert()
+          && !clientParser.isInsertDuplicate()) {
         long numberOfResult = 0;
         for (int i = 0; i < results.size(); i++) {
           numberOfResult += ((OkPacket) results.get(i)).getAffectedRows();
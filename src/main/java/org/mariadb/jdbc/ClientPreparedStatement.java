@@ -11,6 +11,7 @@ import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.*;
@@ -66,36 +67,15 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     parameters = new ParameterList(parser.getParamCount());
   }
 
-  /**
-   * use additional part for timeout if possible
-   *
-   * @return pre command for handling timeout
-   */
-  protected String preSqlCmd() {
-    if (queryTimeout != 0 && canUseServerTimeout) {
-      if (canUseServerMaxRows && maxRows > 0) {
-        return "SET STATEMENT max_statement_time="
-            + queryTimeout
-            + ", SQL_SELECT_LIMIT="
-            + maxRows
-            + " FOR ";
-      }
-      return "SET STATEMENT max_statement_time=" + queryTimeout + " FOR ";
-    }
-    if (canUseServerMaxRows && maxRows > 0) {
-      return "SET STATEMENT SQL_SELECT_LIMIT=" + maxRows + " FOR ";
-    }
-    return null;
-  }
-
   @SuppressWarnings("try")
   private void executeInternal() throws SQLException {
     checkNotClosed();
     validParameters();
     try (ClosableLock ignore = lock.closeableLock();
         QueryTimeoutHandler ignore2 = this.con.handleTimeout(queryTimeout)) {
+      setSessionLimits();
       QueryWithParametersPacket query =
-          new QueryWithParametersPacket(preSqlCmd(), parser, parameters, localInfileInputStream);
+          new QueryWithParametersPacket(null, parser, parameters, localInfileInputStream);
       results =
           con.getClient()
               .execute(
@@ -116,8 +96,18 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     }
   }
 
+  protected ClientMessage[] asyncMessages(List<Parameters> parametersList) {
+    setSessionLimits();
+    ClientMessage[] packets = new ClientMessage[parametersList.size()];
+    for (int i = 0; i < packets.length; i++) {
+      packets[i] = new QueryWithParametersPacket(null, parser, parametersList.get(i), null);
+    }
+    return packets;
+  }
+
   protected boolean executeInternalPreparedBatch() throws SQLException {
     checkNotClosed();
+    setSessionLimits();
     parseCommandIfNeeded(sql);
     Configuration conf = con.getContext().getConf();
     boolean isNormalInsert = clientParser.isInsert() && !clientParser.isInsertDuplicate();
@@ -129,7 +119,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
         && !clientParser.isMultiQuery()
         && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
             || autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS)) {
-      executeBatchBulk(escapeTimeout(sql));
+      executeBatchBulk(escapeSql(sql));
       return true;
     } else {
       boolean possibleLoadLocal = con.getContext().hasClientCapability(LOCAL_FILES);
@@ -142,6 +132,12 @@ public class ClientPreparedStatement extends BasePreparedStatement {
       }
       if (possibleLoadLocal) {
         executeBatchStd();
+      } else if (conf.rewriteBatchedStatements()
+          && batchParameters.size() > 1
+          && parser.isMultiValuesRewritable()
+          && (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS
+              || conf.returnMultiValuesGeneratedIds())) {
+        executeBatchRewrite();
       } else {
         executeBatchPipeline();
       }
@@ -149,6 +145,31 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     return false;
   }
 
+  /**
+   * Send batch as a few multi-values INSERT COM_QUERY
+   *
+   * @throws SQLException if IOException / Command error
+   */
+  private void executeBatchRewrite() throws SQLException {
+    try {
+      results =
+          con.getClient()
+              .execute(
+                  new MultiValuesInsertPacket(null, parser, batchParameters),
+                  this,
+                  0,
+                  maxRows,
+                  ResultSet.CONCUR_READ_ONLY,
+                  ResultSet.TYPE_FORWARD_ONLY,
+                  closeOnCompletion,
+                  false);
+    } catch (SQLException bue) {
+      results = null;
+      throw exceptionFactory()
+          .createBatchUpdate(Collections.emptyList(), batchParameters.size(), bue);
+    }
+  }
+
   /**
    * Send n * COM_QUERY + n * read answer
    *
@@ -157,7 +178,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   private void executeBatchPipeline() throws SQLException {
     ClientMessage[] packets = new ClientMessage[batchParameters.size()];
     for (int i = 0; i < batchParameters.size(); i++) {
-      packets[i] = new QueryWithParametersPacket(preSqlCmd(), parser, batchParameters.get(i), null);
+      packets[i] = new QueryWithParametersPacket(null, parser, batchParameters.get(i), null);
     }
     try {
       results =
@@ -191,7 +212,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
             con.getClient()
                 .execute(
                     new QueryWithParametersPacket(
-                        preSqlCmd(), parser, batchParameters.get(i), localInfileInputStream),
+                        null, parser, batchParameters.get(i), localInfileInputStream),
                     this,
                     0,
                     maxRows,
@@ -400,7 +421,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   public ResultSetMetaData getMetaData() throws SQLException {
     // send COM_STMT_PREPARE
     if (prepareResult == null)
-      con.getClient().execute(new PreparePacket(escapeTimeout(sql)), this, true);
+      con.getClient().execute(new PreparePacket(escapeSql(sql)), this, true);
     return new org.mariadb.jdbc.client.result.ResultSetMetaData(
         exceptionFactory(), prepareResult.getColumns(), con.getContext().getConf(), false);
   }
@@ -422,7 +443,7 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     // send COM_STMT_PREPARE
     if (prepareResult == null) {
       try {
-        con.getClient().execute(new PreparePacket(escapeTimeout(sql)), this, true);
+        con.getClient().execute(new PreparePacket(escapeSql(sql)), this, true);
       } catch (SQLException e) {
         return new SimpleParameterMetaData(exceptionFactory(), parser.getParamCount());
       }
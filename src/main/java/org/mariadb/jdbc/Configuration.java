@@ -9,6 +9,7 @@ import java.lang.reflect.Field;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.*;
+import org.mariadb.jdbc.client.util.StringCache;
 import org.mariadb.jdbc.export.HaMode;
 import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.plugin.Codec;
@@ -100,6 +101,20 @@ public class Configuration {
   private String localSocketAddress = null;
   private int socketTimeout = 0;
   private boolean useReadAheadInput = false;
+  private boolean useSlabRowStorage = false;
+  private int spillThreshold = 0;
+  private int streamingPrefetch = 0;
+  private int streamingMemoryBudget = 0;
+  private boolean useSocketChannel = false;
+  private boolean rewriteBatchedStatements = false;
+  private int compressionLevel = 6;
+  private int compressionMinSize = 1536;
+  private String compressionAlgorithms = "zstd,zlib";
+  private boolean cachePrepareMetadata = true;
+  private int prepareWarmupSize = 0;
+  private String prepareWarmupSql = null;
+  private int stringCacheSize = 0;
+  private int zstdCompressionLevel = 3;
   private String tlsSocketType = null;
 
   // SSL
@@ -158,7 +173,10 @@ public class Configuration {
   private int maxIdleTime = 600_000;
   private boolean registerJmxPool = true;
   private int poolValidMinDelay = 1000;
+  private int poolValidationInterval = 0;
   private boolean useResetConnection = false;
+  private boolean poolAsyncReset = false;
+  private int poolCreationConcurrency = 1;
 
   // MySQL sha authentication
   private String serverRsaPublicKeyFile = null;
@@ -210,6 +228,20 @@ public class Configuration {
       String localSocketAddress,
       int socketTimeout,
       boolean useReadAheadInput,
+      boolean useSlabRowStorage,
+      int spillThreshold,
+      int streamingPrefetch,
+      int streamingMemoryBudget,
+      boolean useSocketChannel,
+      boolean rewriteBatchedStatements,
+      int compressionLevel,
+      int compressionMinSize,
+      String compressionAlgorithms,
+      boolean cachePrepareMetadata,
+      int prepareWarmupSize,
+      String prepareWarmupSql,
+      int stringCacheSize,
+      int zstdCompressionLevel,
       String tlsSocketType,
       SslMode sslMode,
       String serverSslCert,
@@ -256,7 +288,10 @@ public class Configuration {
       int maxIdleTime,
       boolean registerJmxPool,
       int poolValidMinDelay,
+      int poolValidationInterval,
       boolean useResetConnection,
+      boolean poolAsyncReset,
+      int poolCreationConcurrency,
       String serverRsaPublicKeyFile,
       boolean allowPublicKeyRetrieval) {
     this.user = user;
@@ -300,6 +335,20 @@ public class Configuration {
     this.localSocketAddress = localSocketAddress;
     this.socketTimeout = socketTimeout;
     this.useReadAheadInput = useReadAheadInput;
+    this.useSlabRowStorage = useSlabRowStorage;
+    this.spillThreshold = spillThreshold;
+    this.streamingPrefetch = streamingPrefetch;
+    this.streamingMemoryBudget = streamingMemoryBudget;
+    this.useSocketChannel = useSocketChannel;
+    this.rewriteBatchedStatements = rewriteBatchedStatements;
+    this.compressionLevel = compressionLevel;
+    this.compressionMinSize = compressionMinSize;
+    this.compressionAlgorithms = compressionAlgorithms;
+    this.cachePrepareMetadata = cachePrepareMetadata;
+    this.prepareWarmupSize = prepareWarmupSize;
+    this.prepareWarmupSql = prepareWarmupSql;
+    this.stringCacheSize = stringCacheSize;
+    this.zstdCompressionLevel = zstdCompressionLevel;
     this.tlsSocketType = tlsSocketType;
     this.sslMode = sslMode;
     this.serverSslCert = serverSslCert;
@@ -346,7 +395,10 @@ public class Configuration {
     this.maxIdleTime = maxIdleTime;
     this.registerJmxPool = registerJmxPool;
     this.poolValidMinDelay = poolValidMinDelay;
+    this.poolValidationInterval = poolValidationInterval;
     this.useResetConnection = useResetConnection;
+    this.poolAsyncReset = poolAsyncReset;
+    this.poolCreationConcurrency = poolCreationConcurrency;
     this.serverRsaPublicKeyFile = serverRsaPublicKeyFile;
     this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
     this.initialUrl = buildUrl(this);
@@ -424,7 +476,10 @@ public class Configuration {
       Integer maxIdleTime,
       Boolean registerJmxPool,
       Integer poolValidMinDelay,
+      Integer poolValidationInterval,
       Boolean useResetConnection,
+      Boolean poolAsyncReset,
+      Integer poolCreationConcurrency,
       String serverRsaPublicKeyFile,
       Boolean allowPublicKeyRetrieval,
       String serverSslCert,
@@ -436,6 +491,20 @@ public class Configuration {
       String keyStoreType,
       String trustStoreType,
       Boolean useReadAheadInput,
+      Boolean useSlabRowStorage,
+      Integer spillThreshold,
+      Integer streamingPrefetch,
+      Integer streamingMemoryBudget,
+      Boolean useSocketChannel,
+      Boolean rewriteBatchedStatements,
+      Integer compressionLevel,
+      Integer compressionMinSize,
+      String compressionAlgorithms,
+      Boolean cachePrepareMetadata,
+      Integer prepareWarmupSize,
+      String prepareWarmupSql,
+      Integer stringCacheSize,
+      Integer zstdCompressionLevel,
       Boolean cachePrepStmts,
       Boolean transactionReplay,
       Integer transactionReplaySize,
@@ -554,12 +623,52 @@ public class Configuration {
     if (maxIdleTime != null) this.maxIdleTime = maxIdleTime;
     if (registerJmxPool != null) this.registerJmxPool = registerJmxPool;
     if (poolValidMinDelay != null) this.poolValidMinDelay = poolValidMinDelay;
+    if (poolValidationInterval != null) this.poolValidationInterval = poolValidationInterval;
     if (useResetConnection != null) this.useResetConnection = useResetConnection;
+    if (poolAsyncReset != null) this.poolAsyncReset = poolAsyncReset;
+    if (poolCreationConcurrency != null) this.poolCreationConcurrency = poolCreationConcurrency;
     if (serverRsaPublicKeyFile != null)
       this.serverRsaPublicKeyFile =
           serverRsaPublicKeyFile.isEmpty() ? null : serverRsaPublicKeyFile;
     if (allowPublicKeyRetrieval != null) this.allowPublicKeyRetrieval = allowPublicKeyRetrieval;
     if (useReadAheadInput != null) this.useReadAheadInput = useReadAheadInput;
+    if (useSlabRowStorage != null) this.useSlabRowStorage = useSlabRowStorage;
+    if (spillThreshold != null) this.spillThreshold = spillThreshold;
+    if (streamingPrefetch != null) this.streamingPrefetch = streamingPrefetch;
+    if (streamingMemoryBudget != null) this.streamingMemoryBudget = streamingMemoryBudget;
+    if (useSocketChannel != null) this.useSocketChannel = useSocketChannel;
+    if (rewriteBatchedStatements != null) this.rewriteBatchedStatements = rewriteBatchedStatements;
+    if (compressionLevel != null) {
+      if (compressionLevel < 0 || compressionLevel > 9) {
+        throw new IllegalArgumentException(
+            "compressionLevel must be between 0 and 9, current set value is "
+                + compressionLevel);
+      }
+      this.compressionLevel = compressionLevel;
+    }
+    if (compressionMinSize != null) this.compressionMinSize = compressionMinSize;
+    if (compressionAlgorithms != null) this.compressionAlgorithms = compressionAlgorithms;
+    if (cachePrepareMetadata != null) this.cachePrepareMetadata = cachePrepareMetadata;
+    if (prepareWarmupSize != null) this.prepareWarmupSize = prepareWarmupSize;
+    if (prepareWarmupSql != null) this.prepareWarmupSql = prepareWarmupSql;
+    if (stringCacheSize != null) {
+      if (stringCacheSize < 0 || stringCacheSize > StringCache.MAX_SIZE) {
+        throw new IllegalArgumentException(
+            "stringCacheSize must be between 0 and "
+                + StringCache.MAX_SIZE
+                + ", current set value is "
+                + stringCacheSize);
+      }
+      this.stringCacheSize = stringCacheSize;
+    }
+    if (zstdCompressionLevel != null) {
+      if (zstdCompressionLevel < 1 || zstdCompressionLevel > 22) {
+        throw new IllegalArgumentException(
+            "zstdCompressionLevel must be between 1 and 22, current set value is "
+                + zstdCompressionLevel);
+      }
+      this.zstdCompressionLevel = zstdCompressionLevel;
+    }
     if (cachePrepStmts != null) this.cachePrepStmts = cachePrepStmts;
     if (transactionReplay != null) this.transactionReplay = transactionReplay;
     if (transactionReplaySize != null) this.transactionReplaySize = transactionReplaySize;
@@ -719,6 +828,20 @@ public class Configuration {
             .localSocketAddress(this.localSocketAddress)
             .socketTimeout(this.socketTimeout)
             .useReadAheadInput(this.useReadAheadInput)
+            .useSlabRowStorage(this.useSlabRowStorage)
+            .spillThreshold(this.spillThreshold)
+            .streamingPrefetch(this.streamingPrefetch)
+            .streamingMemoryBudget(this.streamingMemoryBudget)
+            .useSocketChannel(this.useSocketChannel)
+            .rewriteBatchedStatements(this.rewriteBatchedStatements)
+            .compressionLevel(this.compressionLevel)
+            .compressionMinSize(this.compressionMinSize)
+            .compressionAlgorithms(this.compressionAlgorithms)
+            .cachePrepareMetadata(this.cachePrepareMetadata)
+            .prepareWarmupSize(this.prepareWarmupSize)
+            .prepareWarmupSql(this.prepareWarmupSql)
+            .stringCacheSize(this.stringCacheSize)
+            .zstdCompressionLevel(this.zstdCompressionLevel)
             .tlsSocketType(this.tlsSocketType)
             .sslMode(this.sslMode.name())
             .serverSslCert(this.serverSslCert)
@@ -765,7 +888,10 @@ public class Configuration {
             .maxIdleTime(this.maxIdleTime)
             .registerJmxPool(this.registerJmxPool)
             .poolValidMinDelay(this.poolValidMinDelay)
+            .poolValidationInterval(this.poolValidationInterval)
             .useResetConnection(this.useResetConnection)
+            .poolAsyncReset(this.poolAsyncReset)
+            .poolCreationConcurrency(this.poolCreationConcurrency)
             .serverRsaPublicKeyFile(this.serverRsaPublicKeyFile)
             .allowPublicKeyRetrieval(this.allowPublicKeyRetrieval);
     builder._nonMappedOptions = this.nonMappedOptions;
@@ -2049,6 +2175,16 @@ public class Configuration {
     return poolValidMinDelay;
   }
 
+  /**
+   * Interval between background validations of idle pool connections, in milliseconds. 0 disables
+   * background validation
+   *
+   * @return poolValidationInterval value
+   */
+  public int poolValidationInterval() {
+    return poolValidationInterval;
+  }
+
   /**
    * Must connection returned to pool be RESET
    *
@@ -2058,6 +2194,24 @@ public class Configuration {
     return useResetConnection;
   }
 
+  /**
+   * Must connection returned to pool be reset by a pool thread, instead of the closing thread
+   *
+   * @return poolAsyncReset value
+   */
+  public boolean poolAsyncReset() {
+    return poolAsyncReset;
+  }
+
+  /**
+   * Maximum number of pool connections created in parallel
+   *
+   * @return poolCreationConcurrency value
+   */
+  public int poolCreationConcurrency() {
+    return poolCreationConcurrency;
+  }
+
   /**
    * Server RSA public key file for caching_sha2_password authentication
    *
@@ -2085,6 +2239,140 @@ public class Configuration {
     return useReadAheadInput;
   }
 
+  /**
+   * Store rows of complete result-sets in large pooled slabs instead of one array per row
+   *
+   * @return useSlabRowStorage value
+   */
+  public boolean useSlabRowStorage() {
+    return useSlabRowStorage;
+  }
+
+  /**
+   * Size in bytes of complete result-set rows above which rows are written to a temporary file
+   * instead of being kept in memory. 0 (default) disables spilling
+   *
+   * @return spillThreshold value
+   */
+  public int spillThreshold() {
+    return spillThreshold;
+  }
+
+  /**
+   * Number of fetch size row batches a background task reads ahead for streaming result-sets. 0
+   * (default) disables read-ahead
+   *
+   * @return streamingPrefetch value
+   */
+  public int streamingPrefetch() {
+    return streamingPrefetch;
+  }
+
+  /**
+   * Memory budget in bytes of a streaming result-set batch. When set, fetch size adapts to row
+   * size and processing time. 0 (default) keeps fixed fetch size
+   *
+   * @return streamingMemoryBudget value
+   */
+  public int streamingMemoryBudget() {
+    return streamingMemoryBudget;
+  }
+
+  /**
+   * Use a non-blocking socket channel transport with direct buffers (TLS through SSLEngine)
+   * instead of socket streams. Only for TCP connections without socketFactory
+   *
+   * @return useSocketChannel value
+   */
+  public boolean useSocketChannel() {
+    return useSocketChannel;
+  }
+
+  /**
+   * Rewrite client-side prepared batches of INSERT ... VALUES (...) commands into multi-values
+   * INSERT commands, when not using server bulk command
+   *
+   * @return rewriteBatchedStatements value
+   */
+  public boolean rewriteBatchedStatements() {
+    return rewriteBatchedStatements;
+  }
+
+  /**
+   * zlib compression level (0-9) used when compression is enabled
+   *
+   * @return compressionLevel value
+   */
+  public int compressionLevel() {
+    return compressionLevel;
+  }
+
+  /**
+   * Minimum packet size to compress, when compression is enabled. Smaller packets are sent
+   * uncompressed
+   *
+   * @return compressionMinSize value
+   */
+  public int compressionMinSize() {
+    return compressionMinSize;
+  }
+
+  /**
+   * Compression algorithms, in order of preference, used when compression is enabled
+   *
+   * @return compressionAlgorithms value
+   */
+  public String compressionAlgorithms() {
+    return compressionAlgorithms;
+  }
+
+  /**
+   * Must server prepared statement metadata be shared between connections
+   *
+   * @return cachePrepareMetadata value
+   */
+  public boolean cachePrepareMetadata() {
+    return cachePrepareMetadata;
+  }
+
+  /**
+   * Number of most used prepared statements, learned from pool connections, to prepare on new
+   * pool connections
+   *
+   * @return prepareWarmupSize value
+   */
+  public int prepareWarmupSize() {
+    return prepareWarmupSize;
+  }
+
+  /**
+   * Commands to prepare on new pool connections, separated by semicolon
+   *
+   * @return prepareWarmupSql value
+   */
+  public String prepareWarmupSql() {
+    return prepareWarmupSql;
+  }
+
+  /**
+   * Number of entries of connection cache sharing String instances of short repeated values
+   * (enum-like columns). 0 (default) disables cache
+   *
+   * @return stringCacheSize value
+   */
+  public int stringCacheSize() {
+    return stringCacheSize;
+  }
+
+  /**
+   * zstd compression level (1-22) used when zstd compression is negotiated
+   *
+   * @return zstdCompressionLevel value
+   */
+  public int zstdCompressionLevel() {
+    return zstdCompressionLevel;
+  }
+
   /**
    * Cache prepared statement result.
    *
@@ -2234,6 +2522,20 @@ public class Configuration {
     private String localSocketAddress;
     private Integer socketTimeout;
     private Boolean useReadAheadInput;
+    private Boolean useSlabRowStorage;
+    private Integer spillThreshold;
+    private Integer streamingPrefetch;
+    private Integer streamingMemoryBudget;
+    private Boolean useSocketChannel;
+    private Boolean rewriteBatchedStatements;
+    private Integer compressionLevel;
+    private Integer compressionMinSize;
+    private String compressionAlgorithms;
+    private Boolean cachePrepareMetadata;
+    private Integer prepareWarmupSize;
+    private String prepareWarmupSql;
+    private Integer stringCacheSize;
+    private Integer zstdCompressionLevel;
     private String tlsSocketType;
 
     // SSL
@@ -2293,7 +2595,10 @@ public class Configuration {
     private Integer maxIdleTime;
     private Boolean registerJmxPool;
     private Integer poolValidMinDelay;
+    private Integer poolValidationInterval;
     private Boolean useResetConnection;
+    private Boolean poolAsyncReset;
+    private Integer poolCreationConcurrency;
 
     // MySQL sha authentication
     private String serverRsaPublicKeyFile;
@@ -3337,6 +3642,19 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Interval in milliseconds between background validations of idle pool connections. Idle
+     * connections that would need validation when borrowed before next run are pinged, dead ones
+     * removed, so borrowing threads do not need to. 0 (default) disables background validation.
+     *
+     * @param poolValidationInterval background validation interval
+     * @return this {@link Builder}
+     */
+    public Builder poolValidationInterval(Integer poolValidationInterval) {
+      this.poolValidationInterval = poolValidationInterval;
+      return this;
+    }
+
     /**
      * Indicate that connection returned to pool must be RESETed like having proper connection
      * state.
@@ -3349,6 +3667,30 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Indicate that connection returned to pool is reset by a pool thread, closing thread not
+     * waiting for reset to complete.
+     *
+     * @param poolAsyncReset reset connection asynchronously
+     * @return this {@link Builder}
+     */
+    public Builder poolAsyncReset(Boolean poolAsyncReset) {
+      this.poolAsyncReset = poolAsyncReset;
+      return this;
+    }
+
+    /**
+     * Maximum number of connections the pool creates in parallel, when growing to minPoolSize or
+     * to answer connection requests. Default: 1
+     *
+     * @param poolCreationConcurrency maximum number of parallel connection creations
+     * @return this {@link Builder}
+     */
+    public Builder poolCreationConcurrency(Integer poolCreationConcurrency) {
+      this.poolCreationConcurrency = poolCreationConcurrency;
+      return this;
+    }
+
     /**
      * MySQL Authentication RSA server file, for mysql authentication
      *
@@ -3382,6 +3724,181 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Store rows of complete (not streaming) result-sets in large pooled slab chunks with an offset
+     * index, instead of one byte array per row. This reduces allocations and GC pressure when
+     * reading big result-sets.
+     *
+     * @param useSlabRowStorage store result-set rows in pooled slabs
+     * @return this {@link Builder}
+     */
+    public Builder useSlabRowStorage(Boolean useSlabRowStorage) {
+      this.useSlabRowStorage = useSlabRowStorage;
+      return this;
+    }
+
+    /**
+     * Set size in bytes of complete result-set rows above which rows are written to a temporary
+     * file instead of being kept in memory, permitting big scrollable result-sets without a big
+     * heap. 0 disables spilling
+     *
+     * @param spillThreshold spill threshold in bytes
+     * @return this {@link Builder}
+     */
+    public Builder spillThreshold(Integer spillThreshold) {
+      this.spillThreshold = spillThreshold;
+      return this;
+    }
+
+    /**
+     * Set the number of fetch size row batches a background task reads ahead for streaming
+     * result-sets, so network wait overlaps with rows processing. 0 disables read-ahead
+     *
+     * @param streamingPrefetch number of batches read ahead
+     * @return this {@link Builder}
+     */
+    public Builder streamingPrefetch(Integer streamingPrefetch) {
+      this.streamingPrefetch = streamingPrefetch;
+      return this;
+    }
+
+    /**
+     * Set memory budget in bytes of a streaming result-set batch. When set, fetch size adapts
+     * for each batch: it grows while rows are processed quickly, shrinks when processing a batch
+     * is slow, and is always limited so that a batch of rows of observed size fits the budget. 0
+     * keeps fixed fetch size
+     *
+     * @param streamingMemoryBudget memory budget in bytes
+     * @return this {@link Builder}
+     */
+    public Builder streamingMemoryBudget(Integer streamingMemoryBudget) {
+      this.streamingMemoryBudget = streamingMemoryBudget;
+      return this;
+    }
+
+    /**
+     * Use a non-blocking socket channel transport with direct buffers, TLS being done by an
+     * SSLEngine. Only applies to TCP connections without socketFactory
+     *
+     * @param useSocketChannel use socket channel transport
+     * @return this {@link Builder}
+     */
+    public Builder useSocketChannel(Boolean useSocketChannel) {
+      this.useSocketChannel = useSocketChannel;
+      return this;
+    }
+
+    /**
+     * Rewrite client-side prepared batches of INSERT commands into multi-values INSERT commands,
+     * each command being limited to maxAllowedPacket (4M if not set). Only used when server bulk
+     * command is not
+     *
+     * @param rewriteBatchedStatements rewrite batched inserts
+     * @return this {@link Builder}
+     */
+    public Builder rewriteBatchedStatements(Boolean rewriteBatchedStatements) {
+      this.rewriteBatchedStatements = rewriteBatchedStatements;
+      return this;
+    }
+
+    /**
+     * Compression level used when compression is enabled, from 0 (no compression) to 9 (best
+     * compression). Default: 6
+     *
+     * @param compressionLevel compression level
+     * @return this {@link Builder}
+     */
+    public Builder compressionLevel(Integer compressionLevel) {
+      this.compressionLevel = compressionLevel;
+      return this;
+    }
+
+    /**
+     * Minimum packet size to compress, when compression is enabled. Smaller packets are sent
+     * uncompressed
+     *
+     * @param compressionMinSize minimum packet size to compress
+     * @return this {@link Builder}
+     */
+    public Builder compressionMinSize(Integer compressionMinSize) {
+      this.compressionMinSize = compressionMinSize;
+      return this;
+    }
+
+    /**
+     * Compression algorithms, in order of preference, used when compression is enabled. Available
+     * algorithms are "zlib" and "zstd" (zstd requires zstd-jni library in classpath and a server
+     * supporting it)
+     *
+     * @param compressionAlgorithms comma separated list of compression algorithms
+     * @return this {@link Builder}
+     */
+    public Builder compressionAlgorithms(String compressionAlgorithms) {
+      this.compressionAlgorithms = compressionAlgorithms;
+      return this;
+    }
+
+    /**
+     * Share server prepared statement metadata between connections of the process, instead of each
+     * connection keeping its own copy. Metadata sent by server is always compared to shared
+     * metadata. Default: true
+     *
+     * @param cachePrepareMetadata share metadata between connections
+     * @return this {@link Builder}
+     */
+    public Builder cachePrepareMetadata(Boolean cachePrepareMetadata) {
+      this.cachePrepareMetadata = cachePrepareMetadata;
+      return this;
+    }
+
+    /**
+     * Number of most used prepared statements, learned from pool connections usage, that new pool
+     * connections prepare before being made available. 0 (default) disable learning.
+     *
+     * @param prepareWarmupSize number of most used statements to prepare on new pool connections
+     * @return this {@link Builder}
+     */
+    public Builder prepareWarmupSize(Integer prepareWarmupSize) {
+      this.prepareWarmupSize = prepareWarmupSize;
+      return this;
+    }
+
+    /**
+     * Commands that new pool connections prepare before being made available, separated by
+     * semicolon
+     *
+     * @param prepareWarmupSql commands to prepare, separated by semicolon
+     * @return this {@link Builder}
+     */
+    public Builder prepareWarmupSql(String prepareWarmupSql) {
+      this.prepareWarmupSql = prepareWarmupSql;
+      return this;
+    }
+
+    /**
+     * Set the number of entries of connection cache sharing String instances of short repeated
+     * values (enum-like columns). 0 disables cache
+     *
+     * @param stringCacheSize cache size
+     * @return this {@link Builder}
+     */
+    public Builder stringCacheSize(Integer stringCacheSize) {
+      this.stringCacheSize = stringCacheSize;
+      return this;
+    }
+
+    /**
+     * zstd compression level used when zstd compression is negotiated, from 1 (fastest) to 22 (best
+     * compression). Default: 3
+     *
+     * @param zstdCompressionLevel zstd compression level
+     * @return this {@link Builder}
+     */
+    public Builder zstdCompressionLevel(Integer zstdCompressionLevel) {
+      this.zstdCompressionLevel = zstdCompressionLevel;
+      return this;
+    }
+
     /**
      * Cache server prepare result
      *
@@ -3495,7 +4012,10 @@ public class Configuration {
               this.maxIdleTime,
               this.registerJmxPool,
               this.poolValidMinDelay,
+              this.poolValidationInterval,
               this.useResetConnection,
+              this.poolAsyncReset,
+              this.poolCreationConcurrency,
               this.serverRsaPublicKeyFile,
               this.allowPublicKeyRetrieval,
               this.serverSslCert,
@@ -3507,6 +4027,20 @@ public class Configuration {
               this.keyStoreType,
               this.trustStoreType,
               this.useReadAheadInput,
+              this.useSlabRowStorage,
+              this.spillThreshold,
+              this.streamingPrefetch,
+              this.streamingMemoryBudget,
+              this.useSocketChannel,
+              this.rewriteBatchedStatements,
+              this.compressionLevel,
+              this.compressionMinSize,
+              this.compressionAlgorithms,
+              this.cachePrepareMetadata,
+              this.prepareWarmupSize,
+              this.prepareWarmupSql,
+              this.stringCacheSize,
+              this.zstdCompressionLevel,
               this.cachePrepStmts,
               this.transactionReplay,
               this.transactionReplaySize,
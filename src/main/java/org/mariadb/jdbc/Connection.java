@@ -13,9 +13,10 @@ import java.util.regex.Pattern;
 import javax.sql.ConnectionEvent;
 import org.mariadb.jdbc.client.Client;
 import org.mariadb.jdbc.client.Context;
-import org.mariadb.jdbc.client.impl.StandardClient;
+import org.mariadb.jdbc.client.impl.CancelClientPool;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.ChangeDbPacket;
 import org.mariadb.jdbc.message.client.PingPacket;
 import org.mariadb.jdbc.message.client.QueryPacket;
@@ -101,10 +102,10 @@ public class Connection implements java.sql.Connection {
   }
 
   /**
-   * Cancels the current query - clones the current protocol and executes a query using the new
-   * connection.
+   * Cancels the current query - executes a KILL QUERY command using a shared control connection to
+   * the same host.
    *
-   * @throws SQLException never thrown
+   * @throws SQLException if cancel command fails
    */
   public void cancelCurrentQuery() throws SQLException {
     // prefer relying on IP compare to DNS if not using Unix socket/PIPE
@@ -115,9 +116,8 @@ public class Connection implements java.sql.Connection {
             : HostAddress.from(
                 currentIp, client.getHostAddress().port, client.getHostAddress().primary);
 
-    try (Client cli = new StandardClient(conf, hostAddress, new ClosableLock(), true)) {
-      cli.execute(new QueryPacket("KILL QUERY " + client.getContext().getThreadId()), false);
-    }
+    CancelClientPool.INSTANCE.killQuery(
+        conf, hostAddress, client.getContext().getThreadId(), exceptionFactory);
   }
 
   @Override
@@ -406,6 +406,23 @@ public class Connection implements java.sql.Connection {
   @Override
   @SuppressWarnings("try")
   public void setTransactionIsolation(int level) throws SQLException {
+    if (isCurrentTransactionIsolation(level)) return;
+    String query = transactionIsolationQuery(level);
+    try (ClosableLock ignore = lock.closeableLock()) {
+      checkNotClosed();
+      getContext().addStateFlag(ConnectionState.STATE_TRANSACTION_ISOLATION);
+      if (conf.useLocalSessionState()) client.getContext().setTransactionIsolationLevel(level);
+      client.execute(new QueryPacket(query), true);
+    }
+  }
+
+  /**
+   * Is transaction isolation level known to be current session level.
+   *
+   * @param level transaction isolation level
+   * @return true if session already has this level
+   */
+  private boolean isCurrentTransactionIsolation(int level) {
     boolean useContextState =
         conf.useLocalSessionState()
             || (client.getContext().hasClientCapability(Capabilities.CLIENT_SESSION_TRACK)
@@ -413,12 +430,12 @@ public class Connection implements java.sql.Connection {
                         && (client.getContext().getVersion().versionGreaterOrEqual(10, 2, 2)))
                     || client.getContext().getVersion().versionGreaterOrEqual(5, 7, 0)));
 
-    if (useContextState
+    return useContextState
         && client.getContext().getTransactionIsolationLevel() != null
-        && level == client.getContext().getTransactionIsolationLevel()) {
-      return;
-    }
+        && level == client.getContext().getTransactionIsolationLevel();
+  }
 
+  private static String transactionIsolationQuery(int level) throws SQLException {
     String query = "SET SESSION TRANSACTION ISOLATION LEVEL";
     switch (level) {
       case java.sql.Connection.TRANSACTION_READ_UNCOMMITTED:
@@ -436,12 +453,7 @@ public class Connection implements java.sql.Connection {
       default:
         throw new SQLException("Unsupported transaction isolation level");
     }
-    try (ClosableLock ignore = lock.closeableLock()) {
-      checkNotClosed();
-      getContext().addStateFlag(ConnectionState.STATE_TRANSACTION_ISOLATION);
-      if (conf.useLocalSessionState()) client.getContext().setTransactionIsolationLevel(level);
-      client.execute(new QueryPacket(query), true);
-    }
+    return query;
   }
 
   @Override
@@ -844,8 +856,11 @@ public class Connection implements java.sql.Connection {
    * <p>BUT : - session variable state are reset only if option useResetConnection is set and - if
    * using the option "useServerPrepStmts", PREPARE statement are still prepared
    *
+   * <p>Reset commands are pipelined, costing a single round trip.
+   *
    * @throws SQLException if resetting operation failed
    */
+  @SuppressWarnings("try")
   public void reset() throws SQLException {
     // COM_RESET_CONNECTION exist since mysql 5.7.3 and mariadb 10.2.4
     // but not possible to use it with mysql waiting for https://bugs.mysql.com/bug.php?id=97633
@@ -859,42 +874,79 @@ public class Connection implements java.sql.Connection {
                     && getContext().getVersion().getMinorVersion() == 2
                     && getContext().getVersion().versionGreaterOrEqual(10, 2, 22)));
 
+    // session limits back to connection initial values, sent with next command if needed
+    client.setSessionLimits(0, 0L);
+    List<ClientMessage> commands = new ArrayList<>();
     if (useComReset) {
-      client.execute(ResetPacket.INSTANCE, true);
+      commands.add(ResetPacket.INSTANCE);
     }
 
     // in transaction => rollback
     if (forceTransactionEnd
         || (client.getContext().getServerStatus() & ServerStatus.IN_TRANSACTION) > 0) {
-      client.execute(new QueryPacket("ROLLBACK"), true);
+      commands.add(new QueryPacket("ROLLBACK"));
     }
 
     int stateFlag = getContext().getStateFlag();
-    if (stateFlag != 0) {
-      try {
-        if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
-          setNetworkTimeout(null, conf.socketTimeout());
-        }
-        if ((stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0) {
-          setAutoCommit(conf.autocommit() == null || conf.autocommit());
-        }
-        if ((stateFlag & ConnectionState.STATE_DATABASE) != 0) {
-          setCatalog(conf.database());
-        }
-        if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
-          setReadOnly(false); // default to master connection
-        }
-        if (!useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0) {
-          setTransactionIsolation(
-              conf.transactionIsolation() == null
-                  ? java.sql.Connection.TRANSACTION_REPEATABLE_READ
-                  : conf.transactionIsolation().getLevel());
-        }
+    String database = null;
+    Integer isolationLevel = null;
+    if ((stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0) {
+      // COM_RESET_CONNECTION set autocommit to server default
+      boolean autoCommit = conf.autocommit() == null || conf.autocommit();
+      if (useComReset || autoCommit != getAutoCommit()) {
+        commands.add(new QueryPacket(autoCommit ? "set autocommit=1" : "set autocommit=0"));
+      }
+    }
+    if ((stateFlag & ConnectionState.STATE_DATABASE) != 0
+        && conf.useCatalogTerm() == CatalogTerm.UseCatalog
+        && conf.database() != null
+        && !(client.getContext().hasClientCapability(Capabilities.CLIENT_SESSION_TRACK)
+            && conf.database().equals(client.getContext().getDatabase()))) {
+      database = conf.database();
+      commands.add(new ChangeDbPacket(database));
+    }
+    if (!useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0) {
+      int level =
+          conf.transactionIsolation() == null
+              ? java.sql.Connection.TRANSACTION_REPEATABLE_READ
+              : conf.transactionIsolation().getLevel();
+      if (!isCurrentTransactionIsolation(level)) {
+        isolationLevel = level;
+        commands.add(new QueryPacket(transactionIsolationQuery(level)));
+      }
+    }
+
+    if (!commands.isEmpty()) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        client.executePipeline(
+            commands.toArray(new ClientMessage[0]),
+            null,
+            0,
+            0L,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.TYPE_FORWARD_ONLY,
+            false,
+            true);
       } catch (SQLException sqle) {
-        throw exceptionFactory.create("error resetting connection");
+        throw exceptionFactory.create("error resetting connection", sqle.getSQLState(), sqle);
+      }
+      if (database != null) client.getContext().setDatabase(database);
+      if (isolationLevel != null && conf.useLocalSessionState()) {
+        client.getContext().setTransactionIsolationLevel(isolationLevel);
       }
     }
 
+    try {
+      if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
+        setNetworkTimeout(null, conf.socketTimeout());
+      }
+      if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
+        setReadOnly(false); // default to master connection
+      }
+    } catch (SQLException sqle) {
+      throw exceptionFactory.create("error resetting connection");
+    }
+
     client.reset();
 
     clearWarnings();
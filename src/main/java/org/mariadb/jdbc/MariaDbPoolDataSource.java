@@ -282,6 +282,17 @@ public class MariaDbPoolDataSource
     if (conf != null) config();
   }
 
+  /**
+   * Fill pool to minPoolSize connections, connections being created up to poolCreationConcurrency
+   * in parallel, blocking until done. Permits warming up pool at application startup.
+   *
+   * @throws SQLException if pool cannot reach minPoolSize connections
+   */
+  public void prefill() throws SQLException {
+    if (conf == null) config();
+    pool.prefill();
+  }
+
   /** Close datasource. */
   public void close() {
     pool.close();
@@ -0,0 +1,146 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * Streamed row. Row is a view over current row data, values being decoded only when retrieved, the
+ * same way as {@link java.sql.ResultSet} getters. A row is only valid while being handled: next
+ * row reuses it.
+ */
+public interface Row {
+
+  /**
+   * Retrieves the number, types and properties of row columns.
+   *
+   * @return the description of row columns
+   * @throws SQLException if a database access error occurs
+   */
+  ResultSetMetaData getMetaData() throws SQLException;
+
+  /**
+   * Reports whether the last column read had a value of SQL <code>NULL</code>.
+   *
+   * @return <code>true</code> if the last column value read was SQL <code>NULL</code>
+   * @throws SQLException if a database access error occurs
+   */
+  boolean wasNull() throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>String</code>.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  String getString(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>String</code>.
+   *
+   * @param columnLabel the label for the column
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnLabel is not valid, or value cannot be decoded
+   */
+  String getString(String columnLabel) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>boolean</code>.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     false</code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  boolean getBoolean(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as an <code>int</code>.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>0
+   *     </code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  int getInt(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>long</code>.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>0
+   *     </code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  long getLong(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>double</code>.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>0
+   *     </code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  double getDouble(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>BigDecimal</code>.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  BigDecimal getBigDecimal(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column as a <code>byte</code> array.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  byte[] getBytes(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column, with default java type of column.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnIndex is not valid, or value cannot be decoded
+   */
+  Object getObject(int columnIndex) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column, converted to the requested java type.
+   *
+   * @param columnIndex the first column is 1, the second is 2, ...
+   * @param type Class representing the Java data type to convert the designated column to.
+   * @param <T> the type of the class modeled by this Class object
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnIndex is not valid, or conversion is not supported
+   */
+  <T> T getObject(int columnIndex, Class<T> type) throws SQLException;
+
+  /**
+   * Retrieves the value of the designated column, converted to the requested java type.
+   *
+   * @param columnLabel the label for the column
+   * @param type Class representing the Java data type to convert the designated column to.
+   * @param <T> the type of the class modeled by this Class object
+   * @return the column value; if the value is SQL <code>NULL</code>, the value returned is <code>
+   *     null</code>
+   * @throws SQLException if the columnLabel is not valid, or conversion is not supported
+   */
+  <T> T getObject(String columnLabel, Class<T> type) throws SQLException;
+}
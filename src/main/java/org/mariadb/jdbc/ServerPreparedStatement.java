@@ -89,7 +89,8 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     validParameters();
     try (ClosableLock ignore = lock.closeableLock();
         QueryTimeoutHandler ignore2 = this.con.handleTimeout(queryTimeout)) {
-      String cmd = escapeTimeout(sql);
+      setSessionLimits();
+      String cmd = escapeSql(sql);
       if (prepareResult == null)
         if (canCachePrepStmts) prepareResult = con.getContext().getPrepareCacheCmd(cmd, this);
       if (prepareResult == null && con.getContext().permitPipeline()) {
@@ -159,9 +160,28 @@ public class ServerPreparedStatement extends BasePreparedStatement {
                 false);
   }
 
+  protected ClientMessage[] asyncMessages(List<Parameters> parametersList) throws SQLException {
+    setSessionLimits();
+    String cmd = escapeSql(sql);
+    // prepare synchronously, executions only being pipelined
+    if (prepareResult == null) {
+      if (canCachePrepStmts) prepareResult = con.getContext().getPrepareCacheCmd(cmd, this);
+      if (prepareResult == null) {
+        con.getClient().execute(new PreparePacket(cmd), this, true);
+      }
+    }
+    validParameters();
+    ClientMessage[] packets = new ClientMessage[parametersList.size()];
+    for (int i = 0; i < packets.length; i++) {
+      packets[i] = new ExecutePacket(prepareResult, parametersList.get(i), cmd, this, null);
+    }
+    return packets;
+  }
+
   protected boolean executeInternalPreparedBatch() throws SQLException {
     checkNotClosed();
-    String cmd = escapeTimeout(sql);
+    setSessionLimits();
+    String cmd = escapeSql(sql);
     if (batchParameters.size() > 1 && con.getContext().hasServerCapability(STMT_BULK_OPERATIONS)) {
 
       // ensure pipelining is possible (no LOAD DATA/XML INFILE commands)
@@ -530,7 +550,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
 
     // send COM_STMT_PREPARE
     if (prepareResult == null) {
-      con.getClient().execute(new PreparePacket(escapeTimeout(sql)), this, true);
+      con.getClient().execute(new PreparePacket(escapeSql(sql)), this, true);
     }
 
     return new org.mariadb.jdbc.client.result.ResultSetMetaData(
@@ -553,7 +573,7 @@ public class ServerPreparedStatement extends BasePreparedStatement {
   public java.sql.ParameterMetaData getParameterMetaData() throws SQLException {
     // send COM_STMT_PREPARE
     if (prepareResult == null) {
-      con.getClient().execute(new PreparePacket(escapeTimeout(sql)), this, true);
+      con.getClient().execute(new PreparePacket(escapeSql(sql)), this, true);
     }
 
     return new ParameterMetaData(exceptionFactory(), prepareResult.getParameters());
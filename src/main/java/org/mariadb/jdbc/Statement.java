@@ -8,6 +8,8 @@ import static org.mariadb.jdbc.util.constants.Capabilities.LOCAL_FILES;
 import java.io.InputStream;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.mariadb.jdbc.client.ColumnDecoder;
@@ -17,6 +19,7 @@ import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.QueryPacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.util.ClientParser;
@@ -180,6 +183,73 @@ public class Statement implements java.sql.Statement {
             + " Statement.execute(), Statement.executeUpdate(), or correct command");
   }
 
+  /**
+   * Executes the given SQL statement asynchronously. Command is sent, and method returns without
+   * waiting for result: result is read in background (or before any subsequent command results),
+   * permitting several commands to be in flight on the connection. Result-set is always completely
+   * loaded (fetch size is not used), and statement results are not changed.
+   *
+   * <p><strong>Note:</strong>This method cannot be called on a <code>PreparedStatement</code>.
+   *
+   * @param sql an SQL statement to be sent to the database, typically a static SQL <code>SELECT
+   *     </code> statement
+   * @return future <code>ResultSet</code> object that contains the data produced by the given
+   *     query. Future completes exceptionally with a <code>SQLException</code> if command fails,
+   *     or doesn't produce a <code>ResultSet</code>
+   * @throws SQLException if this method is called on a closed <code>Statement</code>, or if
+   *     command cannot be sent
+   */
+  @SuppressWarnings("try")
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+    checkNotClosed();
+    try (ClosableLock ignore = lock.closeableLock()) {
+      if (possibleLoadLocal(sql)) {
+        CompletableFuture<ResultSet> future = new CompletableFuture<>();
+        try {
+          future.complete(executeQuery(sql));
+        } catch (SQLException e) {
+          future.completeExceptionally(e);
+        }
+        return future;
+      }
+      this.lastSql = sql;
+      this.autoGeneratedKeys = Statement.NO_GENERATED_KEYS;
+      setSessionLimits();
+      return con.getClient()
+          .executePipelineAsync(
+              new ClientMessage[] {new QueryPacket(escapeSql(sql))},
+              this,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion)
+          .thenApply(this::asyncResultSet);
+    }
+  }
+
+  /**
+   * Get result-set of an asynchronous command.
+   *
+   * @param res command results
+   * @return result-set
+   * @throws CompletionException if command didn't return a result-set
+   */
+  protected ResultSet asyncResultSet(List<Completion> res) {
+    if (res.get(0) instanceof Result) {
+      return (Result) res.get(0);
+    }
+    if (Boolean.parseBoolean(
+        con.getContext().getConf().nonMappedOptions().getProperty("permitNoResults", "false"))) {
+      // for compatibility with pre 3.4.0 version
+      return new CompleteResult(
+          new ColumnDecoder[0], new byte[0][], con.getContext(), resultSetType);
+    }
+    throw new CompletionException(
+        new SQLException(
+            "executeQueryAsync() command does NOT return a result-set as expected. Either use"
+                + " executeBatchAsync(), execute(), executeUpdate(), or correct command"));
+  }
+
   /**
    * Executes the given SQL statement, which may be an <code>INSERT</code>, <code>UPDATE</code>, or
    * <code>DELETE</code> statement or an SQL statement that returns nothing, such as an SQL DDL
@@ -756,32 +826,15 @@ public class Statement implements java.sql.Statement {
     try (ClosableLock ignore = lock.closeableLock()) {
       this.lastSql = batchQueries.get(0);
       this.autoGeneratedKeys = java.sql.Statement.RETURN_GENERATED_KEYS;
+      setSessionLimits();
       // ensure pipelining is possible (no LOAD DATA/XML INFILE commands)
-      boolean possibleLoadLocal = con.getContext().hasClientCapability(LOCAL_FILES);
-      if (possibleLoadLocal) {
-        possibleLoadLocal = false;
-        for (String batchQuery : batchQueries) {
-          String sql = batchQuery.toUpperCase(Locale.ROOT);
-          if (sql.contains(" LOCAL ") && sql.contains("LOAD") && sql.contains(" INFILE")) {
-            possibleLoadLocal = true;
-            break;
-          }
-        }
-      }
-
       List<Completion> res =
-          possibleLoadLocal ? executeInternalBatchStandard() : executeInternalBatchPipeline();
+          batchPossibleLoadLocal()
+              ? executeInternalBatchStandard()
+              : executeInternalBatchPipeline();
 
       results = res;
-
-      int[] updates = new int[res.size()];
-      for (int i = 0; i < res.size(); i++) {
-        if (res.get(i) instanceof OkPacket) {
-          updates[i] = (int) ((OkPacket) res.get(i)).getAffectedRows();
-        } else {
-          updates[i] = org.mariadb.jdbc.Statement.SUCCESS_NO_INFO;
-        }
-      }
+      int[] updates = updateCounts(res, res.size());
       currResult = results.remove(0);
       return updates;
 
@@ -794,6 +847,102 @@ public class Statement implements java.sql.Statement {
     }
   }
 
+  /**
+   * Submits the batch of commands asynchronously. Commands are sent pipelined and the method
+   * returns without waiting for results: results are read in background (or before any subsequent
+   * command results), permitting several commands to be in flight on the connection. Batch is
+   * cleared, and statement results are not changed.
+   *
+   * <p>Batches containing LOAD DATA LOCAL INFILE commands cannot be pipelined, and are executed
+   * before returning.
+   *
+   * @return future update counts, one element for each command in the batch. Future completes
+   *     exceptionally with a {@link BatchUpdateException} if one of the commands fails.
+   * @throws SQLException if this method is called on a closed <code>Statement</code>, or if
+   *     commands cannot be sent
+   */
+  @SuppressWarnings("try")
+  public CompletableFuture<int[]> executeBatchAsync() throws SQLException {
+    checkNotClosed();
+    if (batchQueries == null || batchQueries.isEmpty()) {
+      return CompletableFuture.completedFuture(new int[0]);
+    }
+    try (ClosableLock ignore = lock.closeableLock()) {
+      if (batchPossibleLoadLocal()) {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+        try {
+          future.complete(executeBatch());
+        } catch (SQLException e) {
+          future.completeExceptionally(e);
+        }
+        return future;
+      }
+      this.lastSql = batchQueries.get(0);
+      setSessionLimits();
+      int size = batchQueries.size();
+      ClientMessage[] packets = new ClientMessage[size];
+      for (int i = 0; i < size; i++) {
+        packets[i] = new QueryPacket(batchQueries.get(i));
+      }
+      return con.getClient()
+          .executePipelineAsync(
+              packets,
+              this,
+              0L,
+              ResultSet.CONCUR_READ_ONLY,
+              ResultSet.TYPE_FORWARD_ONLY,
+              closeOnCompletion)
+          .thenApply(res -> updateCounts(res, size));
+    } finally {
+      batchQueries.clear();
+    }
+  }
+
+  /**
+   * Convert batch results to update counts.
+   *
+   * @param res batch results
+   * @param size number of batch commands
+   * @return update counts
+   */
+  protected static int[] updateCounts(List<Completion> res, int size) {
+    int[] updates = new int[size];
+    if (res.size() != size) {
+      Arrays.fill(updates, Statement.SUCCESS_NO_INFO);
+      return updates;
+    }
+    for (int i = 0; i < size; i++) {
+      if (res.get(i) instanceof OkPacket) {
+        updates[i] = (int) ((OkPacket) res.get(i)).getAffectedRows();
+      } else {
+        updates[i] = org.mariadb.jdbc.Statement.SUCCESS_NO_INFO;
+      }
+    }
+    return updates;
+  }
+
+  /**
+   * Indicate if command might be a LOAD DATA LOCAL INFILE command, requiring file content to be
+   * sent while reading results, so cannot be pipelined.
+   *
+   * @param sql command
+   * @return true if command might send a local file
+   */
+  protected boolean possibleLoadLocal(String sql) {
+    if (!con.getContext().hasClientCapability(LOCAL_FILES)) return false;
+    String sqlUpper = sql.toUpperCase(Locale.ROOT);
+    return sqlUpper.contains(" LOCAL ")
+        && sqlUpper.contains("LOAD")
+        && sqlUpper.contains(" INFILE");
+  }
+
+  private boolean batchPossibleLoadLocal() {
+    for (String batchQuery : batchQueries) {
+      if (possibleLoadLocal(batchQuery)) return true;
+    }
+    return false;
+  }
+
   /**
    * Retrieves the <code>Connection</code> object that produced this <code>Statement</code> object.
    *
@@ -1028,7 +1177,8 @@ public class Statement implements java.sql.Statement {
         QueryTimeoutHandler ignore2 = this.con.handleTimeout(queryTimeout)) {
       this.lastSql = sql;
       this.autoGeneratedKeys = autoGeneratedKeys;
-      String cmd = escapeTimeout(sql);
+      setSessionLimits();
+      String cmd = escapeSql(sql);
       results =
           con.getClient()
               .execute(
@@ -1167,35 +1317,26 @@ public class Statement implements java.sql.Statement {
   }
 
   /**
-   * Build sql command to execute :
-   *
-   * <ul>
-   *   <li>Execute escape substitution if needed
-   *   <li>add query timeout prefix if server permits it
-   *   <li>add max row limit prefix if server permits it
-   * </ul>
+   * Execute escape substitution if needed
    *
    * @param sql sql command
    * @return sql command to execute
    * @throws SQLException if fails to escape sql
    */
-  protected String escapeTimeout(final String sql) throws SQLException {
-    String escapedSql = escape ? NativeSql.parse(sql, con.getContext()) : sql;
-    if (queryTimeout != 0 && canUseServerTimeout) {
-      if (canUseServerMaxRows && maxRows > 0) {
-        return "SET STATEMENT max_statement_time="
-            + queryTimeout
-            + ", SQL_SELECT_LIMIT="
-            + maxRows
-            + " FOR "
-            + escapedSql;
-      }
-      return "SET STATEMENT max_statement_time=" + queryTimeout + " FOR " + escapedSql;
-    }
-    if (canUseServerMaxRows && maxRows > 0) {
-      return "SET STATEMENT SQL_SELECT_LIMIT=" + maxRows + " FOR " + escapedSql;
-    }
-    return escapedSql;
+  protected String escapeSql(final String sql) throws SQLException {
+    return escape ? NativeSql.parse(sql, con.getContext()) : sql;
+  }
+
+  /**
+   * Set query timeout and max row limit of next command, if server permits it.
+   *
+   * <p>Limits are set with session variables, only sent (pipelined with command) when changing,
+   * so sql command, and server prepared statement cache key, never depends on limits.
+   */
+  protected void setSessionLimits() {
+    con.getClient()
+        .setSessionLimits(
+            canUseServerTimeout ? queryTimeout : 0, canUseServerMaxRows ? maxRows : 0L);
   }
 
   /**
@@ -1581,21 +1722,12 @@ public class Statement implements java.sql.Statement {
     try (ClosableLock ignore = lock.closeableLock()) {
       this.lastSql = batchQueries.get(0);
       this.autoGeneratedKeys = java.sql.Statement.RETURN_GENERATED_KEYS;
+      setSessionLimits();
       // ensure pipelining is possible (no LOAD DATA/XML INFILE commands)
-      boolean possibleLoadLocal = con.getContext().hasClientCapability(LOCAL_FILES);
-      if (possibleLoadLocal) {
-        possibleLoadLocal = false;
-        for (String batchQuery : batchQueries) {
-          String sql = batchQuery.toUpperCase(Locale.ROOT);
-          if (sql.contains(" LOCAL ") && sql.contains("LOAD") && sql.contains(" INFILE")) {
-            possibleLoadLocal = true;
-            break;
-          }
-        }
-      }
-
       List<Completion> res =
-          possibleLoadLocal ? executeInternalBatchStandard() : executeInternalBatchPipeline();
+          batchPossibleLoadLocal()
+              ? executeInternalBatchStandard()
+              : executeInternalBatchPipeline();
 
       results = res;
       long[] updates = new long[res.size()];
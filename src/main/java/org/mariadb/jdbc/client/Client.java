@@ -5,6 +5,7 @@ package org.mariadb.jdbc.client;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.export.ExceptionFactory;
@@ -86,6 +87,29 @@ public interface Client extends AutoCloseable {
       boolean canRedo)
       throws SQLException;
 
+  /**
+   * Send client messages pipelining, without waiting for results. Results are read in background,
+   * or before next command results, and are returned by future: complete results for each message,
+   * or error (a BatchUpdateException if there is more than one response)
+   *
+   * @param messages client message
+   * @param stmt statement
+   * @param maxRows maximum number of rows. 0 = all
+   * @param resultSetConcurrency concurrency
+   * @param resultSetType result-set type
+   * @param closeOnCompletion close statement on completion
+   * @return results future
+   * @throws SQLException if connection is closed, or if no message can be sent
+   */
+  CompletableFuture<List<Completion>> executePipelineAsync(
+      ClientMessage[] messages,
+      org.mariadb.jdbc.Statement stmt,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion)
+      throws SQLException;
+
   /**
    * Read results
    *
@@ -159,6 +183,16 @@ public interface Client extends AutoCloseable {
    */
   boolean isClosed();
 
+  /**
+   * Set session max_statement_time and sql_select_limit values for next commands. When they differ
+   * from current session values, a SET command is sent pipelined with next command.
+   *
+   * @param queryTimeout query timeout in seconds, 0 for connection initial value (option
+   *     sessionVariables value if set, server default if not)
+   * @param maxRows maximum number of rows, 0 for connection initial value
+   */
+  void setSessionLimits(int queryTimeout, long maxRows);
+
   /** Reset connection */
   void reset();
 
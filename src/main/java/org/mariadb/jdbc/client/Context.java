@@ -6,8 +6,10 @@ package org.mariadb.jdbc.client;
 import java.util.Calendar;
 import java.util.TimeZone;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.util.StringCache;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
 
@@ -209,6 +211,21 @@ public interface Context {
    */
   Prepare putPrepareCacheCmd(String sql, Prepare result, BasePreparedStatement preparedStatement);
 
+  /**
+   * Report use count of each cached prepare of a database
+   *
+   * @param database database
+   * @param consumer consumer of sql command and use count
+   */
+  void forEachPrepareCacheUse(String database, ObjIntConsumer<String> consumer);
+
+  /**
+   * Get connection cache of short string values
+   *
+   * @return string cache, null if disabled
+   */
+  StringCache getStringCache();
+
   /** Reset prepare cache (after a failover) */
   void resetPrepareCache();
 
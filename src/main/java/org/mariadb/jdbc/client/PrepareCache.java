@@ -3,6 +3,7 @@
 // Copyright (c) 2015-2024 MariaDB Corporation Ab
 package org.mariadb.jdbc.client;
 
+import java.util.function.ObjIntConsumer;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.export.Prepare;
 
@@ -28,6 +29,13 @@ public interface PrepareCache {
    */
   Prepare put(String key, Prepare result, BasePreparedStatement preparedStatement);
 
+  /**
+   * Report use count of each cached value
+   *
+   * @param consumer consumer of key and use count
+   */
+  void forEachUse(ObjIntConsumer<String> consumer);
+
   /** Reset cache */
   void reset();
 }
@@ -122,6 +122,30 @@ public interface ReadableByteBuf {
    */
   long atoll(int length);
 
+  /**
+   * Fast double parsing, without allocation for common values
+   *
+   * @param length data length
+   * @return double value
+   */
+  double atod(int length);
+
+  /**
+   * Fast float parsing, without allocation for common values
+   *
+   * @param length data length
+   * @return float value
+   */
+  float atof(int length);
+
+  /**
+   * Read text encoded boolean: any value but "0" is true.
+   *
+   * @param length data length
+   * @return boolean value
+   */
+  boolean readTextBoolean(int length);
+
   /**
    * Fast unsigned long parsing
    *
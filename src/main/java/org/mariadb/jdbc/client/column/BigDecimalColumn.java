@@ -222,7 +222,7 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -234,7 +234,7 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
@@ -152,8 +152,7 @@ public class BlobColumn extends StringColumn implements ColumnDecoder {
       throw new SQLDataException(
           String.format("Data type %s cannot be decoded as Boolean", dataType));
     }
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -85,7 +85,7 @@ public class DoubleColumn extends ColumnDefinitionPacket implements ColumnDecode
   public Object getDefaultText(
       final ReadableByteBuf buf, final MutableInt length, final Context context)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
@@ -98,8 +98,7 @@ public class DoubleColumn extends ColumnDefinitionPacket implements ColumnDecode
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -226,7 +225,7 @@ public class DoubleColumn extends ColumnDefinitionPacket implements ColumnDecode
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -238,7 +237,7 @@ public class DoubleColumn extends ColumnDefinitionPacket implements ColumnDecode
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
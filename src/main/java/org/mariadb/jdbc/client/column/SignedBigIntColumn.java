@@ -103,8 +103,7 @@ public class SignedBigIntColumn extends ColumnDefinitionPacket implements Column
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -205,7 +204,7 @@ public class SignedBigIntColumn extends ColumnDefinitionPacket implements Column
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -217,7 +216,7 @@ public class SignedBigIntColumn extends ColumnDefinitionPacket implements Column
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
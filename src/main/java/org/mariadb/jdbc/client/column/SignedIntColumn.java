@@ -102,8 +102,7 @@ public class SignedIntColumn extends ColumnDefinitionPacket implements ColumnDec
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -194,7 +193,7 @@ public class SignedIntColumn extends ColumnDefinitionPacket implements ColumnDec
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -206,7 +205,7 @@ public class SignedIntColumn extends ColumnDefinitionPacket implements ColumnDec
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
@@ -17,6 +17,7 @@ import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableInt;
+import org.mariadb.jdbc.client.util.StringCache;
 import org.mariadb.jdbc.message.server.ColumnDefinitionPacket;
 import org.mariadb.jdbc.plugin.codec.LocalDateTimeCodec;
 import org.mariadb.jdbc.plugin.codec.LocalTimeCodec;
@@ -137,6 +138,14 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
     return (int) (columnLength / maxWidth);
   }
 
+  private static String readString(
+      final ReadableByteBuf buf, final MutableInt length, final Context context) {
+    StringCache stringCache = context.getStringCache();
+    return stringCache == null
+        ? buf.readString(length.get())
+        : stringCache.readString(buf, length.get());
+  }
+
   @Override
   public Object getDefaultText(
       final ReadableByteBuf buf, final MutableInt length, final Context context)
@@ -146,7 +155,7 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
       buf.readBytes(arr);
       return arr;
     }
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
@@ -158,19 +167,19 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
       buf.readBytes(arr);
       return arr;
     }
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return !"0".equals(buf.readAscii(length.get()));
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
   public boolean decodeBooleanBinary(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return !"0".equals(buf.readAscii(length.get()));
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -205,14 +214,14 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
   public String decodeStringText(
       final ReadableByteBuf buf, final MutableInt length, final Calendar cal, final Context context)
       throws SQLDataException {
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
   public String decodeStringBinary(
       final ReadableByteBuf buf, final MutableInt length, final Calendar cal, final Context context)
       throws SQLDataException {
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
@@ -101,8 +101,7 @@ public class UnsignedBigIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -240,7 +239,7 @@ public class UnsignedBigIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -257,7 +256,7 @@ public class UnsignedBigIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
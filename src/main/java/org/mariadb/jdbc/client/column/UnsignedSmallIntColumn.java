@@ -95,8 +95,7 @@ public class UnsignedSmallIntColumn extends ColumnDefinitionPacket implements Co
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -186,7 +185,7 @@ public class UnsignedSmallIntColumn extends ColumnDefinitionPacket implements Co
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -198,7 +197,7 @@ public class UnsignedSmallIntColumn extends ColumnDefinitionPacket implements Co
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
@@ -108,8 +108,7 @@ public class UnsignedTinyIntColumn extends ColumnDefinitionPacket implements Col
   @Override
   public boolean decodeBooleanText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String s = buf.readAscii(length.get());
-    return !"0".equals(s);
+    return buf.readTextBoolean(length.get());
   }
 
   @Override
@@ -191,7 +190,7 @@ public class UnsignedTinyIntColumn extends ColumnDefinitionPacket implements Col
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -203,7 +202,7 @@ public class UnsignedTinyIntColumn extends ColumnDefinitionPacket implements Col
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
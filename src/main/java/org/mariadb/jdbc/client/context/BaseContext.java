@@ -8,10 +8,12 @@ import static org.mariadb.jdbc.util.constants.Capabilities.STMT_BULK_OPERATIONS;
 import java.util.Calendar;
 import java.util.TimeZone;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.*;
+import org.mariadb.jdbc.client.util.StringCache;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.InitialHandshakePacket;
@@ -36,6 +38,9 @@ public class BaseContext implements Context {
 
   private final HostAddress hostAddress;
 
+  /** cache of short string values, null if disabled */
+  private final StringCache stringCache;
+
   /** Server status context */
   protected int serverStatus;
 
@@ -95,6 +100,7 @@ public class BaseContext implements Context {
     this.database = conf.database();
     this.exceptionFactory = exceptionFactory;
     this.prepareCache = prepareCache;
+    this.stringCache = conf.stringCacheSize() > 0 ? new StringCache(conf.stringCacheSize()) : null;
     this.canUseTransactionIsolation =
         (version.isMariaDBServer() && version.versionGreaterOrEqual(11, 1, 1))
             || (!version.isMariaDBServer()
@@ -191,6 +197,19 @@ public class BaseContext implements Context {
     return prepareCache.put(database + "|" + sql, result, preparedStatement);
   }
 
+  public void forEachPrepareCacheUse(String database, ObjIntConsumer<String> consumer) {
+    if (prepareCache == null) return;
+    String prefix = database + "|";
+    prepareCache.forEachUse(
+        (key, useCount) -> {
+          if (key.startsWith(prefix)) consumer.accept(key.substring(prefix.length()), useCount);
+        });
+  }
+
+  public StringCache getStringCache() {
+    return stringCache;
+  }
+
   public void resetPrepareCache() {
     if (prepareCache != null) prepareCache.reset();
   }
@@ -0,0 +1,269 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
+import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.client.QueryPacket;
+
+/**
+ * Process-wide pool of "control" connections used to send KILL QUERY commands, shared by all
+ * connections with the same configuration and host, so cancelling a query (Statement.cancel(),
+ * query timeout) costs one exchange instead of a new connection each time.
+ *
+ * <p>Control connections are created lazily, and at most {@link #MAX_CHANNELS} are used at the same
+ * time for a host: when many cancels occur at once (timeouts during server slow down), they wait
+ * for an available control connection instead of creating connections against an already slow
+ * server. Idle control connections are closed after {@link #IDLE_TIMEOUT_MS}, checked when
+ * cancelling and by a task running on the timeout scheduler while control connections exist. A
+ * control connection failing (closed by server wait_timeout, network issue) is discarded, and
+ * command is sent again once, through a new connection.
+ */
+public final class CancelClientPool {
+
+  /** shared instance */
+  public static final CancelClientPool INSTANCE = new CancelClientPool();
+
+  /** maximum number of control connections per configuration and host */
+  static final int MAX_CHANNELS = 4;
+
+  /** idle time after which a control connection is closed */
+  static final long IDLE_TIMEOUT_MS = 60_000;
+
+  private final Map<Key, Channels> pools = new ConcurrentHashMap<>();
+  private final ClosableLock lock = new ClosableLock();
+  private ScheduledFuture<?> reaper;
+
+  private CancelClientPool() {}
+
+  /**
+   * Kill current query of a connection.
+   *
+   * @param conf connection configuration
+   * @param hostAddress connection host address
+   * @param threadId connection thread id
+   * @param exceptionFactory connection exception factory
+   * @throws SQLException if no control connection is available, or if command fails
+   */
+  public void killQuery(
+      Configuration conf, HostAddress hostAddress, long threadId, ExceptionFactory exceptionFactory)
+      throws SQLException {
+    Channels channels =
+        pools.compute(
+            new Key(conf, hostAddress),
+            (key, existing) -> {
+              Channels c = existing == null ? new Channels(key) : existing;
+              c.users.incrementAndGet();
+              return c;
+            });
+    try {
+      scheduleReaper();
+      killQuery(channels, threadId, exceptionFactory);
+    } finally {
+      channels.users.decrementAndGet();
+    }
+  }
+
+  private void killQuery(Channels channels, long threadId, ExceptionFactory exceptionFactory)
+      throws SQLException {
+    Configuration conf = channels.conf;
+    try {
+      if (!channels.permits.tryAcquire(conf.connectTimeout(), TimeUnit.MILLISECONDS)) {
+        throw exceptionFactory.create(
+            "No connection available to cancel query, all control connections are in use",
+            "HY000");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw exceptionFactory.create("Interrupted while waiting to cancel query", "HY000", e);
+    }
+    try {
+      QueryPacket kill = new QueryPacket("KILL QUERY " + threadId);
+      Client client = channels.poll();
+      if (client != null) {
+        try {
+          client.execute(kill, false);
+          channels.release(client);
+          return;
+        } catch (SQLException e) {
+          if (!client.isClosed()) {
+            channels.release(client);
+            throw e;
+          }
+          // stale control connection, retry through a new one
+        }
+      }
+      client = channels.create();
+      try {
+        client.execute(kill, false);
+      } catch (SQLException e) {
+        if (!client.isClosed()) channels.release(client);
+        throw e;
+      }
+      channels.release(client);
+    } finally {
+      channels.permits.release();
+    }
+  }
+
+  /** Close all idle control connections */
+  public void clear() {
+    closeIdle(null, 0);
+  }
+
+  /**
+   * Close idle control connections of a configuration, when connections using it are closed (pool
+   * closing).
+   *
+   * @param conf configuration
+   */
+  public void clear(Configuration conf) {
+    closeIdle(conf, 0);
+  }
+
+  /**
+   * Close control connections idle for too long, and forget hosts without control connection.
+   *
+   * @param conf only for this configuration, null for all
+   * @param idleTimeoutMs idle time after which a control connection is closed
+   */
+  private void closeIdle(Configuration conf, long idleTimeoutMs) {
+    for (Key key : pools.keySet()) {
+      if (conf != null && !conf.equals(key.conf)) continue;
+      Channels channels = pools.get(key);
+      if (channels == null) continue;
+      channels.closeIdle(idleTimeoutMs);
+      // removal is atomic with killQuery registration: channel cannot be removed while in use
+      pools.computeIfPresent(key, (k, c) -> c.users.get() == 0 && c.isEmpty() ? null : c);
+    }
+  }
+
+  @SuppressWarnings("try")
+  private void scheduleReaper() {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      if (reaper == null) {
+        reaper =
+            SchedulerProvider.getTimeoutScheduler(lock)
+                .scheduleWithFixedDelay(
+                    this::reap, IDLE_TIMEOUT_MS, IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  @SuppressWarnings("try")
+  private void reap() {
+    closeIdle(null, IDLE_TIMEOUT_MS);
+    try (ClosableLock ignore = lock.closeableLock()) {
+      // killQuery add its channels before scheduling reaper, so new ones will schedule it again
+      if (pools.isEmpty() && reaper != null) {
+        reaper.cancel(false);
+        reaper = null;
+      }
+    }
+  }
+
+  private static final class Key {
+    private final Configuration conf;
+    private final HostAddress hostAddress;
+
+    Key(Configuration conf, HostAddress hostAddress) {
+      this.conf = conf;
+      this.hostAddress = hostAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return conf.equals(key.conf) && hostAddress.equals(key.hostAddress);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(conf, hostAddress);
+    }
+  }
+
+  private static final class Channels {
+    private final Configuration conf;
+    private final HostAddress hostAddress;
+    private final Semaphore permits = new Semaphore(MAX_CHANNELS);
+    private final AtomicInteger users = new AtomicInteger();
+    private final ClosableLock lock = new ClosableLock();
+    private final Deque<Client> idle = new ArrayDeque<>();
+    private final Deque<Long> idleSince = new ArrayDeque<>();
+
+    Channels(Key key) {
+      this.conf = key.conf;
+      this.hostAddress = key.hostAddress;
+    }
+
+    Client create() throws SQLException {
+      return new StandardClient(conf, hostAddress, new ClosableLock(), true);
+    }
+
+    /**
+     * Most recently used idle control connection, after closing connections idle for too long.
+     *
+     * @return idle control connection, or null if none
+     */
+    @SuppressWarnings("try")
+    Client poll() {
+      closeIdle(IDLE_TIMEOUT_MS);
+      try (ClosableLock ignore = lock.closeableLock()) {
+        idleSince.pollFirst();
+        return idle.pollFirst();
+      }
+    }
+
+    @SuppressWarnings("try")
+    boolean isEmpty() {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        return idle.isEmpty();
+      }
+    }
+
+    @SuppressWarnings("try")
+    void release(Client client) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        idle.addFirst(client);
+        idleSince.addFirst(System.currentTimeMillis());
+      }
+    }
+
+    @SuppressWarnings("try")
+    void closeIdle(long idleTimeoutMs) {
+      long limit = System.currentTimeMillis() - idleTimeoutMs;
+      while (true) {
+        Client client;
+        try (ClosableLock ignore = lock.closeableLock()) {
+          Long since = idleSince.peekLast();
+          if (since == null || since > limit) return;
+          idleSince.pollLast();
+          client = idle.pollLast();
+        }
+        try {
+          client.close();
+        } catch (Exception e) {
+          // eat
+        }
+      }
+    }
+  }
+}
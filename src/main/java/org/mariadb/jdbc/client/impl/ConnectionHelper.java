@@ -8,6 +8,7 @@ import java.lang.reflect.Constructor;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTimeoutException;
@@ -21,8 +22,10 @@ import org.mariadb.jdbc.client.SocketHelper;
 import org.mariadb.jdbc.client.socket.impl.SocketHandlerFunction;
 import org.mariadb.jdbc.client.socket.impl.SocketUtility;
 import org.mariadb.jdbc.export.SslMode;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
 import org.mariadb.jdbc.plugin.Credential;
 import org.mariadb.jdbc.plugin.CredentialPlugin;
+import org.mariadb.jdbc.plugin.compression.CompressionPluginLoader;
 import org.mariadb.jdbc.util.ConfigurableSocketFactory;
 import org.mariadb.jdbc.util.constants.Capabilities;
 
@@ -108,7 +111,10 @@ public final class ConnectionHelper {
       throws SQLException {
     Socket socket;
     try {
-      socket = createSocket(conf, hostAddress);
+      socket =
+          useSocketChannel(conf, hostAddress)
+              ? SocketChannel.open().socket()
+              : createSocket(conf, hostAddress);
       SocketHelper.setSocketOption(conf, socket);
       if (!socket.isConnected()) {
         InetSocketAddress sockAddr =
@@ -134,6 +140,21 @@ public final class ConnectionHelper {
     }
   }
 
+  /**
+   * Indicate if socket channel transport must be used: option is set, and connection is a TCP
+   * connection without socket factory.
+   *
+   * @param conf configuration
+   * @param hostAddress host to connect
+   * @return true if socket channel transport must be used
+   */
+  private static boolean useSocketChannel(Configuration conf, HostAddress hostAddress) {
+    return conf.useSocketChannel()
+        && conf.socketFactory() == null
+        && hostAddress.pipe == null
+        && hostAddress.localSocket == null;
+  }
+
   /**
    * Initialize client capability according to configuration and server capabilities.
    *
@@ -214,7 +235,9 @@ public final class ConnectionHelper {
     }
 
     if (configuration.useCompression()) {
-      capabilities |= Capabilities.COMPRESS;
+      CompressionPlugin compressionPlugin =
+          CompressionPluginLoader.negotiate(configuration, serverCapabilities);
+      if (compressionPlugin != null) capabilities |= compressionPlugin.capability();
     }
 
     // connect to database directly if not needed to be created, or if slave, since cannot be
@@ -261,8 +284,27 @@ public final class ConnectionHelper {
    */
   static void enabledSslProtocolSuites(SSLSocket sslSocket, Configuration conf)
       throws SQLException {
+    String[] protocols = enabledSslProtocolSuites(sslSocket.getSupportedProtocols(), conf);
+    if (protocols != null) sslSocket.setEnabledProtocols(protocols);
+  }
+
+  /**
+   * Set SSL engine protocols according to options.
+   *
+   * @param sslEngine current SSL engine
+   * @param conf configuration
+   * @throws SQLException if protocol isn't a supported protocol
+   */
+  static void enabledSslProtocolSuites(SSLEngine sslEngine, Configuration conf)
+      throws SQLException {
+    String[] protocols = enabledSslProtocolSuites(sslEngine.getSupportedProtocols(), conf);
+    if (protocols != null) sslEngine.setEnabledProtocols(protocols);
+  }
+
+  private static String[] enabledSslProtocolSuites(String[] supportedProtocols, Configuration conf)
+      throws SQLException {
     if (conf.enabledSslProtocolSuites() != null) {
-      List<String> possibleProtocols = Arrays.asList(sslSocket.getSupportedProtocols());
+      List<String> possibleProtocols = Arrays.asList(supportedProtocols);
       String[] protocols = conf.enabledSslProtocolSuites().split("[,;\\s]+");
       for (String protocol : protocols) {
         if (!possibleProtocols.contains(protocol)) {
@@ -273,8 +315,9 @@ public final class ConnectionHelper {
                   + possibleProtocols.toString().replace("[", "").replace("]", ""));
         }
       }
-      sslSocket.setEnabledProtocols(protocols);
+      return protocols;
     }
+    return null;
   }
 
   /**
@@ -285,8 +328,26 @@ public final class ConnectionHelper {
    * @throws SQLException if a cipher isn't known
    */
   static void enabledSslCipherSuites(SSLSocket sslSocket, Configuration conf) throws SQLException {
+    String[] ciphers = enabledSslCipherSuites(sslSocket.getSupportedCipherSuites(), conf);
+    if (ciphers != null) sslSocket.setEnabledCipherSuites(ciphers);
+  }
+
+  /**
+   * Set SSL engine cipher according to options.
+   *
+   * @param sslEngine current SSL engine
+   * @param conf configuration
+   * @throws SQLException if a cipher isn't known
+   */
+  static void enabledSslCipherSuites(SSLEngine sslEngine, Configuration conf) throws SQLException {
+    String[] ciphers = enabledSslCipherSuites(sslEngine.getSupportedCipherSuites(), conf);
+    if (ciphers != null) sslEngine.setEnabledCipherSuites(ciphers);
+  }
+
+  private static String[] enabledSslCipherSuites(String[] supportedCiphers, Configuration conf)
+      throws SQLException {
     if (conf.enabledSslCipherSuites() != null) {
-      List<String> possibleCiphers = Arrays.asList(sslSocket.getSupportedCipherSuites());
+      List<String> possibleCiphers = Arrays.asList(supportedCiphers);
       String[] ciphers = conf.enabledSslCipherSuites().split("[,;\\s]+");
       for (String cipher : ciphers) {
         if (!possibleCiphers.contains(cipher)) {
@@ -297,7 +358,8 @@ public final class ConnectionHelper {
                   + possibleCiphers.toString().replace("[", "").replace("]", ""));
         }
       }
-      sslSocket.setEnabledCipherSuites(ciphers);
+      return ciphers;
     }
+    return null;
   }
 }
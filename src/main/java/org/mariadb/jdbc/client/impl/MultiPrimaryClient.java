@@ -5,6 +5,7 @@ package org.mariadb.jdbc.client.impl;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -55,6 +56,10 @@ public class MultiPrimaryClient implements Client {
   /** current client */
   protected Client currentClient;
 
+  // session limits of next command, kept to be applied to new clients
+  private int queryTimeoutLimit;
+  private long maxRowsLimit;
+
   /**
    * Constructor
    *
@@ -346,6 +351,7 @@ public class MultiPrimaryClient implements Client {
     }
 
     try {
+      applySessionLimits(stmt);
       return currentClient.execute(
           message,
           stmt,
@@ -373,6 +379,7 @@ public class MultiPrimaryClient implements Client {
       if (message instanceof RedoableWithPrepareClientMessage) {
         ((RedoableWithPrepareClientMessage) message).rePrepare(currentClient);
       }
+      applySessionLimits(stmt);
       return currentClient.execute(
           message,
           stmt,
@@ -401,6 +408,7 @@ public class MultiPrimaryClient implements Client {
     }
 
     try {
+      applySessionLimits(stmt);
       return currentClient.executePipeline(
           messages,
           stmt,
@@ -426,6 +434,7 @@ public class MultiPrimaryClient implements Client {
                     // eat
                   }
                 });
+        applySessionLimits(stmt);
         return currentClient.executePipeline(
             messages,
             stmt,
@@ -440,6 +449,24 @@ public class MultiPrimaryClient implements Client {
     }
   }
 
+  @Override
+  public CompletableFuture<List<Completion>> executePipelineAsync(
+      ClientMessage[] messages,
+      Statement stmt,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion)
+      throws SQLException {
+    if (closed) {
+      throw new SQLNonTransientConnectionException("Connection is closed", "08000", 1220);
+    }
+    // no failover replay: command results are not known when returning
+    applySessionLimits(stmt);
+    return currentClient.executePipelineAsync(
+        messages, stmt, maxRows, resultSetConcurrency, resultSetType, closeOnCompletion);
+  }
+
   @Override
   public void readStreamingResults(
       List<Completion> completions,
@@ -549,6 +576,23 @@ public class MultiPrimaryClient implements Client {
     return true;
   }
 
+  /**
+   * Set statement session limits on current client, that might have changed since limits were set
+   * (failover, replica reconnection), or that executed internal commands without limits (replay).
+   *
+   * @param stmt caller statement, null for internal commands
+   */
+  private void applySessionLimits(Statement stmt) {
+    if (stmt != null) currentClient.setSessionLimits(queryTimeoutLimit, maxRowsLimit);
+  }
+
+  @Override
+  public void setSessionLimits(int queryTimeout, long maxRows) {
+    this.queryTimeoutLimit = queryTimeout;
+    this.maxRowsLimit = maxRows;
+    currentClient.setSessionLimits(queryTimeout, maxRows);
+  }
+
   @Override
   public void reset() {
     currentClient.getContext().resetStateFlag();
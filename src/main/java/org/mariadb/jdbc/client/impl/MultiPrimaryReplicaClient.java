@@ -6,6 +6,7 @@ package org.mariadb.jdbc.client.impl;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.HostAddress;
@@ -221,6 +222,20 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
         canRedo);
   }
 
+  @Override
+  public CompletableFuture<List<Completion>> executePipelineAsync(
+      ClientMessage[] messages,
+      Statement stmt,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion)
+      throws SQLException {
+    reconnectIfNeeded();
+    return super.executePipelineAsync(
+        messages, stmt, maxRows, resultSetConcurrency, resultSetType, closeOnCompletion);
+  }
+
   @Override
   public void readStreamingResults(
       List<Completion> completions,
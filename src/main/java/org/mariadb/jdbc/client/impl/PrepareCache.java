@@ -5,12 +5,19 @@ package org.mariadb.jdbc.client.impl;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 import org.mariadb.jdbc.BasePreparedStatement;
+import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.CachedPrepareResultPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
 
-/** LRU prepare cache */
+/**
+ * LRU prepare cache.
+ *
+ * <p>Access is guarded by a lock rather than a monitor, since evicting an entry may close the
+ * server prepared statement, and blocking while holding a monitor pins virtual threads.
+ */
 public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResultPacket>
     implements org.mariadb.jdbc.client.PrepareCache {
 
@@ -22,6 +29,8 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
   /** client */
   private final transient StandardClient con;
 
+  private final transient ClosableLock lock = new ClosableLock();
+
   /**
    * LRU prepare cache constructor
    *
@@ -43,30 +52,44 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
     return false;
   }
 
-  public synchronized Prepare get(String key, BasePreparedStatement preparedStatement) {
-    CachedPrepareResultPacket prepare = super.get(key);
-    if (prepare != null && preparedStatement != null) {
-      prepare.incrementUse(preparedStatement);
+  @SuppressWarnings("try")
+  public Prepare get(String key, BasePreparedStatement preparedStatement) {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      CachedPrepareResultPacket prepare = super.get(key);
+      if (prepare != null && preparedStatement != null) {
+        prepare.incrementUse(preparedStatement);
+      }
+      return prepare;
     }
-    return prepare;
   }
 
-  public synchronized Prepare put(
-      String key, Prepare result, BasePreparedStatement preparedStatement) {
-    CachedPrepareResultPacket cached = super.get(key);
+  @SuppressWarnings("try")
+  public Prepare put(String key, Prepare result, BasePreparedStatement preparedStatement) {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      CachedPrepareResultPacket cached = super.get(key);
+
+      // if there is already some cached data, return existing cached data
+      if (cached != null) {
+        cached.incrementUse(preparedStatement);
+        ((CachedPrepareResultPacket) result).unCache(con);
+        return cached;
+      }
 
-    // if there is already some cached data, return existing cached data
-    if (cached != null) {
-      cached.incrementUse(preparedStatement);
-      ((CachedPrepareResultPacket) result).unCache(con);
-      return cached;
+      if (((CachedPrepareResultPacket) result).cache()) {
+        ((CachedPrepareResultPacket) result).incrementUse(preparedStatement);
+        super.put(key, (CachedPrepareResultPacket) result);
+      }
+      return null;
     }
+  }
 
-    if (((CachedPrepareResultPacket) result).cache()) {
-      ((CachedPrepareResultPacket) result).incrementUse(preparedStatement);
-      super.put(key, (CachedPrepareResultPacket) result);
+  @SuppressWarnings("try")
+  public void forEachUse(ObjIntConsumer<String> consumer) {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      for (Map.Entry<String, CachedPrepareResultPacket> entry : entrySet()) {
+        consumer.accept(entry.getKey(), entry.getValue().getUseCount());
+      }
     }
-    return null;
   }
 
   public CachedPrepareResultPacket get(Object key) {
@@ -0,0 +1,177 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.ClosableLock;
+
+/**
+ * Process-wide cache of server prepared statement metadata, keyed by schema and SQL, so
+ * connections preparing the same command share parameter and column decoders, instead of each
+ * keeping its own copy.
+ *
+ * <p>Server always sends metadata in prepare response. Column definition packets are compared to
+ * cached raw packets: when identical, cached decoders are used without decoding nor allocation,
+ * otherwise metadata is decoded and cached entry is replaced. Table changes (or a same schema
+ * name on different servers) can then never result in using stale metadata.
+ *
+ * <p>Cache is split in lock-striped LRU segments, bounding contention between connections
+ * preparing at the same time.
+ */
+public final class PrepareMetadataCache {
+
+  /** shared instance */
+  public static final PrepareMetadataCache INSTANCE = new PrepareMetadataCache(16, 256);
+
+  private final Segment[] segments;
+
+  /**
+   * Constructor
+   *
+   * @param segmentNumber number of segments, must be a power of 2
+   * @param segmentSize maximum number of entries per segment
+   */
+  PrepareMetadataCache(int segmentNumber, int segmentSize) {
+    segments = new Segment[segmentNumber];
+    for (int i = 0; i < segmentNumber; i++) segments[i] = new Segment(segmentSize);
+  }
+
+  private Segment segment(String key) {
+    int h = key.hashCode();
+    return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+  }
+
+  /**
+   * Read column definition packets of a prepare response, using cached decoders if server sent
+   * identical metadata.
+   *
+   * @param key schema and sql key
+   * @param numColumns number of column definition packets
+   * @param reader packet reader
+   * @param extendedMetadata connection uses extended metadata capability
+   * @param traceEnable is trace enabled
+   * @return column decoders
+   * @throws IOException if any socket error occurs
+   */
+  @SuppressWarnings("try")
+  public ColumnDecoder[] readColumns(
+      String key,
+      int numColumns,
+      Reader reader,
+      boolean extendedMetadata,
+      boolean traceEnable)
+      throws IOException {
+    Segment segment = segment(key);
+    Entry entry;
+    try (ClosableLock ignore = segment.lock.closeableLock()) {
+      entry = segment.get(key);
+    }
+    if (entry != null
+        && (entry.columns.length != numColumns || entry.extendedMetadata != extendedMetadata)) {
+      entry = null;
+    }
+
+    byte[][] packets = null;
+    ColumnDecoder[] columns = null;
+    for (int i = 0; i < numColumns; i++) {
+      if (packets == null && entry != null) {
+        ReadableByteBuf buf = reader.readReusablePacket(traceEnable);
+        if (entry.matches(i, buf)) continue;
+
+        // metadata changed: previous columns are identical, current one must be decoded
+        packets = Arrays.copyOf(entry.packets, numColumns);
+        columns = Arrays.copyOf(entry.columns, numColumns);
+        packets[i] = Arrays.copyOfRange(buf.buf(), buf.pos(), buf.pos() + buf.readableBytes());
+      } else {
+        if (packets == null) {
+          packets = new byte[numColumns][];
+          columns = new ColumnDecoder[numColumns];
+        }
+        packets[i] = reader.readPacket(traceEnable);
+      }
+      ReadableByteBuf columnBuf = new StandardReadableByteBuf(packets[i]);
+      columns[i] =
+          extendedMetadata ? ColumnDecoder.decode(columnBuf) : ColumnDecoder.decodeStd(columnBuf);
+    }
+
+    if (packets == null) return entry.columns;
+
+    try (ClosableLock ignore = segment.lock.closeableLock()) {
+      segment.put(key, new Entry(packets, columns, extendedMetadata));
+    }
+    return columns;
+  }
+
+  /** Clear cache */
+  @SuppressWarnings("try")
+  public void clear() {
+    for (Segment segment : segments) {
+      try (ClosableLock ignore = segment.lock.closeableLock()) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * Current number of cached entries
+   *
+   * @return number of entries
+   */
+  @SuppressWarnings("try")
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      try (ClosableLock ignore = segment.lock.closeableLock()) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  private static final class Entry {
+    private final byte[][] packets;
+    private final ColumnDecoder[] columns;
+    private final boolean extendedMetadata;
+
+    Entry(byte[][] packets, ColumnDecoder[] columns, boolean extendedMetadata) {
+      this.packets = packets;
+      this.columns = columns;
+      this.extendedMetadata = extendedMetadata;
+    }
+
+    boolean matches(int index, ReadableByteBuf buf) {
+      byte[] packet = packets[index];
+      int length = buf.readableBytes();
+      if (packet.length != length) return false;
+      byte[] bytes = buf.buf();
+      int pos = buf.pos();
+      for (int i = 0; i < length; i++) {
+        if (packet[i] != bytes[pos + i]) return false;
+      }
+      return true;
+    }
+  }
+
+  private static final class Segment extends LinkedHashMap<String, Entry> {
+    private static final long serialVersionUID = 4184395460412428395L;
+    private final int maxSize;
+    private final transient ClosableLock lock = new ClosableLock();
+
+    Segment(int maxSize) {
+      super(16, .75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, PrepareMetadataCache.Entry> eldest) {
+      return size() > maxSize;
+    }
+  }
+}
@@ -6,6 +6,7 @@ package org.mariadb.jdbc.client.impl;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.Completion;
@@ -93,6 +94,23 @@ public class ReplayClient extends StandardClient {
     return res;
   }
 
+  @Override
+  public CompletableFuture<List<Completion>> executePipelineAsync(
+      ClientMessage[] messages,
+      org.mariadb.jdbc.Statement stmt,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion)
+      throws SQLException {
+    CompletableFuture<List<Completion>> future =
+        super.executePipelineAsync(
+            messages, stmt, maxRows, resultSetConcurrency, resultSetType, closeOnCompletion);
+    // saved when sent, so redo order follows sending order
+    ((RedoContext) context).saveRedo(messages);
+    return future;
+  }
+
   @Override
   public List<Completion> execute(
       ClientMessage message,
@@ -25,7 +25,10 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -48,6 +51,7 @@ import org.mariadb.jdbc.client.socket.impl.*;
 import org.mariadb.jdbc.client.tls.MariaDbX509EphemeralTrustingManager;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.export.Prepare;
@@ -56,12 +60,14 @@ import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.*;
 import org.mariadb.jdbc.message.server.*;
 import org.mariadb.jdbc.plugin.AuthenticationPlugin;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
 import org.mariadb.jdbc.plugin.Credential;
 import org.mariadb.jdbc.plugin.CredentialPlugin;
 import org.mariadb.jdbc.plugin.TlsSocketPlugin;
 import org.mariadb.jdbc.plugin.authentication.AuthenticationPluginLoader;
 import org.mariadb.jdbc.plugin.authentication.addon.ClearPasswordPlugin;
 import org.mariadb.jdbc.plugin.authentication.standard.NativePasswordPlugin;
+import org.mariadb.jdbc.plugin.compression.CompressionPluginLoader;
 import org.mariadb.jdbc.plugin.tls.TlsSocketPluginLoader;
 import org.mariadb.jdbc.util.Security;
 import org.mariadb.jdbc.util.StringUtils;
@@ -83,6 +89,7 @@ public class StandardClient implements Client, AutoCloseable {
           Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
   private Socket socket;
+  private ChannelTransport transport;
   private final MutableByte sequence = new MutableByte();
   private final MutableByte compressionSequence = new MutableByte();
   private final ClosableLock lock;
@@ -102,8 +109,22 @@ public class StandardClient implements Client, AutoCloseable {
   private byte[] certFingerprint = null;
   private org.mariadb.jdbc.Statement streamStmt = null;
   private ClientMessage streamMsg = null;
+  private final Queue<AsyncResponse> asyncResponses = new ConcurrentLinkedQueue<>();
+  private boolean asyncReaderScheduled;
   private int socketTimeout;
 
+  // session max_statement_time / sql_select_limit values for next commands, and current session
+  // values (0 for connection initial value, -1 if unknown)
+  private int queryTimeoutLimit;
+  private long maxRowsLimit;
+  private int sessionQueryTimeout;
+  private long sessionMaxRows;
+
+  // values restoring connection initial max_statement_time / sql_select_limit: the ones set by
+  // option sessionVariables if any, server default if not
+  private final String initialQueryTimeout;
+  private final String initialMaxRows;
+
   private final Consumer<String> redirectConsumer = this::redirect;
 
   /**
@@ -125,6 +146,8 @@ public class StandardClient implements Client, AutoCloseable {
     this.hostAddress = hostAddress;
     this.exceptionFactory = new ExceptionFactory(conf, hostAddress);
     this.disablePipeline = conf.disablePipeline();
+    this.initialQueryTimeout = initialSessionValue(conf, "max_statement_time");
+    this.initialMaxRows = initialSessionValue(conf, "sql_select_limit");
 
     this.socketTimeout = conf.socketTimeout();
     this.socket = ConnectionHelper.connectSocket(conf, hostAddress);
@@ -133,11 +156,16 @@ public class StandardClient implements Client, AutoCloseable {
       // **********************************************************************
       // creating socket
       // **********************************************************************
-      OutputStream out = socket.getOutputStream();
+      if (conf.useSocketChannel() && socket.getChannel() != null) {
+        transport = new ChannelTransport(socket.getChannel());
+      }
+      OutputStream out = transport != null ? transport.getOutputStream() : socket.getOutputStream();
       InputStream in =
-          conf.useReadAheadInput()
-              ? new ReadAheadBufferedStream(socket.getInputStream())
-              : new BufferedInputStream(socket.getInputStream(), 16384);
+          transport != null
+              ? transport.getInputStream()
+              : conf.useReadAheadInput()
+                  ? new ReadAheadBufferedStream(socket.getInputStream())
+                  : new BufferedInputStream(socket.getInputStream(), 16384);
 
       assignStream(out, in, conf, null);
 
@@ -229,10 +257,16 @@ public class StandardClient implements Client, AutoCloseable {
       // **********************************************************************
       // activate compression if required
       // **********************************************************************
-      if ((clientCapabilities & Capabilities.COMPRESS) != 0) {
+      CompressionPlugin compressionPlugin =
+          CompressionPluginLoader.negotiate(conf, clientCapabilities);
+      if (compressionPlugin != null) {
         assignStream(
-            new CompressOutputStream(out, compressionSequence),
-            new CompressInputStream(in, compressionSequence),
+            new CompressOutputStream(
+                out,
+                compressionSequence,
+                compressionPlugin.compressor(conf),
+                conf.compressionMinSize()),
+            new CompressInputStream(in, compressionSequence, compressionPlugin.decompressor(conf)),
             conf,
             handshake.getThreadId());
       }
@@ -467,7 +501,7 @@ public class StandardClient implements Client, AutoCloseable {
    * @param exchangeCharset connection charset
    * @param context connection context
    * @param writer socket writer
-   * @return SSLsocket
+   * @return SSLsocket, null if not using SSL, or if SSL is done by socket channel transport
    * @throws IOException if any socket error occurs
    * @throws SQLException for any other kind of error
    */
@@ -494,14 +528,13 @@ public class StandardClient implements Client, AutoCloseable {
       SslRequestPacket.create(clientCapabilities, exchangeCharset).encode(writer, context);
 
       TlsSocketPlugin socketPlugin = TlsSocketPluginLoader.get(conf.tlsSocketType());
-      SSLSocketFactory sslSocketFactory;
+      SSLContext sslContext;
       TrustManager[] trustManagers =
           socketPlugin.getTrustManager(conf, context.getExceptionFactory(), hostAddress);
       try {
-        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext = SSLContext.getInstance("TLS");
         sslContext.init(
             socketPlugin.getKeyManager(conf, context.getExceptionFactory()), trustManagers, null);
-        sslSocketFactory = sslContext.getSocketFactory();
       } catch (KeyManagementException keyManagementEx) {
         throw context
             .getExceptionFactory()
@@ -511,13 +544,26 @@ public class StandardClient implements Client, AutoCloseable {
             .getExceptionFactory()
             .create("SSLContext TLS Algorithm not unknown", "08000", noSuchAlgorithmEx);
       }
-      SSLSocket sslSocket = socketPlugin.createSocket(socket, sslSocketFactory);
+      SSLSocket sslSocket = null;
+      SSLSession session;
+      if (transport != null) {
+        SSLEngine sslEngine = sslContext.createSSLEngine(hostAddress.host, hostAddress.port);
+        enabledSslProtocolSuites(sslEngine, conf);
+        enabledSslCipherSuites(sslEngine, conf);
+
+        sslEngine.setUseClientMode(true);
+        transport.startTls(sslEngine);
+        session = sslEngine.getSession();
+      } else {
+        sslSocket = socketPlugin.createSocket(socket, sslContext.getSocketFactory());
 
-      enabledSslProtocolSuites(sslSocket, conf);
-      enabledSslCipherSuites(sslSocket, conf);
+        enabledSslProtocolSuites(sslSocket, conf);
+        enabledSslCipherSuites(sslSocket, conf);
 
-      sslSocket.setUseClientMode(true);
-      sslSocket.startHandshake();
+        sslSocket.setUseClientMode(true);
+        sslSocket.startHandshake();
+        session = sslSocket.getSession();
+      }
       if (trustManagers.length > 0
           && trustManagers[0] instanceof MariaDbX509EphemeralTrustingManager) {
         certFingerprint = ((MariaDbX509EphemeralTrustingManager) trustManagers[0]).getFingerprint();
@@ -528,7 +574,6 @@ public class StandardClient implements Client, AutoCloseable {
       // the server, the hostname check MAY be omitted")
       // validation is only done for not "self-signed" certificates
       if (certFingerprint == null && sslMode == SslMode.VERIFY_FULL && hostAddress.host != null) {
-        SSLSession session = sslSocket.getSession();
         try {
           socketPlugin.verify(hostAddress.host, session, context.getThreadId());
         } catch (SSLException ex) {
@@ -575,6 +620,7 @@ public class StandardClient implements Client, AutoCloseable {
     } catch (IOException ee) {
       // eat exception
     }
+    failAsyncResponses();
   }
 
   /**
@@ -880,6 +926,71 @@ public class StandardClient implements Client, AutoCloseable {
     }
   }
 
+  public void setSessionLimits(int queryTimeout, long maxRows) {
+    this.queryTimeoutLimit = queryTimeout;
+    this.maxRowsLimit = maxRows;
+  }
+
+  private static String initialSessionValue(Configuration conf, String variable) {
+    String value = Security.sessionVariableValue(conf.sessionVariables(), variable);
+    return value == null || value.isEmpty() ? "DEFAULT" : value;
+  }
+
+  /**
+   * Command setting session max_statement_time / sql_select_limit, only for values differing from
+   * current session values.
+   *
+   * @return SET command, or null if session values are already set
+   */
+  private QueryPacket sessionLimitsCommand() {
+    if (queryTimeoutLimit == sessionQueryTimeout && maxRowsLimit == sessionMaxRows) return null;
+    StringBuilder sb = new StringBuilder("SET ");
+    if (queryTimeoutLimit != sessionQueryTimeout) {
+      sb.append("max_statement_time=");
+      sb.append(queryTimeoutLimit == 0 ? initialQueryTimeout : String.valueOf(queryTimeoutLimit));
+      if (maxRowsLimit != sessionMaxRows) sb.append(", ");
+    }
+    if (maxRowsLimit != sessionMaxRows) {
+      sb.append("sql_select_limit=");
+      sb.append(maxRowsLimit == 0 ? initialMaxRows : String.valueOf(maxRowsLimit));
+    }
+    sessionQueryTimeout = queryTimeoutLimit;
+    sessionMaxRows = maxRowsLimit;
+    return new QueryPacket(sb.toString());
+  }
+
+  /**
+   * Send session limits command if needed, before a command. Response must then be read, after
+   * sending command. Internal commands (without statement) are executed without limits.
+   *
+   * @param stmt caller statement, null for internal commands
+   * @return command sent, whose response is still to be read, or null
+   * @throws SQLException if socket error occurs
+   */
+  private QueryPacket sendSessionLimits(org.mariadb.jdbc.Statement stmt) throws SQLException {
+    if (stmt == null) setSessionLimits(0, 0L);
+    QueryPacket limits = sessionLimitsCommand();
+    if (limits == null) return null;
+    sendQuery(limits);
+    if (disablePipeline) {
+      readSessionLimitsResponse(limits);
+      return null;
+    }
+    return limits;
+  }
+
+  private void readSessionLimitsResponse(QueryPacket limits) throws SQLException {
+    try {
+      readResponse(limits);
+    } catch (SQLException e) {
+      if (closed) throw e;
+      // command response must still be read. Limits will be set again for next command
+      sessionQueryTimeout = -1;
+      sessionMaxRows = -1;
+      logger.warn("error setting session limits: {}", e.getMessage());
+    }
+  }
+
   public List<Completion> execute(ClientMessage message, boolean canRedo) throws SQLException {
     return execute(
         message,
@@ -934,9 +1045,11 @@ public class StandardClient implements Client, AutoCloseable {
                   canRedo));
         }
       } else {
+        QueryPacket limits = sendSessionLimits(stmt);
         for (int i = 0; i < messages.length; i++) {
           responseMsg[i] = sendQuery(messages[i]);
         }
+        if (limits != null) readSessionLimitsResponse(limits);
         while (readCounter < messages.length) {
           readCounter++;
           for (perMsgCounter = 0; perMsgCounter < responseMsg[readCounter - 1]; perMsgCounter++) {
@@ -1013,6 +1126,192 @@ public class StandardClient implements Client, AutoCloseable {
     }
   }
 
+  @SuppressWarnings("try")
+  public CompletableFuture<List<Completion>> executePipelineAsync(
+      ClientMessage[] messages,
+      org.mariadb.jdbc.Statement stmt,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion)
+      throws SQLException {
+    checkNotClosed();
+    try (ClosableLock ignore = lock.closeableLock()) {
+      // session limits are set synchronously, only when changing
+      QueryPacket limits = sessionLimitsCommand();
+      if (limits != null) {
+        sendQuery(limits);
+        readSessionLimitsResponse(limits);
+      }
+      AsyncResponse response =
+          new AsyncResponse(
+              messages,
+              stmt,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion,
+              exceptionFactory);
+      try {
+        while (response.sent < messages.length) {
+          response.responseMsg[response.sent] = sendQuery(messages[response.sent]);
+          response.sent++;
+          // without pipelining, each response is read before sending next message
+          if (disablePipeline) readAsyncResponse(response);
+        }
+      } catch (SQLException e) {
+        if (response.sent == 0) throw e;
+        // responses of already sent messages must still be read
+        response.sendError = e;
+      }
+
+      if (disablePipeline) {
+        response.complete();
+        return response.future;
+      }
+
+      asyncResponses.add(response);
+      if (!asyncReaderScheduled) {
+        asyncReaderScheduled = true;
+        try {
+          SchedulerProvider.getAsyncExecutor().execute(this::readAsyncResponsesTask);
+        } catch (RejectedExecutionException e) {
+          asyncReaderScheduled = false;
+          readAsyncResponses();
+        }
+      }
+      return response.future;
+    }
+  }
+
+  /** Background task reading asynchronous command responses, in sending order. */
+  @SuppressWarnings("try")
+  private void readAsyncResponsesTask() {
+    while (true) {
+      AsyncResponse response;
+      try (ClosableLock ignore = lock.closeableLock()) {
+        response = asyncResponses.poll();
+        if (response == null) {
+          asyncReaderScheduled = false;
+          return;
+        }
+        readAsyncResponse(response);
+      }
+      // completion callbacks are executed without connection lock
+      response.complete();
+    }
+  }
+
+  /**
+   * Read all pending asynchronous command responses. Must be called with connection lock, before
+   * reading any other response, since asynchronous command responses come first.
+   */
+  private void readAsyncResponses() {
+    AsyncResponse response;
+    while ((response = asyncResponses.poll()) != null) {
+      readAsyncResponse(response);
+      try {
+        SchedulerProvider.getAsyncExecutor().execute(response::complete);
+      } catch (RejectedExecutionException e) {
+        response.complete();
+      }
+    }
+  }
+
+  /**
+   * Read responses of sent messages of an asynchronous command, not already read. Must be called
+   * with connection lock.
+   *
+   * @param response asynchronous command
+   */
+  private void readAsyncResponse(AsyncResponse response) {
+    for (; response.read < response.sent; response.read++) {
+      for (int j = 0; j < response.responseMsg[response.read]; j++) {
+        try {
+          checkNotClosed();
+          if (streamStmt != null) {
+            streamStmt.fetchRemaining();
+            streamStmt = null;
+          }
+          readResults(
+              response.stmt,
+              response.messages[response.read],
+              response.results,
+              0,
+              response.maxRows,
+              response.resultSetConcurrency,
+              response.resultSetType,
+              response.closeOnCompletion);
+        } catch (SQLException e) {
+          if (response.error == null) response.error = e;
+          response.results.add(null);
+        }
+      }
+    }
+  }
+
+  /** Fail pending asynchronous commands, connection being closed. */
+  private void failAsyncResponses() {
+    AsyncResponse response;
+    while ((response = asyncResponses.poll()) != null) {
+      response.error = exceptionFactory.create("Connection is closed", "08000", 1220);
+      response.complete();
+    }
+  }
+
+  /** Asynchronous command: sent messages, waiting for responses */
+  private static final class AsyncResponse {
+    private final ClientMessage[] messages;
+    private final int[] responseMsg;
+    private final org.mariadb.jdbc.Statement stmt;
+    private final long maxRows;
+    private final int resultSetConcurrency;
+    private final int resultSetType;
+    private final boolean closeOnCompletion;
+    private final ExceptionFactory exceptionFactory;
+    private final List<Completion> results = new ArrayList<>();
+    private final CompletableFuture<List<Completion>> future = new CompletableFuture<>();
+    private int sent;
+    private int read;
+    private SQLException sendError;
+    private SQLException error;
+
+    AsyncResponse(
+        ClientMessage[] messages,
+        org.mariadb.jdbc.Statement stmt,
+        long maxRows,
+        int resultSetConcurrency,
+        int resultSetType,
+        boolean closeOnCompletion,
+        ExceptionFactory exceptionFactory) {
+      this.messages = messages;
+      this.responseMsg = new int[messages.length];
+      this.stmt = stmt;
+      this.maxRows = maxRows;
+      this.resultSetConcurrency = resultSetConcurrency;
+      this.resultSetType = resultSetType;
+      this.closeOnCompletion = closeOnCompletion;
+      this.exceptionFactory = exceptionFactory;
+    }
+
+    void complete() {
+      SQLException sqlException = error != null ? error : sendError;
+      if (sqlException == null) {
+        future.complete(results);
+      } else if (messages.length == 1 && responseMsg[0] == 1) {
+        future.completeExceptionally(sqlException);
+      } else {
+        int batchUpdateLength = 0;
+        for (ClientMessage message : messages) {
+          batchUpdateLength += message.batchUpdateLength();
+        }
+        future.completeExceptionally(
+            exceptionFactory.createBatchUpdate(
+                results, batchUpdateLength, responseMsg, sqlException));
+      }
+    }
+  }
+
   public List<Completion> execute(
       ClientMessage message,
       org.mariadb.jdbc.Statement stmt,
@@ -1023,7 +1322,9 @@ public class StandardClient implements Client, AutoCloseable {
       boolean closeOnCompletion,
       boolean canRedo)
       throws SQLException {
+    QueryPacket limits = sendSessionLimits(stmt);
     int nbResp = sendQuery(message);
+    if (limits != null) readSessionLimitsResponse(limits);
     if (nbResp == 1) {
       return readResponse(
           stmt,
@@ -1034,6 +1335,7 @@ public class StandardClient implements Client, AutoCloseable {
           resultSetType,
           closeOnCompletion);
     } else {
+      readAsyncResponses();
       if (streamStmt != null) {
         streamStmt.fetchRemaining();
         streamStmt = null;
@@ -1096,6 +1398,7 @@ public class StandardClient implements Client, AutoCloseable {
       boolean closeOnCompletion)
       throws SQLException {
     checkNotClosed();
+    readAsyncResponses();
     if (streamStmt != null) {
       streamStmt.fetchRemaining();
       streamStmt = null;
@@ -1121,6 +1424,7 @@ public class StandardClient implements Client, AutoCloseable {
    */
   public void readResponse(ClientMessage message) throws SQLException {
     checkNotClosed();
+    readAsyncResponses();
     if (streamStmt != null) {
       streamStmt.fetchRemaining();
       streamStmt = null;
@@ -1353,6 +1657,7 @@ public class StandardClient implements Client, AutoCloseable {
         streamStmt.abort();
       }
       closeSocket();
+      failAsyncResponses();
     }
 
     if (lockStatus) {
@@ -1377,6 +1682,7 @@ public class StandardClient implements Client, AutoCloseable {
     boolean locked = lock.tryLock();
 
     if (!this.closed) {
+      if (locked) readAsyncResponses();
       this.closed = true;
       try {
         QuitPacket.INSTANCE.encode(writer, context);
@@ -1384,6 +1690,7 @@ public class StandardClient implements Client, AutoCloseable {
         // eat
       }
       closeSocket();
+      failAsyncResponses();
     }
 
     if (locked) {
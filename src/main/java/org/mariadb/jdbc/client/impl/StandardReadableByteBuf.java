@@ -9,6 +9,14 @@ import org.mariadb.jdbc.client.ReadableByteBuf;
 
 /** Packet buffer */
 public final class StandardReadableByteBuf implements ReadableByteBuf {
+  private static final double[] DOUBLE_POW10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POW10 = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
   /** buffer */
   public byte[] buf;
 
@@ -18,6 +26,13 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
   /** row data limit */
   private int limit;
 
+  /** row data start */
+  private int start;
+
+  // decimal parsing results, see parseDecimal
+  private boolean decimalNegative;
+  private int decimalExponent;
+
   /**
    * Packet buffer constructor
    *
@@ -57,6 +72,39 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
     this.buf = buf;
     this.limit = limit;
     this.pos = pos;
+    this.start = pos;
+  }
+
+  /**
+   * Set position relative to row data start, row data not always beginning at buffer offset 0
+   * (see {@link org.mariadb.jdbc.client.util.RowSlab}).
+   *
+   * @param offset offset from row start
+   */
+  public void rowPos(int offset) {
+    this.pos = start + offset;
+  }
+
+  /**
+   * Current position, relative to row start
+   *
+   * @return row offset
+   */
+  public int rowPos() {
+    return pos - start;
+  }
+
+  /**
+   * Copy row data to a new array, so buffer doesn't reference shared storage anymore. Current
+   * position is kept.
+   */
+  public void detachRow() {
+    byte[] row = new byte[limit - start];
+    System.arraycopy(buf, start, row, 0, row.length);
+    this.buf = row;
+    this.pos -= start;
+    this.limit = row.length;
+    this.start = 0;
   }
 
   public void pos(int pos) {
@@ -113,6 +161,96 @@ public final class StandardReadableByteBuf implements ReadableByteBuf {
     return (negate) ? -1 * result : result;
   }
 
+  public double atod(int length) {
+    long mantissa = parseDecimal(length);
+    if (mantissa >= 0 && mantissa < (1L << 53) && Math.abs(decimalExponent) <= 22) {
+      // mantissa and power of ten are exact doubles: single operation is correctly rounded
+      double value = (double) mantissa;
+      value =
+          decimalExponent < 0
+              ? value / DOUBLE_POW10[-decimalExponent]
+              : value * DOUBLE_POW10[decimalExponent];
+      pos += length;
+      return decimalNegative ? -value : value;
+    }
+    return Double.parseDouble(readAscii(length));
+  }
+
+  public float atof(int length) {
+    long mantissa = parseDecimal(length);
+    if (mantissa >= 0 && mantissa < (1L << 24) && Math.abs(decimalExponent) <= 10) {
+      // mantissa and power of ten are exact floats: single operation is correctly rounded
+      float value = (float) mantissa;
+      value =
+          decimalExponent < 0
+              ? value / FLOAT_POW10[-decimalExponent]
+              : value * FLOAT_POW10[decimalExponent];
+      pos += length;
+      return decimalNegative ? -value : value;
+    }
+    return Float.parseFloat(readAscii(length));
+  }
+
+  /**
+   * Parse decimal value [-+]digits[.digits][(e|E)[-+]digits] without moving position, setting
+   * decimalNegative and decimalExponent.
+   *
+   * @param length data length
+   * @return absolute mantissa, or -1 if value has another format or more than 18 digits
+   */
+  private long parseDecimal(int length) {
+    int idx = pos;
+    int end = pos + length;
+    decimalNegative = false;
+    if (idx < end && (buf[idx] == '-' || buf[idx] == '+')) {
+      decimalNegative = buf[idx++] == '-';
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean hasDigit = false;
+    boolean fraction = false;
+    for (; idx < end; idx++) {
+      byte b = buf[idx];
+      if (b >= '0' && b <= '9') {
+        hasDigit = true;
+        if (mantissa != 0 || b != '0') {
+          if (++digits > 18) return -1;
+          mantissa = mantissa * 10 + b - '0';
+        }
+        if (fraction) exponent--;
+      } else if (b == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    if (!hasDigit) return -1;
+    if (idx < end) {
+      if ((buf[idx] != 'e' && buf[idx] != 'E') || ++idx == end) return -1;
+      boolean negativeExponent = false;
+      if (buf[idx] == '-' || buf[idx] == '+') {
+        negativeExponent = buf[idx++] == '-';
+        if (idx == end) return -1;
+      }
+      int exp = 0;
+      for (; idx < end; idx++) {
+        byte b = buf[idx];
+        if (b < '0' || b > '9' || exp > 1000) return -1;
+        exp = exp * 10 + b - '0';
+      }
+      exponent += negativeExponent ? -exp : exp;
+    }
+    decimalExponent = exponent;
+    return mantissa;
+  }
+
+  public boolean readTextBoolean(int length) {
+    boolean value = length != 1 || buf[pos] != '0';
+    pos += length;
+    return value;
+  }
+
   public long atoull(int length) {
     long result = 0;
     for (int idx = 0; idx < length; idx++) {
@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.mariadb.jdbc.client.Column;
+import org.mariadb.jdbc.client.ColumnDecoder;
+
+/**
+ * Immutable case-insensitive index of column labels, resolving a label to its column index.
+ *
+ * <p>Labels are column alias and "table.alias" (table alias, or table if none), first column
+ * winning when labels are duplicated. Index is an open-addressing table with precomputed lowercase
+ * key hashes: lookup of an ASCII label lowercases characters on the fly, without allocation. Since
+ * immutable, an index can be shared by all results using the same metadata.
+ */
+public final class ColumnLabelIndex {
+
+  private final ColumnDecoder[] columns;
+  private final String[] labels;
+  private final String[] keys;
+  private final int[] hashes;
+  private final int[] indexes;
+  private final int mask;
+
+  /**
+   * Constructor
+   *
+   * @param columns column metadata
+   */
+  public ColumnLabelIndex(ColumnDecoder[] columns) {
+    this.columns = columns;
+    List<String> labelList = new ArrayList<>(columns.length * 2);
+    List<Integer> indexList = new ArrayList<>(columns.length * 2);
+    for (int i = 0; i < columns.length; i++) {
+      Column ci = columns[i];
+      String columnAlias = ci.getColumnAlias();
+      if (columnAlias != null) {
+        columnAlias = columnAlias.toLowerCase(Locale.ROOT);
+        String tableAlias = ci.getTableAlias();
+        String tableLabel = tableAlias != null ? tableAlias : ci.getTable();
+        labelList.add(columnAlias);
+        indexList.add(i + 1);
+        labelList.add(tableLabel.toLowerCase(Locale.ROOT) + "." + columnAlias);
+        indexList.add(i + 1);
+      }
+    }
+    this.labels = labelList.toArray(new String[0]);
+
+    int capacity = 4;
+    while (capacity < labels.length * 2) capacity <<= 1;
+    this.mask = capacity - 1;
+    this.keys = new String[capacity];
+    this.hashes = new int[capacity];
+    this.indexes = new int[capacity];
+    for (int i = 0; i < labels.length; i++) {
+      String key = labels[i];
+      int hash = key.hashCode();
+      int slot = spread(hash) & mask;
+      boolean exists = false;
+      while (keys[slot] != null) {
+        if (hashes[slot] == hash && keys[slot].equals(key)) {
+          exists = true;
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (!exists) {
+        keys[slot] = key;
+        hashes[slot] = hash;
+        indexes[slot] = indexList.get(i);
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static char lower(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+  /**
+   * Indicate if index has been built for these metadata
+   *
+   * @param columns column metadata
+   * @return true if index correspond to these metadata
+   */
+  public boolean isFor(ColumnDecoder[] columns) {
+    return this.columns == columns;
+  }
+
+  /**
+   * Get column index (starting at 1) of a label, case-insensitive.
+   *
+   * @param label label
+   * @return column index, or -1 if unknown
+   */
+  public int indexOf(String label) {
+    int length = label.length();
+    int hash = 0;
+    for (int i = 0; i < length; i++) {
+      char c = label.charAt(i);
+      // non-ASCII lowercase might not be a character per character conversion
+      if (c >= 0x80) return indexOfLowercase(label.toLowerCase(Locale.ROOT));
+      hash = 31 * hash + lower(c);
+    }
+
+    int slot = spread(hash) & mask;
+    String key;
+    while ((key = keys[slot]) != null) {
+      if (hashes[slot] == hash && key.length() == length) {
+        int i = 0;
+        while (i < length && key.charAt(i) == lower(label.charAt(i))) i++;
+        if (i == length) return indexes[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private int indexOfLowercase(String key) {
+    int hash = key.hashCode();
+    int slot = spread(hash) & mask;
+    while (keys[slot] != null) {
+      if (hashes[slot] == hash && keys[slot].equals(key)) return indexes[slot];
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Possible labels, for error message.
+   *
+   * @return labels description
+   */
+  public String labels() {
+    Map<String, Integer> mapper = new HashMap<>();
+    for (String label : labels) mapper.putIfAbsent(label, 0);
+    return Arrays.toString(mapper.keySet().toArray(new String[0]));
+  }
+}
@@ -5,6 +5,11 @@ package org.mariadb.jdbc.client.result;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.NClob;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -15,6 +20,7 @@ import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.RowSlab;
 
 /** Result-set that will retrieve all rows immediately before returning the result-set. */
 public class CompleteResult extends Result {
@@ -25,6 +31,9 @@ public class CompleteResult extends Result {
   private boolean bulkResult;
   private boolean mightBeBulkResult;
 
+  /** row storage when using slab, rows then not being stored in data */
+  private RowSlab slab;
+
   /**
    * Constructor from exchanges
    *
@@ -41,7 +50,6 @@ public class CompleteResult extends Result {
    * @throws IOException if Socket error occurs
    * @throws SQLException for all other kind of errors
    */
-  @SuppressWarnings({"this-escape"})
   public CompleteResult(
       Statement stmt,
       boolean binaryProtocol,
@@ -54,6 +62,52 @@ public class CompleteResult extends Result {
       boolean traceEnable,
       boolean mightBeBulkResult)
       throws IOException, SQLException {
+    this(
+        stmt,
+        binaryProtocol,
+        maxRows,
+        metadataList,
+        reader,
+        context,
+        resultSetType,
+        closeOnCompletion,
+        traceEnable,
+        mightBeBulkResult,
+        context.getConf().useSlabRowStorage() || context.getConf().spillThreshold() > 0);
+  }
+
+  /**
+   * Constructor from exchanges
+   *
+   * @param stmt current statement
+   * @param binaryProtocol does exchanges uses binary protocol
+   * @param maxRows maximum number of rows
+   * @param metadataList metadata
+   * @param reader packet reader
+   * @param context connection context
+   * @param resultSetType result set type
+   * @param closeOnCompletion close statement on completion
+   * @param traceEnable network trace exchange possible
+   * @param mightBeBulkResult might be a bulk unitary result
+   * @param slabRowStorage store rows in slab chunks (and spill them to file when exceeding spill
+   *     threshold). Must not be set if row data can be changed
+   * @throws IOException if Socket error occurs
+   * @throws SQLException for all other kind of errors
+   */
+  @SuppressWarnings({"this-escape"})
+  protected CompleteResult(
+      Statement stmt,
+      boolean binaryProtocol,
+      long maxRows,
+      ColumnDecoder[] metadataList,
+      Reader reader,
+      Context context,
+      int resultSetType,
+      boolean closeOnCompletion,
+      boolean traceEnable,
+      boolean mightBeBulkResult,
+      boolean slabRowStorage)
+      throws IOException, SQLException {
     super(
         stmt,
         binaryProtocol,
@@ -68,6 +122,11 @@ public class CompleteResult extends Result {
         0);
     this.mightBeBulkResult = mightBeBulkResult;
 
+    if (slabRowStorage) {
+      loadSlab(maxRows);
+      return;
+    }
+
     this.data = new byte[10][];
     if (maxRows > 0) {
       this.data = new byte[10][];
@@ -104,12 +163,44 @@ public class CompleteResult extends Result {
     }
   }
 
+  private void loadSlab(long maxRows) throws IOException, SQLException {
+    this.data = new byte[0][];
+    slab = new RowSlab(context.getConf().spillThreshold());
+    try {
+      do {
+        reader.readPacket(slab, traceEnable);
+        if (isEndPacket(slab.pendingHeader(), slab.pendingLength())) {
+          readNext(slab.pendingCopy());
+        } else {
+          slab.commit();
+          dataSize++;
+        }
+      } while (!this.loaded && (maxRows == 0 || this.dataSize < maxRows));
+      if (!this.loaded) skipRemaining();
+    } catch (IOException | SQLException e) {
+      slab.release();
+      throw e;
+    }
+    if (slab.spillError() != null) {
+      // all rows have been read, so connection state is still ok
+      slab.release();
+      throw exceptionFactory.create(
+          "Error writing result-set to temporary file", "HY000", slab.spillError());
+    }
+  }
+
   public void setBulkResult() {
     if (mightBeBulkResult) bulkResult = true;
   }
 
   private CompleteResult(ColumnDecoder[] metadataList, CompleteResult prev) {
     super(metadataList, prev);
+    if (prev.slab != null) {
+      // storage is moved to new result-set, previous one is left empty
+      this.slab = prev.slab;
+      prev.slab = null;
+      prev.dataSize = 0;
+    }
   }
 
   /**
@@ -223,10 +314,35 @@ public class CompleteResult extends Result {
     return new CompleteResult(newMeta, this);
   }
 
+  private void setRow(int row) throws SQLException {
+    if (slab != null) {
+      try {
+        slab.position(row, rowBuf);
+      } catch (IOException ioe) {
+        throw exceptionFactory.create("Error reading result-set temporary file", "HY000", ioe);
+      }
+      fieldIndex.set(-1);
+    } else {
+      setRow(data[row]);
+    }
+  }
+
+  @Override
+  protected byte[] getCurrentRowData() {
+    if (slab != null) {
+      try {
+        return slab.copy(0);
+      } catch (IOException ioe) {
+        throw new UncheckedIOException(ioe);
+      }
+    }
+    return super.getCurrentRowData();
+  }
+
   @Override
   public boolean next() throws SQLException {
     if (rowPointer < dataSize - 1) {
-      setRow(data[++rowPointer]);
+      setRow(++rowPointer);
       return true;
     } else {
       // all data are reads and pointer is after last
@@ -252,6 +368,91 @@ public class CompleteResult extends Result {
   @Override
   public void closeFromStmtClose(ClosableLock lock) {
     this.closed = true;
+    releaseSlab();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    super.close();
+    releaseSlab();
+  }
+
+  private void releaseSlab() {
+    if (slab != null) {
+      setNullRowBuf();
+      slab.release();
+    }
+  }
+
+  @Override
+  public InputStream getAsciiStream(int columnIndex) throws SQLException {
+    if (slab != null) slab.pin(rowBuf);
+    return super.getAsciiStream(columnIndex);
+  }
+
+  @Override
+  @Deprecated
+  public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+    if (slab != null) slab.pin(rowBuf);
+    return super.getUnicodeStream(columnIndex);
+  }
+
+  @Override
+  public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    if (slab != null) slab.pin(rowBuf);
+    return super.getBinaryStream(columnIndex);
+  }
+
+  @Override
+  public Blob getBlob(int columnIndex) throws SQLException {
+    if (slab != null) slab.pin(rowBuf);
+    return super.getBlob(columnIndex);
+  }
+
+  @Override
+  public Clob getClob(int columnIndex) throws SQLException {
+    if (slab != null) slab.pin(rowBuf);
+    return super.getClob(columnIndex);
+  }
+
+  @Override
+  public NClob getNClob(int columnIndex) throws SQLException {
+    if (slab != null) slab.pin(rowBuf);
+    return super.getNClob(columnIndex);
+  }
+
+  @Override
+  public Object getObject(int columnIndex) throws SQLException {
+    if (slab != null && isDefaultBlob(columnIndex)) slab.pin(rowBuf);
+    return super.getObject(columnIndex);
+  }
+
+  @Override
+  public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+    // Blob, Clob and stream codecs reference row data instead of copying it
+    if (slab != null
+        && type != null
+        && (Blob.class.isAssignableFrom(type)
+            || Clob.class.isAssignableFrom(type)
+            || InputStream.class.isAssignableFrom(type)
+            || (type == Object.class && isDefaultBlob(columnIndex)))) {
+      slab.pin(rowBuf);
+    }
+    return super.getObject(columnIndex, type);
+  }
+
+  /**
+   * Is column default java type a Blob, referencing row data instead of copying it.
+   *
+   * @param columnIndex column index (1 is first)
+   * @return true if column default object is a Blob
+   */
+  private boolean isDefaultBlob(int columnIndex) {
+    return columnIndex >= 1
+        && columnIndex <= metadataList.length
+        && Blob.class
+            .getName()
+            .equals(metadataList[columnIndex - 1].defaultClassname(context.getConf()));
   }
 
   @Override
@@ -303,7 +504,7 @@ public class CompleteResult extends Result {
       setNullRowBuf();
       return false;
     }
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
@@ -315,7 +516,7 @@ public class CompleteResult extends Result {
       setNullRowBuf();
       return false;
     }
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
@@ -336,13 +537,13 @@ public class CompleteResult extends Result {
 
     if (idx > 0) {
       rowPointer = idx - 1;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     } else {
       if (dataSize + idx >= 0) {
         // absolute position reverse from ending resultSet
         rowPointer = dataSize + idx;
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
       rowPointer = BEFORE_FIRST_POS;
@@ -365,7 +566,7 @@ public class CompleteResult extends Result {
       return false;
     } else {
       rowPointer = newPos;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
   }
@@ -376,7 +577,7 @@ public class CompleteResult extends Result {
     if (rowPointer > BEFORE_FIRST_POS) {
       rowPointer--;
       if (rowPointer != BEFORE_FIRST_POS) {
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
     }
@@ -14,6 +14,7 @@ import java.net.URL;
 import java.sql.*;
 import java.sql.Date;
 import java.util.*;
+import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.client.*;
 import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
@@ -23,6 +24,7 @@ import org.mariadb.jdbc.client.result.rowdecoder.TextRowDecoder;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.ErrorPacket;
 import org.mariadb.jdbc.plugin.Codec;
 import org.mariadb.jdbc.plugin.array.FloatArray;
@@ -60,6 +62,7 @@ public abstract class Result implements ResultSet, Completion {
 
   protected final boolean traceEnable;
   private final int maxIndex;
+  private final int[] fieldOffsets;
   private final MutableInt fieldLength = new MutableInt(0);
   private final boolean forceAlias;
   private final byte[] nullBitmap;
@@ -92,7 +95,7 @@ public abstract class Result implements ResultSet, Completion {
   protected long maxRows;
 
   private boolean closeOnCompletion;
-  private Map<String, Integer> mapper = null;
+  private ColumnLabelIndex labelIndex = null;
   private int fetchSize;
 
   /**
@@ -127,6 +130,7 @@ public abstract class Result implements ResultSet, Completion {
     this.closeOnCompletion = closeOnCompletion;
     this.metadataList = metadataList;
     this.maxIndex = this.metadataList.length;
+    this.fieldOffsets = new int[maxIndex + 1];
     this.reader = reader;
     this.exceptionFactory = context.getExceptionFactory();
     this.context = context;
@@ -149,6 +153,7 @@ public abstract class Result implements ResultSet, Completion {
     this.closeOnCompletion = prev.closeOnCompletion;
     this.metadataList = metadataList;
     this.maxIndex = metadataList.length;
+    this.fieldOffsets = new int[maxIndex + 1];
     this.reader = prev.reader;
     this.exceptionFactory = prev.exceptionFactory;
     this.context = prev.context;
@@ -175,6 +180,7 @@ public abstract class Result implements ResultSet, Completion {
   public Result(ColumnDecoder[] metadataList, byte[][] data, Context context, int resultSetType) {
     this.metadataList = metadataList;
     this.maxIndex = this.metadataList.length;
+    this.fieldOffsets = new int[maxIndex + 1];
     this.reader = null;
     this.loaded = true;
     this.exceptionFactory = context.getExceptionFactory();
@@ -208,28 +214,8 @@ public abstract class Result implements ResultSet, Completion {
             errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
 
       case (byte) 0xFE:
-        if ((context.isEofDeprecated() && buf.length < 16777215)
-            || (!context.isEofDeprecated() && buf.length < 8)) {
-          ReadableByteBuf readBuf = reader.readableBufFromArray(buf);
-          readBuf.skip(); // skip header
-          int serverStatus;
-          int warnings;
-
-          if (!context.isEofDeprecated()) {
-            // EOF_Packet
-            warnings = readBuf.readUnsignedShort();
-            serverStatus = readBuf.readUnsignedShort();
-          } else {
-            // OK_Packet with a 0xFE header
-            readBuf.readLongLengthEncodedNotNull(); // skip update count
-            readBuf.readLongLengthEncodedNotNull(); // skip insert id
-            serverStatus = readBuf.readUnsignedShort();
-            warnings = readBuf.readUnsignedShort();
-          }
-          outputParameter = (serverStatus & ServerStatus.PS_OUT_PARAMETERS) != 0;
-          if ((serverStatus & ServerStatus.MORE_RESULTS_EXISTS) == 0) setBulkResult();
-          context.setServerStatus(serverStatus);
-          context.setWarning(warnings);
+        if (isEndPacket(buf[0], buf.length)) {
+          readEndPacket(reader.readableBufFromArray(buf));
           loaded = true;
           return false;
         }
@@ -245,6 +231,49 @@ public abstract class Result implements ResultSet, Completion {
     return true;
   }
 
+  /**
+   * Indicate if packet is the end of result-set: an error, or an EOF / OK packet with 0xFE header
+   * (not a row beginning with 0xFE)
+   *
+   * @param header packet first byte
+   * @param length packet length
+   * @return true if packet ends result-set
+   */
+  protected boolean isEndPacket(byte header, int length) {
+    return header == (byte) 0xFF
+        || (header == (byte) 0xFE
+            && ((context.isEofDeprecated() && length < 16777215)
+                || (!context.isEofDeprecated() && length < 8)));
+  }
+
+  /**
+   * Read end of result-set packet (EOF packet, or OK packet with 0xFE header), updating connection
+   * state.
+   *
+   * @param readBuf packet buffer
+   */
+  protected void readEndPacket(ReadableByteBuf readBuf) {
+    readBuf.skip(); // skip header
+    int serverStatus;
+    int warnings;
+
+    if (!context.isEofDeprecated()) {
+      // EOF_Packet
+      warnings = readBuf.readUnsignedShort();
+      serverStatus = readBuf.readUnsignedShort();
+    } else {
+      // OK_Packet with a 0xFE header
+      readBuf.readLongLengthEncodedNotNull(); // skip update count
+      readBuf.readLongLengthEncodedNotNull(); // skip insert id
+      serverStatus = readBuf.readUnsignedShort();
+      warnings = readBuf.readUnsignedShort();
+    }
+    outputParameter = (serverStatus & ServerStatus.PS_OUT_PARAMETERS) != 0;
+    if ((serverStatus & ServerStatus.MORE_RESULTS_EXISTS) == 0) setBulkResult();
+    context.setServerStatus(serverStatus);
+    context.setWarning(warnings);
+  }
+
   /** Indicate that result is a bulk result */
   public abstract void setBulkResult();
 
@@ -454,7 +483,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -466,7 +495,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return false;
     }
@@ -478,7 +507,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0;
     }
@@ -490,7 +519,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0;
     }
@@ -502,7 +531,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0;
     }
@@ -514,7 +543,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0L;
     }
@@ -533,7 +562,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -558,7 +587,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0F;
     }
@@ -570,7 +599,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0D;
     }
@@ -583,7 +612,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -599,7 +628,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -612,7 +641,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -624,7 +653,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -636,7 +665,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -648,7 +677,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -662,7 +691,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -675,7 +704,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -795,7 +824,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -812,7 +841,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -830,7 +859,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1214,7 +1243,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1227,7 +1256,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1240,7 +1269,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1284,7 +1313,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1301,7 +1330,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1318,7 +1347,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1335,7 +1364,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1451,7 +1480,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1500,7 +1529,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1665,7 +1694,7 @@ public abstract class Result implements ResultSet, Completion {
     checkIndex(columnIndex);
     fieldLength.set(
         rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+            columnIndex - 1, fieldIndex, fieldOffsets, rowBuf, nullBitmap, metadataList));
 
     if (wasNull()) {
       if (type.isPrimitive()) {
@@ -1740,33 +1769,47 @@ public abstract class Result implements ResultSet, Completion {
 
   public int findColumn(String label) throws SQLException {
     if (label == null) throw new SQLException("null is not a valid label value");
-    if (mapper == null) {
-      mapper = new HashMap<>();
-      for (int i = 0; i < maxIndex; i++) {
-        Column ci = metadataList[i];
-        String columnAlias = ci.getColumnAlias();
-        if (columnAlias != null) {
-          columnAlias = columnAlias.toLowerCase(Locale.ROOT);
-          mapper.putIfAbsent(columnAlias, i + 1);
-          String tableAlias = ci.getTableAlias();
-          String tableLabel = tableAlias != null ? tableAlias : ci.getTable();
-          mapper.putIfAbsent(tableLabel.toLowerCase(Locale.ROOT) + "." + columnAlias, i + 1);
-        }
-      }
-    }
-    Integer ind = mapper.get(label.toLowerCase(Locale.ROOT));
-    if (ind == null) {
-      String keys = Arrays.toString(mapper.keySet().toArray(new String[0]));
-      throw new SQLException(String.format("Unknown label '%s'. Possible value %s", label, keys));
+    if (labelIndex == null) labelIndex = columnLabelIndex();
+    int ind = labelIndex.indexOf(label);
+    if (ind < 0) {
+      throw new SQLException(
+          String.format("Unknown label '%s'. Possible value %s", label, labelIndex.labels()));
     }
     return ind;
   }
 
+  /**
+   * Label index, shared with other results of the same server prepared statement when metadata
+   * are the statement's cached metadata.
+   *
+   * @return label index
+   */
+  private ColumnLabelIndex columnLabelIndex() {
+    if (statement instanceof BasePreparedStatement) {
+      Prepare prepare = ((BasePreparedStatement) statement).getPrepareResult();
+      if (prepare != null && prepare.getColumns() == metadataList) {
+        // columns may have been changed meanwhile
+        ColumnLabelIndex index = prepare.getColumnLabelIndex();
+        if (index.isFor(metadataList)) return index;
+      }
+    }
+    return new ColumnLabelIndex(metadataList);
+  }
+
   @Override
   public int getFetchSize() throws SQLException {
     return this.fetchSize;
   }
 
+  /**
+   * Fetch size value, for implementations overriding {@link #getFetchSize()}
+   *
+   * @return fetch size
+   */
+  protected int getFetchSizeValue() {
+    return this.fetchSize;
+  }
+
   @Override
   public void setFetchSize(int fetchSize) throws SQLException {
     if (fetchSize < 0) {
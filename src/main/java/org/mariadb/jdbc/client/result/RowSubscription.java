@@ -0,0 +1,290 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.result;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mariadb.jdbc.Row;
+import org.mariadb.jdbc.Statement;
+
+/**
+ * Row streaming with back-pressure, following reactive streams rules.
+ *
+ * <p>Query is executed on first request, as a streaming result-set. Rows are only read from socket
+ * when requested: first batch is limited to requested rows, and result-set read limit follows
+ * demand (see {@link StreamingResult#setReadLimit(long)}), so there is never more than requested
+ * rows in memory. Batches are limited to statement fetch size if set, to {@value
+ * DEFAULT_BATCH_SIZE} rows otherwise.
+ *
+ * <p>Signals are emitted serially, from executor threads. Rows are a view over result-set current
+ * row, only valid during {@link Listener#onNext(Row)}. Result-set is closed on completion, error,
+ * or cancellation; statement is not closed.
+ */
+public final class RowSubscription {
+
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+
+  /** Subscriber signals */
+  public interface Listener {
+
+    /**
+     * Next row.
+     *
+     * @param row row, only valid during call
+     */
+    void onNext(Row row);
+
+    /**
+     * Terminal error: execution or reading error, or invalid request.
+     *
+     * @param throwable error
+     */
+    void onError(Throwable throwable);
+
+    /** All rows have been emitted */
+    void onComplete();
+  }
+
+  private final Statement stmt;
+  private final String sql;
+  private final Listener listener;
+  private final Executor executor;
+  private final AtomicLong demand = new AtomicLong();
+  private final AtomicInteger wip = new AtomicInteger();
+  private volatile boolean cancelled;
+  private volatile Throwable invalidRequest;
+
+  // only accessed by draining thread
+  private boolean done;
+  private Result result;
+  private StreamingResult streamingResult;
+  private long delivered;
+  private long readLimit;
+  private ResultRow row;
+
+  /**
+   * Constructor
+   *
+   * @param stmt statement, preferably of type TYPE_FORWARD_ONLY
+   * @param sql sql command, or null to execute <code>stmt</code> as a prepared statement
+   * @param listener subscriber
+   * @param executor executor emitting signals
+   */
+  public RowSubscription(Statement stmt, String sql, Listener listener, Executor executor) {
+    this.stmt = stmt;
+    this.sql = sql;
+    this.listener = listener;
+    this.executor = executor;
+  }
+
+  /**
+   * Request rows
+   *
+   * @param n number of additional rows. Must be positive, Long.MAX_VALUE meaning unbounded.
+   */
+  public void request(long n) {
+    if (n <= 0) {
+      invalidRequest =
+          new IllegalArgumentException("non-positive request: " + n + " (reactive streams 3.9)");
+    } else {
+      long current;
+      long next;
+      do {
+        current = demand.get();
+        if (current == Long.MAX_VALUE) break;
+        next = current + n;
+        if (next < 0) next = Long.MAX_VALUE;
+      } while (!demand.compareAndSet(current, next));
+    }
+    schedule();
+  }
+
+  /** Cancel subscription: no more signals are emitted, and result-set is closed. */
+  public void cancel() {
+    cancelled = true;
+    schedule();
+  }
+
+  private void schedule() {
+    if (wip.getAndIncrement() == 0) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        drain();
+      }
+    }
+  }
+
+  private void drain() {
+    int missed = 1;
+    do {
+      drainRows();
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void drainRows() {
+    if (done) return;
+    try {
+      while (!cancelled) {
+        if (invalidRequest != null) {
+          terminate();
+          listener.onError(invalidRequest);
+          return;
+        }
+        long requested = demand.get();
+        if (requested == 0) return;
+
+        if (result == null) {
+          execute(requested);
+        } else if (streamingResult != null) {
+          long limit = requested == Long.MAX_VALUE ? Long.MAX_VALUE : delivered + requested;
+          if (limit != readLimit) {
+            readLimit = limit;
+            streamingResult.setReadLimit(limit);
+          }
+        }
+
+        if (!result.next()) {
+          terminate();
+          listener.onComplete();
+          return;
+        }
+        delivered++;
+        if (requested != Long.MAX_VALUE) demand.decrementAndGet();
+        try {
+          listener.onNext(row);
+        } catch (Throwable t) {
+          // subscriber failure (reactive streams 2.13): subscription is considered cancelled
+          cancelled = true;
+        }
+      }
+      terminate();
+    } catch (Throwable t) {
+      // any execution, reading or mapping error is terminal, never escaping drain loop
+      boolean terminated = done;
+      terminate();
+      if (!terminated && !cancelled) {
+        try {
+          listener.onError(t);
+        } catch (Throwable e) {
+          // subscriber failure (reactive streams 2.13)
+        }
+      }
+    }
+  }
+
+  private void execute(long requested) throws SQLException {
+    int fetchSize = stmt.getFetchSize();
+    int batchSize = fetchSize > 0 ? fetchSize : DEFAULT_BATCH_SIZE;
+    // first batch is read when executing
+    stmt.setFetchSize((int) Math.min(requested, batchSize));
+    ResultSet rs;
+    try {
+      rs = sql == null ? ((PreparedStatement) stmt).executeQuery() : stmt.executeQuery(sql);
+    } finally {
+      stmt.setFetchSize(fetchSize);
+    }
+    result = (Result) rs;
+    row = new ResultRow(result);
+    if (result instanceof StreamingResult) {
+      streamingResult = (StreamingResult) result;
+      result.setFetchSize(batchSize);
+      readLimit = requested == Long.MAX_VALUE ? Long.MAX_VALUE : requested;
+      streamingResult.setReadLimit(readLimit);
+    }
+  }
+
+  private void terminate() {
+    done = true;
+    if (result != null) {
+      try {
+        result.close();
+      } catch (SQLException e) {
+        // eat
+      }
+    }
+  }
+
+  /** Row view over result-set current row */
+  private static final class ResultRow implements Row {
+    private final Result result;
+
+    ResultRow(Result result) {
+      this.result = result;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+      return result.getMetaData();
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+      return result.wasNull();
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+      return result.getString(columnIndex);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+      return result.getString(columnLabel);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+      return result.getBoolean(columnIndex);
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+      return result.getInt(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+      return result.getLong(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+      return result.getDouble(columnIndex);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+      return result.getBigDecimal(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+      return result.getBytes(columnIndex);
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+      return result.getObject(columnIndex);
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+      return result.getObject(columnIndex, type);
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+      return result.getObject(columnLabel, type);
+    }
+  }
+}
@@ -0,0 +1,194 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.result;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
+import org.mariadb.jdbc.message.server.ErrorPacket;
+
+/**
+ * Streaming result-set read-ahead. A background task reads next row batches (of fetch size rows)
+ * into a bounded queue, while application processes current rows.
+ *
+ * <p>Connection lock is only held while reading one batch, and batch is queued before releasing
+ * lock, so another command taking the lock always sees every read batch. Task stops when queue is
+ * full, and is rescheduled when a batch is taken. Errors (server error or socket error) are queued
+ * as the last batch, so they are thrown by next() in order.
+ */
+final class StreamingPrefetch implements Runnable {
+
+  /** Batch of raw rows */
+  static final class Batch {
+    final byte[][] rows;
+    final int size;
+    final boolean last;
+    final SQLException error;
+
+    Batch(byte[][] rows, int size, boolean last, SQLException error) {
+      this.rows = rows;
+      this.size = size;
+      this.last = last;
+      this.error = error;
+    }
+  }
+
+  private final StreamingResult result;
+  private final ClosableLock lock;
+  private final ArrayBlockingQueue<Batch> queue;
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile boolean stopped;
+  private volatile boolean done;
+  private long rowsRead;
+
+  /**
+   * Constructor
+   *
+   * @param result streaming result-set
+   * @param lock connection lock
+   * @param batches maximum number of batches read ahead
+   * @param rowsRead number of rows already read
+   */
+  StreamingPrefetch(StreamingResult result, ClosableLock lock, int batches, long rowsRead) {
+    this.result = result;
+    this.lock = lock;
+    this.queue = new ArrayBlockingQueue<>(batches);
+    this.rowsRead = rowsRead;
+  }
+
+  /** Start background task, if not already running */
+  void schedule() {
+    if (!stopped && !done && running.compareAndSet(false, true)) {
+      try {
+        SchedulerProvider.getPrefetchExecutor().execute(this);
+      } catch (RejectedExecutionException e) {
+        // rows will be read when needed
+        running.set(false);
+      }
+    }
+  }
+
+  @Override
+  @SuppressWarnings("try")
+  public void run() {
+    try {
+      while (!stopped && queue.remainingCapacity() > 0 && result.batchRowCount(rowsRead) > 0) {
+        try (ClosableLock ignore = lock.closeableLock()) {
+          if (stopped || done) return;
+          // batch is queued before releasing lock, queue has room since task is the only producer
+          queue.add(readBatch());
+          if (done) return;
+        }
+      }
+    } finally {
+      running.set(false);
+    }
+    // a batch may have been taken, or read limit raised, after check
+    if (queue.remainingCapacity() > 0 && result.batchRowCount(rowsRead) > 0) schedule();
+  }
+
+  /**
+   * Read next batch. Must be called with lock held.
+   *
+   * @return batch
+   */
+  private Batch readBatch() {
+    int rowCount = result.batchRowCount(rowsRead);
+    byte[][] rows = new byte[rowCount][];
+    int size = 0;
+    try {
+      while (size < rowCount) {
+        byte[] buf = result.reader.readPacket(result.traceEnable);
+        if (result.isEndPacket(buf[0], buf.length)) return end(rows, size, buf);
+        rows[size++] = buf;
+      }
+      rowsRead += size;
+      if (result.maxRowsReached(rowsRead)) {
+        // maximum row number reached, skipping remaining rows
+        while (true) {
+          byte[] buf = result.reader.readPacket(result.traceEnable);
+          if (result.isEndPacket(buf[0], buf.length)) return end(rows, size, buf);
+        }
+      }
+      return new Batch(rows, size, false, null);
+    } catch (IOException ioe) {
+      done = true;
+      return new Batch(
+          rows,
+          size,
+          true,
+          result.exceptionFactory.create("Error while streaming resultSet data", "08000", ioe));
+    }
+  }
+
+  private Batch end(byte[][] rows, int size, byte[] buf) {
+    done = true;
+    if (buf[0] == (byte) 0xFF) {
+      ErrorPacket errorPacket =
+          new ErrorPacket(result.reader.readableBufFromArray(buf), result.context);
+      return new Batch(
+          rows,
+          size,
+          true,
+          result.exceptionFactory.create(
+              errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode()));
+    }
+    result.readEndPacket(result.reader.readableBufFromArray(buf));
+    return new Batch(rows, size, true, null);
+  }
+
+  /**
+   * Wait for next batch. Must be called without connection lock.
+   *
+   * @return next batch, or null if read-ahead has been stopped meanwhile
+   * @throws SQLException if interrupted
+   */
+  Batch take() throws SQLException {
+    Batch batch = queue.poll();
+    try {
+      while (batch == null) {
+        if (stopped) return null;
+        schedule();
+        batch = queue.poll(100, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw result.exceptionFactory.create(
+          "Thread interrupted while waiting for streaming resultSet data", "HY000", e);
+    }
+    if (!batch.last) schedule();
+    return batch;
+  }
+
+  /**
+   * Get an already read batch, without waiting.
+   *
+   * @return batch, or null if none available
+   */
+  Batch poll() {
+    return queue.poll();
+  }
+
+  /**
+   * Stop read-ahead. When called with connection lock, background task is ensured not to read any
+   * other batch.
+   */
+  void stop() {
+    stopped = true;
+  }
+
+  /**
+   * Indicate if all result-set rows have been read by background task.
+   *
+   * @return true if result-set end has been read
+   */
+  boolean done() {
+    return done;
+  }
+}
@@ -5,6 +5,8 @@ package org.mariadb.jdbc.client.result;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import org.mariadb.jdbc.Statement;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
@@ -36,12 +38,31 @@ import org.mariadb.jdbc.client.util.ClosableLock;
  * <p>If another query is executed on the same connection when a streaming result-set has not been
  * fully read, the connector will put the whole remaining streaming result-set in memory in order to
  * execute the next query. This can lead to OutOfMemoryError if not handled.
+ *
+ * <p>With option streamingPrefetch, next batches are read by a background task while current rows
+ * are processed (see {@link StreamingPrefetch}).
+ *
+ * <p>With option streamingMemoryBudget, fetch size adapts for each batch: it doubles while batches
+ * are processed quickly, halves when processing a batch is slow (keeping socket read regularly),
+ * and is limited to the number of rows of observed average size fitting in memory budget.
+ *
+ * <p>A read limit can bound rows read from socket (see {@link #setReadLimit(long)}), so consumers
+ * with back-pressure only have requested rows in memory.
  */
 public class StreamingResult extends Result {
   private static final int MAX_FETCH_SIZE = 16384;
+  private static final long GROW_PROCESSING_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+  private static final long SHRINK_PROCESSING_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
   private final ClosableLock lock;
   private int dataFetchTime;
   private int requestedFetchSize;
+  private StreamingPrefetch prefetch;
+  private long fetchedRows;
+  private final int memoryBudget;
+  private long lastBatchRows;
+  private long lastBatchBytes;
+  private long lastBatchNanos;
+  private volatile long readLimit = Long.MAX_VALUE;
 
   /**
    * Constructor
@@ -89,8 +110,14 @@ public class StreamingResult extends Result {
     this.lock = lock;
     this.dataFetchTime = 0;
     this.requestedFetchSize = fetchSize;
+    this.memoryBudget = context.getConf().streamingMemoryBudget();
     this.data = new byte[Math.min(MAX_FETCH_SIZE, Math.max(fetchSize, 10))][];
     addStreamingValue();
+    if (!loaded && context.getConf().streamingPrefetch() > 0) {
+      prefetch =
+          new StreamingPrefetch(this, lock, context.getConf().streamingPrefetch(), fetchedRows);
+      prefetch.schedule();
+    }
   }
 
   @Override
@@ -123,35 +150,149 @@ public class StreamingResult extends Result {
 
   @SuppressWarnings("try")
   private void addStreamingValue() throws SQLException {
+    if (memoryBudget > 0) adaptFetchSize();
+    if (prefetch != null) {
+      // cursor needs a row, whatever read limit
+      if (readLimit <= fetchedRows) readLimit = fetchedRows + 1;
+      addPrefetchedValue(prefetch.take());
+      return;
+    }
     try (ClosableLock ignore = lock.closeableLock()) {
       // read only fetchSize values
-      int fetchSizeTmp =
-          (maxRows <= 0)
-              ? super.getFetchSize()
-              : Math.min(
-                  super.getFetchSize(),
-                  Math.max(0, (int) (maxRows - dataFetchTime * super.getFetchSize())));
+      int fetchSizeTmp = batchRowCount(fetchedRows);
+      int initialSize = dataSize;
+      long bytes = 0;
       do {
         byte[] buf = reader.readPacket(traceEnable);
+        bytes += buf.length;
         readNext(buf);
         fetchSizeTmp--;
       } while (fetchSizeTmp > 0 && !loaded);
       dataFetchTime++;
-      if (maxRows > 0 && (long) dataFetchTime * super.getFetchSize() >= maxRows && !loaded)
-        skipRemaining();
+      batchRead(dataSize - initialSize, bytes);
+      if (maxRowsReached(fetchedRows) && !loaded) skipRemaining();
     } catch (IOException ioe) {
       throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
     }
   }
 
+  private void batchRead(int rows, long bytes) {
+    fetchedRows += rows;
+    lastBatchRows = rows;
+    lastBatchBytes = bytes;
+    lastBatchNanos = System.nanoTime();
+  }
+
+  /**
+   * Adapt fetch size to time application did take to process last batch, and to observed row
+   * size, so a batch stays in memory budget.
+   *
+   * @throws SQLException if any error occurs
+   */
+  private void adaptFetchSize() throws SQLException {
+    if (lastBatchRows == 0) return;
+    long processingNanos = System.nanoTime() - lastBatchNanos;
+    int current = super.getFetchSizeValue();
+    int next = current;
+    if (processingNanos > SHRINK_PROCESSING_NANOS) {
+      next = current >> 1;
+    } else if (processingNanos < GROW_PROCESSING_NANOS) {
+      next = current << 1;
+    }
+    long avgRowBytes = Math.max(1, lastBatchBytes / lastBatchRows);
+    next = (int) Math.max(1, Math.min(next, Math.min(MAX_FETCH_SIZE, memoryBudget / avgRowBytes)));
+    if (next != current) {
+      int from = Math.max(dataSize, next);
+      int to = Math.min(current, data.length);
+      if (resultSetType == TYPE_FORWARD_ONLY && from < to) {
+        // release rows of previous batch that won't be overwritten
+        Arrays.fill(data, from, to, null);
+      }
+      super.setFetchSize(next);
+    }
+  }
+
+  /**
+   * Number of rows to read for next batch
+   *
+   * @param rowsRead number of rows already read
+   * @return row number
+   */
+  int batchRowCount(long rowsRead) {
+    long limit = maxRows <= 0 ? readLimit : Math.min(maxRows, readLimit);
+    return (int) Math.min(super.getFetchSizeValue(), Math.max(0, limit - rowsRead));
+  }
+
+  /**
+   * Limit rows read from socket: next batches will not read past this total row number, whatever
+   * the fetch size. When reaching limit, a row is read only when cursor needs it.
+   *
+   * @param rows total number of rows that can be read
+   */
+  public void setReadLimit(long rows) {
+    readLimit = rows;
+    StreamingPrefetch current = prefetch;
+    if (current != null) current.schedule();
+  }
+
+  /**
+   * Indicate if maximum row number has been read
+   *
+   * @param rowsRead number of rows already read
+   * @return true if no more rows must be read
+   */
+  boolean maxRowsReached(long rowsRead) {
+    return maxRows > 0 && rowsRead >= maxRows;
+  }
+
+  private void addPrefetchedValue(StreamingPrefetch.Batch batch) throws SQLException {
+    if (batch == null) return;
+    long bytes = 0;
+    for (int i = 0; i < batch.size; i++) {
+      bytes += batch.rows[i].length;
+      addRowData(batch.rows[i]);
+    }
+    dataFetchTime++;
+    batchRead(batch.size, bytes);
+    if (batch.last) {
+      loaded = true;
+      prefetch = null;
+      if (batch.error != null) throw batch.error;
+    }
+  }
+
+  /**
+   * Stop read-ahead, keeping already read rows. Must be called with lock.
+   *
+   * @throws SQLException if read-ahead did end with an error
+   */
+  private void stopPrefetch() throws SQLException {
+    StreamingPrefetch current = prefetch;
+    if (current != null) {
+      current.stop();
+      StreamingPrefetch.Batch batch;
+      while ((batch = current.poll()) != null) {
+        addPrefetchedValue(batch);
+      }
+      prefetch = null;
+    }
+  }
+
   /**
    * When protocol has a current Streaming result (this) fetch all to permit another query is
    * executing.
    *
    * @throws SQLException if any error occur
    */
+  @SuppressWarnings("try")
   public void fetchRemaining() throws SQLException {
     if (!loaded) {
+      readLimit = Long.MAX_VALUE;
+      if (prefetch != null) {
+        try (ClosableLock ignore = lock.closeableLock()) {
+          stopPrefetch();
+        }
+      }
       while (!loaded) {
         addStreamingValue();
       }
@@ -159,6 +300,26 @@ public class StreamingResult extends Result {
     }
   }
 
+  @Override
+  @SuppressWarnings("try")
+  public void close() throws SQLException {
+    if (prefetch != null) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        prefetch.stop();
+        // remaining rows are not needed, only ensuring connection is in a correct state
+        if (prefetch.done()) loaded = true;
+        prefetch = null;
+      }
+    }
+    super.close();
+  }
+
+  @Override
+  public void abort() {
+    if (prefetch != null) prefetch.stop();
+    super.abort();
+  }
+
   @Override
   @SuppressWarnings("try")
   public boolean next() throws SQLException {
@@ -169,9 +330,14 @@ public class StreamingResult extends Result {
       return true;
     } else {
       if (!loaded) {
-        try (ClosableLock ignore = lock.closeableLock()) {
-          if (!loaded) {
-            nextStreamingValue();
+        if (prefetch != null) {
+          // waiting for background task, that needs lock
+          nextStreamingValue();
+        } else {
+          try (ClosableLock ignore = lock.closeableLock()) {
+            if (!loaded) {
+              nextStreamingValue();
+            }
           }
         }
 
@@ -392,7 +558,13 @@ public class StreamingResult extends Result {
   }
 
   @Override
+  @SuppressWarnings("try")
   public void setFetchSize(int fetchSize) throws SQLException {
+    if (prefetch != null) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        stopPrefetch();
+      }
+    }
     // ensure huge fetch size won't create OOM because of array size exceeding VM limit
     // when using fetchSize with value different from 0, value must be small because goal is to
     // ensure not having too
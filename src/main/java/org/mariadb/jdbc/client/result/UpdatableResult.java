@@ -80,6 +80,7 @@ public class UpdatableResult extends CompleteResult {
         resultSetType,
         closeOnCompletion,
         traceEnable,
+        false,
         false);
     checkIfUpdatable();
     parameters = new ParameterList(metadataList.length);
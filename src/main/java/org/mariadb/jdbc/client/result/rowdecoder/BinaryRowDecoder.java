@@ -177,55 +177,33 @@ public class BinaryRowDecoder implements RowDecoder {
   public int setPosition(
       final int newIndex,
       final MutableInt fieldIndex,
-      final int maxIndex,
+      final int[] fieldOffsets,
       final StandardReadableByteBuf rowBuf,
       final byte[] nullBitmap,
       final ColumnDecoder[] metadataList) {
 
-    if (fieldIndex.get() >= newIndex) {
-      fieldIndex.set(0);
-      rowBuf.pos(1);
-      rowBuf.readBytes(nullBitmap);
+    int known = fieldIndex.get() == -1 ? 0 : fieldOffsets[0];
+    if (newIndex < known) {
+      rowBuf.rowPos(fieldOffsets[newIndex + 1]);
     } else {
-      fieldIndex.incrementAndGet();
-      if (fieldIndex.get() == 0) {
+      int index = known;
+      if (known == 0) {
         // skip header + null-bitmap
-        rowBuf.pos(1);
+        rowBuf.rowPos(1);
         rowBuf.readBytes(nullBitmap);
+      } else if (fieldIndex.get() != known - 1) {
+        // current position is not after last known field
+        rowBuf.rowPos(fieldOffsets[known]);
+        skipField(known - 1, rowBuf, nullBitmap, metadataList);
       }
-    }
-
-    while (fieldIndex.get() < newIndex) {
-      if ((nullBitmap[(fieldIndex.get() + 2) / 8] & (1 << ((fieldIndex.get() + 2) % 8))) == 0) {
-        // skip bytes
-        switch (metadataList[fieldIndex.get()].getType()) {
-          case BIGINT:
-          case DOUBLE:
-            rowBuf.skip(8);
-            break;
-
-          case INTEGER:
-          case MEDIUMINT:
-          case FLOAT:
-            rowBuf.skip(4);
-            break;
-
-          case SMALLINT:
-          case YEAR:
-            rowBuf.skip(2);
-            break;
-
-          case TINYINT:
-            rowBuf.skip(1);
-            break;
-
-          default:
-            rowBuf.skipLengthEncoded();
-            break;
-        }
+      for (; index < newIndex; index++) {
+        fieldOffsets[index + 1] = rowBuf.rowPos();
+        skipField(index, rowBuf, nullBitmap, metadataList);
       }
-      fieldIndex.incrementAndGet();
+      fieldOffsets[newIndex + 1] = rowBuf.rowPos();
+      fieldOffsets[0] = newIndex + 1;
     }
+    fieldIndex.set(newIndex);
 
     if ((nullBitmap[(fieldIndex.get() + 2) / 8] & (1 << ((fieldIndex.get() + 2) % 8))) > 0) {
       return NULL_LENGTH;
@@ -269,4 +247,38 @@ public class BinaryRowDecoder implements RowDecoder {
         }
     }
   }
+
+  private static void skipField(
+      final int index,
+      final StandardReadableByteBuf rowBuf,
+      final byte[] nullBitmap,
+      final ColumnDecoder[] metadataList) {
+    if ((nullBitmap[(index + 2) / 8] & (1 << ((index + 2) % 8))) == 0) {
+      switch (metadataList[index].getType()) {
+        case BIGINT:
+        case DOUBLE:
+          rowBuf.skip(8);
+          break;
+
+        case INTEGER:
+        case MEDIUMINT:
+        case FLOAT:
+          rowBuf.skip(4);
+          break;
+
+        case SMALLINT:
+        case YEAR:
+          rowBuf.skip(2);
+          break;
+
+        case TINYINT:
+          rowBuf.skip(1);
+          break;
+
+        default:
+          rowBuf.skipLengthEncoded();
+          break;
+      }
+    }
+  }
 }
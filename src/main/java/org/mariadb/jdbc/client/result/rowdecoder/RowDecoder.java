@@ -29,9 +29,14 @@ public interface RowDecoder {
   /**
    * Position the read index on buffer to data at indicated index.
    *
+   * <p>Field offsets of current row are computed lazily, once, so accessing columns in any order
+   * doesn't parse row again: fieldOffsets[0] is the number of fields with known offset,
+   * fieldOffsets[i + 1] the offset of field i relative to row start. Offsets are invalidated when
+   * fieldIndex is set to -1 (new row).
+   *
    * @param newIndex new data index
    * @param fieldIndex current field index
-   * @param maxIndex maximum index
+   * @param fieldOffsets field offsets of current row, of length column number + 1
    * @param rowBuf row buffer
    * @param nullBitmap null bitmap
    * @param metadataList metadata list
@@ -40,7 +45,7 @@ public interface RowDecoder {
   int setPosition(
       int newIndex,
       MutableInt fieldIndex,
-      int maxIndex,
+      int[] fieldOffsets,
       StandardReadableByteBuf rowBuf,
       byte[] nullBitmap,
       ColumnDecoder[] metadataList);
@@ -164,21 +164,30 @@ public class TextRowDecoder implements RowDecoder {
   public int setPosition(
       final int newIndex,
       final MutableInt fieldIndex,
-      final int maxIndex,
+      final int[] fieldOffsets,
       final StandardReadableByteBuf rowBuf,
       final byte[] nullBitmap,
       final ColumnDecoder[] metadataList) {
-    if (fieldIndex.get() >= newIndex) {
-      fieldIndex.set(0);
-      rowBuf.pos(0);
+    int known = fieldIndex.get() == -1 ? 0 : fieldOffsets[0];
+    if (newIndex < known) {
+      rowBuf.rowPos(fieldOffsets[newIndex + 1]);
     } else {
-      fieldIndex.incrementAndGet();
-    }
-
-    while (fieldIndex.get() < newIndex) {
-      rowBuf.skipLengthEncoded();
-      fieldIndex.incrementAndGet();
+      int index = known;
+      if (known == 0) {
+        rowBuf.rowPos(0);
+      } else if (fieldIndex.get() != known - 1) {
+        // current position is not after last known field
+        rowBuf.rowPos(fieldOffsets[known]);
+        rowBuf.skipLengthEncoded();
+      }
+      for (; index < newIndex; index++) {
+        fieldOffsets[index + 1] = rowBuf.rowPos();
+        rowBuf.skipLengthEncoded();
+      }
+      fieldOffsets[newIndex + 1] = rowBuf.rowPos();
+      fieldOffsets[0] = newIndex + 1;
     }
+    fieldIndex.set(newIndex);
 
     byte len = rowBuf.buf[rowBuf.pos++];
     switch (len) {
@@ -7,6 +7,7 @@ import java.io.IOException;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.RowSlab;
 
 /** Packet Reader */
 public interface Reader {
@@ -40,6 +41,16 @@ public interface Reader {
    */
   byte[] readPacket(boolean traceEnable) throws IOException;
 
+  /**
+   * Read next MySQL packet into row storage. Packet is only reserved in storage, caller has to
+   * commit it to keep it as a row.
+   *
+   * @param slab row storage
+   * @param traceEnable must trace packet.
+   * @throws IOException if socket exception occur.
+   */
+  void readPacket(RowSlab slab, boolean traceEnable) throws IOException;
+
   /**
    * Get a readable byte array from byte array. This packet is expected to be read immediately,
    * since no lock is set on this packet.
@@ -0,0 +1,362 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.socket.impl;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+
+/**
+ * Socket channel transport.
+ *
+ * <p>Channel is non-blocking, and read / written through direct buffers. A selector is only used
+ * when channel isn't ready, waiting at most socket timeout (as set on channel {@link Socket}).
+ * After {@link #startTls(SSLEngine)}, data is encrypted / decrypted by the SSL engine.
+ *
+ * <p>Transport exposes streams, so packet reader / writer and compression work unchanged. Input
+ * stream is buffered by the channel read buffer (no read-ahead stream needed), output stream
+ * writes packets already buffered by packet writer.
+ */
+public final class ChannelTransport {
+
+  private static final int BUFFER_SIZE = 16384;
+  private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+  private final SocketChannel channel;
+  private final Socket socket;
+  private final InputStream inputStream = new ChannelInputStream();
+  private final OutputStream outputStream = new ChannelOutputStream();
+  private Selector selector;
+  private SelectionKey selectionKey;
+  private SSLEngine engine;
+
+  // available data, in read mode (decrypted data when using TLS)
+  private ByteBuffer readBuf;
+  // data to write, in write mode (encrypted data when using TLS)
+  private ByteBuffer writeBuf;
+  // TLS only: encrypted data read from channel, in write mode
+  private ByteBuffer netReadBuf;
+
+  /**
+   * Constructor, connected channel being switched to non-blocking mode.
+   *
+   * @param channel connected socket channel
+   * @throws IOException if channel mode cannot be changed
+   */
+  public ChannelTransport(SocketChannel channel) throws IOException {
+    this.channel = channel;
+    this.socket = channel.socket();
+    channel.configureBlocking(false);
+    readBuf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    readBuf.flip();
+    writeBuf = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  }
+
+  /**
+   * Transport input stream
+   *
+   * @return input stream
+   */
+  public InputStream getInputStream() {
+    return inputStream;
+  }
+
+  /**
+   * Transport output stream
+   *
+   * @return output stream
+   */
+  public OutputStream getOutputStream() {
+    return outputStream;
+  }
+
+  /**
+   * Start TLS: perform handshake, all subsequent data being encrypted. Pending output must have
+   * been flushed.
+   *
+   * @param sslEngine client mode SSL engine
+   * @throws IOException if handshake fails
+   */
+  public void startTls(SSLEngine sslEngine) throws IOException {
+    int packetSize = sslEngine.getSession().getPacketBufferSize();
+    int appSize = sslEngine.getSession().getApplicationBufferSize();
+    netReadBuf = ByteBuffer.allocateDirect(packetSize);
+    writeBuf = ByteBuffer.allocateDirect(packetSize);
+    if (readBuf.capacity() < appSize) {
+      ByteBuffer buf = ByteBuffer.allocateDirect(appSize);
+      buf.put(readBuf).flip();
+      readBuf = buf;
+    }
+    engine = sslEngine;
+    engine.beginHandshake();
+    handshake(engine.getHandshakeStatus());
+  }
+
+  private void handshake(SSLEngineResult.HandshakeStatus status) throws IOException {
+    while (true) {
+      switch (status) {
+        case NEED_WRAP:
+          SSLEngineResult result = engine.wrap(EMPTY, writeBuf);
+          if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+            flushBuffer();
+          } else if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+            flushBuffer();
+            throw new SSLException("SSL engine closed during handshake");
+          }
+          status = result.getHandshakeStatus();
+          if (status != SSLEngineResult.HandshakeStatus.NEED_WRAP) flushBuffer();
+          break;
+
+        case NEED_TASK:
+          Runnable task;
+          while ((task = engine.getDelegatedTask()) != null) task.run();
+          status = engine.getHandshakeStatus();
+          break;
+
+        case FINISHED:
+        case NOT_HANDSHAKING:
+          return;
+
+        default:
+          // NEED_UNWRAP (or NEED_UNWRAP_AGAIN since java 9)
+          status = unwrap();
+          if (status == null) throw new EOFException("unexpected end of stream during handshake");
+      }
+    }
+  }
+
+  /**
+   * Decrypt data available in network buffer, reading channel if needed.
+   *
+   * @return resulting handshake status, or null if end of stream is reached
+   * @throws IOException if any socket or SSL error occurs
+   */
+  private SSLEngineResult.HandshakeStatus unwrap() throws IOException {
+    readBuf.compact();
+    try {
+      while (true) {
+        netReadBuf.flip();
+        SSLEngineResult result = engine.unwrap(netReadBuf, readBuf);
+        netReadBuf.compact();
+        switch (result.getStatus()) {
+          case OK:
+            return result.getHandshakeStatus();
+
+          case BUFFER_UNDERFLOW:
+            if (!netReadBuf.hasRemaining()) {
+              netReadBuf = enlarge(netReadBuf, engine.getSession().getPacketBufferSize());
+            }
+            if (readChannel(netReadBuf) < 0) return null;
+            break;
+
+          case BUFFER_OVERFLOW:
+            readBuf = enlarge(readBuf, engine.getSession().getApplicationBufferSize());
+            break;
+
+          default:
+            // CLOSED
+            return null;
+        }
+      }
+    } finally {
+      readBuf.flip();
+    }
+  }
+
+  private static ByteBuffer enlarge(ByteBuffer buf, int minSize) {
+    ByteBuffer newBuf = ByteBuffer.allocateDirect(Math.max(buf.capacity() * 2, minSize));
+    buf.flip();
+    newBuf.put(buf);
+    return newBuf;
+  }
+
+  /**
+   * Fill read buffer.
+   *
+   * @return false if end of stream is reached
+   * @throws IOException if any socket or SSL error occurs
+   */
+  private boolean fill() throws IOException {
+    if (engine == null) {
+      readBuf.clear();
+      int read = readChannel(readBuf);
+      readBuf.flip();
+      return read >= 0;
+    }
+
+    while (!readBuf.hasRemaining()) {
+      SSLEngineResult.HandshakeStatus status = unwrap();
+      if (status == null) return false;
+      if (status != SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING
+          && status != SSLEngineResult.HandshakeStatus.FINISHED) {
+        // post-handshake messages (key update, session tickets)
+        handshake(status);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Read channel data, waiting up to socket timeout if no data is available.
+   *
+   * @param dst destination buffer, with remaining space
+   * @return number of read bytes, or -1 if end of stream is reached
+   * @throws IOException if any socket error occurs, or timeout is reached
+   */
+  private int readChannel(ByteBuffer dst) throws IOException {
+    int read = channel.read(dst);
+    if (read != 0) return read;
+
+    long start = System.nanoTime();
+    long timeout = TimeUnit.MILLISECONDS.toNanos(socket.getSoTimeout());
+    while (true) {
+      await(SelectionKey.OP_READ, start, timeout);
+      read = channel.read(dst);
+      if (read != 0) return read;
+    }
+  }
+
+  /**
+   * Write buffered data, waiting up to socket timeout each time channel isn't ready.
+   *
+   * @throws IOException if any socket error occurs, or timeout is reached
+   */
+  private void flushBuffer() throws IOException {
+    writeBuf.flip();
+    try {
+      while (writeBuf.hasRemaining()) {
+        if (channel.write(writeBuf) == 0) {
+          long start = System.nanoTime();
+          long timeout = TimeUnit.MILLISECONDS.toNanos(socket.getSoTimeout());
+          do {
+            await(SelectionKey.OP_WRITE, start, timeout);
+          } while (channel.write(writeBuf) == 0);
+        }
+      }
+    } finally {
+      writeBuf.compact();
+    }
+  }
+
+  /**
+   * Wait for channel to be ready.
+   *
+   * @param ops operation to wait for
+   * @param start waiting start, in nanoseconds
+   * @param timeout timeout in nanoseconds, 0 meaning no timeout
+   * @throws IOException if any socket error occurs, or timeout is reached
+   */
+  private void await(int ops, long start, long timeout) throws IOException {
+    if (selector == null) {
+      selector = Selector.open();
+      selectionKey = channel.register(selector, 0);
+    }
+
+    long timeoutMillis = 0;
+    if (timeout > 0) {
+      long remaining = timeout - (System.nanoTime() - start);
+      if (remaining <= 0) {
+        throw new SocketTimeoutException(
+            ops == SelectionKey.OP_READ ? "Read timed out" : "Write timed out");
+      }
+      timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+    selectionKey.interestOps(ops);
+    selector.select(timeoutMillis);
+    selector.selectedKeys().clear();
+  }
+
+  private void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      if (selector != null) selector.close();
+    }
+  }
+
+  private final class ChannelInputStream extends InputStream {
+
+    @Override
+    public int read() throws IOException {
+      if (!readBuf.hasRemaining() && !fill()) return -1;
+      return readBuf.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) return 0;
+      if (!readBuf.hasRemaining() && !fill()) return -1;
+      int read = Math.min(len, readBuf.remaining());
+      readBuf.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return readBuf.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ChannelTransport.this.close();
+    }
+  }
+
+  private final class ChannelOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (engine == null) {
+        while (len > 0) {
+          int length = Math.min(len, writeBuf.remaining());
+          writeBuf.put(b, off, length);
+          off += length;
+          len -= length;
+          if (!writeBuf.hasRemaining()) flushBuffer();
+        }
+        return;
+      }
+
+      ByteBuffer src = ByteBuffer.wrap(b, off, len);
+      while (src.hasRemaining()) {
+        SSLEngineResult result = engine.wrap(src, writeBuf);
+        switch (result.getStatus()) {
+          case OK:
+            break;
+          case BUFFER_OVERFLOW:
+            flushBuffer();
+            break;
+          default:
+            throw new SSLException("SSL engine closed");
+        }
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      flushBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ChannelTransport.this.close();
+    }
+  }
+}
@@ -6,23 +6,33 @@ package org.mariadb.jdbc.client.socket.impl;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
 
 /**
  * Compression handler, permitting decompression of mysql packet if needed. When compression is set,
  * using a 7 byte header to identify is packet is compressed or not.
+ *
+ * <p>Decompressor and buffers are reused for all packets of the connection. When caller asks for
+ * at least a whole compressed packet content, data is decompressed (or read) directly into caller
+ * buffer.
  */
 public class CompressInputStream extends InputStream {
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
   private final InputStream in;
   private final MutableByte sequence;
+  private final CompressionPlugin.Decompressor decompressor;
 
   private final byte[] header = new byte[7];
 
   private int end;
   private int pos;
-  private volatile byte[] buf;
+  private volatile byte[] buf = new byte[DEFAULT_BUFFER_SIZE];
+  private byte[] compressedBuf = new byte[DEFAULT_BUFFER_SIZE];
+
+  // current packet information
+  private int compressedPacketLength;
+  private int packetLength;
 
   /**
    * Constructor. When this handler is used, driver expect packet with 7 byte compression header
@@ -32,10 +42,15 @@ public class CompressInputStream extends InputStream {
    *
    * @param in socket input stream
    * @param compressionSequence compression sequence
+   * @param decompressor negotiated algorithm decompressor
    */
-  public CompressInputStream(InputStream in, MutableByte compressionSequence) {
+  public CompressInputStream(
+      InputStream in,
+      MutableByte compressionSequence,
+      CompressionPlugin.Decompressor decompressor) {
     this.in = in;
     this.sequence = compressionSequence;
+    this.decompressor = decompressor;
   }
 
   /**
@@ -92,7 +107,20 @@ public class CompressInputStream extends InputStream {
     int totalReads = 0;
     do {
       if (end - pos <= 0) {
-        retrieveBuffer();
+        readHeader();
+        int length = packetLength == 0 ? compressedPacketLength : packetLength;
+        if (len - totalReads >= length) {
+          // whole packet content is requested: no intermediate copy
+          readContent(b, off + totalReads);
+          totalReads += length;
+          continue;
+        }
+        if (buf.length < length || (buf.length > DEFAULT_BUFFER_SIZE && length * 2 < buf.length)) {
+          buf = new byte[Math.max(length, DEFAULT_BUFFER_SIZE)];
+        }
+        readContent(buf, 0);
+        end = length;
+        pos = 0;
       }
       // copy internal value to buf.
       int copyLength = Math.min(len - totalReads, end - pos);
@@ -104,10 +132,7 @@ public class CompressInputStream extends InputStream {
     return totalReads;
   }
 
-  private void retrieveBuffer() throws IOException {
-    // ***************************************************
-    // Read header
-    // ***************************************************
+  private void readHeader() throws IOException {
     int remaining = 7;
     int readOffset = 0;
     do {
@@ -122,56 +147,52 @@ public class CompressInputStream extends InputStream {
       readOffset += count;
     } while (remaining > 0);
 
-    int compressedPacketLength =
+    compressedPacketLength =
         (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
     sequence.set(header[3]);
-    int packetLength = (header[4] & 0xff) + ((header[5] & 0xff) << 8) + ((header[6] & 0xff) << 16);
-    boolean compressed = (packetLength != 0);
-    remaining = compressedPacketLength;
-    byte[] intermediaryBuf = new byte[remaining];
+    packetLength = (header[4] & 0xff) + ((header[5] & 0xff) << 8) + ((header[6] & 0xff) << 16);
+  }
 
-    // ***************************************************
-    // Read content
-    // ***************************************************
+  /**
+   * Read current packet content, decompressing it if needed.
+   *
+   * @param dst destination buffer, with enough space for uncompressed content
+   * @param dstOff destination offset
+   * @throws IOException if any socket error occurs, or data cannot be decompressed
+   */
+  private void readContent(byte[] dst, int dstOff) throws IOException {
+    if (packetLength == 0) {
+      // not compressed
+      readFully(dst, dstOff, compressedPacketLength);
+      return;
+    }
 
-    readOffset = 0;
-    do {
-      int count = in.read(intermediaryBuf, readOffset, remaining);
+    if (compressedBuf.length < compressedPacketLength
+        || (compressedBuf.length > DEFAULT_BUFFER_SIZE
+            && compressedPacketLength * 2 < compressedBuf.length)) {
+      compressedBuf = new byte[Math.max(compressedPacketLength, DEFAULT_BUFFER_SIZE)];
+    }
+    readFully(compressedBuf, 0, compressedPacketLength);
+
+    decompressor.decompress(compressedBuf, 0, compressedPacketLength, dst, dstOff, packetLength);
+  }
+
+  private void readFully(byte[] dst, int dstOff, int length) throws IOException {
+    int remaining = length;
+    int readOffset = 0;
+    while (remaining > 0) {
+      int count = in.read(dst, dstOff + readOffset, remaining);
       if (count < 0) {
         throw new EOFException(
             "unexpected end of stream, read "
-                + ((compressed ? compressedPacketLength : packetLength) - remaining)
+                + readOffset
                 + " bytes from "
-                + (compressed ? compressedPacketLength : packetLength)
+                + length
                 + " (socket was closed by server)");
       }
       remaining -= count;
       readOffset += count;
-    } while (remaining > 0);
-
-    if (compressed) {
-      buf = new byte[packetLength];
-      Inflater inflater = new Inflater();
-      inflater.setInput(intermediaryBuf);
-      try {
-        int actualUncompressBytes = inflater.inflate(buf);
-        if (actualUncompressBytes != packetLength) {
-          throw new IOException(
-              "Invalid exception length after decompression "
-                  + actualUncompressBytes
-                  + ",expected "
-                  + packetLength);
-        }
-      } catch (DataFormatException dfe) {
-        throw new IOException(dfe);
-      }
-      inflater.end();
-      end = packetLength;
-    } else {
-      buf = intermediaryBuf;
-      end = compressedPacketLength;
     }
-    pos = 0;
   }
 
   /**
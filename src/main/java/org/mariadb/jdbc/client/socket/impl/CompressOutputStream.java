@@ -3,33 +3,49 @@
 // Copyright (c) 2015-2024 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.socket.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.DeflaterOutputStream;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
 
 /**
  * Compression writer handler Permit to wrap standard packet to compressed packet ( 7 byte header).
- * Driver will compress packet only if packet size is meaningful (1536 bytes) &gt; to one TCP
- * packet.
+ * Driver will compress packet only if packet size is meaningful (by default 1536 bytes &gt; to one
+ * TCP packet).
+ *
+ * <p>Compressor and compressed data buffer are reused for all packets of the connection.
+ * Compressed data is written after header space, so header and data are written at once. When
+ * compression doesn't reduce data size, data is sent uncompressed.
  */
 public class CompressOutputStream extends OutputStream {
-  private static final int MIN_COMPRESSION_SIZE = 1536; // TCP-IP single packet
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
   private final OutputStream out;
   private final MutableByte sequence;
+  private final int minCompressionSize;
+  private final CompressionPlugin.Compressor compressor;
   private final byte[] header = new byte[7];
   private byte[] longPacketBuffer = null;
+  // 7 bytes header + compressed data
+  private byte[] compressedBuf = new byte[DEFAULT_BUFFER_SIZE];
 
   /**
    * Constructor.
    *
    * @param out socket output stream
    * @param compressionSequence compression sequence
+   * @param compressor negotiated algorithm compressor
+   * @param minCompressionSize minimum packet size to compress
    */
-  public CompressOutputStream(OutputStream out, MutableByte compressionSequence) {
+  public CompressOutputStream(
+      OutputStream out,
+      MutableByte compressionSequence,
+      CompressionPlugin.Compressor compressor,
+      int minCompressionSize) {
     this.out = out;
     this.sequence = compressionSequence;
+    this.compressor = compressor;
+    // uncompressed packet length is limited to 3 bytes
+    this.minCompressionSize = Math.min(minCompressionSize, 0x00ffffff);
   }
 
   /**
@@ -57,7 +73,7 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
-    if (len + ((longPacketBuffer != null) ? longPacketBuffer.length : 0) < MIN_COMPRESSION_SIZE) {
+    if (len + ((longPacketBuffer != null) ? longPacketBuffer.length : 0) < minCompressionSize) {
       // *******************************************************************************
       // small packet, no compression
       // *******************************************************************************
@@ -65,7 +81,7 @@ public class CompressOutputStream extends OutputStream {
       if (longPacketBuffer != null) {
         header[0] = (byte) (len + longPacketBuffer.length);
         header[1] = (byte) ((len + longPacketBuffer.length) >>> 8);
-        header[2] = 0;
+        header[2] = (byte) ((len + longPacketBuffer.length) >>> 16);
         header[3] = sequence.incrementAndGet();
         header[4] = 0;
         header[5] = 0;
@@ -79,7 +95,7 @@ public class CompressOutputStream extends OutputStream {
 
       header[0] = (byte) len;
       header[1] = (byte) (len >>> 8);
-      header[2] = 0;
+      header[2] = (byte) (len >>> 16);
       header[3] = sequence.incrementAndGet();
       header[4] = 0;
       header[5] = 0;
@@ -92,46 +108,68 @@ public class CompressOutputStream extends OutputStream {
       // compressing packet
       // *******************************************************************************
       int sent = 0;
-      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
+      byte[] previous = null;
 
-          /**
-           * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
-           * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
-           * for this specific case, a buffer will save remaining data
-           */
-          if (longPacketBuffer != null) {
-            deflater.write(longPacketBuffer, 0, longPacketBuffer.length);
-            sent = longPacketBuffer.length;
-            longPacketBuffer = null;
-          }
-          if (len + sent > 0x00ffffff) {
-            int remaining = len + sent - 0x00ffffff;
-            longPacketBuffer = new byte[remaining];
-            System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
-          }
-
-          int bufLenSent = Math.min(0x00ffffff - sent, len);
-          deflater.write(b, off, bufLenSent);
-          sent += bufLenSent;
-          deflater.finish();
-        }
-
-        byte[] compressedBytes = baos.toByteArray();
+      /*
+       * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
+       * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
+       * for this specific case, a buffer will save remaining data
+       */
+      if (longPacketBuffer != null) {
+        previous = longPacketBuffer;
+        sent = previous.length;
+        longPacketBuffer = null;
+      }
+      if (len + sent > 0x00ffffff) {
+        int remaining = len + sent - 0x00ffffff;
+        longPacketBuffer = new byte[remaining];
+        System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
+      }
 
-        int compressLen = compressedBytes.length;
+      int bufLenSent = Math.min(0x00ffffff - sent, len);
+      sent += bufLenSent;
+
+      // compressed data is only useful if smaller than data
+      if (compressedBuf.length < sent + 6) compressedBuf = new byte[sent + 6];
+      int compressLen = -1;
+      if (sent <= 1) {
+        // nothing to gain
+      } else if (previous == null) {
+        compressLen = compressor.compress(b, off, bufLenSent, compressedBuf, 7, sent - 1);
+      } else {
+        byte[] data = new byte[sent];
+        System.arraycopy(previous, 0, data, 0, previous.length);
+        System.arraycopy(b, off, data, previous.length, bufLenSent);
+        compressLen = compressor.compress(data, 0, sent, compressedBuf, 7, sent - 1);
+      }
 
-        header[0] = (byte) compressLen;
-        header[1] = (byte) (compressLen >>> 8);
-        header[2] = (byte) (compressLen >>> 16);
+      if (compressLen > 0) {
+        compressedBuf[0] = (byte) compressLen;
+        compressedBuf[1] = (byte) (compressLen >>> 8);
+        compressedBuf[2] = (byte) (compressLen >>> 16);
+        compressedBuf[3] = sequence.incrementAndGet();
+        compressedBuf[4] = (byte) sent;
+        compressedBuf[5] = (byte) (sent >>> 8);
+        compressedBuf[6] = (byte) (sent >>> 16);
+        out.write(compressedBuf, 0, compressLen + 7);
+      } else {
+        // compression doesn't reduce size: send data uncompressed
+        header[0] = (byte) sent;
+        header[1] = (byte) (sent >>> 8);
+        header[2] = (byte) (sent >>> 16);
         header[3] = sequence.incrementAndGet();
-        header[4] = (byte) sent;
-        header[5] = (byte) (sent >>> 8);
-        header[6] = (byte) (sent >>> 16);
-
+        header[4] = 0;
+        header[5] = 0;
+        header[6] = 0;
         out.write(header, 0, 7);
-        out.write(compressedBytes, 0, compressLen);
-        out.flush();
+        if (previous != null) out.write(previous, 0, previous.length);
+        out.write(b, off, bufLenSent);
+      }
+      out.flush();
+
+      // if buffer is big, and last packet doesn't use at least half of it, resize to default
+      if (compressedBuf.length > DEFAULT_BUFFER_SIZE && (sent + 6) * 2 < compressedBuf.length) {
+        compressedBuf = new byte[DEFAULT_BUFFER_SIZE];
       }
     }
   }
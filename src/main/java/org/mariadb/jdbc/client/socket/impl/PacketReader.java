@@ -12,6 +12,7 @@ import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.RowSlab;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.LoggerHelper;
 import org.mariadb.jdbc.util.log.Loggers;
@@ -174,57 +175,142 @@ public class PacketReader implements Reader {
     // In case content length is big, content will be separate in many 16Mb packets
     // ***************************************************
     if (lastPacketLength == MAX_PACKET_SIZE) {
-      int packetLength;
+      rawBytes = readContinuationPackets(rawBytes, traceEnable);
+    }
+
+    return rawBytes;
+  }
+
+  /**
+   * Read packets following a 16M packet, appending their content to packet data, until a packet
+   * with length lower than 16M.
+   *
+   * @param rawBytes first packet data
+   * @param traceEnable must trace packet.
+   * @return complete packet data
+   * @throws IOException if socket exception occur.
+   */
+  private byte[] readContinuationPackets(byte[] rawBytes, boolean traceEnable)
+      throws IOException {
+    int remaining;
+    int off;
+    int packetLength;
+    do {
+      remaining = 4;
+      off = 0;
       do {
-        remaining = 4;
-        off = 0;
-        do {
-          int count = inputStream.read(header, off, remaining);
-          if (count < 0) {
-            throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
-          }
-          remaining -= count;
-          off += count;
-        } while (remaining > 0);
+        int count = inputStream.read(header, off, remaining);
+        if (count < 0) {
+          throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
+        }
+        remaining -= count;
+        off += count;
+      } while (remaining > 0);
+
+      packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+
+      int currentbufLength = rawBytes.length;
+      byte[] newRawBytes = new byte[currentbufLength + packetLength];
+      System.arraycopy(rawBytes, 0, newRawBytes, 0, currentbufLength);
+      rawBytes = newRawBytes;
+
+      // ***************************************************
+      // Read content
+      // ***************************************************
+      remaining = packetLength;
+      off = currentbufLength;
+      do {
+        int count = inputStream.read(rawBytes, off, remaining);
+        if (count < 0) {
+          throw new EOFException(
+              "unexpected end of stream, read "
+                  + (packetLength - remaining)
+                  + " bytes from "
+                  + packetLength);
+        }
+        remaining -= count;
+        off += count;
+      } while (remaining > 0);
+
+      if (traceEnable) {
+        logger.trace(
+            "read: {}\n{}",
+            serverThreadLog,
+            LoggerHelper.hex(
+                header, rawBytes, currentbufLength, packetLength, maxQuerySizeToLog));
+      }
+    } while (packetLength == MAX_PACKET_SIZE);
+    return rawBytes;
+  }
 
-        packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+  /**
+   * Read next MySQL packet into row storage, avoiding a new array for each packet. Packet is
+   * reserved in storage, caller deciding to keep it as a row or not.
+   *
+   * @param slab row storage
+   * @param traceEnable must trace packet.
+   * @throws IOException if socket exception occur.
+   */
+  public void readPacket(RowSlab slab, boolean traceEnable) throws IOException {
+    // ***************************************************
+    // Read 4 byte header
+    // ***************************************************
+    int remaining = 4;
+    int off = 0;
+    do {
+      int count = inputStream.read(header, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + off
+                + " bytes from 4 (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
 
-        int currentbufLength = rawBytes.length;
-        byte[] newRawBytes = new byte[currentbufLength + packetLength];
-        System.arraycopy(rawBytes, 0, newRawBytes, 0, currentbufLength);
-        rawBytes = newRawBytes;
+    int lastPacketLength =
+        (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
 
-        // ***************************************************
-        // Read content
-        // ***************************************************
-        remaining = packetLength;
-        off = currentbufLength;
-        do {
-          int count = inputStream.read(rawBytes, off, remaining);
-          if (count < 0) {
-            throw new EOFException(
-                "unexpected end of stream, read "
-                    + (packetLength - remaining)
-                    + " bytes from "
-                    + packetLength);
-          }
-          remaining -= count;
-          off += count;
-        } while (remaining > 0);
+    byte[] rawBytes;
+    int startOffset;
+    if (lastPacketLength == MAX_PACKET_SIZE) {
+      rawBytes = new byte[lastPacketLength];
+      startOffset = 0;
+    } else {
+      rawBytes = slab.reserve(lastPacketLength);
+      startOffset = slab.pendingOffset();
+    }
 
-        if (traceEnable) {
-          logger.trace(
-              "read: {}\n{}",
-              serverThreadLog,
-              LoggerHelper.hex(
-                  header, rawBytes, currentbufLength, packetLength, maxQuerySizeToLog));
-        }
+    // ***************************************************
+    // Read content
+    // ***************************************************
+    remaining = lastPacketLength;
+    off = startOffset;
+    do {
+      int count = inputStream.read(rawBytes, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + (lastPacketLength - remaining)
+                + " bytes from "
+                + lastPacketLength
+                + " (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
 
-        lastPacketLength += packetLength;
-      } while (packetLength == MAX_PACKET_SIZE);
+    if (traceEnable) {
+      logger.trace(
+          "read: {}\n{}",
+          serverThreadLog,
+          LoggerHelper.hex(header, rawBytes, startOffset, lastPacketLength, maxQuerySizeToLog));
     }
 
-    return rawBytes;
+    if (lastPacketLength == MAX_PACKET_SIZE) {
+      slab.reserve(readContinuationPackets(rawBytes, traceEnable));
+    }
   }
 
   public void skipPacket() throws IOException {
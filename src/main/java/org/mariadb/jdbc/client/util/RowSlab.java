@@ -0,0 +1,446 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+
+/**
+ * Row storage appending raw row packets one after the other into large chunks, with an int index
+ * (chunk, offset, length) per row, avoiding one array allocation per row.
+ *
+ * <p>Chunks are 128Kb, so they are never allocated as humongous objects by G1, and are returned to a
+ * bounded process-wide pool when storage is released. A row bigger than a chunk gets its own
+ * array, that is not pooled.
+ *
+ * <p>Reading is done in two steps: {@link #reserve(int)} gives room for a packet payload that
+ * reader fills, then {@link #commit()} keeps it as a row, or {@link #pendingCopy()} gets it as a
+ * standalone array (for EOF / error packets).
+ *
+ * <p>When a spill threshold is set and stored rows exceed it, rows are moved to a temporary file,
+ * with a long index (file offset, length) per row. Following rows are then written to that file
+ * through a single chunk, and reading is done through that same chunk used as a read window, so
+ * sequential navigation only needs one file read by chunk. A write error doesn't interrupt
+ * reading (connection must stay in sync), but is kept and available with {@link #spillError()}.
+ */
+public final class RowSlab {
+
+  /** chunk size */
+  public static final int CHUNK_SIZE = 128 * 1024;
+
+  private static final int POOL_SIZE = 64;
+  private static final ArrayBlockingQueue<byte[]> FREE_CHUNKS =
+      new ArrayBlockingQueue<>(POOL_SIZE);
+
+  private byte[][] chunks = new byte[4][];
+  private int chunkCount;
+  private int chunkPos;
+
+  // 3 int by row: chunk index, offset, length
+  private int[] index = new int[30];
+  private int rowCount;
+
+  private byte[] pendingArray;
+  private int pendingChunk = -1;
+  private int pendingOffset;
+  private int pendingLength;
+
+  private boolean pinned;
+
+  private final long spillThreshold;
+  private long storedBytes;
+
+  // spilled storage, 2 long by row: file offset, length
+  private FileChannel spill;
+  private long[] spillIndex;
+  private byte[] spillBuffer;
+  private int spillBufferPos;
+  private long spillSize;
+  private IOException spillError;
+  private boolean spillReading;
+  private long windowStart;
+  private int windowLength;
+
+  /** Memory only row storage */
+  public RowSlab() {
+    this(0);
+  }
+
+  /**
+   * Row storage, spilling to a temporary file when stored rows exceed threshold.
+   *
+   * @param spillThreshold size in bytes above which rows are spilled to file. 0 to disable.
+   */
+  public RowSlab(long spillThreshold) {
+    this.spillThreshold = spillThreshold;
+  }
+
+  /**
+   * Reserve room for a packet payload of indicated length.
+   *
+   * @param length payload length
+   * @return array to write payload into, at {@link #pendingOffset()}
+   */
+  public byte[] reserve(int length) {
+    if (length > CHUNK_SIZE) {
+      reserve(new byte[length]);
+      return pendingArray;
+    }
+    if (spill != null) {
+      if (spillBufferPos + length > CHUNK_SIZE) {
+        try {
+          flushSpillBuffer();
+        } catch (IOException e) {
+          spillError = e;
+          spillBufferPos = 0;
+        }
+      }
+      pendingArray = spillBuffer;
+      pendingChunk = -1;
+      pendingOffset = spillBufferPos;
+    } else {
+      if (chunkCount == 0 || chunkPos + length > chunks[chunkCount - 1].length) {
+        addChunk(newChunk());
+        chunkPos = 0;
+      }
+      pendingChunk = chunkCount - 1;
+      pendingArray = chunks[pendingChunk];
+      pendingOffset = chunkPos;
+    }
+    pendingLength = length;
+    return pendingArray;
+  }
+
+  /**
+   * Set an already read payload as reserved payload, using its own array (for payload bigger than
+   * a chunk, like multi-packet rows bigger than 16M).
+   *
+   * @param payload payload data
+   */
+  public void reserve(byte[] payload) {
+    if (spill != null) {
+      pendingChunk = -1;
+    } else {
+      addChunk(payload);
+      // dedicated chunk is full, next row will use a new chunk
+      chunkPos = payload.length;
+      pendingChunk = chunkCount - 1;
+    }
+    pendingArray = payload;
+    pendingOffset = 0;
+    pendingLength = payload.length;
+  }
+
+  private static byte[] newChunk() {
+    byte[] chunk = FREE_CHUNKS.poll();
+    return chunk == null ? new byte[CHUNK_SIZE] : chunk;
+  }
+
+  private void addChunk(byte[] chunk) {
+    if (chunkCount == chunks.length) {
+      chunks = Arrays.copyOf(chunks, Math.max(4, chunks.length << 1));
+    }
+    chunks[chunkCount++] = chunk;
+  }
+
+  /**
+   * Offset of reserved payload in array
+   *
+   * @return offset
+   */
+  public int pendingOffset() {
+    return pendingOffset;
+  }
+
+  /**
+   * First byte of reserved payload
+   *
+   * @return packet header byte
+   */
+  public byte pendingHeader() {
+    return pendingArray[pendingOffset];
+  }
+
+  /**
+   * Reserved payload length
+   *
+   * @return length
+   */
+  public int pendingLength() {
+    return pendingLength;
+  }
+
+  /**
+   * Copy of reserved payload, that will not be kept in storage.
+   *
+   * @return payload
+   */
+  public byte[] pendingCopy() {
+    return Arrays.copyOfRange(pendingArray, pendingOffset, pendingOffset + pendingLength);
+  }
+
+  /** Keep reserved payload as a new row. */
+  public void commit() {
+    if (spillError != null) return;
+    if (spill != null) {
+      commitSpill();
+      return;
+    }
+    int idx = rowCount * 3;
+    if (idx == index.length) {
+      index = Arrays.copyOf(index, Math.max(10, rowCount + (rowCount >> 1)) * 3);
+    }
+    index[idx] = pendingChunk;
+    index[idx + 1] = pendingOffset;
+    index[idx + 2] = pendingLength;
+    if (pendingChunk == chunkCount - 1 && pendingOffset == chunkPos) chunkPos += pendingLength;
+    rowCount++;
+
+    storedBytes += pendingLength;
+    if (spillThreshold > 0 && storedBytes > spillThreshold) {
+      try {
+        spillToFile();
+      } catch (IOException e) {
+        spillError = e;
+      }
+    }
+  }
+
+  private void commitSpill() {
+    long offset;
+    if (pendingArray == spillBuffer) {
+      offset = spillSize + pendingOffset;
+      spillBufferPos = pendingOffset + pendingLength;
+    } else {
+      try {
+        offset = appendSpill(pendingArray, pendingOffset, pendingLength);
+      } catch (IOException e) {
+        spillError = e;
+        return;
+      }
+    }
+    addSpillIndex(offset, pendingLength);
+  }
+
+  private void addSpillIndex(long offset, int length) {
+    int idx = rowCount * 2;
+    if (idx == spillIndex.length) {
+      spillIndex = Arrays.copyOf(spillIndex, Math.max(10, rowCount + (rowCount >> 1)) * 2);
+    }
+    spillIndex[idx] = offset;
+    spillIndex[idx + 1] = length;
+    rowCount++;
+  }
+
+  /**
+   * Move all stored rows to a temporary file, that will be deleted when storage is released.
+   *
+   * @throws IOException if temporary file cannot be created or written
+   */
+  private void spillToFile() throws IOException {
+    Path path = Files.createTempFile("mariadb-rows", ".tmp");
+    spill =
+        FileChannel.open(
+            path,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+    spillBuffer = newChunk();
+    spillIndex = new long[Math.max(10, rowCount + (rowCount >> 1)) * 2];
+    int rows = rowCount;
+    rowCount = 0;
+    for (int i = 0; i < rows; i++) {
+      int idx = i * 3;
+      addSpillIndex(
+          appendSpill(chunks[index[idx]], index[idx + 1], index[idx + 2]), index[idx + 2]);
+    }
+    releaseChunks();
+  }
+
+  /**
+   * Append data to spilled storage.
+   *
+   * @param src data array
+   * @param off data offset
+   * @param len data length
+   * @return file offset of data
+   * @throws IOException if any error occurs writing file
+   */
+  private long appendSpill(byte[] src, int off, int len) throws IOException {
+    if (len > CHUNK_SIZE) {
+      flushSpillBuffer();
+      long offset = spillSize;
+      writeFully(ByteBuffer.wrap(src, off, len));
+      return offset;
+    }
+    if (spillBufferPos + len > CHUNK_SIZE) flushSpillBuffer();
+    System.arraycopy(src, off, spillBuffer, spillBufferPos, len);
+    long offset = spillSize + spillBufferPos;
+    spillBufferPos += len;
+    return offset;
+  }
+
+  private void flushSpillBuffer() throws IOException {
+    if (spillBufferPos > 0) {
+      writeFully(ByteBuffer.wrap(spillBuffer, 0, spillBufferPos));
+      spillBufferPos = 0;
+    }
+  }
+
+  private void writeFully(ByteBuffer src) throws IOException {
+    while (src.hasRemaining()) {
+      spillSize += spill.write(src, spillSize);
+    }
+  }
+
+  private void readFully(byte[] dst, int len, long position) throws IOException {
+    ByteBuffer bb = ByteBuffer.wrap(dst, 0, len);
+    while (bb.hasRemaining()) {
+      if (spill.read(bb, position + bb.position()) < 0) {
+        throw new EOFException("unexpected end of temporary result-set file");
+      }
+    }
+  }
+
+  /**
+   * Error that occurs writing spilled rows, if any. When set, stored rows are incomplete.
+   *
+   * @return write error, or null
+   */
+  public IOException spillError() {
+    return spillError;
+  }
+
+  /**
+   * Indicate if rows have been spilled to a temporary file.
+   *
+   * @return true if rows are stored in a file
+   */
+  public boolean spilled() {
+    return spill != null;
+  }
+
+  /**
+   * Number of stored rows
+   *
+   * @return row number
+   */
+  public int size() {
+    return rowCount;
+  }
+
+  /**
+   * Position buffer on row.
+   *
+   * @param row row index (0 is first)
+   * @param buf buffer to position
+   * @throws IOException if spilled row cannot be read
+   */
+  public void position(int row, StandardReadableByteBuf buf) throws IOException {
+    if (spill == null) {
+      int idx = row * 3;
+      int offset = index[idx + 1];
+      buf.buf(chunks[index[idx]], offset + index[idx + 2], offset);
+      return;
+    }
+
+    if (!spillReading) {
+      // loading is finished, spill buffer is now used as read window
+      flushSpillBuffer();
+      spillReading = true;
+    }
+    long offset = spillIndex[row * 2];
+    int length = (int) spillIndex[row * 2 + 1];
+    if (pinned || length > CHUNK_SIZE) {
+      byte[] rowData = new byte[length];
+      readFully(rowData, length, offset);
+      buf.buf(rowData, length, 0);
+      return;
+    }
+    if (offset < windowStart || offset + length > windowStart + windowLength) {
+      // when going backward, fill window with preceding rows
+      long start = offset < windowStart ? Math.max(0, offset + length - CHUNK_SIZE) : offset;
+      int len = (int) Math.min(CHUNK_SIZE, spillSize - start);
+      // window content is invalid until read succeeds
+      windowLength = 0;
+      readFully(spillBuffer, len, start);
+      windowStart = start;
+      windowLength = len;
+    }
+    int off = (int) (offset - windowStart);
+    buf.buf(spillBuffer, off + length, off);
+  }
+
+  /**
+   * Copy of row data
+   *
+   * @param row row index (0 is first)
+   * @return row data
+   * @throws IOException if spilled row cannot be read
+   */
+  public byte[] copy(int row) throws IOException {
+    if (spill == null) {
+      int idx = row * 3;
+      int offset = index[idx + 1];
+      return Arrays.copyOfRange(chunks[index[idx]], offset, offset + index[idx + 2]);
+    }
+    flushSpillBuffer();
+    int length = (int) spillIndex[row * 2 + 1];
+    byte[] rowData = new byte[length];
+    readFully(rowData, length, spillIndex[row * 2]);
+    return rowData;
+  }
+
+  /**
+   * Indicate that row data has been exposed to objects that may outlive storage (Blob, Clob,
+   * InputStream), so chunks must not be reused. For spilled rows, current row is copied out of
+   * read window, and each row will then be read into its own array.
+   *
+   * @param buf buffer currently positioned on a row
+   */
+  public void pin(StandardReadableByteBuf buf) {
+    pinned = true;
+    if (spill != null && buf.buf == spillBuffer) {
+      buf.detachRow();
+    }
+  }
+
+  private void releaseChunks() {
+    if (!pinned) {
+      for (int i = 0; i < chunkCount; i++) {
+        if (chunks[i].length == CHUNK_SIZE && !FREE_CHUNKS.offer(chunks[i])) break;
+      }
+    }
+    chunks = new byte[0][];
+    chunkCount = 0;
+    chunkPos = 0;
+    index = new int[0];
+  }
+
+  /** Release storage, giving chunks back to pool if possible, and deleting temporary file. */
+  public void release() {
+    releaseChunks();
+    if (spill != null) {
+      try {
+        spill.close();
+      } catch (IOException e) {
+        // eat
+      }
+      spill = null;
+      // spilled rows exposed to objects always have their own array
+      FREE_CHUNKS.offer(spillBuffer);
+      spillBuffer = null;
+      spillIndex = new long[0];
+    }
+    rowCount = 0;
+  }
+}
@@ -3,8 +3,12 @@
 // Copyright (c) 2015-2024 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.util;
 
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public final class SchedulerProvider {
   private static ScheduledThreadPoolExecutor timeoutScheduler;
@@ -29,4 +33,56 @@ public final class SchedulerProvider {
     }
     return timeoutScheduler;
   }
+
+  /**
+   * Executor for streaming result-set read-ahead tasks. Threads are created on demand and end
+   * after 60 seconds idle.
+   *
+   * @return read-ahead executor
+   */
+  public static ExecutorService getPrefetchExecutor() {
+    return PrefetchExecutorHolder.EXECUTOR;
+  }
+
+  private static final class PrefetchExecutorHolder {
+    private static final ExecutorService EXECUTOR =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+              Thread result = Executors.defaultThreadFactory().newThread(runnable);
+              result.setName("MariaDb-prefetch");
+              result.setDaemon(true);
+              return result;
+            });
+  }
+
+  /**
+   * Executor for asynchronous command response reading and completion. Threads are created on
+   * demand and end after 60 seconds idle.
+   *
+   * @return asynchronous command executor
+   */
+  public static ExecutorService getAsyncExecutor() {
+    return AsyncExecutorHolder.EXECUTOR;
+  }
+
+  private static final class AsyncExecutorHolder {
+    private static final ExecutorService EXECUTOR =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+              Thread result = Executors.defaultThreadFactory().newThread(runnable);
+              result.setName("MariaDb-async");
+              result.setDaemon(true);
+              return result;
+            });
+  }
 }
@@ -0,0 +1,90 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.nio.charset.StandardCharsets;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+
+/**
+ * Connection cache of decoded short string values, keyed by their UTF-8 bytes, so repeated values
+ * of low cardinality columns (status, country codes, ENUM, ...) share the same String instance
+ * instead of allocating one per cell.
+ *
+ * <p>Cache is a bounded direct-mapped table: lookup hashes bytes directly from the row buffer,
+ * without allocation, and a value replaces the one in its slot on a miss. Slots hold immutable
+ * entries, so results of the same connection read in different threads can share the cache without
+ * locking.
+ */
+public final class StringCache {
+
+  /** only values up to this size are cached */
+  public static final int MAX_LENGTH = 64;
+
+  /** maximum number of entries */
+  public static final int MAX_SIZE = 1 << 16;
+
+  private final Entry[] entries;
+  private final int mask;
+
+  /**
+   * Constructor
+   *
+   * @param size number of entries, rounded to upper power of 2, up to {@link #MAX_SIZE}
+   */
+  public StringCache(int size) {
+    int capacity = 1;
+    while (capacity < Math.min(size, MAX_SIZE)) capacity <<= 1;
+    this.entries = new Entry[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Read a UTF-8 string of length bytes from buffer, returning cached instance if any.
+   *
+   * @param buf buffer
+   * @param length string bytes length
+   * @return string value
+   */
+  public String readString(ReadableByteBuf buf, int length) {
+    if (length > MAX_LENGTH) return buf.readString(length);
+    byte[] bytes = buf.buf();
+    int pos = buf.pos();
+    int hash = 0;
+    for (int i = pos; i < pos + length; i++) hash = 31 * hash + bytes[i];
+    int slot = (hash ^ (hash >>> 16)) & mask;
+
+    Entry entry = entries[slot];
+    if (entry != null && entry.hash == hash && entry.matches(bytes, pos, length)) {
+      buf.skip(length);
+      return entry.value;
+    }
+
+    byte[] key = new byte[length];
+    System.arraycopy(bytes, pos, key, 0, length);
+    String value = new String(key, StandardCharsets.UTF_8);
+    entries[slot] = new Entry(key, hash, value);
+    buf.skip(length);
+    return value;
+  }
+
+  private static final class Entry {
+    private final byte[] key;
+    private final int hash;
+    private final String value;
+
+    Entry(byte[] key, int hash, String value) {
+      this.key = key;
+      this.hash = hash;
+      this.value = value;
+    }
+
+    boolean matches(byte[] bytes, int pos, int length) {
+      if (key.length != length) return false;
+      for (int i = 0; i < length; i++) {
+        if (key[i] != bytes[pos + i]) return false;
+      }
+      return true;
+    }
+  }
+}
@@ -7,6 +7,7 @@ import java.sql.SQLException;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.client.Client;
 import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.result.ColumnLabelIndex;
 
 /** Prepare packet COM_STMT_PREPARE (see https://mariadb.com/kb/en/com_stmt_prepare/) */
 public interface Prepare {
@@ -55,4 +56,12 @@ public interface Prepare {
    * @param columns set result-set columns metadata
    */
   void setColumns(ColumnDecoder[] columns);
+
+  /**
+   * Result-set column label index, built for current {@link #getColumns()} value, and shared by
+   * results using these columns metadata.
+   *
+   * @return column label index of current result-set columns
+   */
+  ColumnLabelIndex getColumnLabelIndex();
 }
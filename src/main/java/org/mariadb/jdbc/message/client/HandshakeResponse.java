@@ -41,6 +41,7 @@ public final class HandshakeResponse implements ClientMessage {
   private final long clientCapabilities;
   private final byte exchangeCharset;
   private final byte[] seed;
+  private final int zstdCompressionLevel;
   private String authenticationPluginType;
 
   /**
@@ -68,6 +69,7 @@ public final class HandshakeResponse implements ClientMessage {
     this.password = credential.getPassword();
     this.database = conf.database();
     this.connectionAttributes = conf.connectionAttributes();
+    this.zstdCompressionLevel = conf.zstdCompressionLevel();
     this.host = host;
     this.clientCapabilities = clientCapabilities;
     this.exchangeCharset = exchangeCharset;
@@ -179,6 +181,10 @@ public final class HandshakeResponse implements ClientMessage {
     if (context.hasServerCapability(CONNECT_ATTRS)) {
       writeConnectAttributes(writer, connectionAttributes, host);
     }
+
+    if (context.hasClientCapability(CLIENT_ZSTD_COMPRESSION_ALGORITHM)) {
+      writer.writeByte(zstdCompressionLevel);
+    }
     writer.flush();
     return 1;
   }
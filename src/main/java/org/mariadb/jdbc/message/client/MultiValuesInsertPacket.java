@@ -0,0 +1,147 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.message.client;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.Parameter;
+import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.plugin.codec.ByteArrayCodec;
+import org.mariadb.jdbc.util.ClientParser;
+
+/**
+ * Batch of INSERT ... VALUES (...) commands rewritten as multi-values COM_QUERY: INSERT ... VALUES
+ * (...),(...),...
+ *
+ * <p>Each command is limited to max_allowed_packet (4M if not set, and always less than a MySQL
+ * packet), so encoding results in a few commands. A parameter set bigger than that limit is sent
+ * alone.
+ */
+public final class MultiValuesInsertPacket implements RedoableClientMessage {
+
+  private static final int DEFAULT_MAX_COMMAND_LENGTH = 4 * 1024 * 1024;
+  private static final int MAX_COMMAND_LENGTH = 0x00ffffff - 1;
+
+  private final String preSqlCmd;
+  private final ClientParser parser;
+  private List<Parameters> batchParameterList;
+
+  /**
+   * Constructor
+   *
+   * @param preSqlCmd additional pre command
+   * @param parser command parser result, must be multi-values rewritable
+   * @param batchParameterList batch parameter list
+   */
+  public MultiValuesInsertPacket(
+      String preSqlCmd, ClientParser parser, List<Parameters> batchParameterList) {
+    this.preSqlCmd = preSqlCmd;
+    this.parser = parser;
+    this.batchParameterList = batchParameterList;
+  }
+
+  @Override
+  public void ensureReplayable(Context context) throws IOException, SQLException {
+    for (Parameters parameters : batchParameterList) {
+      int parameterCount = parameters.size();
+      for (int i = 0; i < parameterCount; i++) {
+        Parameter p = parameters.get(i);
+        if (!p.isNull() && p.canEncodeLongData()) {
+          parameters.set(
+              i, new org.mariadb.jdbc.codec.Parameter<>(ByteArrayCodec.INSTANCE, p.encodeData()));
+        }
+      }
+    }
+  }
+
+  @Override
+  public void saveParameters() {
+    List<Parameters> savedList = new ArrayList<>(batchParameterList.size());
+    for (Parameters parameterList : batchParameterList) {
+      savedList.add(parameterList.clone());
+    }
+    this.batchParameterList = savedList;
+  }
+
+  @Override
+  public int encode(Writer writer, Context context) throws IOException, SQLException {
+    byte[] query = parser.getQuery();
+    int valuesStart = parser.getValuesBracketStart();
+    int valuesEnd = parser.getValuesBracketEnd();
+    int suffixLength = query.length - valuesEnd - 1;
+    Integer maxAllowedPacket = context.getConf().maxAllowedPacket();
+    int maxLength =
+        maxAllowedPacket == null
+            ? DEFAULT_MAX_COMMAND_LENGTH
+            : Math.min(maxAllowedPacket, MAX_COMMAND_LENGTH);
+
+    int commandNo = 0;
+    int index = 0;
+    int size = batchParameterList.size();
+    byte[] pendingValues = null;
+    while (index < size || pendingValues != null) {
+      commandNo++;
+      writer.initPacket();
+      writer.writeByte(0x03);
+      if (preSqlCmd != null) writer.writeAscii(preSqlCmd);
+      writer.writeBytes(query, 0, valuesStart);
+
+      int rows = 0;
+      if (pendingValues != null) {
+        writer.writeBytes(pendingValues);
+        pendingValues = null;
+        rows++;
+      }
+
+      while (index < size) {
+        int valuesPos = writer.pos();
+        if (rows > 0) writer.writeByte(',');
+        encodeValues(writer, context, batchParameterList.get(index++));
+        rows++;
+
+        // command already bigger than a packet: part has been sent, command can't be split
+        if (writer.hasFlushed()) break;
+
+        if (rows > 1 && writer.pos() - 4 + suffixLength >= maxLength) {
+          // last values will be sent with next command
+          pendingValues = Arrays.copyOfRange(writer.buf(), valuesPos + 1, writer.pos());
+          writer.pos(valuesPos);
+          break;
+        }
+      }
+
+      writer.writeBytes(query, valuesEnd + 1, suffixLength);
+      writer.flush();
+    }
+    return commandNo;
+  }
+
+  private void encodeValues(Writer writer, Context context, Parameters parameters)
+      throws IOException, SQLException {
+    byte[] query = parser.getQuery();
+    int[] paramPositions = parser.getParamPositions();
+    int pos = parser.getValuesBracketStart();
+    for (int i = 0; i < paramPositions.length; i++) {
+      int paramPos = paramPositions[i];
+      writer.writeBytes(query, pos, paramPos - pos);
+      pos = paramPos + 1;
+      parameters.get(i).encodeText(writer, context);
+    }
+    writer.writeBytes(query, pos, parser.getValuesBracketEnd() + 1 - pos);
+  }
+
+  public int batchUpdateLength() {
+    return batchParameterList.size();
+  }
+
+  @Override
+  public String description() {
+    return parser.getSql();
+  }
+}
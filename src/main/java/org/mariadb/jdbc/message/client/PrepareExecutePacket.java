@@ -159,7 +159,7 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
       if (context.getConf().useServerPrepStmts()
           && context.getConf().cachePrepStmts()
           && sql.length() < 8192) {
-        PrepareResultPacket prepare = new CachedPrepareResultPacket(buf, reader, context);
+        PrepareResultPacket prepare = new CachedPrepareResultPacket(buf, reader, context, sql);
         PrepareResultPacket previousCached =
             (PrepareResultPacket)
                 context.putPrepareCacheCmd(
@@ -175,7 +175,7 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
         this.prepareResult = previousCached != null ? previousCached : prepare;
         return this.prepareResult;
       }
-      PrepareResultPacket prepareResult = new PrepareResultPacket(buf, reader, context);
+      PrepareResultPacket prepareResult = new PrepareResultPacket(buf, reader, context, sql);
       if (stmt != null) {
         ((BasePreparedStatement) stmt).setPrepareResult(prepareResult);
       }
@@ -65,13 +65,14 @@ public final class QueryWithParametersPacket implements RedoableClientMessage {
     encoder.initPacket();
     encoder.writeByte(0x03);
     if (preSqlCmd != null) encoder.writeAscii(preSqlCmd);
-    if (parser.getParamPositions().size() == 0) {
+    int[] paramPositions = parser.getParamPositions();
+    if (paramPositions.length == 0) {
       encoder.writeBytes(parser.getQuery());
     } else {
       int pos = 0;
       int paramPos;
-      for (int i = 0; i < parser.getParamPositions().size(); i++) {
-        paramPos = parser.getParamPositions().get(i);
+      for (int i = 0; i < paramPositions.length; i++) {
+        paramPos = paramPositions[i];
         encoder.writeBytes(parser.getQuery(), pos, paramPos - pos);
         pos = paramPos + 1;
         parameters.get(i).encodeText(encoder, context);
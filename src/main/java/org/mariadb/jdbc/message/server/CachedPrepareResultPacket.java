@@ -20,6 +20,7 @@ public final class CachedPrepareResultPacket extends PrepareResultPacket {
   private final AtomicBoolean closing = new AtomicBoolean();
   private final AtomicBoolean cached = new AtomicBoolean();
   private final List<BasePreparedStatement> statements = new ArrayList<>();
+  private int useCount;
 
   /**
    * Cache prepare result with flag indicating use
@@ -34,6 +35,21 @@ public final class CachedPrepareResultPacket extends PrepareResultPacket {
     super(buffer, reader, context);
   }
 
+  /**
+   * Cache prepare result with flag indicating use, sharing metadata between connections if
+   * enabled
+   *
+   * @param buffer prepare packet buffer
+   * @param reader packet reader
+   * @param context connection context
+   * @param sql prepared command
+   * @throws IOException if any socket error occurs
+   */
+  public CachedPrepareResultPacket(
+      ReadableByteBuf buffer, Reader reader, Context context, String sql) throws IOException {
+    super(buffer, reader, context, sql);
+  }
+
   /**
    * Indicate that a prepare statement must be closed (if not in LRU cache)
    *
@@ -63,7 +79,19 @@ public final class CachedPrepareResultPacket extends PrepareResultPacket {
     if (closing.get()) {
       return;
     }
-    if (preparedStatement != null) statements.add(preparedStatement);
+    if (preparedStatement != null) {
+      statements.add(preparedStatement);
+      useCount++;
+    }
+  }
+
+  /**
+   * Number of statements that have used this prepare result.
+   *
+   * @return use count
+   */
+  public int getUseCount() {
+    return useCount;
   }
 
   /**
@@ -3,6 +3,7 @@
 // Copyright (c) 2015-2024 MariaDB Corporation Ab
 package org.mariadb.jdbc.message.server;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import org.mariadb.jdbc.client.Column;
 import org.mariadb.jdbc.client.DataType;
@@ -102,28 +103,46 @@ public class ColumnDefinitionPacket implements Column, ServerMessage {
   }
 
   public String getSchema() {
-    buf.pos(stringPos[0]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[0]);
   }
 
   public String getTableAlias() {
-    buf.pos(stringPos[1]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[1]);
   }
 
   public String getTable() {
-    buf.pos(stringPos[useAliasAsName ? 1 : 2]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[useAliasAsName ? 1 : 2]);
   }
 
   public String getColumnAlias() {
-    buf.pos(stringPos[3]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[3]);
   }
 
   public String getColumnName() {
-    buf.pos(stringPos[4]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[4]);
+  }
+
+  /**
+   * Read length encoded string at indicated position, without changing buffer position: column
+   * definitions can be shared between connections (see {@link
+   * org.mariadb.jdbc.client.impl.PrepareMetadataCache}).
+   *
+   * @param pos string position
+   * @return string value
+   */
+  private String readString(int pos) {
+    byte[] bytes = buf.buf();
+    int length = bytes[pos++] & 0xff;
+    // identifiers are always less than 16M
+    if (length == 252) {
+      length = (bytes[pos] & 0xff) + ((bytes[pos + 1] & 0xff) << 8);
+      pos += 2;
+    } else if (length == 253) {
+      length =
+          (bytes[pos] & 0xff) + ((bytes[pos + 1] & 0xff) << 8) + ((bytes[pos + 2] & 0xff) << 16);
+      pos += 3;
+    }
+    return new String(bytes, pos, length, StandardCharsets.UTF_8);
   }
 
   public long getColumnLength() {
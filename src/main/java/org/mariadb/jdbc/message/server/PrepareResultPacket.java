@@ -7,9 +7,12 @@ import java.io.IOException;
 import java.sql.SQLException;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.client.*;
+import org.mariadb.jdbc.client.impl.PrepareMetadataCache;
 import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.result.ColumnLabelIndex;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.export.Prepare;
+import org.mariadb.jdbc.util.constants.Capabilities;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.Loggers;
 
@@ -59,7 +62,9 @@ public class PrepareResultPacket implements Completion, Prepare {
   /** prepare statement id */
   protected int statementId;
 
-  private ColumnDecoder[] columns;
+  private volatile ColumnDecoder[] columns;
+
+  private volatile ColumnLabelIndex columnLabelIndex;
 
   /**
    * Prepare packet constructor (parsing)
@@ -71,13 +76,27 @@ public class PrepareResultPacket implements Completion, Prepare {
    */
   public PrepareResultPacket(ReadableByteBuf buffer, Reader reader, Context context)
       throws IOException {
+    this(buffer, reader, context, null);
+  }
+
+  /**
+   * Prepare packet constructor (parsing). When sql is set and option `cachePrepareMetadata` is
+   * enabled, column metadata is shared with other connections using {@link PrepareMetadataCache}.
+   *
+   * @param buffer packet buffer
+   * @param reader packet reader
+   * @param context connection context
+   * @param sql prepared command, null if metadata must not be shared
+   * @throws IOException if socket exception occurs
+   */
+  public PrepareResultPacket(ReadableByteBuf buffer, Reader reader, Context context, String sql)
+      throws IOException {
     boolean trace = logger.isTraceEnabled();
     buffer.readByte(); /* skip COM_STMT_PREPARE_OK */
     this.statementId = buffer.readInt();
     final int numColumns = buffer.readUnsignedShort();
     final int numParams = buffer.readUnsignedShort();
     this.parameters = new ColumnDecoder[numParams];
-    this.columns = new ColumnDecoder[numColumns];
 
     if (numParams > 0) {
       for (int i = 0; i < numParams; i++) {
@@ -91,15 +110,28 @@ public class PrepareResultPacket implements Completion, Prepare {
       }
     }
     if (numColumns > 0) {
-      for (int i = 0; i < numColumns; i++) {
-        columns[i] =
-            context
-                .getColumnDecoderFunction()
-                .apply(new StandardReadableByteBuf(reader.readPacket(trace)));
+      if (sql != null && context.getConf().cachePrepareMetadata()) {
+        columns =
+            PrepareMetadataCache.INSTANCE.readColumns(
+                context.getDatabase() + "|" + sql,
+                numColumns,
+                reader,
+                context.hasClientCapability(Capabilities.EXTENDED_METADATA),
+                trace);
+      } else {
+        columns = new ColumnDecoder[numColumns];
+        for (int i = 0; i < numColumns; i++) {
+          columns[i] =
+              context
+                  .getColumnDecoderFunction()
+                  .apply(new StandardReadableByteBuf(reader.readPacket(trace)));
+        }
       }
       if (!context.isEofDeprecated()) {
         reader.skipPacket();
       }
+    } else {
+      columns = new ColumnDecoder[0];
     }
   }
 
@@ -144,5 +176,16 @@ public class PrepareResultPacket implements Completion, Prepare {
 
   public void setColumns(ColumnDecoder[] columns) {
     this.columns = columns;
+    this.columnLabelIndex = null;
+  }
+
+  public ColumnLabelIndex getColumnLabelIndex() {
+    ColumnDecoder[] columns = this.columns;
+    ColumnLabelIndex index = columnLabelIndex;
+    if (index == null || !index.isFor(columns)) {
+      index = new ColumnLabelIndex(columns);
+      columnLabelIndex = index;
+    }
+    return index;
   }
 }
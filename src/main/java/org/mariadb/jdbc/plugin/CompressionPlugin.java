@@ -0,0 +1,90 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin;
+
+import java.io.IOException;
+import org.mariadb.jdbc.Configuration;
+
+/**
+ * Compression algorithm plugin, used for compressed protocol. Algorithm is negotiated during
+ * handshake, using plugin capability, in order of `compressionAlgorithms` option.
+ */
+public interface CompressionPlugin {
+
+  /**
+   * plugin type, as used in `compressionAlgorithms` option.
+   *
+   * @return plugin type
+   */
+  String type();
+
+  /**
+   * Capability flag indicating that server and client use this compression algorithm.
+   *
+   * @return capability flag
+   */
+  long capability();
+
+  /**
+   * Indicate if plugin can be used, for example if required library is available in classpath.
+   *
+   * @return true if plugin can be used
+   */
+  default boolean isAvailable() {
+    return true;
+  }
+
+  /**
+   * Create a new compressor. A compressor is used by a single connection.
+   *
+   * @param conf configuration
+   * @return compressor
+   */
+  Compressor compressor(Configuration conf);
+
+  /**
+   * Create a new decompressor. A decompressor is used by a single connection.
+   *
+   * @param conf configuration
+   * @return decompressor
+   */
+  Decompressor decompressor(Configuration conf);
+
+  /** Compress packet data */
+  interface Compressor {
+
+    /**
+     * Compress data to destination buffer.
+     *
+     * @param src source buffer
+     * @param srcOff source offset
+     * @param srcLen source length
+     * @param dst destination buffer
+     * @param dstOff destination offset
+     * @param maxLength maximum compressed length
+     * @return compressed length, or -1 if compressed data is bigger than maxLength
+     * @throws IOException if any compression error occurs
+     */
+    int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int maxLength)
+        throws IOException;
+  }
+
+  /** Decompress packet data */
+  interface Decompressor {
+
+    /**
+     * Decompress data to destination buffer.
+     *
+     * @param src compressed data buffer
+     * @param srcOff compressed data offset
+     * @param srcLen compressed data length
+     * @param dst destination buffer
+     * @param dstOff destination offset
+     * @param dstLen expected decompressed length
+     * @throws IOException if data cannot be decompressed, or doesn't have expected length
+     */
+    void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen)
+        throws IOException;
+  }
+}
@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression;
+
+import java.util.ServiceLoader;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.Driver;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+
+/** Compression plugin loader */
+public final class CompressionPluginLoader {
+
+  /**
+   * Get preferred compression plugin supported by both sides. Plugins are tried in
+   * `compressionAlgorithms` option order, first available plugin whose capability is set in
+   * indicated capabilities is returned. Customs compression plugin can be added implementing
+   * CompressionPlugin and registering new type in resources services.
+   *
+   * @param conf configuration
+   * @param capabilities server capabilities, or negotiated client capabilities
+   * @return compression plugin, or null if none is supported
+   */
+  public static CompressionPlugin negotiate(Configuration conf, long capabilities) {
+    ServiceLoader<CompressionPlugin> loader =
+        ServiceLoader.load(CompressionPlugin.class, Driver.class.getClassLoader());
+
+    for (String type : conf.compressionAlgorithms().split(",")) {
+      type = type.trim();
+      for (CompressionPlugin implClass : loader) {
+        if (type.equalsIgnoreCase(implClass.type())
+            && (capabilities & implClass.capability()) != 0
+            && implClass.isAvailable()) {
+          return implClass;
+        }
+      }
+    }
+    return null;
+  }
+}
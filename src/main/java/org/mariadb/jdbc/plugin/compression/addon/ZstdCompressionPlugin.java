@@ -0,0 +1,72 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression.addon;
+
+import com.github.luben.zstd.Zstd;
+import java.io.IOException;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.util.constants.Capabilities;
+
+/**
+ * zstd compression (MySQL 8.0.18+ servers). Requires zstd-jni library (com.github.luben:zstd-jni)
+ * in classpath, plugin is not available otherwise.
+ */
+public class ZstdCompressionPlugin implements CompressionPlugin {
+
+  private static final boolean AVAILABLE;
+
+  static {
+    boolean available;
+    try {
+      // loading class loads native library
+      Class.forName(
+          "com.github.luben.zstd.Zstd", true, ZstdCompressionPlugin.class.getClassLoader());
+      available = true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      // zstd-jni not in classpath, or native library not available for platform
+      available = false;
+    }
+    AVAILABLE = available;
+  }
+
+  @Override
+  public String type() {
+    return "zstd";
+  }
+
+  @Override
+  public long capability() {
+    return Capabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return AVAILABLE;
+  }
+
+  @Override
+  public Compressor compressor(Configuration conf) {
+    int level = conf.zstdCompressionLevel();
+    return (src, srcOff, srcLen, dst, dstOff, maxLength) -> {
+      long res = Zstd.compressByteArray(dst, dstOff, maxLength, src, srcOff, srcLen, level);
+      // error is usually that destination is too small: data doesn't compress well
+      return Zstd.isError(res) ? -1 : (int) res;
+    };
+  }
+
+  @Override
+  public Decompressor decompressor(Configuration conf) {
+    return (src, srcOff, srcLen, dst, dstOff, dstLen) -> {
+      long res = Zstd.decompressByteArray(dst, dstOff, dstLen, src, srcOff, srcLen);
+      if (Zstd.isError(res)) {
+        throw new IOException("zstd decompression error: " + Zstd.getErrorName(res));
+      }
+      if (res != dstLen) {
+        throw new IOException(
+            "Invalid exception length after decompression " + res + ",expected " + dstLen);
+      }
+    };
+  }
+}
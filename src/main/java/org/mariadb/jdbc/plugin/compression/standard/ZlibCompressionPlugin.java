@@ -0,0 +1,75 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.plugin.compression.standard;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.util.constants.Capabilities;
+
+/**
+ * zlib compression, standard compressed protocol algorithm.
+ *
+ * <p>Deflater/Inflater are reused for all packets of the connection. They are not ended when
+ * connection is closed, to avoid racing with a concurrent abort: native resources are released
+ * when garbage collected.
+ */
+public class ZlibCompressionPlugin implements CompressionPlugin {
+
+  @Override
+  public String type() {
+    return "zlib";
+  }
+
+  @Override
+  public long capability() {
+    return Capabilities.COMPRESS;
+  }
+
+  @Override
+  public Compressor compressor(Configuration conf) {
+    Deflater deflater = new Deflater(conf.compressionLevel());
+    return (src, srcOff, srcLen, dst, dstOff, maxLength) -> {
+      deflater.reset();
+      deflater.setInput(src, srcOff, srcLen);
+      deflater.finish();
+      int compressLen = 0;
+      while (!deflater.finished()) {
+        if (compressLen == maxLength) return -1;
+        compressLen += deflater.deflate(dst, dstOff + compressLen, maxLength - compressLen);
+      }
+      return compressLen;
+    };
+  }
+
+  @Override
+  public Decompressor decompressor(Configuration conf) {
+    Inflater inflater = new Inflater();
+    return (src, srcOff, srcLen, dst, dstOff, dstLen) -> {
+      inflater.reset();
+      inflater.setInput(src, srcOff, srcLen);
+      try {
+        int actualUncompressBytes = 0;
+        while (actualUncompressBytes < dstLen) {
+          int inflated =
+              inflater.inflate(dst, dstOff + actualUncompressBytes, dstLen - actualUncompressBytes);
+          if (inflated == 0) break;
+          actualUncompressBytes += inflated;
+        }
+        if (actualUncompressBytes != dstLen) {
+          throw new IOException(
+              "Invalid exception length after decompression "
+                  + actualUncompressBytes
+                  + ",expected "
+                  + dstLen);
+        }
+      } catch (DataFormatException dfe) {
+        throw new IOException(dfe);
+      }
+    };
+  }
+}
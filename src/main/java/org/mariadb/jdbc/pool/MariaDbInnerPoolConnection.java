@@ -3,6 +3,7 @@
 // Copyright (c) 2015-2024 MariaDB Corporation Ab
 package org.mariadb.jdbc.pool;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.sql.*;
 import org.mariadb.jdbc.Connection;
@@ -10,10 +11,26 @@ import org.mariadb.jdbc.MariaDbPoolConnection;
 
 /**
  * MariaDB pool connection for internal pool permit to add a last used information, to remove
- * connection after staying in pool for long time.
+ * connection after staying in pool for long time, and a state, changed by compare-and-set, so a
+ * connection can be borrowed without locking.
  */
 public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
+
+  /** connection is removed from pool */
+  public static final int STATE_REMOVED = -1;
+
+  /** connection is idle in pool */
+  public static final int STATE_IDLE = 0;
+
+  /** connection is borrowed */
+  public static final int STATE_IN_USE = 1;
+
+  /** connection is reserved by pool (being reset or validated before returning to idle state) */
+  public static final int STATE_RESERVED = 2;
+
   private final AtomicLong lastUsed;
+  private final AtomicInteger state = new AtomicInteger(STATE_IDLE);
+  private volatile long lastValidated;
 
   /**
    * Constructor.
@@ -23,6 +40,7 @@ public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
   public MariaDbInnerPoolConnection(Connection connection) {
     super(connection);
     lastUsed = new AtomicLong(System.nanoTime());
+    lastValidated = lastUsed.get();
   }
 
   /**
@@ -39,8 +57,54 @@ public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
     lastUsed.set(System.nanoTime());
   }
 
+  /**
+   * Indicate last time this pool connection has been known valid: either used or validated by
+   * pool.
+   *
+   * @return last used or validation time (nano).
+   */
+  public long getLastValidated() {
+    long used = lastUsed.get();
+    return used - lastValidated > 0 ? used : lastValidated;
+  }
+
+  /** Set last validation to now, without changing last used time. */
+  public void lastValidatedToNow() {
+    lastValidated = System.nanoTime();
+  }
+
   /** Reset last used time, to ensure next retrieval will validate connection before borrowing */
   public void ensureValidation() {
     lastUsed.set(0L);
+    lastValidated = 0L;
+  }
+
+  /**
+   * Current pool state
+   *
+   * @return state
+   */
+  public int getState() {
+    return state.get();
+  }
+
+  /**
+   * Set pool state
+   *
+   * @param newState new state
+   */
+  public void setState(int newState) {
+    state.set(newState);
+  }
+
+  /**
+   * Change pool state if current state is the expected one.
+   *
+   * @param expect expected state
+   * @param update new state
+   * @return true if state has been changed
+   */
+  public boolean compareAndSetState(int expect, int update) {
+    return state.compareAndSet(expect, update);
   }
 }
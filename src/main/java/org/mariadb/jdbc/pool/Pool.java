@@ -4,15 +4,16 @@
 package org.mariadb.jdbc.pool;
 
 import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.sql.ConnectionEvent;
@@ -21,10 +22,22 @@ import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.impl.CancelClientPool;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
+import org.mariadb.jdbc.message.ClientMessage;
+import org.mariadb.jdbc.message.client.PingPacket;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.Loggers;
 
-/** MariaDB Pool */
+/**
+ * MariaDB Pool.
+ *
+ * <p>Connections are borrowed without locking: each connection has a state changed by
+ * compare-and-set, a thread first tries the last connection it has released, then scan pool
+ * connections. Only threads that found no idle connection wait, connections being then directly
+ * handed off to them when released or created.
+ */
 public class Pool implements AutoCloseable, PoolMBean {
 
   private static final Logger logger = Loggers.getLogger(Pool.class);
@@ -37,14 +50,32 @@ public class Pool implements AutoCloseable, PoolMBean {
   private final Configuration conf;
   private final AtomicInteger pendingRequestNumber = new AtomicInteger();
   private final AtomicInteger totalConnection = new AtomicInteger();
+  private final AtomicInteger creatingConnection = new AtomicInteger();
 
-  private final LinkedBlockingDeque<MariaDbInnerPoolConnection> idleConnections;
+  // all pool connections, whatever their state
+  private final CopyOnWriteArrayList<MariaDbInnerPoolConnection> connections;
+
+  // connections handed off to waiting threads
+  private final SynchronousQueue<MariaDbInnerPoolConnection> handoffQueue;
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  // last connection released by current thread
+  private final ThreadLocal<WeakReference<MariaDbInnerPoolConnection>> lastUsedConnection =
+      new ThreadLocal<>();
   private final ThreadPoolExecutor connectionAppender;
   private final BlockingQueue<Runnable> connectionAppenderQueue;
 
+  // reset connections given back to pool, if option poolAsyncReset is set
+  private final ThreadPoolExecutor connectionResetter;
+
   private final String poolTag;
+  private final PrepareWarmup prepareWarmup;
   private final ScheduledThreadPoolExecutor poolExecutor;
   private final ScheduledFuture<?> scheduledFuture;
+  private final ScheduledFuture<?> validationFuture;
+
+  // not a monitor: closing waits for connections, and must not pin a virtual thread
+  private final ClosableLock closeLock = new ClosableLock();
 
   private int waitTimeout;
 
@@ -60,22 +91,40 @@ public class Pool implements AutoCloseable, PoolMBean {
 
     this.conf = conf;
     poolTag = generatePoolTag(poolIndex);
+    prepareWarmup = new PrepareWarmup(conf);
 
-    // one thread to add new connection to pool.
+    // threads to add new connection to pool, up to poolCreationConcurrency in parallel.
+    int creationConcurrency =
+        Math.max(1, Math.min(conf.poolCreationConcurrency(), conf.maxPoolSize()));
     connectionAppenderQueue = new ArrayBlockingQueue<>(conf.maxPoolSize());
     connectionAppender =
         new ThreadPoolExecutor(
-            1,
-            1,
+            creationConcurrency,
+            creationConcurrency,
             10,
             TimeUnit.SECONDS,
             connectionAppenderQueue,
             new PoolThreadFactory(poolTag + "-appender"));
     connectionAppender.allowCoreThreadTimeOut(true);
     // create workers, since driver only interact with queue after that (i.e. not using .execute() )
-    connectionAppender.prestartCoreThread();
+    connectionAppender.prestartAllCoreThreads();
+
+    if (conf.poolAsyncReset()) {
+      connectionResetter =
+          new ThreadPoolExecutor(
+              conf.maxPoolSize(),
+              conf.maxPoolSize(),
+              10,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new PoolThreadFactory(poolTag + "-resetter"));
+      connectionResetter.allowCoreThreadTimeOut(true);
+    } else {
+      connectionResetter = null;
+    }
 
-    idleConnections = new LinkedBlockingDeque<>();
+    connections = new CopyOnWriteArrayList<>();
+    handoffQueue = new SynchronousQueue<>(true);
     int minDelay =
         Integer.parseInt(conf.nonMappedOptions().getProperty("testMinRemovalDelay", "30"));
     int scheduleDelay = Math.min(minDelay, conf.maxIdleTime() / 2);
@@ -83,6 +132,14 @@ public class Pool implements AutoCloseable, PoolMBean {
     scheduledFuture =
         poolExecutor.scheduleAtFixedRate(
             this::removeIdleTimeoutConnection, scheduleDelay, scheduleDelay, TimeUnit.SECONDS);
+    validationFuture =
+        conf.poolValidationInterval() > 0
+            ? poolExecutor.scheduleWithFixedDelay(
+                this::validateIdleConnections,
+                conf.poolValidationInterval(),
+                conf.poolValidationInterval(),
+                TimeUnit.MILLISECONDS)
+            : null;
 
     if (conf.registerJmxPool()) {
       try {
@@ -92,14 +149,13 @@ public class Pool implements AutoCloseable, PoolMBean {
       }
     }
 
-    // create minimal connection in pool
+    // create minimal connection in pool: first one validating configuration, others in parallel
     try {
-      for (int i = 0; i < Math.max(1, conf.minPoolSize()); i++) {
-        addConnection();
-      }
+      addConnection();
+      prefill();
       waitTimeout = 28800;
-      if (!idleConnections.isEmpty()) {
-        try (Statement stmt = idleConnections.getFirst().getConnection().createStatement()) {
+      if (!connections.isEmpty()) {
+        try (Statement stmt = connections.get(0).getConnection().createStatement()) {
           ResultSet rs = stmt.executeQuery("SELECT @@wait_timeout");
           if (rs.next()) waitTimeout = rs.getInt(1);
         }
@@ -110,41 +166,101 @@ public class Pool implements AutoCloseable, PoolMBean {
   }
 
   /**
-   * Add new connection if needed. Only one thread create new connection, so new connection request
-   * will wait to newly created connection or for a released connection.
+   * Add new connection if needed. Appender threads create new connections, up to
+   * poolCreationConcurrency in parallel, so new connection request will wait to newly created
+   * connection or for a released connection.
    */
   private void addConnectionRequest() {
     if (totalConnection.get() < conf.maxPoolSize() && poolState.get() == POOL_STATE_OK) {
 
-      // ensure to have one worker if was timeout
-      connectionAppender.prestartCoreThread();
+      // ensure to have workers if they timed out
+      connectionAppender.prestartAllCoreThreads();
       connectionAppenderQueue.offer(
           () -> {
-            if ((totalConnection.get() < conf.minPoolSize() || pendingRequestNumber.get() > 0)
-                && totalConnection.get() < conf.maxPoolSize()) {
-              try {
-                addConnection();
-              } catch (SQLException sqle) {
-                logger.error("error adding connection to pool", sqle);
-              }
+            try {
+              addConnectionIfNeeded();
+            } catch (SQLException sqle) {
+              logger.error("error adding connection to pool", sqle);
             }
           });
     }
   }
 
+  /**
+   * Create a new connection if pool has less than minPoolSize connections, or if connection
+   * requests are waiting, taking into account connections being created in parallel.
+   *
+   * @throws SQLException if connection creation failed
+   */
+  private void addConnectionIfNeeded() throws SQLException {
+    while (true) {
+      int creating = creatingConnection.get();
+      int total = totalConnection.get() + creating;
+      if (poolState.get() != POOL_STATE_OK
+          || total >= conf.maxPoolSize()
+          || (total >= conf.minPoolSize() && pendingRequestNumber.get() <= creating)) {
+        return;
+      }
+      if (creatingConnection.compareAndSet(creating, creating + 1)) break;
+    }
+    try {
+      addConnection();
+    } finally {
+      creatingConnection.decrementAndGet();
+    }
+  }
+
+  /**
+   * Create connections until pool has minPoolSize connections, up to poolCreationConcurrency in
+   * parallel, waiting for them to be created.
+   *
+   * @throws SQLException if pool has less than minPoolSize connections due to creation failure
+   */
+  public void prefill() throws SQLException {
+    List<FutureTask<Void>> tasks = new ArrayList<>();
+    int missing = conf.minPoolSize() - totalConnection.get();
+    connectionAppender.prestartAllCoreThreads();
+    for (int i = 0; i < missing; i++) {
+      FutureTask<Void> task =
+          new FutureTask<>(
+              () -> {
+                addConnectionIfNeeded();
+                return null;
+              });
+      tasks.add(task);
+      // queue full of previous requests: create connection in current thread
+      if (!connectionAppenderQueue.offer(task)) task.run();
+    }
+
+    SQLException error = null;
+    for (FutureTask<Void> task : tasks) {
+      try {
+        task.get();
+      } catch (InterruptedException interrupted) {
+        throw new SQLException("Thread was interrupted", "70100", interrupted);
+      } catch (ExecutionException e) {
+        if (error == null && e.getCause() instanceof SQLException) {
+          error = (SQLException) e.getCause();
+        }
+      }
+    }
+    if (error != null && totalConnection.get() < conf.minPoolSize()) throw error;
+  }
+
   /**
    * Removing idle connection. Close them and recreate connection to reach minimal number of
    * connection.
    */
   private void removeIdleTimeoutConnection() {
 
-    // descending iterator since first from queue are the first to be used
-    Iterator<MariaDbInnerPoolConnection> iterator = idleConnections.descendingIterator();
+    // descending order, since first connections are the first to be borrowed
+    List<MariaDbInnerPoolConnection> items = new ArrayList<>(connections);
 
     MariaDbInnerPoolConnection item;
 
-    while (iterator.hasNext()) {
-      item = iterator.next();
+    for (int i = items.size() - 1; i >= 0; i--) {
+      item = items.get(i);
+      if (item.getState() != MariaDbInnerPoolConnection.STATE_IDLE) continue;
 
       long idleTime = System.nanoTime() - item.getLastUsed().get();
       boolean timedOut = idleTime > TimeUnit.SECONDS.toNanos(conf.maxIdleTime());
@@ -167,9 +283,11 @@ public class Pool implements AutoCloseable, PoolMBean {
         shouldBeReleased = true;
       }
 
-      if (shouldBeReleased && idleConnections.remove(item)) {
+      if (shouldBeReleased
+          && item.compareAndSetState(
+              MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_REMOVED)) {
 
-        totalConnection.decrementAndGet();
+        removeConnection(item);
         silentCloseConnection(con);
         addConnectionRequest();
         if (logger.isDebugEnabled()) {
@@ -185,6 +303,91 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
+  /**
+   * Validate idle connections that would need a validation if borrowed before next run, so
+   * borrowing threads don't have to. Connections are reserved during validation, pings being sent
+   * to all of them without waiting for any response: each connection is released or removed when
+   * its ping completes, or aborted if ping doesn't complete in time. Dead connections are removed
+   * from pool.
+   */
+  private void validateIdleConnections() {
+    long threshold =
+        TimeUnit.MILLISECONDS.toNanos(conf.poolValidMinDelay() - conf.poolValidationInterval());
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (poolState.get() != POOL_STATE_OK) break;
+      if (item.getState() != MariaDbInnerPoolConnection.STATE_IDLE
+          || System.nanoTime() - item.getLastValidated() <= threshold
+          || !item.compareAndSetState(
+              MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_RESERVED)) {
+        continue;
+      }
+      CompletableFuture<?> ping;
+      try {
+        ping =
+            item.getConnection()
+                .getClient()
+                .executePipelineAsync(
+                    new ClientMessage[] {PingPacket.INSTANCE},
+                    null,
+                    0L,
+                    ResultSet.CONCUR_READ_ONLY,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    false);
+      } catch (SQLException sqle) {
+        removeInvalidConnection(item);
+        continue;
+      }
+
+      // validation ends either by ping completion or by timeout, whichever comes first
+      AtomicBoolean ended = new AtomicBoolean();
+
+      // 10 seconds timeout, like borrowing validation. Aborting might block (KILL through a new
+      // connection), so it is not done in the shared pool executor thread
+      ScheduledFuture<?> timeout =
+          poolExecutor.schedule(
+              () -> {
+                if (ended.compareAndSet(false, true)) {
+                  SchedulerProvider.getAsyncExecutor().execute(() -> removeInvalidConnection(item));
+                }
+              },
+              10,
+              TimeUnit.SECONDS);
+
+      ping.whenComplete(
+          (res, throwable) -> {
+            if (!ended.compareAndSet(false, true)) return;
+            timeout.cancel(false);
+            if (throwable == null) {
+              item.lastValidatedToNow();
+              release(item);
+            } else {
+              removeInvalidConnection(item);
+            }
+          });
+    }
+  }
+
+  /**
+   * Remove connection that failed validation, asking for a new one.
+   *
+   * @param item connection
+   */
+  private void removeInvalidConnection(MariaDbInnerPoolConnection item) {
+    removeConnection(item);
+    silentAbortConnection(item.getConnection());
+    addConnectionRequest();
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "pool {} connection {} removed from pool due to failed validation (total:{},"
+              + " active:{}, pending:{})",
+          poolTag,
+          item.getConnection().getThreadId(),
+          totalConnection.get(),
+          getActiveConnections(),
+          pendingRequestNumber.get());
+    }
+  }
+
   /**
    * Create new connection.
    *
@@ -194,6 +397,12 @@ public class Pool implements AutoCloseable, PoolMBean {
 
     // create new connection
     Connection connection = Driver.connect(conf);
+    try {
+      prepareWarmup.prepare(connection);
+    } catch (SQLException sqle) {
+      silentCloseConnection(connection);
+      throw sqle;
+    }
     MariaDbInnerPoolConnection item = new MariaDbInnerPoolConnection(connection);
     item.addConnectionEventListener(
         new ConnectionEventListener() {
@@ -201,36 +410,30 @@ public class Pool implements AutoCloseable, PoolMBean {
           @Override
           public void connectionClosed(ConnectionEvent event) {
             MariaDbInnerPoolConnection item = (MariaDbInnerPoolConnection) event.getSource();
+
+            // reserve connection, so it cannot be borrowed until reset is done
+            if (!item.compareAndSetState(
+                MariaDbInnerPoolConnection.STATE_IN_USE,
+                MariaDbInnerPoolConnection.STATE_RESERVED)) {
+              // connection already released or removed
+              return;
+            }
+
             if (poolState.get() == POOL_STATE_OK) {
-              try {
-                if (!idleConnections.contains(item)) {
-                  item.getConnection().setPoolConnection(null);
-                  item.getConnection().reset();
-                  idleConnections.addFirst(item);
-                  item.getConnection().setPoolConnection(item);
+              setLastUsedConnection(item);
+              if (connectionResetter != null) {
+                try {
+                  connectionResetter.execute(() -> resetAndRelease(item));
+                  return;
+                } catch (RejectedExecutionException ree) {
+                  // pool closing, reset in current thread
                 }
-              } catch (SQLException sqle) {
-
-                // sql exception during reset, removing connection from pool
-                totalConnection.decrementAndGet();
-                silentCloseConnection(item.getConnection());
-                logger.debug(
-                    "connection {} removed from pool {} due to error during reset (total:{},"
-                        + " active:{}, pending:{})",
-                    item.getConnection().getThreadId(),
-                    poolTag,
-                    totalConnection.get(),
-                    getActiveConnections(),
-                    pendingRequestNumber.get());
               }
+              resetAndRelease(item);
             } else {
               // pool is closed, should then not be rendered to pool, but closed.
-              try {
-                item.getConnection().close();
-              } catch (SQLException sqle) {
-                // eat
-              }
-              totalConnection.decrementAndGet();
+              removeConnection(item);
+              silentCloseConnection(item.getConnection());
             }
           }
 
@@ -238,12 +441,11 @@ public class Pool implements AutoCloseable, PoolMBean {
           public void connectionErrorOccurred(ConnectionEvent event) {
 
             MariaDbInnerPoolConnection item = ((MariaDbInnerPoolConnection) event.getSource());
-            totalConnection.decrementAndGet();
-            idleConnections.remove(item);
+            removeConnection(item);
 
             // ensure that other connection will be validated before being use
             // since one connection failed, better to assume the other might as well
-            idleConnections.forEach(MariaDbInnerPoolConnection::ensureValidation);
+            connections.forEach(MariaDbInnerPoolConnection::ensureValidation);
 
             silentCloseConnection(item.getConnection());
             addConnectionRequest();
@@ -257,9 +459,14 @@ public class Pool implements AutoCloseable, PoolMBean {
                 pendingRequestNumber.get());
           }
         });
-    if (poolState.get() == POOL_STATE_OK
-        && totalConnection.incrementAndGet() <= conf.maxPoolSize()) {
-      idleConnections.addFirst(item);
+    if (poolState.get() == POOL_STATE_OK) {
+      if (totalConnection.incrementAndGet() > conf.maxPoolSize()) {
+        totalConnection.decrementAndGet();
+        silentCloseConnection(connection);
+        return;
+      }
+      connections.add(item);
+      release(item);
 
       if (logger.isDebugEnabled()) {
         logger.debug(
@@ -276,6 +483,128 @@ public class Pool implements AutoCloseable, PoolMBean {
     silentCloseConnection(connection);
   }
 
+  /**
+   * Reset a connection given back to pool, then make it available. Connection stays reserved
+   * until reset is done, so cannot be borrowed meanwhile.
+   *
+   * @param item reserved connection
+   */
+  private void resetAndRelease(MariaDbInnerPoolConnection item) {
+    try {
+      prepareWarmup.record(item.getConnection());
+      item.getConnection().setPoolConnection(null);
+      item.getConnection().reset();
+      item.getConnection().setPoolConnection(item);
+      release(item);
+    } catch (SQLException sqle) {
+
+      // sql exception during reset, removing connection from pool
+      removeConnection(item);
+      silentCloseConnection(item.getConnection());
+      logger.debug(
+          "connection {} removed from pool {} due to error during reset (total:{},"
+              + " active:{}, pending:{})",
+          item.getConnection().getThreadId(),
+          poolTag,
+          totalConnection.get(),
+          getActiveConnections(),
+          pendingRequestNumber.get());
+    }
+  }
+
+  /**
+   * Remove connection from pool connections.
+   *
+   * @param item connection
+   */
+  private void removeConnection(MariaDbInnerPoolConnection item) {
+    item.setState(MariaDbInnerPoolConnection.STATE_REMOVED);
+    if (connections.remove(item)) {
+      totalConnection.decrementAndGet();
+    }
+  }
+
+  private void setLastUsedConnection(MariaDbInnerPoolConnection item) {
+    WeakReference<MariaDbInnerPoolConnection> ref = lastUsedConnection.get();
+    if (ref == null || ref.get() != item) {
+      lastUsedConnection.set(new WeakReference<>(item));
+    }
+  }
+
+  /**
+   * Make connection available, handing it off to a waiting thread if any.
+   *
+   * @param item connection
+   */
+  private void release(MariaDbInnerPoolConnection item) {
+    item.setState(MariaDbInnerPoolConnection.STATE_IDLE);
+    for (int i = 0; waiters.get() > 0; i++) {
+      // connection has already been borrowed
+      if (item.getState() != MariaDbInnerPoolConnection.STATE_IDLE) return;
+      try {
+        if (handoffQueue.offer(item, 10, TimeUnit.MICROSECONDS)) return;
+      } catch (InterruptedException e) {
+        // connection stays idle, to be borrowed by scanning
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+  }
+
+  /**
+   * Borrow an idle connection without waiting: current thread last released connection if idle,
+   * or the first idle connection.
+   *
+   * @return borrowed connection, or null if none idle
+   */
+  private MariaDbInnerPoolConnection borrowIdleConnection() {
+    WeakReference<MariaDbInnerPoolConnection> ref = lastUsedConnection.get();
+    if (ref != null) {
+      MariaDbInnerPoolConnection item = ref.get();
+      if (item != null && borrow(item)) return item;
+    }
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (borrow(item)) return item;
+    }
+    return null;
+  }
+
+  private static boolean borrow(MariaDbInnerPoolConnection item) {
+    // state read first, to avoid useless write contention
+    return item.getState() == MariaDbInnerPoolConnection.STATE_IDLE
+        && item.compareAndSetState(
+            MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_IN_USE);
+  }
+
+  /**
+   * Wait for a released or newly created connection.
+   *
+   * @param deadline deadline in nanoseconds
+   * @return borrowed connection, or null if none available before deadline
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private MariaDbInnerPoolConnection waitIdleConnection(long deadline)
+      throws InterruptedException {
+    waiters.incrementAndGet();
+    try {
+      // a connection may have been released before registering as waiter
+      MariaDbInnerPoolConnection item = borrowIdleConnection();
+      long remaining;
+      while (item == null && (remaining = deadline - System.nanoTime()) > 0) {
+        item = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (item != null && !borrow(item)) item = null;
+      }
+      return item;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
   /**
    * Get an existing idle connection in pool.
    *
@@ -284,15 +613,16 @@ public class Pool implements AutoCloseable, PoolMBean {
   private MariaDbInnerPoolConnection getIdleConnection(long timeout, TimeUnit timeUnit)
       throws InterruptedException {
 
+    long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
     while (true) {
-      MariaDbInnerPoolConnection item =
-          (timeout == 0)
-              ? idleConnections.pollFirst()
-              : idleConnections.pollFirst(timeout, timeUnit);
+      MariaDbInnerPoolConnection item = borrowIdleConnection();
+      if (item == null && timeout > 0) {
+        item = waitIdleConnection(deadline);
+      }
 
       if (item != null) {
         try {
-          if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.getLastUsed().get())
+          if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.getLastValidated())
               > conf.poolValidMinDelay()) {
 
             // validate connection
@@ -313,18 +643,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         }
 
         // validation failed
-        silentAbortConnection(item.getConnection());
-        addConnectionRequest();
-        if (logger.isDebugEnabled()) {
-          logger.debug(
-              "pool {} connection {} removed from pool due to failed validation (total:{},"
-                  + " active:{}, pending:{})",
-              poolTag,
-              item.getConnection().getThreadId(),
-              totalConnection.get(),
-              getActiveConnections(),
-              pendingRequestNumber.get());
-        }
+        removeInvalidConnection(item);
         continue;
       }
 
@@ -433,14 +752,16 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   /** Close pool and underlying connections. */
   @Override
+  @SuppressWarnings("try")
   public void close() {
     try {
-      synchronized (this) {
+      try (ClosableLock ignore = closeLock.closeableLock()) {
         Pools.remove(this);
         poolState.set(POOL_STATE_CLOSING);
         pendingRequestNumber.set(0);
 
         scheduledFuture.cancel(false);
+        if (validationFuture != null) validationFuture.cancel(false);
         connectionAppender.shutdown();
 
         try {
@@ -470,7 +791,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         // loop for up to 10 seconds to close not used connection
         long start = System.nanoTime();
         do {
-          closeAll(idleConnections);
+          closeAll();
           if (totalConnection.get() > 0) {
             Thread.sleep(0, 10_00);
           }
@@ -478,11 +799,13 @@ public class Pool implements AutoCloseable, PoolMBean {
             && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
 
         // after having wait for 10 seconds, force removal, even if used connections
-        if (totalConnection.get() > 0 || idleConnections.isEmpty()) {
-          closeAll(idleConnections);
+        if (totalConnection.get() > 0 || getIdleConnections() == 0) {
+          closeAll();
         }
 
         connectionRemover.shutdown();
+        if (connectionResetter != null) connectionResetter.shutdown();
+        CancelClientPool.INSTANCE.clear(conf);
         try {
           unRegisterJmx();
         } catch (Exception exception) {
@@ -495,11 +818,11 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
-  private void closeAll(Collection<MariaDbInnerPoolConnection> collection) {
-    synchronized (collection) { // synchronized mandatory to iterate Collections.synchronizedList()
-      for (MariaDbInnerPoolConnection item : collection) {
-        collection.remove(item);
-        totalConnection.decrementAndGet();
+  private void closeAll() {
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.compareAndSetState(
+          MariaDbInnerPoolConnection.STATE_IDLE, MariaDbInnerPoolConnection.STATE_REMOVED)) {
+        removeConnection(item);
         silentAbortConnection(item.getConnection());
       }
     }
@@ -516,7 +839,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getActiveConnections() {
-    return totalConnection.get() - idleConnections.size();
+    return totalConnection.get() - getIdleConnections();
   }
 
   @Override
@@ -526,7 +849,11 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getIdleConnections() {
-    return idleConnections.size();
+    int idle = 0;
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.getState() == MariaDbInnerPoolConnection.STATE_IDLE) idle++;
+    }
+    return idle;
   }
 
   public long getConnectionRequests() {
@@ -560,8 +887,10 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   public List<Long> testGetConnectionIdleThreadIds() {
     List<Long> threadIds = new ArrayList<>();
-    for (MariaDbInnerPoolConnection pooledConnection : idleConnections) {
-      threadIds.add(pooledConnection.getConnection().getThreadId());
+    for (MariaDbInnerPoolConnection pooledConnection : connections) {
+      if (pooledConnection.getState() == MariaDbInnerPoolConnection.STATE_IDLE) {
+        threadIds.add(pooledConnection.getConnection().getThreadId());
+      }
     }
     return threadIds;
   }
@@ -0,0 +1,153 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.pool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.Connection;
+import org.mariadb.jdbc.message.ClientMessage;
+import org.mariadb.jdbc.message.client.PreparePacket;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Pool prepare warm-up: commands prepared on new pool connections before they are made available,
+ * so first requests on a new connection don't wait for prepare exchanges.
+ *
+ * <p>Commands are `prepareWarmupSql` commands, completed by the `prepareWarmupSize` most used
+ * commands, learned from connections prepare cache when connections are released to pool. All
+ * commands are prepared in one pipelined exchange.
+ */
+final class PrepareWarmup {
+
+  private static final Logger logger = Loggers.getLogger(PrepareWarmup.class);
+
+  // only commands shorter than this limit are cached, see PreparePacket
+  private static final int MAX_CACHED_LENGTH = 8192;
+
+  private final Configuration conf;
+  private final boolean enabled;
+  private final List<String> commands;
+  private final Map<String, LongAdder> useCounts = new ConcurrentHashMap<>();
+  private final int maxTracked;
+
+  /**
+   * Constructor
+   *
+   * @param conf pool configuration
+   */
+  PrepareWarmup(Configuration conf) {
+    this.conf = conf;
+    this.commands = parseCommands(conf.prepareWarmupSql());
+    this.enabled =
+        conf.useServerPrepStmts()
+            && conf.cachePrepStmts()
+            && (!commands.isEmpty() || conf.prepareWarmupSize() > 0);
+    this.maxTracked = Math.max(conf.prepareWarmupSize() * 4, conf.prepStmtCacheSize());
+  }
+
+  private static List<String> parseCommands(String sqls) {
+    if (sqls == null) return Collections.emptyList();
+    List<String> commands = new ArrayList<>();
+    for (String sql : sqls.split(";")) {
+      String cmd = sql.trim();
+      if (!cmd.isEmpty() && cmd.length() < MAX_CACHED_LENGTH && !commands.contains(cmd)) {
+        commands.add(cmd);
+      }
+    }
+    return commands;
+  }
+
+  /**
+   * Learn command use of a connection released to pool. Must be called before connection reset,
+   * since reset clears prepare cache.
+   *
+   * @param connection released connection
+   */
+  void record(Connection connection) {
+    if (!enabled || conf.prepareWarmupSize() == 0) return;
+    connection
+        .getContext()
+        .forEachPrepareCacheUse(
+            conf.database(),
+            (sql, useCount) -> {
+              if (useCount > 0) useCounts.computeIfAbsent(sql, k -> new LongAdder()).add(useCount);
+            });
+    if (useCounts.size() > maxTracked) prune();
+  }
+
+  /** Keep only the most used half of tracked commands. */
+  private void prune() {
+    List<Map.Entry<String, Long>> sorted = sortedUseCounts();
+    for (int i = maxTracked / 2; i < sorted.size(); i++) {
+      useCounts.remove(sorted.get(i).getKey());
+    }
+  }
+
+  private List<Map.Entry<String, Long>> sortedUseCounts() {
+    List<Map.Entry<String, Long>> entries = new ArrayList<>(useCounts.size());
+    for (Map.Entry<String, LongAdder> entry : useCounts.entrySet()) {
+      entries.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().sum()));
+    }
+    entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+    return entries;
+  }
+
+  /**
+   * Commands to prepare on a new connection.
+   *
+   * @return commands
+   */
+  List<String> commands() {
+    if (!enabled) return Collections.emptyList();
+    List<String> cmds = new ArrayList<>(commands);
+    int learned = 0;
+    for (Map.Entry<String, Long> entry : sortedUseCounts()) {
+      if (learned >= conf.prepareWarmupSize()) break;
+      if (!cmds.contains(entry.getKey())) {
+        cmds.add(entry.getKey());
+        learned++;
+      }
+    }
+    return cmds;
+  }
+
+  /**
+   * Prepare warm-up commands on a new connection, using pipelining. Failing commands (dropped
+   * table, ...) are ignored, other commands being still prepared.
+   *
+   * @param connection new connection
+   * @throws SQLException if connection fails
+   */
+  void prepare(Connection connection) throws SQLException {
+    List<String> cmds = commands();
+    if (cmds.isEmpty()) return;
+    ClientMessage[] messages = new ClientMessage[cmds.size()];
+    for (int i = 0; i < messages.length; i++) messages[i] = new PreparePacket(cmds.get(i));
+    try {
+      connection
+          .getClient()
+          .executePipeline(
+              messages,
+              null,
+              0,
+              0L,
+              ResultSet.CONCUR_READ_ONLY,
+              ResultSet.TYPE_FORWARD_ONLY,
+              false,
+              false);
+    } catch (SQLException e) {
+      if (connection.isClosed()) throw e;
+      logger.debug("error during prepare warm-up of connection: {}", e.getMessage());
+    }
+  }
+}
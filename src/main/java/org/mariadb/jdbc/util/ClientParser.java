@@ -4,33 +4,53 @@
 package org.mariadb.jdbc.util;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Client side command parsing result.
+ *
+ * <p>Results are immutable, and cached (bounded cache, per escape mode), since the same commands
+ * are usually parsed again and again.
+ */
 public final class ClientParser implements PrepareResult {
 
+  // bigger commands are not cached
+  private static final int MAX_CACHED_LENGTH = 8192;
+  private static final int MAX_CACHE_SIZE = 1024;
+  private static final Map<String, ClientParser> CACHE = new ConcurrentHashMap<>();
+  private static final Map<String, ClientParser> NO_BACKSLASH_CACHE = new ConcurrentHashMap<>();
+
   private final String sql;
   private final byte[] query;
-  private final List<Integer> paramPositions;
+  private final int[] paramPositions;
   private final int paramCount;
   private final boolean isInsert;
   private final boolean isInsertDuplicate;
   private final boolean isMultiQuery;
+  private final int valuesBracketStart;
+  private final int valuesBracketEnd;
 
   private ClientParser(
       String sql,
       byte[] query,
-      List<Integer> paramPositions,
+      int[] paramPositions,
       boolean isInsert,
       boolean isInsertDuplicate,
-      boolean isMultiQuery) {
+      boolean isMultiQuery,
+      int valuesBracketStart,
+      int valuesBracketEnd) {
     this.sql = sql;
     this.query = query;
     this.paramPositions = paramPositions;
-    this.paramCount = paramPositions.size();
+    this.paramCount = paramPositions.length;
     this.isInsert = isInsert;
     this.isInsertDuplicate = isInsertDuplicate;
     this.isMultiQuery = isMultiQuery;
+    this.valuesBracketStart = valuesBracketStart;
+    this.valuesBracketEnd = valuesBracketEnd;
   }
 
   /**
@@ -40,13 +60,33 @@ public final class ClientParser implements PrepareResult {
    * INTO tableName(id, name) VALUES (?, ?)" result list will be : {"INSERT INTO tableName(id, name)
    * VALUES (", ", ", ")"}
    *
+   * <p>Result is returned from cache if command has already been parsed with the same escape
+   * mode.
+   *
    * @param queryString query
    * @param noBackslashEscapes escape mode
    * @return ClientPrepareResult
    */
   public static ClientParser parameterParts(String queryString, boolean noBackslashEscapes) {
+    if (queryString.length() > MAX_CACHED_LENGTH) return parse(queryString, noBackslashEscapes);
+    Map<String, ClientParser> cache = noBackslashEscapes ? NO_BACKSLASH_CACHE : CACHE;
+    ClientParser parser = cache.get(queryString);
+    if (parser == null) {
+      parser = parse(queryString, noBackslashEscapes);
+      if (cache.size() >= MAX_CACHE_SIZE) {
+        // evict any entry: cheaper than LRU tracking on each read
+        Iterator<String> it = cache.keySet().iterator();
+        if (it.hasNext()) cache.remove(it.next());
+      }
+      cache.put(queryString, parser);
+    }
+    return parser;
+  }
+
+  private static ClientParser parse(String queryString, boolean noBackslashEscapes) {
 
-    List<Integer> paramPositions = new ArrayList<>();
+    int[] paramPositions = new int[8];
+    int paramCount = 0;
     LexState state = LexState.Normal;
     byte lastChar = 0x00;
 
@@ -54,11 +94,22 @@ public final class ClientParser implements PrepareResult {
     boolean isInsert = false;
     boolean isInsertDupplicate = false;
     int multiQueryIdx = -1;
+    int parenthesisLevel = 0;
+    boolean hasValues = false;
+    int valuesBracketStart = -1;
+    int valuesBracketEnd = -1;
+    boolean notRewritable = false;
     byte[] query = queryString.getBytes(StandardCharsets.UTF_8);
     int queryLength = query.length;
     for (int i = 0; i < queryLength; i++) {
 
       byte car = query[i];
+      if (hasValues
+          && car > ' '
+          && (valuesBracketEnd != -1 ? car != ';' : valuesBracketStart == -1 && car != '(')) {
+        // data between VALUES keyword and parenthesis, or after values
+        notRewritable = true;
+      }
       if (state == LexState.Escape
           && !((car == '\'' && singleQuotes) || (car == '"' && !singleQuotes))) {
         state = LexState.String;
@@ -170,6 +221,46 @@ public final class ClientParser implements PrepareResult {
           }
           break;
 
+        case (byte) 'V':
+        case (byte) 'v':
+          if (isInsert && !hasValues && state == LexState.Normal && parenthesisLevel == 0) {
+            if (i + 5 < queryLength
+                && (query[i + 1] == (byte) 'a' || query[i + 1] == (byte) 'A')
+                && (query[i + 2] == (byte) 'l' || query[i + 2] == (byte) 'L')
+                && (query[i + 3] == (byte) 'u' || query[i + 3] == (byte) 'U')
+                && (query[i + 4] == (byte) 'e' || query[i + 4] == (byte) 'E')) {
+              if (i > 0 && (query[i - 1] > ' ' && "();><=-+,`".indexOf(query[i - 1]) == -1)) {
+                break;
+              }
+              // VALUE or VALUES
+              int end = (query[i + 5] == (byte) 's' || query[i + 5] == (byte) 'S') ? i + 6 : i + 5;
+              if (end < queryLength && query[end] > ' ' && query[end] != '(') {
+                break;
+              }
+              i = end - 1;
+              hasValues = true;
+            }
+          }
+          break;
+
+        case (byte) '(':
+          if (state == LexState.Normal) {
+            if (hasValues && valuesBracketStart == -1 && parenthesisLevel == 0) {
+              valuesBracketStart = i;
+            }
+            parenthesisLevel++;
+          }
+          break;
+
+        case (byte) ')':
+          if (state == LexState.Normal) {
+            parenthesisLevel--;
+            if (parenthesisLevel == 0 && valuesBracketStart != -1 && valuesBracketEnd == -1) {
+              valuesBracketEnd = i;
+            }
+          }
+          break;
+
         case (byte) '\\':
           if (noBackslashEscapes) {
             break;
@@ -180,7 +271,10 @@ public final class ClientParser implements PrepareResult {
           break;
         case (byte) '?':
           if (state == LexState.Normal) {
-            paramPositions.add(i);
+            if (paramCount == paramPositions.length) {
+              paramPositions = Arrays.copyOf(paramPositions, paramCount * 2);
+            }
+            paramPositions[paramCount++] = i;
           }
           break;
         case (byte) '`':
@@ -195,8 +289,28 @@ public final class ClientParser implements PrepareResult {
     }
     // multi contains ";" not finishing statement.
     boolean isMulti = multiQueryIdx != -1 && multiQueryIdx < queryLength - 1;
+
+    // multi-values rewriting is possible only for a plain INSERT ... VALUES (...) command, with
+    // all parameters in values
+    if (valuesBracketEnd == -1
+        || notRewritable
+        || isInsertDupplicate
+        || isMulti
+        || (paramCount > 0
+            && (paramPositions[0] < valuesBracketStart
+                || paramPositions[paramCount - 1] > valuesBracketEnd))) {
+      valuesBracketStart = -1;
+      valuesBracketEnd = -1;
+    }
     return new ClientParser(
-        queryString, query, paramPositions, isInsert, isInsertDupplicate, isMulti);
+        queryString,
+        query,
+        Arrays.copyOf(paramPositions, paramCount),
+        isInsert,
+        isInsertDupplicate,
+        isMulti,
+        valuesBracketStart,
+        valuesBracketEnd);
   }
 
   public String getSql() {
@@ -207,7 +321,12 @@ public final class ClientParser implements PrepareResult {
     return query;
   }
 
-  public List<Integer> getParamPositions() {
+  /**
+   * Parameter positions in query. Array is shared, and must not be modified.
+   *
+   * @return parameter positions
+   */
+  public int[] getParamPositions() {
     return paramPositions;
   }
 
@@ -227,6 +346,35 @@ public final class ClientParser implements PrepareResult {
     return isMultiQuery;
   }
 
+  /**
+   * Indicate if command is a plain INSERT ... VALUES (...) command, that can be rewritten as a
+   * multi-values INSERT, repeating values part from {@link #getValuesBracketStart()} to {@link
+   * #getValuesBracketEnd()}.
+   *
+   * @return true if command can be rewritten
+   */
+  public boolean isMultiValuesRewritable() {
+    return valuesBracketEnd != -1;
+  }
+
+  /**
+   * Position of values opening parenthesis
+   *
+   * @return position in query, -1 if command cannot be rewritten
+   */
+  public int getValuesBracketStart() {
+    return valuesBracketStart;
+  }
+
+  /**
+   * Position of values closing parenthesis
+   *
+   * @return position in query, -1 if command cannot be rewritten
+   */
+  public int getValuesBracketEnd() {
+    return valuesBracketEnd;
+  }
+
   enum LexState {
     Normal, /* inside  query */
     String, /* inside string */
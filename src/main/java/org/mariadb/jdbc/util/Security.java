@@ -114,6 +114,25 @@ public final class Security {
     return out.toString();
   }
 
+  /**
+   * Value of a variable set by the option "sessionVariable".
+   *
+   * @param sessionVariable option value, can be null
+   * @param name variable name
+   * @return value as set in option (last one if set multiple times), or null if not set
+   */
+  public static String sessionVariableValue(String sessionVariable, String name) {
+    if (sessionVariable == null) return null;
+    String value = null;
+    for (String variable : parseSessionVariables(sessionVariable).split(",")) {
+      int idx = variable.indexOf('=');
+      if (idx > 0 && name.equalsIgnoreCase(variable.substring(0, idx).trim())) {
+        value = variable.substring(idx + 1).trim();
+      }
+    }
+    return value;
+  }
+
   private enum Parse {
     Normal,
     String, /* inside string */
@@ -3,23 +3,19 @@
 // Copyright (c) 2015-2024 MariaDB Corporation Ab
 package org.mariadb.jdbc.util.timeout;
 
-import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.client.util.ClosableLock;
-import org.mariadb.jdbc.client.util.SchedulerProvider;
 
 public class QueryTimeoutHandlerImpl implements QueryTimeoutHandler {
-  private Future<?> timerTaskFuture;
-  private ScheduledExecutorService timeoutScheduler;
+  private TimeoutWheel.Timeout timeout;
   private Connection conn;
-  private ClosableLock lock;
 
   public QueryTimeoutHandler create(int queryTimeout) {
-    assert (timerTaskFuture == null);
+    assert (timeout == null);
     if (queryTimeout > 0) {
-      if (timeoutScheduler == null) timeoutScheduler = SchedulerProvider.getTimeoutScheduler(lock);
-      timerTaskFuture =
-          timeoutScheduler.schedule(
+      timeout =
+          TimeoutWheel.INSTANCE.schedule(
               () -> {
                 try {
                   conn.cancelCurrentQuery();
@@ -35,22 +31,14 @@ public class QueryTimeoutHandlerImpl implements QueryTimeoutHandler {
 
   public QueryTimeoutHandlerImpl(Connection conn, ClosableLock lock) {
     this.conn = conn;
-    this.lock = lock;
   }
 
   @Override
   public void close() {
-    if (timerTaskFuture != null) {
-      if (!timerTaskFuture.cancel(true)) {
-        // could not cancel, task either started or already finished
-        // we must now wait for task to finish ensuring state modifications are done
-        try {
-          timerTaskFuture.get();
-        } catch (InterruptedException | ExecutionException | CancellationException e) {
-          // ignore error, likely due to interrupting during cancel
-        }
-      }
-      timerTaskFuture = null;
+    if (timeout != null) {
+      // if task already started, wait for it to finish, ensuring state modifications are done
+      timeout.cancel();
+      timeout = null;
     }
   }
 }
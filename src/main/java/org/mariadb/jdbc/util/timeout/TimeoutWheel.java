@@ -0,0 +1,189 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.util.timeout;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.client.util.ClosableLock;
+
+/**
+ * Hashed wheel timer for query timeouts, when server cannot handle them.
+ *
+ * <p>Nearly all query timeouts are cancelled before expiring, so scheduling and cancelling must be
+ * cheap: scheduling only adds the timeout to a lock-free queue, cancelling only changes its state
+ * and releases its task (and the connection it references) until the wheel drops it. A single
+ * daemon thread moves queued timeouts to wheel buckets every tick, and runs expired ones. Precision
+ * is a tick ({@link #TICK_MS}), largely sufficient for timeouts in seconds.
+ */
+public final class TimeoutWheel {
+
+  /** shared instance */
+  public static final TimeoutWheel INSTANCE = new TimeoutWheel();
+
+  /** wheel tick duration */
+  public static final long TICK_MS = 100;
+
+  private static final int WHEEL_SIZE = 512;
+
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final Timeout[] buckets = new Timeout[WHEEL_SIZE];
+  private final ClosableLock lock = new ClosableLock();
+  private final long startNanos = System.nanoTime();
+  private volatile Thread worker;
+  private long tick;
+
+  private TimeoutWheel() {}
+
+  /**
+   * Schedule a task
+   *
+   * @param task task to run when timeout expires
+   * @param delay delay
+   * @param unit delay unit
+   * @return timeout, to cancel
+   */
+  @SuppressWarnings("try")
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    Timeout timeout = new Timeout(task, System.nanoTime() - startNanos + unit.toNanos(delay));
+    added.add(timeout);
+    if (worker == null) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        if (worker == null) {
+          Thread thread = new Thread(this::run, "MariaDb-timeout");
+          thread.setDaemon(true);
+          thread.start();
+          worker = thread;
+        }
+      }
+    }
+    return timeout;
+  }
+
+  private void run() {
+    long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+    while (true) {
+      long sleepNanos = (tick + 1) * tickNanos - (System.nanoTime() - startNanos);
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+          // daemon thread, never interrupted
+        }
+        continue;
+      }
+      tick++;
+      transferAdded();
+      expire(buckets[(int) (tick & (WHEEL_SIZE - 1))]);
+    }
+  }
+
+  private void transferAdded() {
+    long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+    Timeout timeout;
+    while ((timeout = added.poll()) != null) {
+      if (timeout.state.get() != Timeout.WAITING) continue;
+      // expire at first tick after deadline
+      long deadlineTick = Math.max(tick, (timeout.deadlineNanos + tickNanos - 1) / tickNanos);
+      timeout.remainingRounds = (deadlineTick - tick) / WHEEL_SIZE;
+      int index = (int) (deadlineTick & (WHEEL_SIZE - 1));
+      timeout.next = buckets[index];
+      buckets[index] = timeout;
+    }
+  }
+
+  private void expire(Timeout head) {
+    int index = (int) (tick & (WHEEL_SIZE - 1));
+    Timeout prev = null;
+    Timeout timeout = head;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      boolean remove;
+      if (timeout.state.get() != Timeout.WAITING) {
+        remove = true;
+      } else if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+        remove = false;
+      } else {
+        remove = true;
+        timeout.expire();
+      }
+      if (remove) {
+        if (prev == null) {
+          buckets[index] = next;
+        } else {
+          prev.next = next;
+        }
+        timeout.next = null;
+      } else {
+        prev = timeout;
+      }
+      timeout = next;
+    }
+  }
+
+  /** Scheduled task */
+  public static final class Timeout {
+    private static final int WAITING = 0;
+    private static final int CANCELLED = 1;
+    private static final int RUNNING = 2;
+    private static final int DONE = 3;
+
+    // released when cancelled or done. Only accessed by thread that changed state from WAITING
+    private Runnable task;
+    private final long deadlineNanos;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+    private volatile CountDownLatch running;
+
+    // only accessed by wheel thread
+    private long remainingRounds;
+    private Timeout next;
+
+    Timeout(Runnable task, long deadlineNanos) {
+      this.task = task;
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    private void expire() {
+      // latch set before state changes to RUNNING, so cancelling thread can wait on it
+      CountDownLatch latch = new CountDownLatch(1);
+      running = latch;
+      if (!state.compareAndSet(WAITING, RUNNING)) return;
+      try {
+        task.run();
+      } catch (Throwable t) {
+        // eat
+      } finally {
+        task = null;
+        state.set(DONE);
+        latch.countDown();
+      }
+    }
+
+    /**
+     * Cancel task. If task already started, wait for it to finish, ensuring state modifications
+     * are done. Waiting doesn't use object monitor, since task can take time (KILL QUERY command),
+     * and waiting in a monitor would pin virtual thread carrier.
+     */
+    public void cancel() {
+      if (state.compareAndSet(WAITING, CANCELLED)) {
+        task = null;
+        return;
+      }
+      if (state.get() != RUNNING) return;
+      boolean interrupted = false;
+      while (true) {
+        try {
+          running.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -27,6 +27,8 @@ module org.mariadb.jdbc {
   exports org.mariadb.jdbc.plugin.codec;
   exports org.mariadb.jdbc.plugin.authentication.standard;
   exports org.mariadb.jdbc.plugin.authentication.addon;
+  exports org.mariadb.jdbc.plugin.compression.standard;
+  exports org.mariadb.jdbc.plugin.compression.addon;
   exports org.mariadb.jdbc.plugin.credential.aws;
   exports org.mariadb.jdbc.plugin.credential.env;
   exports org.mariadb.jdbc.plugin.credential.system;
@@ -37,6 +39,7 @@ module org.mariadb.jdbc {
   uses org.mariadb.jdbc.plugin.Codec;
   uses org.mariadb.jdbc.plugin.AuthenticationPlugin;
   uses org.mariadb.jdbc.plugin.TlsSocketPlugin;
+  uses org.mariadb.jdbc.plugin.CompressionPlugin;
 
   provides java.sql.Driver with
       org.mariadb.jdbc.Driver;
@@ -85,4 +88,7 @@ module org.mariadb.jdbc {
       org.mariadb.jdbc.plugin.credential.system.PropertiesCredentialPlugin;
   provides org.mariadb.jdbc.plugin.TlsSocketPlugin with
       org.mariadb.jdbc.plugin.tls.main.DefaultTlsSocketPlugin;
+  provides org.mariadb.jdbc.plugin.CompressionPlugin with
+      org.mariadb.jdbc.plugin.compression.standard.ZlibCompressionPlugin,
+      org.mariadb.jdbc.plugin.compression.addon.ZstdCompressionPlugin;
 }
@@ -0,0 +1,137 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mariadb.jdbc.client.result.RowSubscription;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
+
+/**
+ * Reactive streams row publisher.
+ *
+ * <p>Query is executed on first {@link Flow.Subscription#request(long)}, rows being read from
+ * socket according to demand: driver never buffers more rows than requested. Rows are decoded
+ * lazily, and are only valid during {@link Flow.Subscriber#onNext(Object)}.
+ *
+ * <p>Publisher is unicast: it can be subscribed only once. Connection cannot be used by other
+ * statements until subscription is terminated or cancelled, like any streaming result-set.
+ *
+ * <p>example:
+ *
+ * <pre>{@code
+ * Statement stmt = conn.createStatement();
+ * new RowPublisher(stmt, "SELECT * FROM big_table").subscribe(subscriber);
+ * }</pre>
+ */
+public final class RowPublisher implements Flow.Publisher<Row> {
+
+  private final Statement stmt;
+  private final String sql;
+  private final Executor executor;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  /**
+   * Publisher of text query rows.
+   *
+   * @param stmt statement
+   * @param sql query
+   * @throws SQLException if statement is not a MariaDB statement
+   */
+  public RowPublisher(java.sql.Statement stmt, String sql) throws SQLException {
+    this(stmt, sql, SchedulerProvider.getAsyncExecutor());
+  }
+
+  /**
+   * Publisher of text query rows.
+   *
+   * @param stmt statement
+   * @param sql query
+   * @param executor executor emitting signals
+   * @throws SQLException if statement is not a MariaDB statement
+   */
+  public RowPublisher(java.sql.Statement stmt, String sql, Executor executor)
+      throws SQLException {
+    this.stmt = stmt.unwrap(Statement.class);
+    this.sql = sql;
+    this.executor = executor;
+  }
+
+  /**
+   * Publisher of prepared statement rows. Parameters must be set before first request.
+   *
+   * @param prep prepared statement
+   * @throws SQLException if statement is not a MariaDB statement
+   */
+  public RowPublisher(PreparedStatement prep) throws SQLException {
+    this(prep, SchedulerProvider.getAsyncExecutor());
+  }
+
+  /**
+   * Publisher of prepared statement rows. Parameters must be set before first request.
+   *
+   * @param prep prepared statement
+   * @param executor executor emitting signals
+   * @throws SQLException if statement is not a MariaDB statement
+   */
+  public RowPublisher(PreparedStatement prep, Executor executor) throws SQLException {
+    this.stmt = prep.unwrap(BasePreparedStatement.class);
+    this.sql = null;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super Row> subscriber) {
+    if (subscriber == null) throw new NullPointerException("subscriber");
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(
+          new Flow.Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+          });
+      subscriber.onError(new IllegalStateException("RowPublisher can be subscribed only once"));
+      return;
+    }
+
+    RowSubscription subscription =
+        new RowSubscription(
+            stmt,
+            sql,
+            new RowSubscription.Listener() {
+              @Override
+              public void onNext(Row row) {
+                subscriber.onNext(row);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+              }
+
+              @Override
+              public void onComplete() {
+                subscriber.onComplete();
+              }
+            },
+            executor);
+    subscriber.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(long n) {
+            subscription.request(n);
+          }
+
+          @Override
+          public void cancel() {
+            subscription.cancel();
+          }
+        });
+  }
+}
@@ -526,6 +526,75 @@ public class BatchTest extends Common {
     con.commit();
   }
 
+  @Test
+  public void rewriteBatchedStatements() throws SQLException {
+    String conf = "&useServerPrepStmts=false&useBulkStmtsForInserts=false&rewriteBatchedStatements";
+    try (Connection con = createCon(conf)) {
+      rewriteBatchedStatements(con);
+    }
+    // force splitting in several multi-values commands
+    try (Connection con = createCon(conf + "&maxAllowedPacket=8000&useCompression")) {
+      rewriteBatchedStatements(con);
+    }
+    try (Connection con = createCon(conf + "&maxAllowedPacket=8000")) {
+      rewriteBatchedStatements(con);
+
+      // INSERT IGNORE: affected rows differ from batch size
+      Statement stmt = con.createStatement();
+      stmt.execute("TRUNCATE BatchTest");
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT IGNORE INTO BatchTest(t1, t2) VALUES (?, ?)")) {
+        for (int i = 0; i < 10; i++) {
+          prep.setInt(1, i % 5 + 1);
+          prep.setString(2, "a");
+          prep.addBatch();
+        }
+        int[] res = prep.executeBatch();
+        assertEquals(10, res.length);
+        for (int re : res) assertEquals(java.sql.Statement.SUCCESS_NO_INFO, re);
+      }
+      ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM BatchTest");
+      assertTrue(rs.next());
+      assertEquals(5, rs.getInt(1));
+
+      // error
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT INTO BatchTest(t1, t2) VALUES (?, ?)")) {
+        prep.setInt(1, 6);
+        prep.setString(2, "a");
+        prep.addBatch();
+        prep.setInt(1, 1);
+        prep.setString(2, "a");
+        prep.addBatch();
+        BatchUpdateException e = assertThrows(BatchUpdateException.class, prep::executeBatch);
+        assertTrue(e.getMessage().contains("Duplicate entry"));
+      }
+    }
+  }
+
+  private void rewriteBatchedStatements(Connection con) throws SQLException {
+    Statement stmt = con.createStatement();
+    stmt.execute("TRUNCATE BatchTest");
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO BatchTest(t1, t2) VALUES (?, ?)")) {
+      for (int i = 0; i < 1000; i++) {
+        prep.setNull(1, Types.INTEGER);
+        prep.setString(2, "value '" + i + "'");
+        prep.addBatch();
+      }
+      int[] res = prep.executeBatch();
+      assertEquals(1000, res.length);
+      for (int re : res) assertEquals(1, re);
+    }
+    ResultSet rs = stmt.executeQuery("SELECT t1, t2 FROM BatchTest ORDER BY t1");
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(rs.next());
+      assertEquals(i + 1, rs.getInt(1));
+      assertEquals("value '" + i + "'", rs.getString(2));
+    }
+    assertFalse(rs.next());
+  }
+
   @Test
   public void bulkPacketSplitMaxAllowedPacket() throws SQLException {
     Assumptions.assumeTrue(runLongTest());
@@ -8,8 +8,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.MariaDbBlob;
 
 public class BlobTest extends Common {
@@ -25,6 +29,36 @@ public class BlobTest extends Common {
     assertEquals(3, blob2.length());
   }
 
+  @Test
+  public void blobObjectOutlivesResultSet() throws SQLException {
+    blobObjectOutlivesResultSet("useSlabRowStorage=true");
+    blobObjectOutlivesResultSet("spillThreshold=1");
+  }
+
+  private void blobObjectOutlivesResultSet(String option) throws SQLException {
+    try (Connection con = createCon(option)) {
+      Statement stmt = con.createStatement();
+      stmt.execute("CREATE TEMPORARY TABLE blobOutlive (id int, t BLOB)");
+      stmt.execute("INSERT INTO blobOutlive VALUES (1, REPEAT('A', 10)), (2, REPEAT('Z', 10))");
+      ResultSet rs = stmt.executeQuery("SELECT t FROM blobOutlive WHERE id = 1");
+      assertTrue(rs.next());
+      Blob blob = (Blob) rs.getObject(1);
+      Blob blobByLabel = (Blob) rs.getObject("t");
+      Blob blobAsObject = (Blob) rs.getObject(1, Object.class);
+      rs.close();
+
+      // storage of closed result-set is reused by next one
+      rs = stmt.executeQuery("SELECT t FROM blobOutlive WHERE id = 2");
+      assertTrue(rs.next());
+      assertArrayEquals("ZZZZZZZZZZ".getBytes(), rs.getBytes(1));
+      rs.close();
+
+      assertArrayEquals("AAAAAAAAAA".getBytes(), blob.getBytes(1, 10));
+      assertArrayEquals("AAAAAAAAAA".getBytes(), blobByLabel.getBytes(1, 10));
+      assertArrayEquals("AAAAAAAAAA".getBytes(), blobAsObject.getBytes(1, 10));
+    }
+  }
+
   @Test
   public void getBytes() throws SQLException {
     MariaDbBlob blob = new MariaDbBlob(bytes);
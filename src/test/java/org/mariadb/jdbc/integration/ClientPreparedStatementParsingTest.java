@@ -19,8 +19,8 @@ public class ClientPreparedStatementParsingTest extends Common {
     assertEquals(paramNumber, parser.getParamCount());
     int pos = 0;
     int paramPos;
-    for (int i = 0; i < parser.getParamPositions().size(); i++) {
-      paramPos = parser.getParamPositions().get(i);
+    for (int i = 0; i < parser.getParamPositions().length; i++) {
+      paramPos = parser.getParamPositions()[i];
       assertEquals(partsMulti[i], new String(parser.getQuery(), pos, paramPos - pos));
       pos = paramPos + 1;
     }
@@ -356,6 +356,22 @@ public class MultiHostTest extends Common {
       assertFalse(rs.next());
       stmt.execute("DROP TABLE IF EXISTS testReplay");
     }
+
+    Thread.sleep(100);
+    // statement limits are kept when command is executed again after failover
+    try (Connection con =
+        (Connection)
+            DriverManager.getConnection(
+                url
+                    + "&waitReconnectTimeout=300&deniedListTimeout=300&retriesAllDown=4&connectTimeout=50")) {
+      Statement stmt = con.createStatement();
+      stmt.setMaxRows(2);
+      stmt.execute("SELECT 1");
+      proxy.restart(50);
+      ResultSet rs = stmt.executeQuery("SELECT @@sql_select_limit");
+      assertTrue(rs.next());
+      assertEquals(2L, rs.getLong(1));
+    }
   }
 
   @Test
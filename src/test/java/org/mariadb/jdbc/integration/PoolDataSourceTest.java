@@ -7,12 +7,20 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.management.ManagementFactory;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
@@ -24,6 +32,7 @@ import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.MariaDbPoolDataSource;
+import org.mariadb.jdbc.integration.util.DelayedSocketFactoryTest;
 import org.mariadb.jdbc.pool.PoolThreadFactory;
 import org.mariadb.jdbc.pool.Pools;
 
@@ -284,6 +293,28 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void asyncReset() throws SQLException {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(mDefUrl + "&maxPoolSize=1&poolAsyncReset")) {
+      String initialDatabase;
+      try (Connection connection = pool.getConnection()) {
+        initialDatabase = connection.getCatalog();
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        connection.setCatalog("mysql");
+        connection.createStatement().execute("SELECT 1");
+      }
+
+      // connection is only borrowed once reset is complete
+      try (Connection connection = pool.getConnection()) {
+        assertTrue(connection.getAutoCommit());
+        assertEquals(Connection.TRANSACTION_REPEATABLE_READ, connection.getTransactionIsolation());
+        assertEquals(initialDatabase, connection.getCatalog());
+      }
+    }
+  }
+
   private long getNowTime(Statement statement) throws SQLException {
     ResultSet rs = statement.executeQuery("SELECT NOW()");
     assertTrue(rs.next());
@@ -502,6 +533,63 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void backgroundValidation() throws Throwable {
+    // appveyor is so slow wait time are not relevant.
+    Assumptions.assumeTrue(System.getenv("APPVEYOR_BUILD_WORKER_IMAGE") == null);
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=2&minPoolSize=2&poolValidMinDelay=200&poolValidationInterval=100")) {
+      // wait to ensure pool has time to create 2 connections
+      Thread.sleep(500);
+      List<Long> threadIds = pool.testGetConnectionIdleThreadIds();
+      assertEquals(2, threadIds.size());
+
+      // kill one idle connection: validator must replace it
+      try (Connection connection = createCon()) {
+        connection.createStatement().execute("KILL " + threadIds.get(0));
+      }
+      Thread.sleep(1_000);
+
+      List<Long> newThreadIds = pool.testGetConnectionIdleThreadIds();
+      assertEquals(2, newThreadIds.size());
+      assertFalse(newThreadIds.contains(threadIds.get(0)));
+      assertTrue(newThreadIds.contains(threadIds.get(1)));
+    }
+  }
+
+  @Test
+  public void prefill() throws Throwable {
+    // only first connection can be created when initializing pool
+    DelayedSocketFactoryTest.remaining.set(1);
+    DelayedSocketFactoryTest.delay = 0;
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=8&minPoolSize=4&poolCreationConcurrency=4&socketFactory="
+                + DelayedSocketFactoryTest.class.getName())) {
+      assertEquals(1, pool.testGetConnectionIdleThreadIds().size());
+
+      // missing connections are created in parallel: 3 connections in the time of one
+      DelayedSocketFactoryTest.remaining.set(-1);
+      DelayedSocketFactoryTest.delay = 1000;
+      long start = System.nanoTime();
+      pool.prefill();
+      long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      assertEquals(4, pool.testGetConnectionIdleThreadIds().size());
+      assertTrue(elapsedMs >= 1000, "prefill took " + elapsedMs + "ms");
+      assertTrue(elapsedMs < 2000, "prefill took " + elapsedMs + "ms");
+
+      try (Connection connection = pool.getConnection()) {
+        assertTrue(connection.isValid(1));
+      }
+    } finally {
+      DelayedSocketFactoryTest.remaining.set(-1);
+      DelayedSocketFactoryTest.delay = 0;
+    }
+  }
+
   @Test
   public void testMinConnection() throws Throwable {
     MBeanServer server = ManagementFactory.getPlatformMBeanServer();
@@ -674,6 +762,97 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void concurrentBorrow() throws Throwable {
+    int threads = 64;
+    int borrows = 100;
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=4&minPoolSize=4&connectTimeout=10000&poolName=concurrent")) {
+      Set<Long> inUse = ConcurrentHashMap.newKeySet();
+      AtomicInteger sharedBorrow = new AtomicInteger();
+      AtomicInteger borrowed = new AtomicInteger();
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService exec = Executors.newFixedThreadPool(threads);
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(
+            exec.submit(
+                () -> {
+                  start.await();
+                  for (int j = 0; j < borrows; j++) {
+                    try (Connection connection = pool.getConnection()) {
+                      long threadId =
+                          connection.unwrap(org.mariadb.jdbc.Connection.class).getThreadId();
+                      // connection must never be handed to two borrowers at once
+                      if (!inUse.add(threadId)) sharedBorrow.incrementAndGet();
+                      if ((j & 0xf) == 0) connection.isValid(10);
+                      Thread.yield();
+                      inUse.remove(threadId);
+                      borrowed.incrementAndGet();
+                    }
+                  }
+                  return null;
+                }));
+      }
+      start.countDown();
+      exec.shutdown();
+      assertTrue(exec.awaitTermination(60, TimeUnit.SECONDS));
+
+      // a lost wakeup would make a waiting borrower fail with connectTimeout
+      for (Future<?> future : futures) future.get();
+      assertEquals(0, sharedBorrow.get());
+      assertEquals(threads * borrows, borrowed.get());
+      assertTrue(pool.testGetConnectionIdleThreadIds().size() <= 4);
+    }
+  }
+
+  @Test
+  public void exhaustedPoolTimeout() throws Throwable {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=2&minPoolSize=2&connectTimeout=500&poolName=exhausted")) {
+      Connection con1 = pool.getConnection();
+      Connection con2 = pool.getConnection();
+
+      ExecutorService exec = Executors.newFixedThreadPool(8);
+      List<Future<Long>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            exec.submit(
+                () -> {
+                  long start = System.nanoTime();
+                  SQLException e = assertThrows(SQLException.class, pool::getConnection);
+                  assertTrue(
+                      e.getMessage()
+                          .contains(
+                              "No connection available within the specified time (option"
+                                  + " 'connectTimeout': 500 ms)"));
+                  return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }));
+      }
+      for (Future<Long> future : futures) {
+        long elapsed = future.get(10, TimeUnit.SECONDS);
+        assertTrue(elapsed >= 490 && elapsed < 3000, "elapsed time:" + elapsed);
+      }
+
+      // waiting borrower gets released connection
+      long threadId = con1.unwrap(org.mariadb.jdbc.Connection.class).getThreadId();
+      Future<Long> waiting =
+          exec.submit(
+              () -> {
+                try (Connection connection = pool.getConnection()) {
+                  return connection.unwrap(org.mariadb.jdbc.Connection.class).getThreadId();
+                }
+              });
+      Thread.sleep(100);
+      con1.close();
+      assertEquals(threadId, waiting.get(10, TimeUnit.SECONDS));
+      exec.shutdown();
+      con2.close();
+    }
+  }
+
   @Test
   public void testPrepareReset() throws SQLException {
     try (MariaDbPoolDataSource pool =
@@ -743,6 +922,81 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void prepareWarmup() throws SQLException {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=1&useServerPrepStmts&prepareWarmupSql=SELECT ?;SELECT ? +"
+                + " 1;SELECT * FROM nonExistingWarmupTable")) {
+      try (Connection connection = pool.getConnection()) {
+        // failing command is ignored, others are already prepared
+        assertEquals(3, preparedCount(connection));
+        try (PreparedStatement prep = connection.prepareStatement("SELECT ? + 1")) {
+          prep.setInt(1, 1);
+          ResultSet rs = prep.executeQuery();
+          assertTrue(rs.next());
+          assertEquals(2, rs.getInt(1));
+        }
+        assertEquals(3, preparedCount(connection));
+      }
+    }
+  }
+
+  @Test
+  public void prepareWarmupLearned() throws SQLException {
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=2&minPoolSize=1&useServerPrepStmts&prepareWarmupSize=2"
+                + "&registerJmxPool=false")) {
+      String[] sqls = {"SELECT ? + 2", "SELECT ?", "SELECT ? + 1"};
+      try (Connection connection = pool.getConnection()) {
+        // "SELECT ? + 2" used once, "SELECT ?" twice, "SELECT ? + 1" 3 times
+        for (int i = 0; i < sqls.length; i++) {
+          for (int j = 0; j <= i; j++) {
+            try (PreparedStatement prep = connection.prepareStatement(sqls[i])) {
+              prep.setInt(1, 1);
+              prep.executeQuery();
+            }
+          }
+        }
+      }
+
+      // use is learned when connection is released: new connection has most used prepared
+      try (Connection connection = pool.getConnection()) {
+        try (Connection connection2 = pool.getConnection()) {
+          assertNotEquals(
+              connection.unwrap(org.mariadb.jdbc.Connection.class).getThreadId(),
+              connection2.unwrap(org.mariadb.jdbc.Connection.class).getThreadId());
+          assertEquals(2, preparedCount(connection2));
+          for (String sql : new String[] {"SELECT ? + 1", "SELECT ?"}) {
+            try (PreparedStatement prep = connection2.prepareStatement(sql)) {
+              prep.setInt(1, 1);
+              prep.executeQuery();
+            }
+          }
+          assertEquals(2, preparedCount(connection2));
+
+          // least used command is not prepared
+          try (PreparedStatement prep = connection2.prepareStatement("SELECT ? + 2")) {
+            prep.setInt(1, 1);
+            prep.executeQuery();
+          }
+          assertEquals(3, preparedCount(connection2));
+        }
+      }
+    }
+  }
+
+  private static int preparedCount(Connection connection) throws SQLException {
+    try (Statement stmt = connection.createStatement()) {
+      ResultSet rs = stmt.executeQuery("SHOW SESSION STATUS LIKE 'Com_stmt_prepare'");
+      assertTrue(rs.next());
+      return rs.getInt(2);
+    }
+  }
+
   @Test
   @SuppressWarnings("try")
   public void pools() throws SQLException {
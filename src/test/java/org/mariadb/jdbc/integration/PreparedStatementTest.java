@@ -10,8 +10,13 @@ import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.*;
+import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.MariaDbBlob;
 import org.mariadb.jdbc.Statement;
@@ -52,6 +57,58 @@ public class PreparedStatementTest extends Common {
         .toString();
   }
 
+  @Test
+  public void executeAsync() throws Exception {
+    executeAsync(sharedConn);
+    executeAsync(sharedConnBinary);
+  }
+
+  private void executeAsync(Connection con) throws Exception {
+    Statement stmt = con.createStatement();
+    stmt.execute("TRUNCATE prepare5");
+    try (BasePreparedStatement prep =
+            (BasePreparedStatement) con.prepareStatement("SELECT ?, t1 FROM prepare4");
+        BasePreparedStatement insert =
+            (BasePreparedStatement) con.prepareStatement("INSERT INTO prepare5 VALUES (?)")) {
+      assertThrowsContains(
+          SQLException.class,
+          () -> prep.executeQueryAsync("SELECT 1"),
+          "executeQueryAsync(String sql) cannot be called on preparedStatement");
+
+      // parameters can be changed once command is sent
+      List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        prep.setInt(1, i);
+        futures.add(prep.executeQueryAsync());
+      }
+      for (int i = 0; i < 100; i++) {
+        insert.setInt(1, i);
+        insert.addBatch();
+      }
+      CompletableFuture<int[]> batch = insert.executeBatchAsync();
+
+      for (int i = 0; i < 10; i++) {
+        ResultSet rs = futures.get(i).get(10, TimeUnit.SECONDS);
+        for (int j = 1; j <= 5; j++) {
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+          assertEquals(j, rs.getInt(2));
+        }
+        assertFalse(rs.next());
+      }
+      int[] updateCounts = batch.get(10, TimeUnit.SECONDS);
+      assertEquals(100, updateCounts.length);
+      for (int updateCount : updateCounts) assertEquals(1, updateCount);
+
+      prep.clearParameters();
+      assertThrowsContains(
+          SQLException.class, prep::executeQueryAsync, "Parameter at position 1 is not set");
+    }
+    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM prepare5");
+    assertTrue(rs.next());
+    assertEquals(100, rs.getInt(1));
+  }
+
   @Test
   public void prep() throws SQLException {
     try (PreparedStatement stmt = sharedConn.prepareStatement("SELECT ?")) {
@@ -1562,4 +1619,39 @@ public class PreparedStatementTest extends Common {
       }
     }
   }
+
+  @Test
+  public void sessionLimitsKeepServerPrepare() throws SQLException {
+    // sequence engine
+    Assumptions.assumeTrue(isMariaDBServer());
+    try (Connection con = createCon("&useServerPrepStmts")) {
+      int initialPrepareCount = preparedCount(con);
+      int[][] limits = {{0, 0}, {10, 2}, {0, 3}, {5, 0}, {0, 0}};
+      for (int i = 0; i < 2; i++) {
+        // second loop use statement from prepare cache
+        try (PreparedStatement prep =
+            con.prepareStatement("SELECT * FROM seq_1_to_10 WHERE seq > ?")) {
+          for (int[] limit : limits) {
+            prep.setQueryTimeout(limit[0]);
+            prep.setMaxRows(limit[1]);
+            prep.setInt(1, 0);
+            ResultSet rs = prep.executeQuery();
+            int rowCount = 0;
+            while (rs.next()) rowCount++;
+            assertEquals(limit[1] == 0 ? 10 : limit[1], rowCount);
+          }
+        }
+      }
+      // limits changes are done by session variables, not by preparing a new command
+      assertEquals(1, preparedCount(con) - initialPrepareCount);
+    }
+  }
+
+  private static int preparedCount(Connection con) throws SQLException {
+    try (Statement stmt = con.createStatement()) {
+      ResultSet rs = stmt.executeQuery("SHOW SESSION STATUS LIKE 'Com_stmt_prepare'");
+      assertTrue(rs.next());
+      return rs.getInt(2);
+    }
+  }
 }
@@ -0,0 +1,209 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.BasePreparedStatement;
+import org.mariadb.jdbc.Row;
+import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.result.RowSubscription;
+
+public class RowSubscriptionTest extends Common {
+
+  private static ExecutorService executor;
+
+  @BeforeAll
+  public static void beforeAll2() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterAll
+  public static void afterAll2() {
+    executor.shutdown();
+  }
+
+  private static class SumListener implements RowSubscription.Listener {
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private final long step;
+    private RowSubscription subscription;
+    private long sum;
+    private long received;
+    private long requested;
+
+    SumListener(long step) {
+      this.step = step;
+    }
+
+    void start(RowSubscription subscription) {
+      this.subscription = subscription;
+      request();
+    }
+
+    private void request() {
+      requested += step;
+      subscription.request(step);
+    }
+
+    @Override
+    public void onNext(Row row) {
+      try {
+        assertTrue(++received <= requested, "more rows than requested");
+        sum += row.getLong(1);
+        assertEquals(row.getLong(1), row.getObject("seq", Long.class));
+        if (received == requested) request();
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      future.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      future.complete(sum);
+    }
+  }
+
+  @Test
+  public void demand() throws Exception {
+    demand(sharedConn);
+    demand(sharedConnBinary);
+    try (Connection con = createCon("streamingPrefetch=2")) {
+      demand(con);
+    }
+  }
+
+  private void demand(Connection con) throws Exception {
+    String sql = "SELECT seq FROM sequence_1_to_10000";
+    for (long step : new long[] {1, 7, 100, 20_000, Long.MAX_VALUE}) {
+      Statement stmt = con.createStatement().unwrap(Statement.class);
+      SumListener listener = new SumListener(step);
+      listener.start(new RowSubscription(stmt, sql, listener, executor));
+      assertEquals(50_005_000L, listener.future.get(10, TimeUnit.SECONDS));
+      assertEquals(0, stmt.getFetchSize());
+    }
+
+    BasePreparedStatement prep =
+        con.prepareStatement("SELECT seq FROM sequence_1_to_10000 WHERE seq > ?")
+            .unwrap(BasePreparedStatement.class);
+    prep.setInt(1, 100);
+    SumListener listener = new SumListener(10);
+    listener.start(new RowSubscription(prep, null, listener, executor));
+    assertEquals(50_005_000L - 5050L, listener.future.get(10, TimeUnit.SECONDS));
+    prep.close();
+
+    // connection is usable after completion
+    ResultSet rs = con.createStatement().executeQuery("SELECT 1");
+    assertTrue(rs.next());
+    assertEquals(1, rs.getInt(1));
+  }
+
+  @Test
+  public void cancel() throws Exception {
+    Statement stmt = sharedConn.createStatement().unwrap(Statement.class);
+    CompletableFuture<Integer> cancelled = new CompletableFuture<>();
+    AtomicReference<RowSubscription> subscription = new AtomicReference<>();
+    RowSubscription.Listener listener =
+        new RowSubscription.Listener() {
+          private int received;
+
+          @Override
+          public void onNext(Row row) {
+            if (++received == 50) {
+              subscription.get().cancel();
+              cancelled.complete(received);
+            } else if (received > 50) {
+              cancelled.completeExceptionally(new IllegalStateException("row after cancel"));
+            }
+          }
+
+          @Override
+          public void onError(Throwable throwable) {
+            cancelled.completeExceptionally(throwable);
+          }
+
+          @Override
+          public void onComplete() {
+            cancelled.completeExceptionally(new IllegalStateException("completed"));
+          }
+        };
+    subscription.set(
+        new RowSubscription(stmt, "SELECT * FROM sequence_1_to_100000", listener, executor));
+    subscription.get().request(1000);
+    assertEquals(50, cancelled.get(10, TimeUnit.SECONDS));
+    subscription.get().request(1000);
+
+    // wait for draining to end, then connection is usable
+    CompletableFuture<Void> sync = new CompletableFuture<>();
+    executor.execute(() -> sync.complete(null));
+    sync.get(10, TimeUnit.SECONDS);
+    ResultSet rs = sharedConn.createStatement().executeQuery("SELECT 1");
+    assertTrue(rs.next());
+    assertEquals(1, rs.getInt(1));
+  }
+
+  @Test
+  public void errors() throws Exception {
+    Statement stmt = sharedConn.createStatement().unwrap(Statement.class);
+    SumListener listener = new SumListener(10);
+    listener.start(new RowSubscription(stmt, "WRONG QUERY", listener, executor));
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> listener.future.get(10, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof SQLSyntaxErrorException);
+
+    SumListener listener2 = new SumListener(10);
+    RowSubscription subscription =
+        new RowSubscription(stmt, "SELECT * FROM sequence_1_to_10", listener2, executor);
+    subscription.request(0);
+    e = assertThrows(ExecutionException.class, () -> listener2.future.get(10, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  public void runtimeError() throws Exception {
+    // no sql and not a prepared statement: ClassCastException when executing
+    Statement stmt = sharedConn.createStatement().unwrap(Statement.class);
+    SumListener listener = new SumListener(10);
+    RowSubscription subscription = new RowSubscription(stmt, null, listener, executor);
+    listener.start(subscription);
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> listener.future.get(10, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof ClassCastException);
+
+    // draining has ended: new requests are ignored, and connection is usable
+    subscription.request(10);
+    CompletableFuture<Void> sync = new CompletableFuture<>();
+    executor.execute(() -> sync.complete(null));
+    sync.get(10, TimeUnit.SECONDS);
+    ResultSet rs = sharedConn.createStatement().executeQuery("SELECT 1");
+    assertTrue(rs.next());
+    assertEquals(1, rs.getInt(1));
+  }
+
+  @Test
+  public void closedStatement() throws SQLException {
+    Statement stmt = sharedConn.createStatement().unwrap(Statement.class);
+    stmt.close();
+    SumListener listener = new SumListener(10);
+    listener.start(new RowSubscription(stmt, "SELECT 1", listener, executor));
+    assertThrows(ExecutionException.class, () -> listener.future.get(10, TimeUnit.SECONDS));
+  }
+}
@@ -146,6 +146,13 @@ public class SslTest extends Common {
     try (Connection con = createCon("sslMode=trust&useReadAheadInput=false", sslPort)) {
       assertNotNull(getSslVersion(con));
     }
+    try (Connection con = createCon("sslMode=trust&useSocketChannel=true", sslPort)) {
+      assertNotNull(getSslVersion(con));
+      // data bigger than TLS records and transport buffers
+      ResultSet rs = con.createStatement().executeQuery("SELECT REPEAT('a', 100000)");
+      assertTrue(rs.next());
+      assertEquals(100000, rs.getString(1).length());
+    }
   }
 
   @Test
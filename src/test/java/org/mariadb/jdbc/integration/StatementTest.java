@@ -10,8 +10,13 @@ import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.*;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Statement;
@@ -841,6 +846,37 @@ public class StatementTest extends Common {
     stmt.execute("SELECT 1");
   }
 
+  @Test
+  public void sessionLimitsRestoreSessionVariables() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer());
+    try (Connection con = createCon("sessionVariables=sql_select_limit=3,max_statement_time=50")) {
+      Statement stmt = con.createStatement();
+      stmt.setMaxRows(1);
+      stmt.setQueryTimeout(10);
+      ResultSet rs = stmt.executeQuery("SELECT @@sql_select_limit, @@max_statement_time");
+      assertTrue(rs.next());
+      assertEquals(1L, rs.getLong(1));
+      assertEquals(10, rs.getInt(2));
+
+      // back to values set by sessionVariables, not server default
+      stmt.setMaxRows(0);
+      stmt.setQueryTimeout(0);
+      rs = stmt.executeQuery("SELECT @@sql_select_limit, @@max_statement_time");
+      assertTrue(rs.next());
+      assertEquals(3L, rs.getLong(1));
+      assertEquals(50, rs.getInt(2));
+
+      // limits of another statement are not kept
+      Statement stmt2 = con.createStatement();
+      stmt2.setMaxRows(2);
+      stmt2.execute("SELECT 1");
+      rs = stmt.executeQuery("SELECT @@sql_select_limit, @@max_statement_time");
+      assertTrue(rs.next());
+      assertEquals(3L, rs.getLong(1));
+      assertEquals(50, rs.getInt(2));
+    }
+  }
+
   @Test
   public void escaping() throws Exception {
     try (Connection con =
@@ -921,6 +957,29 @@ public class StatementTest extends Common {
         "Query execution was interrupted");
   }
 
+  @Test
+  public void cancelControlConnectionReuse() throws Exception {
+    Assumptions.assumeTrue(
+        !"maxscale".equals(System.getenv("srv"))
+            && !"skysql".equals(System.getenv("srv"))
+            && !"skysql-ha".equals(System.getenv("srv"))
+            && !isXpand());
+    try (Connection con = createCon()) {
+      // first cancel might create control connection
+      con.cancelCurrentQuery();
+      long connections = serverConnections();
+      for (int i = 0; i < 10; i++) con.cancelCurrentQuery();
+      assertEquals(connections, serverConnections());
+    }
+  }
+
+  private long serverConnections() throws SQLException {
+    Statement stmt = sharedConn.createStatement();
+    ResultSet rs = stmt.executeQuery("SHOW GLOBAL STATUS LIKE 'Connections'");
+    assertTrue(rs.next());
+    return rs.getLong(2);
+  }
+
   @Test
   public void fetch() throws SQLException {
     Statement stmt = sharedConn.createStatement();
@@ -949,6 +1008,54 @@ public class StatementTest extends Common {
     assertEquals(200, rs2.getInt(1));
   }
 
+  @Test
+  public void fetchPrefetch() throws SQLException {
+    try (Connection con = createCon("streamingPrefetch=2")) {
+      Statement stmt = con.createStatement();
+      Statement stmt2 = con.createStatement();
+      stmt.setFetchSize(10);
+      ResultSet rs = stmt.executeQuery("select * FROM sequence_1_to_10000");
+      for (int i = 1; i <= 5000; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+      }
+
+      // another command forces remaining rows to be read
+      ResultSet rs2 = stmt2.executeQuery("SELECT 200");
+      assertTrue(rs2.next());
+      assertEquals(200, rs2.getInt(1));
+      for (int i = 5001; i <= 10000; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+      }
+      assertFalse(rs.next());
+
+      // closing unfinished result-set
+      rs = stmt.executeQuery("select * FROM sequence_1_to_10000");
+      assertTrue(rs.next());
+      rs.close();
+      rs2 = stmt2.executeQuery("SELECT 300");
+      assertTrue(rs2.next());
+      assertEquals(300, rs2.getInt(1));
+    }
+  }
+
+  @Test
+  public void fetchAdaptive() throws SQLException {
+    try (Connection con = createCon("streamingMemoryBudget=4096")) {
+      Statement stmt = con.createStatement();
+      stmt.setFetchSize(10);
+      ResultSet rs = stmt.executeQuery("select seq, REPEAT('a', 100) FROM seq_1_to_10000");
+      for (int i = 1; i <= 10000; i++) {
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+      }
+      assertFalse(rs.next());
+      // requested fetch size is kept
+      assertEquals(10, rs.getFetchSize());
+    }
+  }
+
   @Test
   public void fetchUnFinishedSameStatement() throws SQLException {
     Statement stmt = sharedConn.createStatement();
@@ -1092,6 +1199,69 @@ public class StatementTest extends Common {
     }
   }
 
+  @Test
+  public void executeAsync() throws Exception {
+    executeAsync(sharedConn);
+    try (Connection con = createCon("disablePipeline=true")) {
+      executeAsync(con);
+    }
+  }
+
+  private void executeAsync(Connection con) throws Exception {
+    Statement stmt = con.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS executeAsync");
+    stmt.execute("CREATE TABLE executeAsync (t1 int not null primary key auto_increment, t2 int)");
+
+    // several commands in flight, interleaved with synchronous commands
+    List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(stmt.executeQueryAsync("SELECT * FROM sequence_1_to_10000"));
+    }
+    stmt.addBatch("INSERT INTO executeAsync(t2) VALUES (55)");
+    stmt.addBatch("INSERT INTO executeAsync(t2) VALUES (56), (57)");
+    CompletableFuture<int[]> batch = stmt.executeBatchAsync();
+    CompletableFuture<ResultSet> count =
+        stmt.executeQueryAsync("SELECT COUNT(*) FROM executeAsync");
+    ResultSet rs = con.createStatement().executeQuery("SELECT 1");
+    assertTrue(rs.next());
+    assertEquals(1, rs.getInt(1));
+
+    for (CompletableFuture<ResultSet> future : futures) {
+      rs = future.get(10, TimeUnit.SECONDS);
+      int rows = 0;
+      while (rs.next()) rows++;
+      assertEquals(10_000, rows);
+    }
+    assertArrayEquals(new int[] {1, 2}, batch.get(10, TimeUnit.SECONDS));
+    rs = count.get(10, TimeUnit.SECONDS);
+    assertTrue(rs.next());
+    assertEquals(3, rs.getInt(1));
+    assertArrayEquals(new int[0], stmt.executeBatchAsync().get());
+
+    // errors are returned by future
+    CompletableFuture<ResultSet> wrong = stmt.executeQueryAsync("WRONG QUERY");
+    CompletableFuture<ResultSet> noResult = stmt.executeQueryAsync("DO 1");
+    stmt.addBatch("INSERT INTO executeAsync(t2) VALUES (58)");
+    stmt.addBatch("WRONG QUERY");
+    stmt.addBatch("INSERT INTO executeAsync(t2) VALUES (59)");
+    CompletableFuture<int[]> wrongBatch = stmt.executeBatchAsync();
+    ExecutionException e = assertThrows(ExecutionException.class, wrong::get);
+    assertTrue(e.getCause() instanceof SQLSyntaxErrorException);
+    e = assertThrows(ExecutionException.class, noResult::get);
+    assertTrue(
+        e.getCause().getMessage().contains("command does NOT return a result-set as expected"));
+    e = assertThrows(ExecutionException.class, wrongBatch::get);
+    assertTrue(e.getCause() instanceof BatchUpdateException);
+    assertArrayEquals(
+        new int[] {1, Statement.EXECUTE_FAILED, 1},
+        ((BatchUpdateException) e.getCause()).getUpdateCounts());
+
+    rs = stmt.executeQuery("SELECT COUNT(*) FROM executeAsync");
+    assertTrue(rs.next());
+    assertEquals(5, rs.getInt(1));
+    stmt.execute("DROP TABLE executeAsync");
+  }
+
   @Test
   public void executeLargeBatchBasic() throws SQLException {
     executeLargeBatchBasic(sharedConn);
@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.MariaDbPoolDataSource;
+
+/**
+ * Pinning detection: run many virtual threads through driver blocking paths, recording JFR
+ * jdk.VirtualThreadPinned events, and fail if any pinning stack contains driver frames. Only
+ * runs on java 21+.
+ */
+public class VirtualThreadTest extends Common {
+
+  private static ExecutorService virtualThreadExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  @Test
+  public void noPinning() throws Throwable {
+    ExecutorService executor = virtualThreadExecutor();
+    Assumptions.assumeTrue(executor != null, "virtual threads are not available");
+
+    Path dump = Files.createTempFile("mariadb-pinning", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+      recording.start();
+
+      // few connections for many threads: threads wait for pool connections, and small prepare
+      // cache ensure evicted prepare are closed while cache is locked
+      try (MariaDbPoolDataSource pool =
+          new MariaDbPoolDataSource(
+              mDefUrl
+                  + "&maxPoolSize=4&minPoolSize=1&useServerPrepStmts&prepStmtCacheSize=2"
+                  + "&connectTimeout=30000&poolName=virtual")) {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+          final int query = i % 5;
+          futures.add(
+              executor.submit(
+                  () -> {
+                    try (Connection conn = pool.getConnection()) {
+                      try (PreparedStatement prep =
+                          conn.prepareStatement("SELECT ?, " + query + " FROM DUAL")) {
+                        prep.setInt(1, query);
+                        ResultSet rs = prep.executeQuery();
+                        Assertions.assertTrue(rs.next());
+                        Assertions.assertEquals(query, rs.getInt(1));
+                      }
+                    }
+                    return null;
+                  }));
+        }
+        for (Future<?> future : futures) future.get(60, TimeUnit.SECONDS);
+      } finally {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+      }
+
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    try {
+      List<String> pinned = new ArrayList<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+        if (event.getStackTrace() == null) continue;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+          String type = frame.getMethod().getType().getName();
+          if (type.startsWith("org.mariadb.jdbc")
+              && !type.startsWith("org.mariadb.jdbc.integration")) {
+            pinned.add(type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+            break;
+          }
+        }
+      }
+      Assertions.assertTrue(pinned.isEmpty(), "virtual thread pinned in " + pinned);
+    } finally {
+      Files.deleteIfExists(dump);
+    }
+  }
+}
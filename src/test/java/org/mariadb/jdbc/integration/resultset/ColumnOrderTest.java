@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration.resultset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.*;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.integration.Common;
+
+/** Columns read in any order, field offsets being recorded by row. */
+public class ColumnOrderTest extends Common {
+
+  private static final String SQL = "SELECT * FROM columnOrderTest ORDER BY id";
+
+  // values have different lengths and null columns by row, so offsets of a row are wrong for
+  // another one. Texts of 251 bytes and more have 3 or 4 bytes length encoded prefix.
+  private static final String[][] ROWS =
+      new String[][] {
+        {
+          "1", "first", "10000000000", text(250, 'a'), "-3", "1.5", "7", text(251, 'b'), null,
+          null, text(70000, 'c'), "last"
+        },
+        {
+          "2", null, null, text(65536, 'd'), null, "2.25", null, null, "x", "42", "", null
+        },
+        {
+          "3", "", "-1", null, "5", null, "-128", text(300, 'e'), "third", null, text(252, 'f'),
+          "z"
+        }
+      };
+
+  @AfterAll
+  public static void drop() throws SQLException {
+    sharedConn.createStatement().execute("DROP TABLE IF EXISTS columnOrderTest");
+  }
+
+  @BeforeAll
+  public static void beforeAll2() throws SQLException {
+    drop();
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute(
+        "CREATE TABLE columnOrderTest (id int not null primary key, v1 VARCHAR(20), b1 BIGINT, t1"
+            + " MEDIUMTEXT, s1 SMALLINT, d1 DOUBLE, ti TINYINT, t2 MEDIUMTEXT, v2 VARCHAR(20), i2"
+            + " INT, t3 MEDIUMTEXT, v3 VARCHAR(20))");
+    try (PreparedStatement prep =
+        sharedConn.prepareStatement(
+            "INSERT INTO columnOrderTest VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+      for (String[] row : ROWS) {
+        for (int i = 0; i < row.length; i++) prep.setString(i + 1, row[i]);
+        prep.execute();
+      }
+    }
+  }
+
+  private static String text(int length, char c) {
+    char[] chars = new char[length];
+    Arrays.fill(chars, c);
+    return new String(chars);
+  }
+
+  private static void check(ResultSet rs, int row, int column) throws SQLException {
+    String expected = ROWS[row][column - 1];
+    assertEquals(expected, rs.getString(column), "row " + row + " column " + column);
+    assertEquals(expected == null, rs.wasNull());
+  }
+
+  @Test
+  public void columnOrder() throws SQLException {
+    columnOrder(sharedConn.createStatement().executeQuery(SQL));
+    columnOrder(sharedConnBinary.prepareStatement(SQL).executeQuery());
+  }
+
+  private void columnOrder(ResultSet rs) throws SQLException {
+    int columns = ROWS[0].length;
+    Random rnd = new Random(0);
+    for (int row = 0; row < ROWS.length; row++) {
+      assertTrue(rs.next());
+
+      // reverse order: first read walks all row fields
+      for (int column = columns; column >= 1; column--) check(rs, row, column);
+
+      // random order, same column possibly read consecutively
+      for (int i = 0; i < 50; i++) check(rs, row, rnd.nextInt(columns) + 1);
+
+      // same column twice
+      for (int column = 1; column <= columns; column++) {
+        check(rs, row, column);
+        check(rs, row, column);
+      }
+    }
+    assertFalse(rs.next());
+  }
+
+  @Test
+  public void offsetsResetOnNewRow() throws SQLException {
+    offsetsResetOnNewRow(
+        sharedConn
+            .createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+            .executeQuery(SQL));
+    offsetsResetOnNewRow(
+        sharedConnBinary
+            .prepareStatement(SQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+            .executeQuery());
+  }
+
+  private void offsetsResetOnNewRow(ResultSet rs) throws SQLException {
+    int columns = ROWS[0].length;
+    // last column read on each row, so all offsets are known, then next row read from the end
+    for (int row : new int[] {0, 1, 2, 1, 0, 2}) {
+      assertTrue(rs.absolute(row + 1));
+      check(rs, row, columns);
+      check(rs, row, columns - 1);
+      check(rs, row, 4);
+      check(rs, row, 8);
+    }
+
+    // partially known offsets: only first columns read on previous row
+    assertTrue(rs.first());
+    check(rs, 0, 2);
+    assertTrue(rs.next());
+    check(rs, 1, 11);
+    check(rs, 1, 3);
+    assertTrue(rs.previous());
+    check(rs, 0, 9);
+    check(rs, 0, 10);
+    check(rs, 0, 11);
+
+    // typed getters on NULL and non-NULL values
+    assertTrue(rs.absolute(2));
+    assertEquals(42, rs.getInt(10));
+    assertFalse(rs.wasNull());
+    assertEquals(0, rs.getShort(5));
+    assertTrue(rs.wasNull());
+    assertEquals(2.25, rs.getDouble(6));
+    assertFalse(rs.wasNull());
+    assertEquals(0L, rs.getLong(3));
+    assertTrue(rs.wasNull());
+    assertEquals(0, rs.getByte(7));
+    assertTrue(rs.wasNull());
+    assertEquals(2, rs.getInt(1));
+    assertFalse(rs.wasNull());
+  }
+}
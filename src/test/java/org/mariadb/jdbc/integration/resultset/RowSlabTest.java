@@ -0,0 +1,281 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration.resultset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.integration.Common;
+
+/**
+ * Complete result-sets stored in slab chunks (option useSlabRowStorage), or spilled to a temporary
+ * file (option spillThreshold).
+ */
+public class RowSlabTest extends Common {
+
+  private static final int ROWS = 300;
+  private static final String SQL = "SELECT id, t, s FROM rowSlabTest ORDER BY id";
+
+  @AfterAll
+  public static void drop() throws SQLException {
+    sharedConn.createStatement().execute("DROP TABLE IF EXISTS rowSlabTest");
+  }
+
+  @BeforeAll
+  public static void beforeAll2() throws SQLException {
+    drop();
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("CREATE TABLE rowSlabTest (id int not null primary key, t LONGBLOB, s LONGTEXT)");
+    try (PreparedStatement prep =
+        sharedConn.prepareStatement("INSERT INTO rowSlabTest VALUES (?, ?, ?)")) {
+      for (int id = 1; id <= ROWS; id++) {
+        byte[] value = value(id);
+        prep.setInt(1, id);
+        prep.setBytes(2, value);
+        prep.setString(3, new String(value, StandardCharsets.US_ASCII));
+        prep.execute();
+      }
+    }
+  }
+
+  /**
+   * Row value: from 500 to 2000 bytes, so rows are stored in many 128Kb chunks, some rows being
+   * bigger than a chunk.
+   */
+  private static byte[] value(int id) {
+    return value(id, id % 100 == 0 ? 200_000 : 500 + (id * 397) % 1500);
+  }
+
+  private static byte[] value(int id, int length) {
+    byte[] value = new byte[length];
+    for (int i = 0; i < length; i++) value[i] = (byte) ('A' + (id + i) % 26);
+    return value;
+  }
+
+  private static byte[] readAll(InputStream is) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buf = new byte[8192];
+    int len;
+    while ((len = is.read(buf)) != -1) out.write(buf, 0, len);
+    return out.toByteArray();
+  }
+
+  private static void checkRow(ResultSet rs, int id) throws SQLException {
+    assertEquals(id, rs.getInt(1));
+    assertArrayEquals(value(id), rs.getBytes(2));
+    assertEquals(new String(value(id), StandardCharsets.US_ASCII), rs.getString(3));
+    assertFalse(rs.wasNull());
+  }
+
+  private static void checkStreams(ResultSet rs, int id) throws Exception {
+    assertArrayEquals(value(id), readAll(rs.getBinaryStream(2)));
+    assertArrayEquals(value(id), readAll(rs.getAsciiStream(3)));
+    // other getters still read row data after streams pinned it
+    checkRow(rs, id);
+  }
+
+  @Test
+  public void slabNavigation() throws Exception {
+    navigation("useSlabRowStorage=true");
+    navigation("useSlabRowStorage=true&useServerPrepStmts=true");
+  }
+
+  private void navigation(String option) throws Exception {
+    try (Connection con = createCon(option);
+        PreparedStatement prep =
+            con.prepareStatement(
+                SQL, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)) {
+      ResultSet rs = prep.executeQuery();
+      scroll(rs);
+
+      // streams alias row data
+      for (int id = 1; id <= ROWS; id++) {
+        assertTrue(rs.absolute(id));
+        checkStreams(rs, id);
+      }
+
+      // storage is now pinned
+      scroll(rs);
+      rs.close();
+    }
+  }
+
+  /**
+   * Navigate in all directions, checking each row reached. Rows being stored one after the other,
+   * this reads rows on both sides of chunk boundaries, and rows bigger than a chunk.
+   */
+  private static void scroll(ResultSet rs) throws SQLException {
+    rs.beforeFirst();
+    for (int id = 1; id <= ROWS; id++) {
+      assertTrue(rs.next());
+      checkRow(rs, id);
+    }
+    assertFalse(rs.next());
+    assertTrue(rs.isAfterLast());
+
+    assertTrue(rs.last());
+    checkRow(rs, ROWS);
+    assertTrue(rs.previous());
+    checkRow(rs, ROWS - 1);
+    assertTrue(rs.absolute(1));
+    checkRow(rs, 1);
+    assertFalse(rs.previous());
+    assertTrue(rs.isBeforeFirst());
+    assertTrue(rs.absolute(150));
+    checkRow(rs, 150);
+    assertTrue(rs.absolute(-1));
+    checkRow(rs, ROWS);
+    assertTrue(rs.relative(-100));
+    checkRow(rs, ROWS - 100);
+    assertTrue(rs.relative(42));
+    checkRow(rs, ROWS - 58);
+    assertFalse(rs.relative(ROWS));
+    assertTrue(rs.isAfterLast());
+
+    rs.beforeFirst();
+    assertTrue(rs.isBeforeFirst());
+    assertTrue(rs.next());
+    checkRow(rs, 1);
+    rs.afterLast();
+    assertTrue(rs.previous());
+    checkRow(rs, ROWS);
+
+    for (int id = ROWS - 1; id >= 1; id--) {
+      assertTrue(rs.previous());
+      checkRow(rs, id);
+    }
+
+    Random rnd = new Random(0);
+    for (int i = 0; i < 500; i++) {
+      int id = rnd.nextInt(ROWS) + 1;
+      assertTrue(rs.absolute(id));
+      checkRow(rs, id);
+    }
+  }
+
+  @Test
+  public void spillNavigation() throws Exception {
+    // rows are moved to file after the first ones, and read through a 128Kb window, reloaded when
+    // scrolling out of it, backward or forward
+    navigation("spillThreshold=65536");
+    navigation("spillThreshold=65536&useServerPrepStmts=true");
+    // all rows in file
+    navigation("spillThreshold=1");
+  }
+
+  @Test
+  public void spillFileErrors() throws Exception {
+    try (Connection con = createCon("spillThreshold=65536")) {
+      Statement stmt =
+          con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+
+      // temporary file is closed when thread is interrupted, socket reading is not
+      Thread.currentThread().interrupt();
+      try {
+        assertThrowsContains(
+            SQLException.class,
+            () -> stmt.executeQuery(SQL),
+            "Error writing result-set to temporary file");
+      } finally {
+        Thread.interrupted();
+      }
+
+      // result-set has nevertheless been entirely read
+      ResultSet rs = stmt.executeQuery(SQL);
+      assertTrue(rs.last());
+      checkRow(rs, ROWS);
+
+      Thread.currentThread().interrupt();
+      try {
+        assertThrowsContains(
+            SQLException.class, () -> rs.absolute(1), "Error reading result-set temporary file");
+      } finally {
+        Thread.interrupted();
+      }
+      // file is closed: next reads fail too, never returning previous window content
+      assertThrowsContains(
+          SQLException.class, () -> rs.absolute(1), "Error reading result-set temporary file");
+      rs.close();
+
+      ResultSet rs2 = stmt.executeQuery("SELECT 1");
+      assertTrue(rs2.next());
+      assertEquals(1, rs2.getInt(1));
+    }
+  }
+
+  @Test
+  public void slabStreamsOutliveResultSet() throws Exception {
+    try (Connection con = createCon("useSlabRowStorage=true")) {
+      Statement stmt = con.createStatement();
+      ResultSet rs = stmt.executeQuery(SQL);
+      InputStream[] binaryStreams = new InputStream[ROWS + 1];
+      InputStream[] asciiStreams = new InputStream[ROWS + 1];
+      for (int id = 1; id <= ROWS; id++) {
+        assertTrue(rs.next());
+        binaryStreams[id] = rs.getBinaryStream(2);
+        asciiStreams[id] = rs.getAsciiStream(3);
+      }
+      rs.close();
+
+      // storage of closed result-set must not be reused while streams are alive
+      rs = stmt.executeQuery("SELECT id, s, t FROM rowSlabTest ORDER BY id DESC");
+      for (int id = ROWS; id >= 1; id--) {
+        assertTrue(rs.next());
+        assertArrayEquals(value(id), rs.getBytes(3));
+      }
+      rs.close();
+
+      for (int id = 1; id <= ROWS; id++) {
+        assertArrayEquals(value(id), readAll(binaryStreams[id]));
+        assertArrayEquals(value(id), readAll(asciiStreams[id]));
+      }
+    }
+  }
+
+  @Test
+  public void slabMultiPacketRows() throws Exception {
+    Assumptions.assumeTrue(getMaxAllowedPacket() > 40 * 1024 * 1024);
+    try (Connection con = createCon("useSlabRowStorage=true")) {
+      Statement stmt = con.createStatement();
+      stmt.execute("CREATE TEMPORARY TABLE rowSlabMultiPacket (id int, t LONGBLOB)");
+      // rows of 2 packets, and a row of exactly 0xffffff bytes (id: 2 bytes, data length prefix:
+      // 4 bytes) that is followed by an empty packet
+      int[] lengths = {10, 17 * 1024 * 1024, 20, 0xffffff - 6, 30};
+      try (PreparedStatement prep =
+          con.prepareStatement("INSERT INTO rowSlabMultiPacket VALUES (?, ?)")) {
+        for (int id = 1; id <= lengths.length; id++) {
+          prep.setInt(1, id);
+          prep.setBytes(2, value(id, lengths[id - 1]));
+          prep.execute();
+        }
+      }
+
+      ResultSet rs =
+          con.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+              .executeQuery("SELECT id, t FROM rowSlabMultiPacket ORDER BY id");
+      for (int id = 1; id <= lengths.length; id++) {
+        assertTrue(rs.next());
+        assertEquals(id, rs.getInt(1));
+        assertArrayEquals(value(id, lengths[id - 1]), rs.getBytes(2));
+      }
+      assertFalse(rs.next());
+      for (int id = lengths.length; id >= 1; id--) {
+        assertTrue(rs.previous());
+        assertEquals(id, rs.getInt(1));
+        assertArrayEquals(value(id, lengths[id - 1]), readAll(rs.getBinaryStream(2)));
+      }
+      assertTrue(rs.absolute(3));
+      assertArrayEquals(value(3, lengths[2]), rs.getBytes(2));
+    }
+  }
+}
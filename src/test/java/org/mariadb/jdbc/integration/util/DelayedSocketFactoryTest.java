@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration.util;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.SocketFactory;
+
+/** Socket factory permitting to simulate slow connection creation, or connection failures. */
+public class DelayedSocketFactoryTest extends SocketFactory {
+  /** delay before creating socket, in milliseconds */
+  public static volatile long delay = 0;
+
+  /** number of socket that can still be created, negative for no limit */
+  public static final AtomicInteger remaining = new AtomicInteger(-1);
+
+  final SocketFactory socketFactory = SocketFactory.getDefault();
+
+  public DelayedSocketFactoryTest() {}
+
+  private static void await() throws IOException {
+    int current;
+    do {
+      current = remaining.get();
+      if (current == 0) throw new IOException("socket creation refused");
+    } while (current > 0 && !remaining.compareAndSet(current, current - 1));
+    if (delay > 0) {
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      }
+    }
+  }
+
+  @Override
+  public Socket createSocket() throws IOException {
+    await();
+    return socketFactory.createSocket();
+  }
+
+  @Override
+  public Socket createSocket(String s, int i) throws IOException {
+    await();
+    return socketFactory.createSocket(s, i);
+  }
+
+  @Override
+  public Socket createSocket(String s, int i, InetAddress inetAddress, int i1) throws IOException {
+    await();
+    return socketFactory.createSocket(s, i, inetAddress, i1);
+  }
+
+  @Override
+  public Socket createSocket(InetAddress inetAddress, int i) throws IOException {
+    await();
+    return socketFactory.createSocket(inetAddress, i);
+  }
+
+  @Override
+  public Socket createSocket(InetAddress inetAddress, int i, InetAddress inetAddress1, int i1)
+      throws IOException {
+    await();
+    return socketFactory.createSocket(inetAddress, i, inetAddress1, i1);
+  }
+}
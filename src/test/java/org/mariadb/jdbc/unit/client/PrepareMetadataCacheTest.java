@@ -0,0 +1,196 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.impl.PrepareMetadataCache;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.RowSlab;
+
+public class PrepareMetadataCacheTest {
+
+  private static byte[] column(String name, DataType type) {
+    return column(name, type, false);
+  }
+
+  private static byte[] column(String name, DataType type, boolean extendedMetadata) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String s : new String[] {"def", "db", "t", "t", name, name}) {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      out.write(bytes.length);
+      out.write(bytes, 0, bytes.length);
+    }
+    if (extendedMetadata) out.write(0); // no extended info
+    out.write(0x0c);
+    out.write(new byte[] {33, 0, 10, 0, 0, 0, (byte) type.get(), 0, 0, 0, 0, 0}, 0, 12);
+    return out.toByteArray();
+  }
+
+  @Test
+  public void sharedMetadata() throws IOException {
+    PrepareMetadataCache cache = PrepareMetadataCache.INSTANCE;
+    cache.clear();
+    byte[] id = column("id", DataType.INTEGER);
+    byte[] val = column("val", DataType.VARSTRING);
+
+    FakeReader reader = new FakeReader(id, val);
+    ColumnDecoder[] first = cache.readColumns("db|SELECT * FROM t", 2, reader, false, false);
+    assertEquals(1, cache.size());
+    assertEquals("id", first[0].getColumnName());
+    assertEquals("val", first[1].getColumnName());
+
+    // identical metadata: shared decoders, no packet allocated
+    reader = new FakeReader(id, val);
+    assertSame(first, cache.readColumns("db|SELECT * FROM t", 2, reader, false, false));
+    assertEquals(0, reader.allocatedPackets);
+    assertTrue(reader.packets.isEmpty());
+
+    // other schema
+    reader = new FakeReader(id, val);
+    ColumnDecoder[] otherSchema =
+        cache.readColumns("db2|SELECT * FROM t", 2, reader, false, false);
+    assertNotSame(first, otherSchema);
+    assertEquals(2, cache.size());
+
+    // metadata changed (table altered): decoded again, and replaces cached metadata
+    byte[] val2 = column("val2", DataType.BIGINT);
+    reader = new FakeReader(id, val2);
+    ColumnDecoder[] changed = cache.readColumns("db|SELECT * FROM t", 2, reader, false, false);
+    assertTrue(reader.packets.isEmpty());
+    assertSame(first[0], changed[0]);
+    assertEquals("val2", changed[1].getColumnName());
+    assertEquals(DataType.BIGINT, changed[1].getType());
+    reader = new FakeReader(id, val2);
+    assertSame(changed, cache.readColumns("db|SELECT * FROM t", 2, reader, false, false));
+
+    // different column number
+    reader = new FakeReader(id);
+    ColumnDecoder[] one = cache.readColumns("db|SELECT * FROM t", 1, reader, false, false);
+    assertEquals(1, one.length);
+    assertEquals(1, reader.allocatedPackets);
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void extendedMetadata() throws IOException {
+    PrepareMetadataCache cache = PrepareMetadataCache.INSTANCE;
+    cache.clear();
+    ColumnDecoder[] std =
+        cache.readColumns(
+            "db|SELECT id FROM t",
+            1,
+            new FakeReader(column("id", DataType.INTEGER)),
+            false,
+            false);
+
+    // connection with extended metadata: cached entry is not compared, columns are decoded
+    byte[] extendedId = column("id", DataType.INTEGER, true);
+    FakeReader reader = new FakeReader(extendedId);
+    ColumnDecoder[] extended = cache.readColumns("db|SELECT id FROM t", 1, reader, true, false);
+    assertNotSame(std, extended);
+    assertEquals(1, reader.allocatedPackets);
+    assertEquals("id", extended[0].getColumnName());
+    assertEquals(DataType.INTEGER, extended[0].getType());
+
+    reader = new FakeReader(extendedId);
+    assertSame(extended, cache.readColumns("db|SELECT id FROM t", 1, reader, true, false));
+    assertEquals(0, reader.allocatedPackets);
+    cache.clear();
+  }
+
+  @Test
+  public void concurrentNameAccess() throws Exception {
+    ColumnDecoder decoder =
+        ColumnDecoder.decodeStd(new StandardReadableByteBuf(column("someName", DataType.INTEGER)));
+    Thread[] threads = new Thread[4];
+    String[] errors = new String[1];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 100_000; j++) {
+                  if (!"someName".equals(decoder.getColumnName())
+                      || !"t".equals(decoder.getTable())
+                      || !"db".equals(decoder.getSchema())) {
+                    errors[0] = "wrong name";
+                  }
+                }
+              });
+      threads[i].start();
+    }
+    for (Thread thread : threads) thread.join();
+    assertNull(errors[0]);
+  }
+
+  private static final class FakeReader implements Reader {
+    private final Deque<byte[]> packets = new ArrayDeque<>();
+    private final byte[] reusable = new byte[1024];
+    private int allocatedPackets;
+
+    FakeReader(byte[]... packets) {
+      for (byte[] packet : packets) this.packets.add(packet);
+    }
+
+    @Override
+    public ReadableByteBuf readReusablePacket(boolean traceEnable) {
+      byte[] packet = packets.poll();
+      // reusable buffer doesn't start at 0 nor end at packet end
+      System.arraycopy(packet, 0, reusable, 10, packet.length);
+      StandardReadableByteBuf buf = new StandardReadableByteBuf(reusable, 10 + packet.length);
+      buf.pos(10);
+      return buf;
+    }
+
+    @Override
+    public ReadableByteBuf readReusablePacket() {
+      return readReusablePacket(false);
+    }
+
+    @Override
+    public byte[] readPacket(boolean traceEnable) {
+      allocatedPackets++;
+      return packets.poll().clone();
+    }
+
+    @Override
+    public void readPacket(RowSlab slab, boolean traceEnable) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ReadableByteBuf readableBufFromArray(byte[] buf) {
+      return new StandardReadableByteBuf(buf);
+    }
+
+    @Override
+    public void skipPacket() {
+      packets.poll();
+    }
+
+    @Override
+    public MutableByte getSequence() {
+      return new MutableByte();
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public void setServerThreadId(Long serverThreadId, HostAddress hostAddress) {}
+  }
+}
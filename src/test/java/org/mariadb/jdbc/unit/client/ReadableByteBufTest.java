@@ -0,0 +1,72 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+
+public class ReadableByteBufTest {
+
+  private static StandardReadableByteBuf buf(String value) {
+    // value is followed by other data, that must not be read
+    byte[] bytes = (value + "9;").getBytes(StandardCharsets.US_ASCII);
+    return new StandardReadableByteBuf(bytes);
+  }
+
+  private static void checkDouble(String value) {
+    StandardReadableByteBuf buf = buf(value);
+    assertEquals(Double.parseDouble(value), buf.atod(value.length()), value);
+    assertEquals(value.length(), buf.pos());
+  }
+
+  private static void checkFloat(String value) {
+    StandardReadableByteBuf buf = buf(value);
+    assertEquals(Float.parseFloat(value), buf.atof(value.length()), value);
+    assertEquals(value.length(), buf.pos());
+  }
+
+  @Test
+  public void atod() {
+    String[] values = {
+      "0", "-0", "-0.0", "1", "-1", "+12", "12.5", "0.1", "0.3", "-1.25e2", "1E-5", "1e+22",
+      "1e23", "1.7976931348623157E308", "4.9E-324", "123456789012345678", "1234567890123456789",
+      "9007199254740993", "0.000000000000000000001", "3.14159", "100.", ".5", "2.5e-30"
+    };
+    for (String value : values) {
+      checkDouble(value);
+      checkFloat(value);
+    }
+    Random random = new Random(0);
+    for (int i = 0; i < 100_000; i++) {
+      checkDouble(String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+      checkDouble(String.valueOf((random.nextInt(2_000_000) - 1_000_000) / 1000d));
+      float scale = (float) Math.pow(10, random.nextInt(20) - 10);
+      checkFloat(String.valueOf(random.nextFloat() * scale));
+      checkFloat(String.valueOf((random.nextInt(2_000_000) - 1_000_000) / 1000f));
+    }
+  }
+
+  @Test
+  public void wrongFormat() {
+    for (String value : new String[] {"", "-", "e5", "1e", "1e-", "1..2", "abc"}) {
+      assertThrows(NumberFormatException.class, () -> buf(value).atod(value.length()), value);
+      assertThrows(NumberFormatException.class, () -> buf(value).atof(value.length()), value);
+    }
+  }
+
+  @Test
+  public void readTextBoolean() {
+    assertFalse(buf("0").readTextBoolean(1));
+    assertTrue(buf("1").readTextBoolean(1));
+    assertTrue(buf("00").readTextBoolean(2));
+    assertTrue(buf("-1").readTextBoolean(2));
+    StandardReadableByteBuf buf = buf("0");
+    buf.readTextBoolean(1);
+    assertEquals(1, buf.pos());
+  }
+}
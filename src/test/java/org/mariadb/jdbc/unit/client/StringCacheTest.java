@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.util.StringCache;
+
+public class StringCacheTest {
+
+  private static String read(StringCache cache, String prefix, String value) {
+    byte[] bytes = (prefix + value + ";").getBytes(StandardCharsets.UTF_8);
+    StandardReadableByteBuf buf = new StandardReadableByteBuf(bytes);
+    int start = prefix.getBytes(StandardCharsets.UTF_8).length;
+    int length = value.getBytes(StandardCharsets.UTF_8).length;
+    buf.pos(start);
+    String str = cache.readString(buf, length);
+    assertEquals(value, str);
+    assertEquals(start + length, buf.pos());
+    return str;
+  }
+
+  @Test
+  public void sharedInstances() {
+    StringCache cache = new StringCache(16);
+    String active = read(cache, "", "ACTIVE");
+    assertSame(active, read(cache, "xx", "ACTIVE"));
+    assertSame(active, read(cache, "somePrefix", "ACTIVE"));
+    String fr = read(cache, "", "Île-de-France");
+    assertSame(fr, read(cache, "é", "Île-de-France"));
+    assertEquals("", read(cache, "a", ""));
+    assertNotSame(active, read(cache, "", "ACTIVe"));
+  }
+
+  @Test
+  public void boundedSize() {
+    StringCache cache = new StringCache(4);
+    for (int i = 0; i < 1000; i++) read(cache, "", "value" + i);
+
+    // values longer than limit are not cached
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i <= StringCache.MAX_LENGTH; i++) sb.append('a');
+    String big = sb.toString();
+    assertNotSame(read(cache, "", big), read(cache, "", big));
+    String max = big.substring(1);
+    assertSame(read(cache, "", max), read(cache, "", max));
+  }
+
+  @Test
+  public void maxSize() {
+    StringCache cache = new StringCache(Integer.MAX_VALUE);
+    assertSame(read(cache, "", "ACTIVE"), read(cache, "x", "ACTIVE"));
+
+    SQLException e =
+        assertThrows(
+            SQLException.class,
+            () -> Configuration.parse("jdbc:mariadb://localhost/db?stringCacheSize=2000000000"));
+    assertTrue(e.getMessage().contains("stringCacheSize must be between 0 and 65536"));
+    assertEquals(
+        StringCache.MAX_SIZE,
+        Configuration.parse("jdbc:mariadb://localhost/db?stringCacheSize=65536").stringCacheSize());
+  }
+}
@@ -0,0 +1,83 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.result;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.result.ColumnLabelIndex;
+
+public class ColumnLabelIndexTest {
+
+  private static ColumnDecoder column(String tableAlias, String alias) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String s : new String[] {"def", "db", tableAlias, "t", alias, "name"}) {
+      byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+      out.write(bytes.length);
+      out.write(bytes, 0, bytes.length);
+    }
+    out.write(0x0c);
+    out.write(new byte[] {33, 0, 10, 0, 0, 0, (byte) DataType.INTEGER.get(), 0, 0, 0, 0, 0}, 0, 12);
+    return ColumnDecoder.decodeStd(new StandardReadableByteBuf(out.toByteArray()));
+  }
+
+  @Test
+  public void indexOf() {
+    ColumnDecoder[] columns =
+        new ColumnDecoder[] {
+          column("t1", "id"), column("t2", "id"), column("t2", "Val"), column("t2", "Élan")
+        };
+    ColumnLabelIndex index = new ColumnLabelIndex(columns);
+    assertTrue(index.isFor(columns));
+    assertFalse(index.isFor(columns.clone()));
+
+    // duplicate labels: first column wins
+    assertEquals(1, index.indexOf("id"));
+    assertEquals(1, index.indexOf("ID"));
+    assertEquals(1, index.indexOf("t1.id"));
+    assertEquals(2, index.indexOf("T2.Id"));
+    assertEquals(3, index.indexOf("val"));
+    assertEquals(3, index.indexOf("VAL"));
+    assertEquals(3, index.indexOf("t2.vAl"));
+    assertEquals(4, index.indexOf("élan"));
+    assertEquals(4, index.indexOf("ÉLAN"));
+    assertEquals(4, index.indexOf("t2.Élan"));
+
+    assertEquals(-1, index.indexOf(""));
+    assertEquals(-1, index.indexOf("t3.id"));
+    assertEquals(-1, index.indexOf("va"));
+    assertEquals(-1, index.indexOf("vall"));
+    assertEquals(-1, index.indexOf("elan"));
+    String labels = index.labels();
+    String[] expected = {"id", "t1.id", "t2.id", "val", "t2.val", "élan", "t2.élan"};
+    for (String label : expected) {
+      assertTrue(labels.contains(label), labels);
+    }
+    assertEquals(7, labels.split(",").length);
+  }
+
+  @Test
+  public void manyColumns() {
+    ColumnDecoder[] columns = new ColumnDecoder[500];
+    for (int i = 0; i < columns.length; i++) columns[i] = column("t", "col" + i);
+    ColumnLabelIndex index = new ColumnLabelIndex(columns);
+    for (int i = 0; i < columns.length; i++) {
+      assertEquals(i + 1, index.indexOf("COL" + i));
+      assertEquals(i + 1, index.indexOf("t.col" + i));
+    }
+    assertEquals(-1, index.indexOf("col500"));
+  }
+
+  @Test
+  public void empty() {
+    ColumnLabelIndex index = new ColumnLabelIndex(new ColumnDecoder[0]);
+    assertEquals(-1, index.indexOf("a"));
+    assertEquals("[]", index.labels());
+  }
+}
@@ -0,0 +1,89 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.socket.impl.ChannelTransport;
+
+public class ChannelTransportTest {
+
+  @Test
+  public void echo() throws Exception {
+    try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      int length = 300_000;
+      Thread echo =
+          new Thread(
+              () -> {
+                try (Socket socket = server.accept()) {
+                  InputStream in = socket.getInputStream();
+                  OutputStream out = socket.getOutputStream();
+                  byte[] buf = new byte[7000];
+                  int total = 0;
+                  int read;
+                  while (total < length && (read = in.read(buf)) > 0) {
+                    out.write(buf, 0, read);
+                    total += read;
+                  }
+                  // keep socket open, client read must then time out
+                  in.read();
+                } catch (IOException e) {
+                  // eat
+                }
+              });
+      echo.start();
+
+      SocketChannel channel =
+          SocketChannel.open(
+              new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+      channel.socket().setSoTimeout(5000);
+      ChannelTransport transport = new ChannelTransport(channel);
+
+      byte[] data = new byte[length];
+      for (int i = 0; i < length; i++) data[i] = (byte) (i * 31);
+
+      // writing while reading, since echo doesn't buffer all data
+      OutputStream out = transport.getOutputStream();
+      Thread writer =
+          new Thread(
+              () -> {
+                try {
+                  out.write(data, 0, 100_000);
+                  out.write(data[100_000]);
+                  out.write(data, 100_001, length - 100_001);
+                  out.flush();
+                } catch (IOException e) {
+                  // eat
+                }
+              });
+      writer.start();
+
+      InputStream in = transport.getInputStream();
+      byte[] received = new byte[length];
+      received[0] = (byte) in.read();
+      int pos = 1;
+      int read;
+      while (pos < length && (read = in.read(received, pos, length - pos)) > 0) pos += read;
+      writer.join();
+      Assertions.assertEquals(length, pos);
+      Assertions.assertArrayEquals(data, received);
+
+      channel.socket().setSoTimeout(100);
+      Assertions.assertThrows(SocketTimeoutException.class, in::read);
+
+      in.close();
+      Assertions.assertFalse(channel.isOpen());
+      echo.join();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.socket.impl.CompressInputStream;
+import org.mariadb.jdbc.client.socket.impl.CompressOutputStream;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.plugin.CompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.addon.ZstdCompressionPlugin;
+import org.mariadb.jdbc.plugin.compression.standard.ZlibCompressionPlugin;
+
+public class CompressStreamTest {
+
+  private static final CompressionPlugin ZLIB = new ZlibCompressionPlugin();
+  private static final CompressionPlugin ZSTD = new ZstdCompressionPlugin();
+
+  private static Configuration conf(String options) throws SQLException {
+    return Configuration.parse("jdbc:mariadb://localhost/db?useCompression&" + options);
+  }
+
+  private static byte[] data(int length, boolean compressible) {
+    byte[] data = new byte[length];
+    if (compressible) {
+      for (int i = 0; i < length; i++) data[i] = (byte) ('a' + (i % 7));
+    } else {
+      new Random(length).nextBytes(data);
+    }
+    return data;
+  }
+
+  @Test
+  public void roundTrip() throws IOException, SQLException {
+    for (int level : new int[] {0, 1, 6, 9}) {
+      roundTrip(ZLIB, conf("compressionLevel=" + level));
+    }
+  }
+
+  @Test
+  public void zstdRoundTrip() throws IOException, SQLException {
+    Assertions.assertTrue(ZSTD.isAvailable());
+    for (int level : new int[] {1, 3, 19}) {
+      roundTrip(ZSTD, conf("zstdCompressionLevel=" + level));
+    }
+  }
+
+  private void roundTrip(CompressionPlugin plugin, Configuration conf) throws IOException {
+    byte[][] packets = {
+      data(10, true),
+      data(20_000, true),
+      data(20_000, false),
+      data(5, false),
+      data(300_000, true),
+      data(0x00ffffff + 4 + 100, true)
+    };
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    MutableByte writeSequence = new MutableByte();
+    writeSequence.set((byte) -1);
+    CompressOutputStream out =
+        new CompressOutputStream(bytes, writeSequence, plugin.compressor(conf), 1536);
+    for (byte[] packet : packets) {
+      out.write(packet, 0, packet.length);
+      out.flush();
+    }
+    if (conf.compressionLevel() == 9 || plugin == ZSTD) {
+      // incompressible data is sent uncompressed
+      Assertions.assertTrue(bytes.size() < 0x00ffffff / 10 + 40_000);
+    }
+
+    // read whole packets (decompressed directly) and by small chunks
+    for (int chunk : new int[] {Integer.MAX_VALUE, 1000}) {
+      ByteArrayInputStream sent = new ByteArrayInputStream(bytes.toByteArray());
+      CompressInputStream in =
+          new CompressInputStream(sent, new MutableByte(), plugin.decompressor(conf));
+      for (byte[] packet : packets) {
+        byte[] read = new byte[packet.length];
+        int pos = 0;
+        while (pos < packet.length) {
+          int count = in.read(read, pos, Math.min(chunk, packet.length - pos));
+          Assertions.assertTrue(count > 0);
+          pos += count;
+        }
+        Assertions.assertArrayEquals(
+            packet, read, plugin.type() + " conf " + conf.initialUrl() + " chunk " + chunk);
+      }
+      Assertions.assertEquals(0, in.available());
+    }
+  }
+
+  @Test
+  public void minCompressionSize() throws IOException, SQLException {
+    byte[] packet = data(20_000, true);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    CompressOutputStream out =
+        new CompressOutputStream(bytes, new MutableByte(), ZLIB.compressor(conf("")), 100_000);
+    out.write(packet, 0, packet.length);
+    out.flush();
+    byte[] sent = bytes.toByteArray();
+    Assertions.assertEquals(packet.length + 7, sent.length);
+    // uncompressed length is 0 for not compressed packet
+    Assertions.assertArrayEquals(new byte[3], Arrays.copyOfRange(sent, 4, 7));
+    Assertions.assertArrayEquals(packet, Arrays.copyOfRange(sent, 7, sent.length));
+  }
+}
@@ -0,0 +1,101 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.impl.StandardReadableByteBuf;
+import org.mariadb.jdbc.client.socket.impl.PacketReader;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.RowSlab;
+
+public class PacketReaderTest {
+
+  private static void writePacket(ByteArrayOutputStream out, byte[] payload, int seq) {
+    out.write(payload.length);
+    out.write(payload.length >> 8);
+    out.write(payload.length >> 16);
+    out.write(seq);
+    out.write(payload, 0, payload.length);
+  }
+
+  private static byte[] payload(int length, int seed) {
+    byte[] payload = new byte[length];
+    for (int i = 0; i < length; i++) payload[i] = (byte) (seed + i);
+    return payload;
+  }
+
+  @Test
+  public void readIntoSlab() throws IOException, SQLException {
+    readIntoSlab(new RowSlab(), false);
+  }
+
+  @Test
+  public void readIntoSpilledSlab() throws IOException, SQLException {
+    readIntoSlab(new RowSlab(100_000), true);
+  }
+
+  private void readIntoSlab(RowSlab slab, boolean spilled) throws IOException, SQLException {
+    int[] lengths = {10, 60_000, 80_000, RowSlab.CHUNK_SIZE + 10, 5, 0, 120_000, 70_000, 30};
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int i = 0; i < lengths.length; i++) writePacket(out, payload(lengths[i], i), i);
+    writePacket(out, new byte[] {(byte) 0xFE, 0, 0, 2, 0, 0, 0}, lengths.length);
+
+    PacketReader reader =
+        new PacketReader(
+            new ByteArrayInputStream(out.toByteArray()),
+            Configuration.parse("jdbc:mariadb://localhost/"),
+            new MutableByte());
+    for (int i = 0; i < lengths.length; i++) {
+      reader.readPacket(slab, false);
+      Assertions.assertEquals(lengths[i], slab.pendingLength());
+      slab.commit();
+    }
+    reader.readPacket(slab, false);
+    Assertions.assertEquals((byte) 0xFE, slab.pendingHeader());
+    Assertions.assertArrayEquals(
+        new byte[] {(byte) 0xFE, 0, 0, 2, 0, 0, 0}, slab.pendingCopy());
+    Assertions.assertEquals(lengths.length, slab.size());
+    Assertions.assertEquals(spilled, slab.spilled());
+    Assertions.assertNull(slab.spillError());
+
+    // rows can be read in any order, buffer positioned on row start
+    StandardReadableByteBuf buf = new StandardReadableByteBuf(new byte[0]);
+    int[] order = {8, 7, 6, 5, 4, 3, 2, 1, 0, 1, 2, 5, 8, 0};
+    for (int i : order) {
+      slab.position(i, buf);
+      Assertions.assertEquals(lengths[i], buf.readableBytes());
+      byte[] row = new byte[lengths[i]];
+      buf.readBytes(row);
+      Assertions.assertArrayEquals(payload(lengths[i], i), row);
+      Assertions.assertArrayEquals(payload(lengths[i], i), slab.copy(i));
+
+      // position relative to row start
+      buf.rowPos(0);
+      Assertions.assertEquals(lengths[i], buf.readableBytes());
+    }
+
+    // exposed row data must not change when moving to other rows
+    slab.position(1, buf);
+    buf.rowPos(2);
+    slab.pin(buf);
+    byte[] exposed = buf.buf();
+    int exposedStart = buf.pos() - 2;
+    if (spilled) Assertions.assertEquals(0, exposedStart);
+    slab.position(2, buf);
+    slab.position(7, buf);
+    byte[] row = new byte[lengths[1]];
+    System.arraycopy(exposed, exposedStart, row, 0, row.length);
+    Assertions.assertArrayEquals(payload(lengths[1], 1), row);
+
+    slab.release();
+    Assertions.assertEquals(0, slab.size());
+  }
+}
+
@@ -0,0 +1,78 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.plugin;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.impl.ConnectionHelper;
+import org.mariadb.jdbc.plugin.compression.CompressionPluginLoader;
+import org.mariadb.jdbc.plugin.compression.addon.ZstdCompressionPlugin;
+import org.mariadb.jdbc.util.constants.Capabilities;
+
+public class CompressionPluginLoaderTest {
+
+  private static final long ZLIB = Capabilities.COMPRESS;
+  private static final long ZSTD = Capabilities.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+
+  private static Configuration conf(String options) throws SQLException {
+    return Configuration.parse("jdbc:mariadb://localhost/db?useCompression" + options);
+  }
+
+  @Test
+  public void negotiate() throws SQLException {
+    // zstd-jni is in test classpath
+    assertTrue(new ZstdCompressionPlugin().isAvailable());
+
+    Configuration conf = conf("");
+    assertEquals("zstd,zlib", conf.compressionAlgorithms());
+    assertEquals("zstd", CompressionPluginLoader.negotiate(conf, ZLIB | ZSTD).type());
+    assertEquals("zlib", CompressionPluginLoader.negotiate(conf, ZLIB).type());
+    assertEquals("zstd", CompressionPluginLoader.negotiate(conf, ZSTD).type());
+    assertNull(CompressionPluginLoader.negotiate(conf, 0));
+
+    conf = conf("&compressionAlgorithms=zstd");
+    assertEquals("zstd", CompressionPluginLoader.negotiate(conf, ZLIB | ZSTD).type());
+    assertNull(CompressionPluginLoader.negotiate(conf, ZLIB));
+    conf = conf("&compressionAlgorithms=zlib,zstd");
+    assertEquals("zlib", CompressionPluginLoader.negotiate(conf, ZLIB | ZSTD).type());
+    conf = conf("&compressionAlgorithms=unknown, ZLIB");
+    assertEquals("zlib", CompressionPluginLoader.negotiate(conf, ZLIB | ZSTD).type());
+  }
+
+  @Test
+  public void capabilities() throws SQLException {
+    HostAddress hostAddress = HostAddress.from("localhost", 3306);
+    long clientCapabilities =
+        ConnectionHelper.initializeClientCapabilities(conf(""), ZLIB | ZSTD, hostAddress);
+    assertEquals(ZSTD, clientCapabilities & (ZLIB | ZSTD));
+
+    clientCapabilities =
+        ConnectionHelper.initializeClientCapabilities(
+            conf("&compressionAlgorithms=zlib"), ZLIB | ZSTD, hostAddress);
+    assertEquals(ZLIB, clientCapabilities & (ZLIB | ZSTD));
+
+    clientCapabilities =
+        ConnectionHelper.initializeClientCapabilities(
+            conf("&compressionAlgorithms=zstd"), ZLIB, hostAddress);
+    assertEquals(0, clientCapabilities & (ZLIB | ZSTD));
+
+    clientCapabilities =
+        ConnectionHelper.initializeClientCapabilities(
+            Configuration.parse("jdbc:mariadb://localhost/db"), ZLIB | ZSTD, hostAddress);
+    assertEquals(0, clientCapabilities & (ZLIB | ZSTD));
+  }
+
+  @Test
+  public void levels() {
+    SQLException e = assertThrows(SQLException.class, () -> conf("&zstdCompressionLevel=0"));
+    assertTrue(e.getMessage().contains("zstdCompressionLevel must be between 1 and 22"));
+    e = assertThrows(SQLException.class, () -> conf("&compressionLevel=10"));
+    assertTrue(e.getMessage().contains("compressionLevel must be between 0 and 9"));
+    assertDoesNotThrow(() -> conf("&zstdCompressionLevel=22&compressionLevel=0"));
+  }
+}
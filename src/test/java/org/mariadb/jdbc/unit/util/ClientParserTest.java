@@ -20,7 +20,7 @@ public class ClientParserTest {
     int pos = 0;
     int paramPos = parser.getQuery().length;
     for (int i = 0; i < parser.getParamCount(); i++) {
-      paramPos = parser.getParamPositions().get(i);
+      paramPos = parser.getParamPositions()[i];
       assertEquals(expected[i], new String(parser.getQuery(), pos, paramPos - pos));
       pos = paramPos + 1;
     }
@@ -32,7 +32,7 @@ public class ClientParserTest {
     pos = 0;
     paramPos = parser.getQuery().length;
     for (int i = 0; i < parser.getParamCount(); i++) {
-      paramPos = parser.getParamPositions().get(i);
+      paramPos = parser.getParamPositions()[i];
       assertEquals(expectedNoBackSlash[i], new String(parser.getQuery(), pos, paramPos - pos));
       pos = paramPos + 1;
     }
@@ -50,7 +50,7 @@ public class ClientParserTest {
     int pos = 0;
     int paramPos = parser.getQuery().length;
     for (int i = 0; i < parser.getParamCount(); i++) {
-      paramPos = parser.getParamPositions().get(i);
+      paramPos = parser.getParamPositions()[i];
       sb.append(new String(parser.getQuery(), pos, paramPos - pos, StandardCharsets.UTF_8))
           .append("\n");
       pos = paramPos + 1;
@@ -110,4 +110,64 @@ public class ClientParserTest {
     assertFalse(ClientParser.parameterParts("INSERT _duplicate key", true).isInsertDuplicate());
     assertFalse(ClientParser.parameterParts("INSERT duplicate_ key", true).isInsertDuplicate());
   }
+
+  @Test
+  public void multiValuesRewritable() {
+    ClientParser parser =
+        ClientParser.parameterParts("INSERT INTO t(`values`, b) VALUES (?, 'a)', ?)", false);
+    assertTrue(parser.isMultiValuesRewritable());
+    String sql = parser.getSql();
+    assertEquals(
+        "INSERT INTO t(`values`, b) VALUES ", sql.substring(0, parser.getValuesBracketStart()));
+    assertEquals(
+        "(?, 'a)', ?)",
+        sql.substring(parser.getValuesBracketStart(), parser.getValuesBracketEnd() + 1));
+
+    parser = ClientParser.parameterParts("insert t value(1, ?);", true);
+    assertTrue(parser.isMultiValuesRewritable());
+    assertEquals(14, parser.getValuesBracketStart());
+    assertEquals(19, parser.getValuesBracketEnd());
+
+    assertTrue(rewritable("INSERT INTO t VALUES (1)"));
+    assertFalse(rewritable("INSERT INTO t VALUES (?), (?)"));
+    assertFalse(rewritable("INSERT INTO t VALUES (?) ON DUPLICATE KEY UPDATE a = ?"));
+    assertFalse(rewritable("INSERT INTO t VALUES (?) RETURNING id"));
+    assertFalse(rewritable("INSERT INTO t VALUES (?); DO 1"));
+    assertFalse(rewritable("INSERT INTO t VALUES (?) /* comment */"));
+    assertFalse(rewritable("INSERT INTO t SELECT value FROM t2 WHERE a IN (?)"));
+    assertFalse(rewritable("INSERT INTO t PARTITION (?) VALUES (?)"));
+    assertFalse(rewritable("INSERT INTO t SET a = ?"));
+    assertFalse(rewritable("UPDATE t SET a = ?"));
+  }
+
+  @Test
+  public void cachedResult() {
+    String sql = "SELECT * FROM t WHERE a = ? AND b = '\\' AND c = ?";
+    ClientParser parser = ClientParser.parameterParts(sql, false);
+    assertSame(parser, ClientParser.parameterParts(new String(sql.toCharArray()), false));
+    assertEquals(1, parser.getParamCount());
+
+    // escape mode changes parsing: no shared result
+    ClientParser noBackslash = ClientParser.parameterParts(sql, true);
+    assertNotSame(parser, noBackslash);
+    assertEquals(2, noBackslash.getParamCount());
+
+    // big commands are parsed each time
+    StringBuilder sb = new StringBuilder("SELECT ?");
+    for (int i = 0; i < 3000; i++) sb.append(", ?");
+    String bigSql = sb.toString();
+    ClientParser big = ClientParser.parameterParts(bigSql, false);
+    assertEquals(3001, big.getParamCount());
+    assertEquals(3001, big.getParamPositions().length);
+    assertNotSame(big, ClientParser.parameterParts(bigSql, false));
+
+    // cache is bounded
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(1, ClientParser.parameterParts("SELECT " + i + ", ?", false).getParamCount());
+    }
+  }
+
+  private static boolean rewritable(String sql) {
+    return ClientParser.parameterParts(sql, true).isMultiValuesRewritable();
+  }
 }
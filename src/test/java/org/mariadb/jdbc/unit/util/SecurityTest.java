@@ -4,6 +4,7 @@
 package org.mariadb.jdbc.unit.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.util.Security;
@@ -25,4 +26,18 @@ public class SecurityTest {
     assertEquals("wait_timeout=", Security.parseSessionVariables("wait_timeout="));
     assertEquals("wait_timeout=1,t=", Security.parseSessionVariables("wait_timeout=1,t="));
   }
+
+  @Test
+  public void sessionVariableValue() {
+    assertNull(Security.sessionVariableValue(null, "sql_select_limit"));
+    assertNull(Security.sessionVariableValue("wait_timeout=5", "sql_select_limit"));
+    assertEquals(
+        "10",
+        Security.sessionVariableValue("wait_timeout=5;SQL_SELECT_LIMIT = 10", "sql_select_limit"));
+    assertEquals(
+        "2.5",
+        Security.sessionVariableValue(
+            "max_statement_time=1,some='max_statement_time=3',max_statement_time=2.5",
+            "max_statement_time"));
+  }
 }
@@ -0,0 +1,80 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2024 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.util;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.util.timeout.TimeoutWheel;
+
+public class TimeoutWheelTest {
+
+  @Test
+  public void expire() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+    TimeoutWheel.INSTANCE.schedule(latch::countDown, 300, TimeUnit.MILLISECONDS);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMs >= 300, "expired after " + elapsedMs + "ms");
+  }
+
+  @Test
+  public void cancel() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    TimeoutWheel.Timeout[] timeouts = new TimeoutWheel.Timeout[10_000];
+    for (int i = 0; i < timeouts.length; i++) {
+      long delay = 200 + i % 100;
+      timeouts[i] = TimeoutWheel.INSTANCE.schedule(runs::incrementAndGet, delay, MILLISECONDS);
+    }
+    for (TimeoutWheel.Timeout timeout : timeouts) timeout.cancel();
+    CountDownLatch latch = new CountDownLatch(1);
+    TimeoutWheel.INSTANCE.schedule(latch::countDown, 400, TimeUnit.MILLISECONDS);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(0, runs.get());
+  }
+
+  @Test
+  public void cancelWaitsRunningTask() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    AtomicInteger done = new AtomicInteger();
+    TimeoutWheel.Timeout timeout =
+        TimeoutWheel.INSTANCE.schedule(
+            () -> {
+              started.countDown();
+              try {
+                Thread.sleep(300);
+              } catch (InterruptedException e) {
+                // eat
+              }
+              done.incrementAndGet();
+            },
+            0,
+            TimeUnit.MILLISECONDS);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    timeout.cancel();
+    assertEquals(1, done.get());
+  }
+
+  @Test
+  public void cancelReleasesTask() throws Exception {
+    // object referenced by task, like connection for query timeouts
+    Object referenced = new Object();
+    WeakReference<Object> ref = new WeakReference<>(referenced);
+    TimeoutWheel.Timeout timeout =
+        TimeoutWheel.INSTANCE.schedule(referenced::hashCode, 1, TimeUnit.HOURS);
+    timeout.cancel();
+    referenced = null;
+    for (int i = 0; i < 50 && ref.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(ref.get());
+  }
+}